@@ -0,0 +1,10 @@
+package com.project2025.digital_library_platform.DTOs;
+
+import java.util.List;
+
+// Aviso entre instâncias de que entidades mudaram; origin identifica a instância que fez a alteração
+public record DomainChangeMessage(
+        String origin,
+        String type,
+        List<Long> ids
+) {}
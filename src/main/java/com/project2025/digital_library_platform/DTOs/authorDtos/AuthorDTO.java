@@ -0,0 +1,6 @@
+package com.project2025.digital_library_platform.DTOs.authorDtos;
+
+public record AuthorDTO(
+        Long id,
+        String name
+) {}
@@ -0,0 +1,8 @@
+package com.project2025.digital_library_platform.DTOs.authorDtos;
+
+import java.util.List;
+
+public record AuthorPageDTO(
+        List<AuthorDTO> content,
+        String nextCursor
+) {}
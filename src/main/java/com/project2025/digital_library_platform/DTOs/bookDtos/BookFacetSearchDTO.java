@@ -0,0 +1,11 @@
+package com.project2025.digital_library_platform.DTOs.bookDtos;
+
+import java.util.List;
+import java.util.Map;
+
+public record BookFacetSearchDTO(
+        int total,
+        List<BookResponseDTO> books,
+        Map<String, List<FacetCountDTO>> facets,
+        Long nextAfterId
+) {}
@@ -0,0 +1,7 @@
+package com.project2025.digital_library_platform.DTOs.bookDtos;
+
+public record BookImportErrorDTO(
+        long line,
+        String title,
+        String reason
+) {}
@@ -0,0 +1,10 @@
+package com.project2025.digital_library_platform.DTOs.bookDtos;
+
+import java.util.List;
+
+public record BookImportResultDTO(
+        long received,
+        long imported,
+        long rejected,
+        List<BookImportErrorDTO> errors
+) {}
@@ -0,0 +1,8 @@
+package com.project2025.digital_library_platform.DTOs.bookDtos;
+
+import java.util.List;
+
+public record BookPageDTO(
+        List<BookResponseDTO> content,
+        String nextCursor
+) {}
@@ -0,0 +1,8 @@
+package com.project2025.digital_library_platform.DTOs.bookDtos;
+
+public record BookRecommendationDTO(
+        Long id,
+        String title,
+        String authors,
+        long coBorrows
+) {}
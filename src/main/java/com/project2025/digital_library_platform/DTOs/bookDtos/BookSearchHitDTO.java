@@ -0,0 +1,8 @@
+package com.project2025.digital_library_platform.DTOs.bookDtos;
+
+public record BookSearchHitDTO(
+        Long id,
+        String title,
+        String authors,
+        double score
+) {}
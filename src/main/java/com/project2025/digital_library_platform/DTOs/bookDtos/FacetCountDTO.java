@@ -0,0 +1,6 @@
+package com.project2025.digital_library_platform.DTOs.bookDtos;
+
+public record FacetCountDTO(
+        String value,
+        int count
+) {}
@@ -0,0 +1,8 @@
+package com.project2025.digital_library_platform.DTOs.holdDtos;
+
+import jakarta.validation.constraints.NotNull;
+
+public record HoldCreateDTO(
+        @NotNull Long userId,
+        @NotNull Long bookId) {
+}
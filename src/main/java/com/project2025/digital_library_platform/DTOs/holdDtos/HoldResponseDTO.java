@@ -0,0 +1,17 @@
+package com.project2025.digital_library_platform.DTOs.holdDtos;
+
+import java.time.LocalDateTime;
+
+// position: lugar na fila do livro, a partir de 1
+public record HoldResponseDTO(Long id, Long bookId, String bookTitle, Long userId, String userLogin,
+                              LocalDateTime createdAt, int position) {
+
+    // Usado pelas consultas JPQL; a posição é preenchida depois
+    public HoldResponseDTO(Long id, Long bookId, String bookTitle, Long userId, String userLogin, LocalDateTime createdAt) {
+        this(id, bookId, bookTitle, userId, userLogin, createdAt, 0);
+    }
+
+    public HoldResponseDTO withPosition(int position) {
+        return new HoldResponseDTO(id, bookId, bookTitle, userId, userLogin, createdAt, position);
+    }
+}
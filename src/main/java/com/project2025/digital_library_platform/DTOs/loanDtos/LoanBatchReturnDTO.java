@@ -0,0 +1,11 @@
+package com.project2025.digital_library_platform.DTOs.loanDtos;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record LoanBatchReturnDTO(
+        @NotEmpty @Size(max = 20) List<@NotNull Long> loanIds) {
+}
@@ -0,0 +1,4 @@
+package com.project2025.digital_library_platform.DTOs.loanDtos;
+
+public record LoanCountersDTO(Long userId, int activeLoans, int overdueLoans, long lifetimeLoans) {
+}
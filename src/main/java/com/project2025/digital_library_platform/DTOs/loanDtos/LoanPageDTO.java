@@ -0,0 +1,8 @@
+package com.project2025.digital_library_platform.DTOs.loanDtos;
+
+import java.util.List;
+
+public record LoanPageDTO(
+        List<LoanResponseDTO> content,
+        String nextCursor
+) {}
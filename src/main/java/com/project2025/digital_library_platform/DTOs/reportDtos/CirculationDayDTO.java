@@ -0,0 +1,8 @@
+package com.project2025.digital_library_platform.DTOs.reportDtos;
+
+import java.time.LocalDate;
+
+// overdueRate: fração das devoluções do dia feitas depois do prazo (0 sem devoluções)
+public record CirculationDayDTO(LocalDate day, int loans, int returnedLoans, int lateReturns, int cancelledLoans,
+                                double overdueRate) {
+}
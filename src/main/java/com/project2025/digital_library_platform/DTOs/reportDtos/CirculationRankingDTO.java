@@ -0,0 +1,5 @@
+package com.project2025.digital_library_platform.DTOs.reportDtos;
+
+// key: ID do livro ou do usuário, ou nome da editora
+public record CirculationRankingDTO(String key, Long loans) {
+}
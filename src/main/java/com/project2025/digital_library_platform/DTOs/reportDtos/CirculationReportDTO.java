@@ -0,0 +1,9 @@
+package com.project2025.digital_library_platform.DTOs.reportDtos;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Totais do período e os dias com movimento, em ordem de data
+public record CirculationReportDTO(LocalDate from, LocalDate to, long loans, long returnedLoans, long lateReturns,
+                                   long cancelledLoans, double overdueRate, List<CirculationDayDTO> days) {
+}
@@ -0,0 +1,124 @@
+package com.project2025.digital_library_platform.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project2025.digital_library_platform.DTOs.bookDtos.BookPageDTO;
+import com.project2025.digital_library_platform.DTOs.bookDtos.BookResponseDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Cache local das leituras de livros (por ID e páginas de disponíveis).
+ * O Caffeine limita o cache pelo tamanho estimado em bytes e escolhe o que descartar com W-TinyLFU.
+ * Cada entrada guarda a versão lida antes de consultar o banco: para um livro, a versão da sua faixa
+ * (stripe); para uma página, a versão do catálogo. Uma invalidação incrementa essas versões, então
+ * uma leitura que começou antes dela nunca deixa no cache um valor que pareça atual.
+ */
+@Component
+public class BookCache {
+
+    private static final long MAX_WEIGHT_BYTES = 64L * 1024 * 1024;
+    private static final int STRIPES = 1024;
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+
+    private sealed interface Key permits BookKey, AvailablePageKey {
+    }
+
+    private record BookKey(long bookId) implements Key {
+    }
+
+    private record AvailablePageKey(String cursor, int size, String sort) implements Key {
+    }
+
+    private record Entry(Object value, long version, int weight) {
+    }
+
+    private final Cache<Key, Entry> cache;
+    private final AtomicLongArray bookVersions = new AtomicLongArray(STRIPES);
+    private final AtomicLong catalogVersion = new AtomicLong();
+
+    public BookCache() {
+        this(MAX_WEIGHT_BYTES);
+    }
+
+    BookCache(long maxWeightBytes) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeightBytes)
+                .<Key, Entry>weigher((key, entry) -> entry.weight())
+                .build();
+    }
+
+    // Livros não encontrados não entram no cache
+    public Optional<BookResponseDTO> getBook(long bookId, Supplier<Optional<BookResponseDTO>> loader) {
+        Key key = new BookKey(bookId);
+        long version = bookVersions.get(stripe(bookId));
+        Entry entry = cache.getIfPresent(key);
+        if (entry != null && entry.version() == version) {
+            return Optional.of((BookResponseDTO) entry.value());
+        }
+
+        Optional<BookResponseDTO> book = loader.get();
+        book.ifPresent(value -> cache.put(key, new Entry(value, version, weigh(value))));
+        return book;
+    }
+
+    // Qualquer alteração no catálogo (cadastro, edição, empréstimo ou devolução) descarta as páginas
+    public BookPageDTO getAvailablePage(String cursor, int size, String sort, Supplier<BookPageDTO> loader) {
+        Key key = new AvailablePageKey(cursor, size, sort);
+        long version = catalogVersion.get();
+        Entry entry = cache.getIfPresent(key);
+        if (entry != null && entry.version() == version) {
+            return (BookPageDTO) entry.value();
+        }
+
+        BookPageDTO page = loader.get();
+        int weight = ENTRY_OVERHEAD_BYTES;
+        for (BookResponseDTO book : page.content()) {
+            weight += weigh(book);
+        }
+        cache.put(key, new Entry(page, version, weight));
+        return page;
+    }
+
+    public void invalidate(Collection<Long> bookIds) {
+        for (Long bookId : bookIds) {
+            bookVersions.incrementAndGet(stripe(bookId));
+            cache.invalidate(new BookKey(bookId));
+        }
+        catalogVersion.incrementAndGet();
+    }
+
+    public void invalidateAll() {
+        for (int i = 0; i < STRIPES; i++) {
+            bookVersions.incrementAndGet(i);
+        }
+        catalogVersion.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    //MÉTODOS AUXILIARES
+
+    private static int stripe(long bookId) {
+        return Long.hashCode(bookId) & (STRIPES - 1);
+    }
+
+    // Estimativa do tamanho em memória: as strings dominam, em especial a descrição
+    private static int weigh(BookResponseDTO book) {
+        return ENTRY_OVERHEAD_BYTES + 2 * (length(book.getGoogleBooksId()) + length(book.getTitle())
+                + length(book.getAuthors()) + length(book.getPublisher()) + length(book.getPublishedDate())
+                + length(book.getIsbn10()) + length(book.getIsbn13()) + length(book.getDescription()));
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+}
@@ -0,0 +1,95 @@
+package com.project2025.digital_library_platform.cache;
+
+import com.project2025.digital_library_platform.DTOs.DomainChangeMessage;
+import com.project2025.digital_library_platform.events.BookCreatedEvent;
+import com.project2025.digital_library_platform.events.BookStatusChangedEvent;
+import com.project2025.digital_library_platform.events.BookUpdatedEvent;
+import com.project2025.digital_library_platform.events.BooksImportedEvent;
+import com.project2025.digital_library_platform.events.LoanBatchEvent;
+import com.project2025.digital_library_platform.index.BookIndexer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.AsyncConsumerStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Mantém o {@link BookCache} e os índices em memória do catálogo de todas as instâncias coerentes.
+ * Após o commit de uma alteração no catálogo, invalida o cache local e publica um
+ * {@link DomainChangeMessage} no exchange library.events (routing key catalog.changed).
+ * Cada instância recebe esses avisos numa fila anônima própria, reindexa os livros pelo {@link BookIndexer}
+ * e só então invalida as mesmas entradas, para o cache não ser recarregado de um índice antigo.
+ */
+@Component
+@Slf4j
+public class CatalogCacheSync {
+
+    public static final String ROUTING_KEY = "catalog.changed";
+
+    private final BookCache bookCache;
+    private final BookIndexer bookIndexer;
+    private final RabbitTemplate rabbitTemplate;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public CatalogCacheSync(BookCache bookCache, BookIndexer bookIndexer, RabbitTemplate rabbitTemplate) {
+        this.bookCache = bookCache;
+        this.bookIndexer = bookIndexer;
+        this.rabbitTemplate = rabbitTemplate;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookCreated(BookCreatedEvent event) {
+        changed("BOOK_CREATED", List.of(event.getBookId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookUpdated(BookUpdatedEvent event) {
+        changed("BOOK_UPDATED", List.of(event.getBookId()));
+    }
+
+    // Empréstimos e devoluções alteram o status exibido e a lista de disponíveis
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookStatusChanged(BookStatusChangedEvent event) {
+        changed("BOOK_STATUS_CHANGED", List.of(event.getBookId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBooksImported(BooksImportedEvent event) {
+        changed("BOOKS_IMPORTED", event.getBookIds());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLoanBatch(LoanBatchEvent event) {
+        changed("BOOK_STATUS_CHANGED", event.getBookIds());
+    }
+
+    @RabbitListener(queues = "#{catalogChangesQueue.name}")
+    public void onRemoteChange(DomainChangeMessage message) {
+        if (nodeId.equals(message.origin())) {
+            return;
+        }
+        bookIndexer.reindexAll(message.ids());
+        bookCache.invalidate(message.ids());
+    }
+
+    // A fila anônima é recriada a cada (re)conexão; avisos enviados enquanto isso se perderam
+    @EventListener
+    public void onConsumerStarted(AsyncConsumerStartedEvent event) {
+        bookCache.invalidateAll();
+    }
+
+    private void changed(String type, List<Long> bookIds) {
+        bookCache.invalidate(bookIds);
+        try {
+            rabbitTemplate.convertAndSend("library.events", ROUTING_KEY, new DomainChangeMessage(nodeId, type, bookIds));
+        } catch (AmqpException e) {
+            log.warn("Falha ao avisar as outras instâncias sobre {} dos livros {}", type, bookIds, e);
+        }
+    }
+}
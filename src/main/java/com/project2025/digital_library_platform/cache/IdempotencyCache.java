@@ -0,0 +1,46 @@
+package com.project2025.digital_library_platform.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Respostas completadas mais recentes das requisições com Idempotency-Key, para que a repetição de
+ * um cliente seja respondida sem ida ao banco. Só guarda respostas já completadas, que não mudam mais;
+ * o limite de tamanho descarta as menos usadas e cada resposta expira junto com a sua linha em
+ * idempotency_keys (expires_at), venha ela da requisição original ou de uma leitura do banco.
+ */
+@Component
+public class IdempotencyCache {
+
+    private static final long MAX_RESPONSES = 10_000;
+
+    public record StoredResponse(String fingerprint, int status, String contentType, byte[] body) {
+    }
+
+    private record Entry(StoredResponse response, LocalDateTime expiresAt) {
+    }
+
+    private final Cache<String, Entry> cache;
+
+    public IdempotencyCache() {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(MAX_RESPONSES)
+                .expireAfter(Expiry.writing((String key, Entry entry) ->
+                        Duration.between(LocalDateTime.now(), entry.expiresAt())))
+                .build();
+    }
+
+    public StoredResponse get(String key) {
+        Entry entry = cache.getIfPresent(key);
+        return entry == null ? null : entry.response();
+    }
+
+    public void put(String key, StoredResponse response, LocalDateTime expiresAt) {
+        cache.put(key, new Entry(response, expiresAt));
+    }
+}
@@ -0,0 +1,62 @@
+package com.project2025.digital_library_platform.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project2025.digital_library_platform.DTOs.loanDtos.LoanCountersDTO;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Cache local dos contadores de empréstimos por usuário, no mesmo esquema do {@link BookCache}:
+ * cada entrada guarda a versão da faixa (stripe) do usuário lida antes de consultar o banco, e a
+ * invalidação após o commit incrementa a versão, então uma leitura concorrente não deixa valor velho.
+ * Alterações feitas em outras instâncias não chegam aqui; o prazo curto limita esse atraso e as recusas
+ * são sempre confirmadas no banco.
+ */
+@Component
+public class UserLoanCounterCache {
+
+    private static final long MAX_USERS = 100_000;
+    private static final Duration TTL = Duration.ofSeconds(30);
+    private static final int STRIPES = 256;
+
+    private record Entry(LoanCountersDTO counters, long version) {
+    }
+
+    private final Cache<Long, Entry> cache = Caffeine.newBuilder()
+            .maximumSize(MAX_USERS)
+            .expireAfterWrite(TTL)
+            .build();
+    private final AtomicLongArray versions = new AtomicLongArray(STRIPES);
+
+    // Usuários ainda sem contadores não entram no cache
+    public Optional<LoanCountersDTO> get(long userId, Supplier<Optional<LoanCountersDTO>> loader) {
+        long version = versions.get(stripe(userId));
+        Entry entry = cache.getIfPresent(userId);
+        if (entry != null && entry.version() == version) {
+            return Optional.of(entry.counters());
+        }
+
+        Optional<LoanCountersDTO> counters = loader.get();
+        counters.ifPresent(value -> cache.put(userId, new Entry(value, version)));
+        return counters;
+    }
+
+    public void invalidate(Collection<Long> userIds) {
+        for (Long userId : userIds) {
+            versions.incrementAndGet(stripe(userId));
+            cache.invalidate(userId);
+        }
+    }
+
+    //MÉTODOS AUXILIARES
+
+    private static int stripe(long userId) {
+        return Long.hashCode(userId) & (STRIPES - 1);
+    }
+}
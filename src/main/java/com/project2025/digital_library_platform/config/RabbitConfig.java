@@ -1,5 +1,6 @@
 package com.project2025.digital_library_platform.config;
 
+import org.springframework.amqp.core.AnonymousQueue;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
 import org.springframework.amqp.core.DirectExchange;
@@ -7,6 +8,7 @@ import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -30,10 +32,42 @@ public class RabbitConfig {
                 .with("audit.log");
     }
 
+    // Fila exclusiva de cada instância para os avisos de alteração do catálogo (invalidação do cache local)
+    @Bean
+    public Queue catalogChangesQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding catalogChangesBinding() {
+        return BindingBuilder.bind(catalogChangesQueue())
+                .to(libraryExchange())
+                .with("catalog.changed");
+    }
+
+    // Fila exclusiva de cada instância para os avisos de empréstimos abertos e encerrados (controle de vencidos local)
+    @Bean
+    public Queue loanChangesQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding loanChangesBinding() {
+        return BindingBuilder.bind(loanChangesQueue())
+                .to(libraryExchange())
+                .with("loans.changed");
+    }
+
+    // Usado pelo RabbitTemplate e pelos @RabbitListener
+    @Bean
+    public MessageConverter jsonMessageConverter() {
+        return new Jackson2JsonMessageConverter();
+    }
+
     @Bean
     public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
         RabbitTemplate template = new RabbitTemplate(connectionFactory);
-        template.setMessageConverter(new Jackson2JsonMessageConverter());
+        template.setMessageConverter(jsonMessageConverter());
         return template;
     }
 }
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.project2025.digital_library_platform.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Tarefas periódicas de manutenção (arquivamento dos empréstimos devolvidos)
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
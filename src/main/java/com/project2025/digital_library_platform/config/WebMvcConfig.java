@@ -0,0 +1,19 @@
+package com.project2025.digital_library_platform.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    // Exportações em streaming (StreamingResponseBody) podem levar bem mais que o timeout padrão do container
+    private static final Duration ASYNC_REQUEST_TIMEOUT = Duration.ofMinutes(30);
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(ASYNC_REQUEST_TIMEOUT.toMillis());
+    }
+}
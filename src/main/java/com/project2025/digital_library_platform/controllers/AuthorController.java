@@ -0,0 +1,81 @@
+package com.project2025.digital_library_platform.controllers;
+
+import com.project2025.digital_library_platform.DTOs.authorDtos.AuthorDTO;
+import com.project2025.digital_library_platform.DTOs.authorDtos.AuthorPageDTO;
+import com.project2025.digital_library_platform.DTOs.bookDtos.BookPageDTO;
+import com.project2025.digital_library_platform.DTOs.bookDtos.BookResponseDTO;
+import com.project2025.digital_library_platform.services.AuthorService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/authors")
+@Tag(name = "Author Management", description = "Operações de consulta dos autores do catálogo.")
+@SecurityRequirement(name = "bearerAuth")
+public class AuthorController {
+
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final AuthorService authorService;
+
+    public AuthorController(AuthorService authorService) {
+        this.authorService = authorService;
+    }
+
+    // ===== OPERAÇÕES DE CONSULTA =====
+
+    @GetMapping
+    @Operation(summary = "Listar autores", description = "Retorna uma página de autores em ordem alfabética, filtrando pelo início " +
+            "do nome sem considerar acentos ou maiúsculas. A próxima página é obtida com o cursor do cabeçalho X-Next-Cursor.")
+    @ApiResponse(responseCode = "200", description = "Página de autores retornada com sucesso")
+    @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN', 'USER')")
+    public ResponseEntity<List<AuthorDTO>> listAuthors(@RequestParam(defaultValue = "") String prefix,
+                                                       @RequestParam(required = false) String cursor,
+                                                       @RequestParam(defaultValue = "50") int size) {
+        AuthorPageDTO page = authorService.listAuthors(prefix, cursor, size);
+        var response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.content());
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Buscar autor pelo nome", description = "Busca um autor pelo nome completo, sem considerar acentos, " +
+            "maiúsculas ou espaços repetidos.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Autor encontrado"),
+            @ApiResponse(responseCode = "400", description = "Autor não encontrado")
+    })
+    @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN', 'USER')")
+    public ResponseEntity<AuthorDTO> findByName(@RequestParam String name) {
+        return ResponseEntity.ok(authorService.findByName(name));
+    }
+
+    @GetMapping("/{id}/books")
+    @Operation(summary = "Listar livros do autor", description = "Retorna uma página dos livros do autor, ordenada por ID. " +
+            "A próxima página é obtida com o cursor do cabeçalho X-Next-Cursor.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Página de livros retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Autor não encontrado")
+    })
+    @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN', 'USER')")
+    public ResponseEntity<List<BookResponseDTO>> findBooks(@PathVariable Long id,
+                                                           @RequestParam(required = false) String cursor,
+                                                           @RequestParam(defaultValue = "50") int size) {
+        BookPageDTO page = authorService.findBooks(id, cursor, size);
+        var response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.content());
+    }
+}
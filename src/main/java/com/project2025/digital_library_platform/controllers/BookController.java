@@ -2,8 +2,18 @@ package com.project2025.digital_library_platform.controllers;
 
 
 import com.project2025.digital_library_platform.DTOs.bookDtos.BookCreateDTO;
+import com.project2025.digital_library_platform.DTOs.bookDtos.BookFacetSearchDTO;
+import com.project2025.digital_library_platform.DTOs.bookDtos.BookImportResultDTO;
+import com.project2025.digital_library_platform.DTOs.bookDtos.BookPageDTO;
+import com.project2025.digital_library_platform.DTOs.bookDtos.BookRecommendationDTO;
 import com.project2025.digital_library_platform.DTOs.bookDtos.BookResponseDTO;
+import com.project2025.digital_library_platform.DTOs.bookDtos.BookSearchHitDTO;
+import com.project2025.digital_library_platform.DTOs.bookDtos.BookSuggestionDTO;
 import com.project2025.digital_library_platform.DTOs.bookDtos.BookUpdateDTO;
+import com.project2025.digital_library_platform.converters.BookImportParser;
+import com.project2025.digital_library_platform.index.BookFacet;
+import com.project2025.digital_library_platform.services.BookImportService;
+import com.project2025.digital_library_platform.services.BookExportService;
 import com.project2025.digital_library_platform.services.BookService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -11,12 +21,20 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/books")
@@ -24,10 +42,18 @@ import java.util.List;
 @SecurityRequirement(name = "bearerAuth")
 public class BookController {
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final BookService bookService;
+    private final BookExportService bookExportService;
+    private final BookImportService bookImportService;
 
-    public BookController(BookService bookService) {
+    public BookController(BookService bookService, BookExportService bookExportService,
+                          BookImportService bookImportService) {
         this.bookService = bookService;
+        this.bookExportService = bookExportService;
+        this.bookImportService = bookImportService;
     }
 
     // ===== OPERAÇÕES DE CRIAÇÃO E ATUALIZAÇÃO =====
@@ -58,6 +84,20 @@ public class BookController {
         return ResponseEntity.ok(updated);
     }
 
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    @Operation(summary = "Importar livros em lote", description = "Importa livros de um arquivo CSV (com cabeçalho) ou NDJSON " +
+            "com os mesmos campos do cadastro. Livros inválidos ou já cadastrados são rejeitados sem interromper a importação.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Importação concluída; o resumo traz as linhas rejeitadas e o motivo"),
+            @ApiResponse(responseCode = "400", description = "Formato de arquivo não suportado ou CSV sem a coluna 'title'")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BookImportResultDTO> importBooks(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                           InputStream body) throws IOException {
+        BookImportResultDTO result = bookImportService.importBooks(body, BookImportParser.Format.fromContentType(contentType));
+        return ResponseEntity.ok(result);
+    }
+
     // ===== OPERAÇÕES DE BUSCA =====
 
     @GetMapping("/{id}")
@@ -73,14 +113,14 @@ public class BookController {
     }
 
     @GetMapping("/isbn/{isbn}")
-    @Operation(summary = "Buscar livro por ISBN", description = "Retorna os dados de um livro a partir do seu ISBN.")
+    @Operation(summary = "Buscar livro por ISBN", description = "Retorna os dados de um livro a partir do seu ISBN-10 ou ISBN-13, com ou sem hífens.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Livro encontrado"),
+            @ApiResponse(responseCode = "400", description = "ISBN inválido"),
             @ApiResponse(responseCode = "404", description = "Livro não encontrado")
     })
     @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN')")
     public ResponseEntity<BookResponseDTO> findByIsbn(@PathVariable String isbn) {
-        String normalizedIsbn = isbn.replaceAll("[-\\s]", "");
         BookResponseDTO book = bookService.findByIsbn(isbn);
         return ResponseEntity.ok(book);
     }
@@ -97,22 +137,151 @@ public class BookController {
         return ResponseEntity.ok(book);
     }
 
+    @GetMapping("/author/{author}")
+    @Operation(summary = "Buscar livros por autor", description = "Retorna os livros cujos autores contêm os termos informados.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Livros encontrados"),
+            @ApiResponse(responseCode = "404", description = "Nenhum livro encontrado")
+    })
+    @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN')")
+    public ResponseEntity<List<BookResponseDTO>> findByAuthor(@PathVariable String author) {
+        List<BookResponseDTO> books = bookService.findByAuthor(author);
+        return ResponseEntity.ok(books);
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Busca aproximada no catálogo",
+            description = "Busca por título e autores ignorando acentos e caixa e tolerando erros de digitação. Retorna os livros ordenados por relevância.")
+    @ApiResponse(responseCode = "200", description = "Resultados retornados com sucesso (lista vazia se nada corresponder)")
+    @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN')")
+    public ResponseEntity<List<BookSearchHitDTO>> search(@RequestParam("q") String query,
+                                                         @RequestParam(defaultValue = "20") int limit) {
+        List<BookSearchHitDTO> hits = bookService.search(query, limit);
+        return ResponseEntity.ok(hits);
+    }
+
+    @GetMapping("/search/text")
+    @Operation(summary = "Busca textual no catálogo",
+            description = "Busca por assunto no título, nos autores e na descrição dos livros, com análise de português " +
+                    "(plurais, acentos e stopwords). Os resultados vêm ordenados por relevância (BM25).")
+    @ApiResponse(responseCode = "200", description = "Resultados retornados com sucesso (lista vazia se nada corresponder)")
+    @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN')")
+    public ResponseEntity<List<BookSearchHitDTO>> searchText(@RequestParam("q") String query,
+                                                             @RequestParam(defaultValue = "20") int limit) {
+        List<BookSearchHitDTO> hits = bookService.searchText(query, limit);
+        return ResponseEntity.ok(hits);
+    }
+
+    @GetMapping("/autocomplete")
+    @Operation(summary = "Autocomplete de títulos e autores",
+            description = "Sugere títulos e autores que começam com o texto digitado (em qualquer palavra), ignorando acentos e caixa. " +
+                    "As sugestões vêm ordenadas pelos livros mais emprestados.")
+    @ApiResponse(responseCode = "200", description = "Sugestões retornadas com sucesso (lista vazia se nada corresponder)")
+    @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN')")
+    public ResponseEntity<List<BookSuggestionDTO>> autocomplete(@RequestParam("q") String prefix,
+                                                                @RequestParam(defaultValue = "10") int limit) {
+        List<BookSuggestionDTO> suggestions = bookService.autocomplete(prefix, limit);
+        return ResponseEntity.ok(suggestions);
+    }
+
+    @GetMapping("/facets")
+    @Operation(summary = "Busca facetada no catálogo",
+            description = "Filtra os livros por editora, autor, ano de publicação, status e ativo (cada parâmetro aceita vários valores) " +
+                    "e retorna a contagem de livros por valor de cada faceta. Para a próxima página, envie 'afterId' com o valor de 'nextAfterId'.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Resultados e contagens retornados com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Índice de facetas ainda em carregamento")
+    })
+    @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN')")
+    public ResponseEntity<BookFacetSearchDTO> searchFacets(@RequestParam(required = false) List<String> publisher,
+                                                           @RequestParam(required = false) List<String> author,
+                                                           @RequestParam(required = false) List<String> year,
+                                                           @RequestParam(required = false) List<String> status,
+                                                           @RequestParam(required = false) List<String> active,
+                                                           @RequestParam(required = false) Long afterId,
+                                                           @RequestParam(defaultValue = "20") int size) {
+        Map<BookFacet, Set<String>> filters = new EnumMap<>(BookFacet.class);
+        putFilter(filters, BookFacet.PUBLISHER, publisher);
+        putFilter(filters, BookFacet.AUTHOR, author);
+        putFilter(filters, BookFacet.YEAR, year);
+        putFilter(filters, BookFacet.STATUS, status);
+        putFilter(filters, BookFacet.ACTIVE, active);
+
+        BookFacetSearchDTO result = bookService.searchFacets(filters, afterId, size);
+        return ResponseEntity.ok(result);
+    }
 
     @GetMapping("/list")
-    @Operation(summary = "Listar todos os livros", description = "Retorna uma lista com todos os livros cadastrados.")
+    @Operation(summary = "Listar livros", description = "Retorna uma página de livros ordenada por ID ou título. " +
+            "Para a próxima página, envie em 'cursor' o valor do cabeçalho X-Next-Cursor (ausente na última página).")
     @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN')")
-    @ApiResponse(responseCode = "200", description = "Lista de livros retornada com sucesso")
-    public ResponseEntity<List<BookResponseDTO>> findAll() {
-        List<BookResponseDTO> list = bookService.findAll();
-        return ResponseEntity.ok(list);
+    @ApiResponse(responseCode = "200", description = "Página de livros retornada com sucesso")
+    public ResponseEntity<List<BookResponseDTO>> findAll(@RequestParam(required = false) String cursor,
+                                                         @RequestParam(defaultValue = "50") int size,
+                                                         @RequestParam(defaultValue = "id") String sort) {
+        BookPageDTO page = bookService.findAll(cursor, size, sort);
+        return pageResponse(page);
     }
 
     @GetMapping("/available")
-    @Operation(summary = "Listar livros disponíveis", description = "Retorna todos os livros com status 'disponível' e ativos.")
+    @Operation(summary = "Listar livros disponíveis", description = "Retorna uma página de livros com status 'disponível' e ativos, " +
+            "ordenada por ID ou título. A próxima página é obtida com o cursor do cabeçalho X-Next-Cursor.")
     @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN')")
-    @ApiResponse(responseCode = "200", description = "Lista de livros disponíveis retornada com sucesso")
-    public ResponseEntity<List<BookResponseDTO>> findAvailableBooks() {
-        List<BookResponseDTO> books = bookService.findAvailableBooks();
-        return ResponseEntity.ok(books);
+    @ApiResponse(responseCode = "200", description = "Página de livros disponíveis retornada com sucesso")
+    public ResponseEntity<List<BookResponseDTO>> findAvailableBooks(@RequestParam(required = false) String cursor,
+                                                                    @RequestParam(defaultValue = "50") int size,
+                                                                    @RequestParam(defaultValue = "id") String sort) {
+        BookPageDTO page = bookService.findAvailableBooks(cursor, size, sort);
+        return pageResponse(page);
+    }
+
+    @GetMapping("/{id}/recommendations")
+    @Operation(summary = "Recomendações do livro", description = "Livros que os usuários que emprestaram este livro também emprestaram, " +
+            "ordenados pelo número de usuários em comum.")
+    @ApiResponse(responseCode = "200", description = "Recomendações retornadas com sucesso (lista vazia se não houver histórico)")
+    @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN', 'USER')")
+    public ResponseEntity<List<BookRecommendationDTO>> recommend(@PathVariable Long id,
+                                                                 @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(bookService.recommend(id, limit));
+    }
+
+    @GetMapping("/available/count")
+    @Operation(summary = "Contar livros disponíveis", description = "Retorna quantos livros ativos estão com status 'disponível'.")
+    @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN')")
+    @ApiResponse(responseCode = "200", description = "Contagem retornada com sucesso")
+    public ResponseEntity<Long> countAvailableBooks() {
+        return ResponseEntity.ok(bookService.countAvailableBooks());
+    }
+
+    @GetMapping("/{id}/available")
+    @Operation(summary = "Verificar disponibilidade", description = "Indica se o livro está ativo e disponível para empréstimo.")
+    @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN')")
+    @ApiResponse(responseCode = "200", description = "Disponibilidade retornada com sucesso")
+    public ResponseEntity<Boolean> isBookAvailable(@PathVariable Long id) {
+        return ResponseEntity.ok(bookService.isBookAvailable(id));
+    }
+
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    @Operation(summary = "Exportar catálogo", description = "Exporta todos os livros em NDJSON (um JSON por linha), " +
+            "enviados à medida que são lidos do banco. Indicado para as rotinas de sincronização.")
+    @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN')")
+    @ApiResponse(responseCode = "200", description = "Catálogo exportado com sucesso")
+    public ResponseEntity<StreamingResponseBody> exportCatalog() {
+        StreamingResponseBody body = bookExportService::exportCatalog;
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
+    private static void putFilter(Map<BookFacet, Set<String>> filters, BookFacet facet, List<String> values) {
+        if (values != null && !values.isEmpty()) {
+            filters.put(facet, Set.copyOf(values));
+        }
+    }
+
+    private static ResponseEntity<List<BookResponseDTO>> pageResponse(BookPageDTO page) {
+        var response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.content());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,55 @@
+package com.project2025.digital_library_platform.controllers;
+
+import com.project2025.digital_library_platform.DTOs.holdDtos.HoldCreateDTO;
+import com.project2025.digital_library_platform.DTOs.holdDtos.HoldResponseDTO;
+import com.project2025.digital_library_platform.services.HoldService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/holds")
+@Tag(name = "Hold Management", description = "Operações relacionadas às filas de reserva de livros emprestados")
+@SecurityRequirement(name = "bearerAuth")
+public class HoldController {
+    private final HoldService holdService;
+
+    public HoldController(HoldService holdService) {
+        this.holdService = holdService;
+    }
+// ==== OPERAÇÕES DE CRIAÇÃO E CANCELAMENTO ====
+
+    @PostMapping("/register")
+    @Operation(summary = "Reservar livro emprestado", description = "Coloca o usuário no fim da fila de reserva do livro. " +
+            "Na devolução, o livro é emprestado direto ao primeiro da fila que puder levá-lo.")
+    @PreAuthorize("hasAnyRole('ADMIN','LIBRARIAN')")
+    public ResponseEntity<HoldResponseDTO> placeHold(@Valid @RequestBody HoldCreateDTO dto) {
+        HoldResponseDTO hold = holdService.placeHold(dto);
+        return ResponseEntity.status(HttpStatus.CREATED).body(hold);
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Cancelar reserva", description = "Tira o usuário da fila de reserva do livro")
+    @PreAuthorize("hasAnyRole('ADMIN','LIBRARIAN')")
+    public ResponseEntity<Void> cancelHold(@PathVariable Long id) {
+        holdService.cancelHold(id);
+        return ResponseEntity.noContent().build();
+    }
+
+// ==== OPERAÇÕES DE CONSULTA ====
+
+    @GetMapping("/book/{bookId}")
+    @Operation(summary = "Listar fila de reserva", description = "Lista a fila de reserva de um livro, na ordem de atendimento")
+    @PreAuthorize("hasAnyRole('ADMIN','LIBRARIAN')")
+    public ResponseEntity<List<HoldResponseDTO>> findQueue(@PathVariable Long bookId) {
+        List<HoldResponseDTO> queue = holdService.findQueue(bookId);
+        return ResponseEntity.ok(queue);
+    }
+}
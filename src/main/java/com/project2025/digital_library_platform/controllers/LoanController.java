@@ -1,16 +1,22 @@
 package com.project2025.digital_library_platform.controllers;
 
+import com.project2025.digital_library_platform.DTOs.loanDtos.LoanBatchCreateDTO;
+import com.project2025.digital_library_platform.DTOs.loanDtos.LoanBatchReturnDTO;
 import com.project2025.digital_library_platform.DTOs.loanDtos.LoanCreateDTO;
+import com.project2025.digital_library_platform.DTOs.loanDtos.LoanPageDTO;
 import com.project2025.digital_library_platform.DTOs.loanDtos.LoanResponseDTO;
+import com.project2025.digital_library_platform.services.LoanHistoryService;
 import com.project2025.digital_library_platform.services.LoanService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -19,10 +25,15 @@ import java.util.List;
 @Tag(name = "Loan Management", description = "Operações ralacionados ao gerencimaento de empréstimos")
 @SecurityRequirement(name = "bearerAuth")
 public class LoanController {
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final LoanService loanService;
+    private final LoanHistoryService loanHistoryService;
 
-    public LoanController(LoanService loanService) {
+    public LoanController(LoanService loanService, LoanHistoryService loanHistoryService) {
         this.loanService = loanService;
+        this.loanHistoryService = loanHistoryService;
     }
 // ==== OPERAÇÕES DE CRIAÇÃO E ATUALIZAÇÃO ====
 
@@ -35,6 +46,25 @@ public class LoanController {
         return ResponseEntity.ok(register);
     }
 
+    @PostMapping("/register/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    @Operation(summary = "Emprestar vários livros", description = "Registra numa única operação o empréstimo de até 20 livros " +
+            "para o mesmo usuário. Se algum livro não estiver disponível, nenhum empréstimo é registrado.")
+    @PreAuthorize("hasAnyRole('ADMIN','LIBRARIAN')")
+    public ResponseEntity<List<LoanResponseDTO>> registerLoans(@Valid @RequestBody LoanBatchCreateDTO dto) {
+        List<LoanResponseDTO> loans = loanService.registerLoans(dto);
+        return ResponseEntity.ok(loans);
+    }
+
+    @PutMapping("/return/batch")
+    @Operation(summary = "Devolver vários livros", description = "Devolve numa única operação até 20 empréstimos em aberto. " +
+            "Se algum empréstimo não existir ou já tiver sido devolvido, nenhuma devolução é registrada.")
+    @PreAuthorize("hasAnyRole('ADMIN','LIBRARIAN')")
+    public ResponseEntity<Void> returnLoans(@Valid @RequestBody LoanBatchReturnDTO dto) {
+        loanService.returnLoans(dto);
+        return ResponseEntity.ok().build();
+    }
+
     @PutMapping("/return/{id}")
     @Operation(summary = "Devolver um livro", description = "Devolver um livro emprestado no sistema")
     @PreAuthorize("hasAnyRole('ADMIN','LIBRARIAN')")
@@ -68,13 +98,40 @@ public class LoanController {
     }
 
     @GetMapping("/LoansByUser/{id}")
-    @Operation(summary = "Listar empréstimos do usuário", description = "Listar todoso so empréstimos realizados pelo usuário")
+    @Operation(summary = "Listar empréstimos do usuário", description = "Listar todoso so empréstimos realizados pelo usuário. " +
+            "Para usuários com histórico longo, use /history/{userId} (paginado) ou /history/{userId}/export.", deprecated = true)
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<LoanResponseDTO>> findLoansByUser(@PathVariable Long id){
         List<LoanResponseDTO> list = loanService.findLoansByUser(id);
         return ResponseEntity.ok(list);
     }
 
+    @GetMapping("/history/{userId}")
+    @Operation(summary = "Histórico de empréstimos do usuário", description = "Retorna uma página do histórico do usuário, " +
+            "incluindo os empréstimos arquivados, do mais recente para o mais antigo. Para a próxima página, envie em " +
+            "'cursor' o valor do cabeçalho X-Next-Cursor (ausente na última página).")
+    @PreAuthorize("hasAnyRole('ADMIN','LIBRARIAN')")
+    public ResponseEntity<List<LoanResponseDTO>> findHistory(@PathVariable Long userId,
+                                                             @RequestParam(required = false) String cursor,
+                                                             @RequestParam(defaultValue = "50") int size) {
+        LoanPageDTO page = loanHistoryService.findHistory(userId, cursor, size);
+        var response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.content());
+    }
+
+    @GetMapping(value = "/history/{userId}/export", produces = "application/x-ndjson")
+    @Operation(summary = "Exportar histórico do usuário", description = "Exporta o histórico completo do usuário em NDJSON " +
+            "(um empréstimo por linha), do mais recente para o mais antigo, enviado à medida que é lido do banco.")
+    @PreAuthorize("hasAnyRole('ADMIN','LIBRARIAN')")
+    public ResponseEntity<StreamingResponseBody> exportHistory(@PathVariable Long userId) {
+        loanHistoryService.validateUser(userId);
+        StreamingResponseBody body = out -> loanHistoryService.exportHistory(userId, out);
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
     @GetMapping("findByUser/{id}")
     @Operation(summary = "Buscar empréstimos por ID", description = "Buscar empréstimos por id do usuário")
     @PreAuthorize("hasAnyRole('ADMIN','LIBRARIAN')")
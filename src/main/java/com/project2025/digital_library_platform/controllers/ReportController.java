@@ -0,0 +1,69 @@
+package com.project2025.digital_library_platform.controllers;
+
+import com.project2025.digital_library_platform.DTOs.reportDtos.CirculationRankingDTO;
+import com.project2025.digital_library_platform.DTOs.reportDtos.CirculationReportDTO;
+import com.project2025.digital_library_platform.entity.report.CirculationDimension;
+import com.project2025.digital_library_platform.services.ReportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/reports")
+@Tag(name = "Reports", description = "Relatórios de circulação, lidos dos totais diários")
+@SecurityRequirement(name = "bearerAuth")
+public class ReportController {
+    private final ReportService reportService;
+
+    public ReportController(ReportService reportService) {
+        this.reportService = reportService;
+    }
+// ==== OPERAÇÕES DE CONSULTA ====
+
+    @GetMapping("/circulation")
+    @Operation(summary = "Circulação do período", description = "Empréstimos, devoluções, cancelamentos e taxa de devoluções " +
+            "atrasadas do período, dia a dia. Os totais podem atrasar alguns segundos em relação aos empréstimos.")
+    @PreAuthorize("hasAnyRole('ADMIN','LIBRARIAN')")
+    public ResponseEntity<CirculationReportDTO> findCirculation(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(reportService.findCirculation(from, to));
+    }
+
+    @GetMapping("/books")
+    @Operation(summary = "Livros mais emprestados", description = "Livros com mais empréstimos no período (chave = ID do livro)")
+    @PreAuthorize("hasAnyRole('ADMIN','LIBRARIAN')")
+    public ResponseEntity<List<CirculationRankingDTO>> findTopBooks(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(reportService.findRanking(CirculationDimension.BOOK, from, to, limit));
+    }
+
+    @GetMapping("/users")
+    @Operation(summary = "Usuários que mais emprestam", description = "Usuários com mais empréstimos no período (chave = ID do usuário)")
+    @PreAuthorize("hasAnyRole('ADMIN','LIBRARIAN')")
+    public ResponseEntity<List<CirculationRankingDTO>> findTopUsers(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(reportService.findRanking(CirculationDimension.USER, from, to, limit));
+    }
+
+    @GetMapping("/publishers")
+    @Operation(summary = "Editoras mais emprestadas", description = "Editoras com mais empréstimos no período (chave vazia = sem editora)")
+    @PreAuthorize("hasAnyRole('ADMIN','LIBRARIAN')")
+    public ResponseEntity<List<CirculationRankingDTO>> findTopPublishers(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(reportService.findRanking(CirculationDimension.PUBLISHER, from, to, limit));
+    }
+}
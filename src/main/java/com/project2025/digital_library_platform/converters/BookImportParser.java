@@ -0,0 +1,237 @@
+package com.project2025.digital_library_platform.converters;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.project2025.digital_library_platform.DTOs.bookDtos.BookCreateDTO;
+import com.project2025.digital_library_platform.entity.book.Status;
+import com.project2025.digital_library_platform.exception.BusinessException;
+import com.project2025.digital_library_platform.exception.ErrorCode;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Lê os arquivos da importação em lote (CSV ou NDJSON) e entrega um livro por vez,
+ * sem carregar o arquivo inteiro em memória. Linhas malformadas viram linhas com erro
+ * em vez de interromper a importação.
+ */
+@Component
+public class BookImportParser {
+
+    public enum Format {
+        CSV, NDJSON;
+
+        public static Format fromContentType(String contentType) {
+            if (contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith("text/csv")) {
+                return CSV;
+            }
+            if (contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith("application/x-ndjson")) {
+                return NDJSON;
+            }
+            throw new BusinessException("Formato de importação não suportado: use text/csv ou application/x-ndjson",
+                    ErrorCode.INVALID_OPERATION);
+        }
+    }
+
+    // line é a linha do arquivo (NDJSON) ou o número do registro após o cabeçalho (CSV)
+    public record Row(long line, BookCreateDTO book, String error) {
+
+        public static Row valid(long line, BookCreateDTO book) {
+            return new Row(line, book, null);
+        }
+
+        public static Row invalid(long line, String error) {
+            return new Row(line, null, error);
+        }
+    }
+
+    private static final List<String> COLUMNS = List.of("title", "authors", "publisher", "publisheddate",
+            "isbn10", "isbn13", "description", "pagecount", "googlebooksid", "status");
+
+    private final ObjectReader ndjsonReader;
+
+    public BookImportParser(ObjectMapper objectMapper) {
+        this.ndjsonReader = objectMapper.readerFor(BookCreateDTO.class);
+    }
+
+    public void parse(InputStream in, Format format, Consumer<Row> consumer) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        switch (format) {
+            case CSV -> parseCsv(reader, consumer);
+            case NDJSON -> parseNdjson(reader, consumer);
+        }
+    }
+
+    //NDJSON
+
+    private void parseNdjson(BufferedReader reader, Consumer<Row> consumer) throws IOException {
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                consumer.accept(Row.valid(lineNumber, ndjsonReader.readValue(line)));
+            } catch (JsonProcessingException e) {
+                consumer.accept(Row.invalid(lineNumber, "JSON inválido: " + e.getOriginalMessage()));
+            }
+        }
+    }
+
+    //CSV
+
+    private void parseCsv(Reader reader, Consumer<Row> consumer) throws IOException {
+        var csv = new CsvRecordReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            return;
+        }
+        int[] positions = columnPositions(header);
+
+        long record = 0;
+        List<String> values;
+        while ((values = csv.next()) != null) {
+            record++;
+            if (values.size() == 1 && values.get(0).isBlank()) {
+                continue;
+            }
+            try {
+                consumer.accept(Row.valid(record, toBook(values, positions)));
+            } catch (IllegalArgumentException e) {
+                consumer.accept(Row.invalid(record, e.getMessage()));
+            }
+        }
+    }
+
+    // Posição de cada coluna conhecida no cabeçalho (-1 se ausente); aceita camelCase e snake_case
+    private static int[] columnPositions(List<String> header) {
+        int[] positions = new int[COLUMNS.size()];
+        Arrays.fill(positions, -1);
+        Map<String, Integer> byName = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).replace("\uFEFF", "").replace("_", "").trim().toLowerCase(Locale.ROOT);
+            byName.putIfAbsent(name, i);
+        }
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            positions[i] = byName.getOrDefault(COLUMNS.get(i), -1);
+        }
+        if (positions[0] < 0) {
+            throw new BusinessException("O CSV precisa ter a coluna 'title' no cabeçalho", ErrorCode.INVALID_OPERATION);
+        }
+        return positions;
+    }
+
+    private static BookCreateDTO toBook(List<String> values, int[] positions) {
+        String pageCount = column(values, positions, 7);
+        String status = column(values, positions, 9);
+        return new BookCreateDTO(
+                column(values, positions, 0),
+                column(values, positions, 1),
+                column(values, positions, 2),
+                column(values, positions, 3),
+                column(values, positions, 4),
+                column(values, positions, 5),
+                column(values, positions, 6),
+                pageCount == null ? null : parsePageCount(pageCount),
+                column(values, positions, 8),
+                status == null ? null : parseStatus(status));
+    }
+
+    private static String column(List<String> values, int[] positions, int column) {
+        int position = positions[column];
+        if (position < 0 || position >= values.size()) {
+            return null;
+        }
+        String value = values.get(position).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Integer parsePageCount(String value) {
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Número de páginas inválido: " + value);
+        }
+    }
+
+    private static Status parseStatus(String value) {
+        try {
+            return Status.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Status inválido: " + value);
+        }
+    }
+
+    // Leitor RFC 4180: campos entre aspas podem conter vírgulas, quebras de linha e aspas duplicadas ("")
+    private static final class CsvRecordReader {
+
+        private final Reader reader;
+        private final StringBuilder field = new StringBuilder();
+        private boolean eof;
+
+        private CsvRecordReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        private List<String> next() throws IOException {
+            if (eof) {
+                return null;
+            }
+            List<String> values = new ArrayList<>();
+            field.setLength(0);
+            boolean quoted = false;
+            boolean any = false;
+            int c;
+            while ((c = reader.read()) != -1) {
+                any = true;
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        int following = reader.read();
+                        if (following == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            if (following != -1) {
+                                reader.reset();
+                            }
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    values.add(field.toString());
+                    return values;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+            }
+            eof = true;
+            if (!any) {
+                return null;
+            }
+            values.add(field.toString());
+            return values;
+        }
+    }
+}
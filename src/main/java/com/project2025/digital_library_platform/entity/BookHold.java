@@ -0,0 +1,49 @@
+package com.project2025.digital_library_platform.entity;
+
+import com.project2025.digital_library_platform.entity.book.Book;
+import com.project2025.digital_library_platform.entity.user.User;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reserva de um livro emprestado. A fila de cada livro é a ordem dos IDs (FIFO);
+ * a reserva é apagada quando o livro é entregue ao usuário ou quando ele desiste.
+ */
+@Entity
+@Table(name = "book_holds",
+        uniqueConstraints = @UniqueConstraint(name = "uk_hold_book_user", columnNames = {"book_id", "user_id"}),
+        indexes = @Index(name = "idx_hold_book_id", columnList = "book_id, id"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookHold {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Schema(description = "ID ÚNICO DA RESERVA", example = "1")
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "book_id", nullable = false)
+    @Schema(description = "Livro reservado")
+    private Book book;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    @Schema(description = "Usuário que está na fila")
+    private User user;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    @Schema(description = "Data e hora em que o usuário entrou na fila", accessMode = Schema.AccessMode.READ_ONLY)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
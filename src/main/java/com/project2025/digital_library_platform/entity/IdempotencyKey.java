@@ -0,0 +1,59 @@
+package com.project2025.digital_library_platform.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resposta guardada de uma requisição com o cabeçalho Idempotency-Key, para que a repetição
+ * receba a mesma resposta sem executar a operação de novo. Criada (ainda sem resposta) antes de a
+ * requisição rodar e completada ao final; expira depois de algumas horas.
+ * Enquanto não completa, a chave fica reservada só até locked_until: se a instância cair no meio
+ * da requisição, a repetição do cliente assume a chave depois desse prazo.
+ */
+@Entity
+@Table(name = "idempotency_keys",
+        indexes = @Index(name = "idx_idempotency_expires", columnList = "expires_at"))
+@Getter
+@NoArgsConstructor
+public class IdempotencyKey {
+
+    @Id
+    @Column(name = "idempotency_key", length = 150)
+    @Schema(description = "Login do usuário e chave enviada pelo cliente", example = "bibliotecaria:7f3c9a2e")
+    private String key;
+
+    @Column(name = "fingerprint", nullable = false, length = 64)
+    @Schema(description = "SHA-256 do método, do caminho e do corpo da requisição")
+    private String fingerprint;
+
+    @Column(name = "completed", nullable = false)
+    @Schema(description = "A requisição terminou e a resposta está guardada", example = "true")
+    private boolean completed;
+
+    @Column(name = "response_status")
+    @Schema(description = "Status HTTP da resposta original", example = "200")
+    private Integer responseStatus;
+
+    @Column(name = "content_type")
+    @Schema(description = "Content-Type da resposta original", example = "application/json")
+    private String contentType;
+
+    @Lob
+    @Column(name = "response_body")
+    @Schema(description = "Corpo da resposta original")
+    private byte[] responseBody;
+
+    @Column(name = "locked_until")
+    @Schema(description = "Fim da reserva da requisição em andamento; vazio depois que a resposta é guardada")
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -10,9 +10,10 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "loans", indexes = {
-        @Index(name = "idx_loan_user_id", columnList = "user_id"),
+        @Index(name = "idx_loan_user_date", columnList = "user_id, loan_date"),
         @Index(name = "idx_loan_book_id", columnList = "book_id"),
-        @Index(name = "idx_loan_returned", columnList = "returned")
+        @Index(name = "idx_loan_returned_actual", columnList = "returned, actual_return_date"),
+        @Index(name = "idx_loan_open_due", columnList = "returned, overdue, return_date")
 })
 @Getter
 @Setter
@@ -38,6 +39,10 @@ public class Loan {
     @Schema(description = "Status de devolução do livro", example = "false")
     private boolean returned;
 
+        @Column(name = "overdue", nullable = false)
+    @Schema(description = "Vencido e já contado nos contadores do usuário", example = "false")
+    private boolean overdue;
+
         @Column(name = "actual_return_date")
     @Schema(description = "Data e hora em que o livro foi efetivamente devolvido", example = "2025-08-05T15:30:00")
     private LocalDateTime actualReturnDate;
@@ -0,0 +1,69 @@
+package com.project2025.digital_library_platform.entity;
+
+import com.project2025.digital_library_platform.entity.book.Book;
+import com.project2025.digital_library_platform.entity.user.User;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Empréstimo devolvido movido de loans para loans_archive pelo arquivamento.
+ * Só leitura: as linhas são gravadas e removidas por SQL em lote ({@link
+ * com.project2025.digital_library_platform.repositories.LoanArchiveRepositoryCustomImpl}).
+ */
+@Entity
+@Immutable
+@Table(name = "loans_archive", indexes = {
+        @Index(name = "idx_loan_archive_user_date", columnList = "user_id, loan_date"),
+        @Index(name = "idx_loan_archive_book_id", columnList = "book_id")
+})
+@Getter
+@NoArgsConstructor
+public class LoanArchive {
+
+    @Id
+    @Schema(description = "ID do empréstimo original", example = "1")
+    private Long id;
+
+    @Column(name = "loan_date", nullable = false)
+    @Schema(description = "Data e hora em que o empréstimo foi realizado", example = "2025-07-25T10:00:00")
+    private LocalDateTime loanDate;
+
+    @Column(name = "return_date", nullable = false)
+    @Schema(description = "Data e hora prevista para devolução", example = "2025-08-05T10:00:00")
+    private LocalDateTime returnDate;
+
+    @Column(name = "returned", nullable = false)
+    @Schema(description = "Status de devolução do livro", example = "true")
+    private boolean returned;
+
+    @Column(name = "actual_return_date")
+    @Schema(description = "Data e hora em que o livro foi efetivamente devolvido", example = "2025-08-05T15:30:00")
+    private LocalDateTime actualReturnDate;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    @Schema(description = "Usuário que realizou o empréstimo")
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "book_id", nullable = false)
+    @Schema(description = "Livro que foi emprestado")
+    private Book book;
+
+    @Column(name = "created_at", nullable = false)
+    @Schema(description = "Data e hora de criação do empréstimo")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    @Schema(description = "Data da última atualização antes do arquivamento")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    @Schema(description = "Data e hora em que o empréstimo foi arquivado")
+    private LocalDateTime archivedAt;
+}
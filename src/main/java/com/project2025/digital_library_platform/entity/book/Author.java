@@ -0,0 +1,35 @@
+package com.project2025.digital_library_platform.entity.book;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Autor normalizado do catálogo. O vínculo com os livros fica na tabela book_authors
+ * (book_id, author_id, sort_order); a coluna authors de books continua sendo o texto exibido.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "authors", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_author_normalized_name", columnNames = "normalized_name")
+})
+@Entity
+@Schema(description = "REPRESENTA UM AUTOR DO CATÁLOGO")
+public class Author {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Schema(description = "ID ÚNICO DO AUTOR", example = "1", accessMode = Schema.AccessMode.READ_ONLY)
+    private Long id;
+
+    @Column(name = "name", nullable = false)
+    @Schema(description = "NOME DO AUTOR COMO FOI CADASTRADO", example = "Machado de Assis")
+    private String name;
+
+    @Column(name = "normalized_name", nullable = false)
+    @Schema(description = "NOME SEM ACENTOS, EM MINÚSCULAS E COM ESPAÇOS SIMPLES, USADO NAS BUSCAS",
+            example = "machado de assis", accessMode = Schema.AccessMode.READ_ONLY)
+    private String normalizedName;
+}
@@ -19,7 +19,9 @@ import java.time.LocalDateTime;
         @Index(name = "idx_book_title", columnList = "title"),
         @Index(name = "idx_book_status", columnList = "status"),
         @Index(name = "idx_book_active", columnList = "active"),
-        @Index(name = "idx_book_google_id", columnList = "google_books_id")
+        @Index(name = "idx_book_google_id", columnList = "google_books_id"),
+        @Index(name = "idx_book_active_status_id", columnList = "active, status, id"),
+        @Index(name = "idx_book_active_status_title", columnList = "active, status, title, id")
 })
 @Entity
 @Schema(description = "REPRESENTA UM LIVRO COM INFORMAÇÕES DETALHADAS")
@@ -61,6 +63,10 @@ public class Book {
     @Schema(description = "ISBN-13")
     private String isbn13;
 
+        @Column(name = "isbn_key", unique = true)
+    @Schema(description = "ISBN-13 CANÔNICO EM FORMA NUMÉRICA, USADO NAS BUSCAS POR ISBN", accessMode = Schema.AccessMode.READ_ONLY)
+    private Long isbnKey;
+
         @Column(name = "description", columnDefinition = "TEXT")
     @Schema(description = "DESCRIÇÃO/SINOPSE DO LIVRO")
     private String description;
@@ -148,6 +154,13 @@ public class Book {
         return !this.active || this.status == Status.UNAVAILABLE;
     }
 
+        @Schema(description = "Define o ISBN a partir da chave canônica, gravando ISBN-13 e ISBN-10 sem hífens")
+    public void assignIsbn(Long isbnKey) {
+        this.isbnKey = isbnKey;
+        this.isbn13 = isbnKey == null ? null : Isbn.toIsbn13(isbnKey);
+        this.isbn10 = isbnKey == null ? null : Isbn.toIsbn10(isbnKey);
+    }
+
      //===== MÉTODO PARA POPULAR COM DADOS DO GOOGLE BOOKS =====
 
         @Schema(description = "Popula campos da integração com GoogleBooks")
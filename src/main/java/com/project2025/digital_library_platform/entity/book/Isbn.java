@@ -0,0 +1,116 @@
+package com.project2025.digital_library_platform.entity.book;
+
+import com.project2025.digital_library_platform.exception.BusinessException;
+import com.project2025.digital_library_platform.exception.ErrorCode;
+
+/**
+ * Forma canônica dos ISBNs do catálogo.
+ * Todo ISBN válido (10 ou 13 dígitos, com ou sem hífens) vira o ISBN-13 correspondente,
+ * guardado como número em {@code books.isbn_key}. A leitura não aloca objetos, para poder
+ * ser usada a cada leitura do scanner do balcão.
+ */
+public final class Isbn {
+
+    public static final long INVALID = -1L;
+
+    private static final long PREFIX_978 = 978L;
+    private static final long TEN_DIGITS = 10_000_000_000L;
+
+    private Isbn() {
+    }
+
+    // Chave numérica (ISBN-13) do ISBN informado, ou INVALID se o formato ou o dígito verificador estiverem errados
+    public static long parseKey(CharSequence raw) {
+        if (raw == null) {
+            return INVALID;
+        }
+        long digits = 0;
+        int count = 0;
+        int sum10 = 0;
+        int sum13 = 0;
+        boolean checkX = false;
+
+        for (int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (c == '-' || c == ' ') {
+                continue;
+            }
+            if (checkX) {
+                return INVALID;
+            }
+            int digit;
+            if (c >= '0' && c <= '9') {
+                digit = c - '0';
+            } else if ((c == 'X' || c == 'x') && count == 9) {
+                digit = 10;
+                checkX = true;
+            } else {
+                return INVALID;
+            }
+            if (count == 13) {
+                return INVALID;
+            }
+            if (digit < 10) {
+                digits = digits * 10 + digit;
+            }
+            sum10 += (10 - count) * digit;
+            sum13 += (count % 2 == 0 ? 1 : 3) * digit;
+            count++;
+        }
+
+        if (count == 10) {
+            if (sum10 % 11 != 0) {
+                return INVALID;
+            }
+            // Descarta o verificador do ISBN-10 e recalcula o do ISBN-13 com o prefixo 978
+            long first9 = checkX ? digits : digits / 10;
+            long base = PREFIX_978 * 1_000_000_000L + first9;
+            return base * 10 + checkDigit13(base);
+        }
+        if (count == 13 && !checkX) {
+            long prefix = digits / TEN_DIGITS;
+            if ((prefix == 978 || prefix == 979) && sum13 % 10 == 0) {
+                return digits;
+            }
+        }
+        return INVALID;
+    }
+
+    public static long toKey(String raw) {
+        long key = parseKey(raw);
+        if (key == INVALID) {
+            throw new BusinessException("ISBN inválido: " + raw, ErrorCode.INVALID_ISBN);
+        }
+        return key;
+    }
+
+    public static String toIsbn13(long key) {
+        return Long.toString(key);
+    }
+
+    // ISBN-10 equivalente; só existe para ISBNs com prefixo 978
+    public static String toIsbn10(long key) {
+        if (key / TEN_DIGITS != PREFIX_978) {
+            return null;
+        }
+        long first9 = (key / 10) % 1_000_000_000L;
+        int sum = 0;
+        long rest = first9;
+        for (int weight = 2; weight <= 10; weight++) {
+            sum += weight * (int) (rest % 10);
+            rest /= 10;
+        }
+        int check = (11 - sum % 11) % 11;
+        return String.format("%09d%s", first9, check == 10 ? "X" : String.valueOf(check));
+    }
+
+    private static long checkDigit13(long first12) {
+        int sum = 0;
+        long rest = first12;
+        for (int position = 11; position >= 0; position--) {
+            sum += (position % 2 == 0 ? 1 : 3) * (int) (rest % 10);
+            rest /= 10;
+        }
+        return (10 - sum % 10) % 10;
+    }
+}
@@ -0,0 +1,44 @@
+package com.project2025.digital_library_platform.entity.report;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Totais de circulação de um dia, somados pelo
+ * {@link com.project2025.digital_library_platform.services.CirculationRollupService}.
+ * Empréstimos e cancelamentos contam no dia do empréstimo; devoluções, no dia da devolução.
+ */
+@Entity
+@Table(name = "circulation_daily")
+@Getter
+@NoArgsConstructor
+public class CirculationDaily {
+
+    @Id
+    @Column(name = "rollup_date")
+    @Schema(description = "Dia", example = "2025-08-01")
+    private LocalDate day;
+
+    @Column(name = "loans", nullable = false)
+    @Schema(description = "Empréstimos feitos no dia, já descontados os cancelados", example = "42")
+    private int loans;
+
+    @Column(name = "returned_loans", nullable = false)
+    @Schema(description = "Devoluções feitas no dia", example = "38")
+    private int returnedLoans;
+
+    @Column(name = "late_returns", nullable = false)
+    @Schema(description = "Devoluções do dia feitas depois do prazo", example = "5")
+    private int lateReturns;
+
+    @Column(name = "cancelled_loans", nullable = false)
+    @Schema(description = "Empréstimos feitos no dia e cancelados depois", example = "1")
+    private int cancelledLoans;
+}
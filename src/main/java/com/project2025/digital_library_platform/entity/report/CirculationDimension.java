@@ -0,0 +1,8 @@
+package com.project2025.digital_library_platform.entity.report;
+
+// Recortes dos totais diários de empréstimos em circulation_rollups
+public enum CirculationDimension {
+    BOOK,
+    USER,
+    PUBLISHER
+}
@@ -0,0 +1,49 @@
+package com.project2025.digital_library_platform.entity.report;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Acréscimo aos totais de circulação ainda não somado, gravado junto com o empréstimo, a devolução ou
+ * o cancelamento que o gerou. Lido e apagado pela gravação periódica do
+ * {@link com.project2025.digital_library_platform.services.CirculationRollupService}.
+ */
+@Entity
+@Table(name = "circulation_outbox")
+@Getter
+@NoArgsConstructor
+public class CirculationOutboxEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate day;
+
+    @Column(name = "book_id")
+    private Long bookId;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "loans", nullable = false)
+    private int loans;
+
+    @Column(name = "returned_loans", nullable = false)
+    private int returnedLoans;
+
+    @Column(name = "late_returns", nullable = false)
+    private int lateReturns;
+
+    @Column(name = "cancelled_loans", nullable = false)
+    private int cancelledLoans;
+}
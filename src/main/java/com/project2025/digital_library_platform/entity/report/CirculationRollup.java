@@ -0,0 +1,58 @@
+package com.project2025.digital_library_platform.entity.report;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Empréstimos de um dia por livro, usuário ou editora. A chave é o ID do livro ou do usuário,
+ * ou o nome da editora (vazio para livros sem editora).
+ */
+@Entity
+@Table(name = "circulation_rollups")
+@IdClass(CirculationRollup.Key.class)
+@Getter
+@NoArgsConstructor
+public class CirculationRollup {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "dimension", length = 16)
+    @Schema(description = "Recorte do total", example = "BOOK")
+    private CirculationDimension dimension;
+
+    @Id
+    @Column(name = "rollup_date")
+    @Schema(description = "Dia", example = "2025-08-01")
+    private LocalDate day;
+
+    @Id
+    @Column(name = "dimension_key")
+    @Schema(description = "ID do livro ou do usuário, ou nome da editora", example = "17")
+    private String dimensionKey;
+
+    @Column(name = "loans", nullable = false)
+    @Schema(description = "Empréstimos no dia, já descontados os cancelados", example = "3")
+    private int loans;
+
+    @EqualsAndHashCode
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private CirculationDimension dimension;
+        private LocalDate day;
+        private String dimensionKey;
+    }
+}
@@ -0,0 +1,38 @@
+package com.project2025.digital_library_platform.entity.user;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Contadores de empréstimos por usuário, mantidos na mesma transação de cada empréstimo,
+ * devolução e cancelamento. Alterados só por UPDATEs condicionais em
+ * {@link com.project2025.digital_library_platform.repositories.UserLoanCounterRepository}.
+ */
+@Entity
+@Table(name = "user_loan_counters")
+@Getter
+@NoArgsConstructor
+public class UserLoanCounter {
+
+    @Id
+    @Column(name = "user_id")
+    @Schema(description = "ID do usuário", example = "1")
+    private Long userId;
+
+    @Column(name = "active_loans", nullable = false)
+    @Schema(description = "Empréstimos em aberto", example = "2")
+    private int activeLoans;
+
+    @Column(name = "overdue_loans", nullable = false)
+    @Schema(description = "Empréstimos em aberto com o prazo de devolução vencido", example = "0")
+    private int overdueLoans;
+
+    @Column(name = "lifetime_loans", nullable = false)
+    @Schema(description = "Total de empréstimos já feitos, incluindo os arquivados", example = "37")
+    private long lifetimeLoans;
+}
@@ -0,0 +1,15 @@
+package com.project2025.digital_library_platform.events;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+@Getter
+public class BookStatusChangedEvent extends ApplicationEvent {
+
+    private final Long bookId;
+
+    public BookStatusChangedEvent(Long bookId) {
+        super(bookId);
+        this.bookId = bookId;
+    }
+}
@@ -0,0 +1,18 @@
+package com.project2025.digital_library_platform.events;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.List;
+
+// Um evento por lote da importação, com os IDs de todos os livros gravados no lote
+@Getter
+public class BooksImportedEvent extends ApplicationEvent {
+
+    public final List<Long> bookIds;
+
+    public BooksImportedEvent(List<Long> bookIds) {
+        super(bookIds);
+        this.bookIds = List.copyOf(bookIds);
+    }
+}
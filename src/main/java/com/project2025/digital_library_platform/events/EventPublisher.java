@@ -5,6 +5,8 @@ import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 public class EventPublisher {
 
@@ -30,6 +32,23 @@ public class EventPublisher {
         System.out.println("Evento publicado com RabbitMQ: " + message);
     }
 
+    @EventListener
+    public void handlerBooksImportedEvent(BooksImportedEvent event) {
+        List<Long> bookIds = event.getBookIds();
+        DomainEventDTO message = new DomainEventDTO(
+                "BOOKS_IMPORTED",
+                "BOOK",
+                bookIds.get(0),
+                "Importação em lote: " + bookIds.size() + " livros criados, IDs de " + bookIds.get(0) +
+                        " a " + bookIds.get(bookIds.size() - 1)
+        );
+
+        // Uma mensagem por bloco da importação, no lugar de uma por livro
+        rabbitTemplate.convertAndSend("library.events", "audit.log", message);
+
+        System.out.println("Evento publicado com RabbitMQ: " + message);
+    }
+
     @EventListener
     public void handlerUserCreatedEvent(UserRegisteredEvent event){
         DomainEventDTO message = new DomainEventDTO(
@@ -0,0 +1,26 @@
+package com.project2025.digital_library_platform.events;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+// Reserva que saiu da fila: atendida (loanId do empréstimo criado) ou cancelada (loanId nulo)
+@Getter
+public class HoldClosedEvent extends ApplicationEvent {
+
+    public final Long holdId;
+    public final Long bookId;
+    public final Long userId;
+    public final Long loanId;
+
+    public HoldClosedEvent(Long holdId, Long bookId, Long userId, Long loanId) {
+        super(holdId);
+        this.holdId = holdId;
+        this.bookId = bookId;
+        this.userId = userId;
+        this.loanId = loanId;
+    }
+
+    public boolean isFulfilled() {
+        return loanId != null;
+    }
+}
@@ -0,0 +1,19 @@
+package com.project2025.digital_library_platform.events;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+@Getter
+public class HoldPlacedEvent extends ApplicationEvent {
+
+    public final Long holdId;
+    public final Long bookId;
+    public final Long userId;
+
+    public HoldPlacedEvent(Long holdId, Long bookId, Long userId) {
+        super(holdId);
+        this.holdId = holdId;
+        this.bookId = bookId;
+        this.userId = userId;
+    }
+}
@@ -0,0 +1,40 @@
+package com.project2025.digital_library_platform.events;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Um evento por atendimento no balcão: todos os empréstimos (ou devoluções) do lote de uma vez
+@Getter
+public class LoanBatchEvent extends ApplicationEvent {
+
+    public enum Kind {
+        CHECKOUT,
+        RETURN
+    }
+
+    public final Kind kind;
+    public final Long userId;
+    public final List<Long> loanIds;
+    public final List<Long> bookIds;
+    public final LocalDateTime returnDate;
+    // Na devolução, os empréstimos do lote devolvidos depois do prazo
+    public final List<Long> lateLoanIds;
+
+    public LoanBatchEvent(Kind kind, Long userId, List<Long> loanIds, List<Long> bookIds, LocalDateTime returnDate,
+                          List<Long> lateLoanIds) {
+        super(loanIds);
+        this.kind = kind;
+        this.userId = userId;
+        this.loanIds = List.copyOf(loanIds);
+        this.bookIds = List.copyOf(bookIds);
+        this.returnDate = returnDate;
+        this.lateLoanIds = List.copyOf(lateLoanIds);
+    }
+
+    public boolean isCheckout() {
+        return kind == Kind.CHECKOUT;
+    }
+}
@@ -0,0 +1,29 @@
+package com.project2025.digital_library_platform.events;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.time.LocalDateTime;
+
+// Empréstimo que deixou de estar em aberto, por devolução ou cancelamento
+@Getter
+public class LoanClosedEvent extends ApplicationEvent {
+
+    public final Long loanId;
+    public final Long bookId;
+    public final Long userId;
+    public final LocalDateTime loanDate;
+    public final boolean cancelled;
+    // Devolvido depois do prazo
+    public final boolean late;
+
+    public LoanClosedEvent(Long loanId, Long bookId, Long userId, LocalDateTime loanDate, boolean cancelled, boolean late) {
+        super(loanId);
+        this.loanId = loanId;
+        this.bookId = bookId;
+        this.userId = userId;
+        this.loanDate = loanDate;
+        this.cancelled = cancelled;
+        this.late = late;
+    }
+}
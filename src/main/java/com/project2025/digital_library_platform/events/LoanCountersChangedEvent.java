@@ -0,0 +1,19 @@
+package com.project2025.digital_library_platform.events;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.Collection;
+import java.util.List;
+
+// Contadores de empréstimos alterados; o cache local descarta os usuários após o commit
+@Getter
+public class LoanCountersChangedEvent extends ApplicationEvent {
+
+    public final List<Long> userIds;
+
+    public LoanCountersChangedEvent(Collection<Long> userIds) {
+        super(List.copyOf(userIds));
+        this.userIds = List.copyOf(userIds);
+    }
+}
@@ -3,13 +3,21 @@ package com.project2025.digital_library_platform.events;
 import lombok.Getter;
 import org.springframework.context.ApplicationEvent;
 
+import java.time.LocalDateTime;
+
 @Getter
 public class LoanCreatedEvent extends ApplicationEvent {
 
     public final Long loanId;
+    public final Long bookId;
+    public final Long userId;
+    public final LocalDateTime returnDate;
 
-    public LoanCreatedEvent(Long loanId) {
+    public LoanCreatedEvent(Long loanId, Long bookId, Long userId, LocalDateTime returnDate) {
         super(loanId);
         this.loanId = loanId;
+        this.bookId = bookId;
+        this.userId = userId;
+        this.returnDate = returnDate;
     }
-}
\ No newline at end of file
+}
@@ -5,11 +5,21 @@ public enum ErrorCode {
     BOOK_ALREADY_EXISTS,
     USER_NOT_FOUND,
     BOOK_NOT_FOUND,
+    AUTHOR_NOT_FOUND,
     LOAN_NOT_FOUND,
+    HOLD_NOT_FOUND,
+    HOLD_ALREADY_EXISTS,
     USER_UNAVAILABLE,
     BOOK_UNAVAILABLE,
     LOAN_ALREADY_RETURNED,
+    LOAN_LIMIT_REACHED,
+    USER_HAS_OVERDUE_LOANS,
     INVALID_CREDENTIALS,
-    INVALID_OPERATION
+    INVALID_OPERATION,
+    IDEMPOTENCY_KEY_INVALID,
+    IDEMPOTENCY_KEY_IN_USE,
+    IDEMPOTENCY_KEY_REUSED,
+    INDEX_NOT_READY,
+    INVALID_ISBN
 
 }
@@ -0,0 +1,169 @@
+package com.project2025.digital_library_platform.index;
+
+import com.project2025.digital_library_platform.entity.book.Book;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Autocomplete de títulos e autores.
+ * As sugestões ficam numa {@link SuggestionTrie} indexadas pelo texto normalizado e por cada sufixo
+ * que começa numa palavra ("quix" encontra "Dom Quixote"). O peso de uma sugestão é a soma,
+ * entre os livros que a contêm, de 1 + número de empréstimos do livro.
+ */
+@Component
+public class AutocompleteIndex implements BookIndex {
+
+    private static final int TOP_K = 10;
+    private static final int MAX_WORD_STARTS = 8;
+
+    public enum Kind {
+        TITLE,
+        AUTHOR
+    }
+
+    public record Suggestion(String text, Kind kind, Long bookId, long weight) {
+    }
+
+    private final SuggestionTrie trie = new SuggestionTrie(TOP_K);
+    private final Map<String, SuggestionTrie.Entry> entries = new HashMap<>();
+    private final Map<Long, List<SuggestionTrie.Entry>> entriesByBook = new HashMap<>();
+    private final Map<Long, Long> loansByBook = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    @Override
+    public void index(Book book) {
+        if (book.getId() == null) {
+            return;
+        }
+        Long bookId = book.getId();
+
+        lock.writeLock().lock();
+        try {
+            long weight = bookWeight(bookId);
+            unlinkBook(bookId, weight);
+
+            List<SuggestionTrie.Entry> linked = new ArrayList<>();
+            link(linked, Kind.TITLE, book.getTitle(), bookId, weight);
+            if (book.getAuthors() != null) {
+                for (String author : book.getAuthors().split(",")) {
+                    link(linked, Kind.AUTHOR, author, bookId, weight);
+                }
+            }
+            entriesByBook.put(bookId, linked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void markReady() {
+        this.ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Soma empréstimos ao livro e sobe o peso das suas sugestões (o livro pode ainda não ter sido indexado)
+    public void addLoans(Long bookId, long loans) {
+        if (bookId == null || loans == 0) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            loansByBook.merge(bookId, loans, Long::sum);
+            for (SuggestionTrie.Entry entry : entriesByBook.getOrDefault(bookId, List.of())) {
+                entry.weight += loans;
+                entry.keys.forEach(trie::refresh);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String key = String.join(" ", TextNormalizer.tokenize(prefix));
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            return trie.top(key)
+                    .stream()
+                    .limit(limit)
+                    .map(entry -> new Suggestion(entry.label, entry.kind,
+                            entry.kind == Kind.TITLE ? entry.bookIds.iterator().next() : null,
+                            entry.weight))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long bookWeight(Long bookId) {
+        return 1 + loansByBook.getOrDefault(bookId, 0L);
+    }
+
+    private void link(List<SuggestionTrie.Entry> linked, Kind kind, String text, Long bookId, long weight) {
+        if (text == null || text.isBlank()) {
+            return;
+        }
+        List<String> tokens = TextNormalizer.tokenize(text);
+        if (tokens.isEmpty()) {
+            return;
+        }
+        SuggestionTrie.Entry entry = entries.computeIfAbsent(entryId(kind, tokens), id -> {
+            var created = new SuggestionTrie.Entry(text.trim(), kind);
+            created.keys.addAll(keys(tokens));
+            return created;
+        });
+        if (!entry.bookIds.add(bookId)) {
+            return;
+        }
+        entry.weight += weight;
+        for (String key : entry.keys) {
+            trie.add(key, entry);
+        }
+        linked.add(entry);
+    }
+
+    private void unlinkBook(Long bookId, long weight) {
+        List<SuggestionTrie.Entry> previous = entriesByBook.remove(bookId);
+        if (previous == null) {
+            return;
+        }
+        for (SuggestionTrie.Entry entry : previous) {
+            entry.bookIds.remove(bookId);
+            entry.weight -= weight;
+            if (entry.bookIds.isEmpty()) {
+                entries.remove(entryId(entry.kind, TextNormalizer.tokenize(entry.label)));
+                entry.keys.forEach(key -> trie.remove(key, entry));
+            } else {
+                entry.keys.forEach(trie::refresh);
+            }
+        }
+    }
+
+    private static String entryId(Kind kind, List<String> tokens) {
+        return kind + ":" + String.join(" ", tokens);
+    }
+
+    // O texto completo e cada sufixo iniciado numa palavra, até MAX_WORD_STARTS palavras
+    private static Set<String> keys(List<String> tokens) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (int i = 0; i < tokens.size() && i < MAX_WORD_STARTS; i++) {
+            keys.add(String.join(" ", tokens.subList(i, tokens.size())));
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,100 @@
+package com.project2025.digital_library_platform.index;
+
+import com.project2025.digital_library_platform.entity.book.Book;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bitmap comprimido (Roaring) com os IDs dos livros disponíveis para empréstimo (ativos e AVAILABLE).
+ * Empréstimos e devoluções chegam pelo {@link BookIndexer} como mudança de status; a contagem,
+ * a paginação por ID e a verificação de disponibilidade saem do bitmap, sem consultar o banco.
+ */
+@Component
+public class AvailabilityIndex implements BookIndex {
+
+    private final RoaringBitmap available = new RoaringBitmap();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    @Override
+    public void index(Book book) {
+        if (book.getId() == null) {
+            return;
+        }
+        int bit = Math.toIntExact(book.getId());
+
+        lock.writeLock().lock();
+        try {
+            if (book.isAvailable()) {
+                available.add(bit);
+            } else {
+                available.remove(bit);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Após a carga inicial, sequências de IDs contíguos viram runs e ocupam poucos bytes
+    @Override
+    public void markReady() {
+        lock.writeLock().lock();
+        try {
+            available.runOptimize();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        this.ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public long count() {
+        lock.readLock().lock();
+        try {
+            return available.getLongCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isAvailable(long bookId) {
+        if (bookId < 0 || bookId > Integer.MAX_VALUE) {
+            return false;
+        }
+        lock.readLock().lock();
+        try {
+            return available.contains((int) bookId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Até limit IDs disponíveis maiores que afterId, em ordem crescente
+    public List<Long> page(long afterId, int limit) {
+        if (afterId >= Integer.MAX_VALUE || limit <= 0) {
+            return List.of();
+        }
+        List<Long> ids = new ArrayList<>(limit);
+
+        lock.readLock().lock();
+        try {
+            PeekableIntIterator iterator = available.getIntIterator();
+            iterator.advanceIfNeeded((int) Math.max(afterId + 1, 0));
+            while (iterator.hasNext() && ids.size() < limit) {
+                ids.add((long) iterator.next());
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return ids;
+    }
+}
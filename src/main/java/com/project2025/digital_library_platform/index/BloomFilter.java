@@ -0,0 +1,114 @@
+package com.project2025.digital_library_platform.index;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom escalável sobre hashes de 64 bits.
+ * "Não contém" é definitivo; "talvez contenha" erra com a taxa configurada. Quando a camada atual
+ * enche, uma nova com o dobro da capacidade e metade da taxa é criada, o que limita a taxa total
+ * a 2x a configurada sem precisar saber o tamanho do catálogo de antemão. Não remove elementos.
+ */
+final class BloomFilter {
+
+    private static final double LN2_SQUARED = Math.log(2) * Math.log(2);
+
+    private final List<Layer> layers = new CopyOnWriteArrayList<>();
+
+    BloomFilter(int initialCapacity, double falsePositiveRate) {
+        layers.add(new Layer(initialCapacity, falsePositiveRate));
+    }
+
+    void add(long hash) {
+        if (mightContain(hash)) {
+            return;
+        }
+        Layer current = layers.get(layers.size() - 1);
+        if (current.count.get() >= current.capacity) {
+            current = grow(current);
+        }
+        current.add(hash);
+    }
+
+    boolean mightContain(long hash) {
+        for (Layer layer : layers) {
+            if (layer.mightContain(hash)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private synchronized Layer grow(Layer full) {
+        Layer last = layers.get(layers.size() - 1);
+        if (last != full) {
+            return last;
+        }
+        Layer next = new Layer(full.capacity * 2, full.falsePositiveRate / 2);
+        layers.add(next);
+        return next;
+    }
+
+    // SplitMix64: espalha chaves sequenciais (como ISBNs) por todos os bits
+    static long hash(long key) {
+        long z = key + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // FNV-1a de 64 bits seguido do SplitMix64; String.hashCode tem só 32 bits e colide demais
+    static long hash(String key) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        return hash(h);
+    }
+
+    private static final class Layer {
+        private final int capacity;
+        private final double falsePositiveRate;
+        private final int bits;
+        private final int probes;
+        private final AtomicLongArray words;
+        private final AtomicInteger count = new AtomicInteger();
+
+        private Layer(int capacity, double falsePositiveRate) {
+            this.capacity = Math.max(1, capacity);
+            this.falsePositiveRate = falsePositiveRate;
+            long optimalBits = (long) Math.ceil(-this.capacity * Math.log(falsePositiveRate) / LN2_SQUARED);
+            this.words = new AtomicLongArray((int) Math.min(Integer.MAX_VALUE / 64, Math.max(1, (optimalBits + 63) / 64)));
+            this.bits = words.length() * 64;
+            this.probes = Math.max(1, (int) Math.round((double) bits / this.capacity * Math.log(2)));
+        }
+
+        // Duplo hashing (Kirsch-Mitzenmacher): as k posições saem das duas metades do mesmo hash
+        private void add(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= probes; i++) {
+                int bit = Math.floorMod(h1 + i * h2, bits);
+                long mask = 1L << bit;
+                int word = bit >>> 6;
+                words.getAndAccumulate(word, mask, (current, set) -> current | set);
+            }
+            count.incrementAndGet();
+        }
+
+        private boolean mightContain(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= probes; i++) {
+                int bit = Math.floorMod(h1 + i * h2, bits);
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.project2025.digital_library_platform.index;
+
+/**
+ * Dimensões pelas quais o catálogo pode ser filtrado na busca facetada.
+ */
+public enum BookFacet {
+    PUBLISHER,
+    AUTHOR,
+    YEAR,
+    STATUS,
+    ACTIVE
+}
@@ -0,0 +1,20 @@
+package com.project2025.digital_library_platform.index;
+
+import com.project2025.digital_library_platform.entity.book.Book;
+
+/**
+ * Estrutura em memória alimentada pelo {@link BookIndexer}.
+ * Recebe todos os livros no boot e cada livro criado ou alterado depois disso.
+ */
+public interface BookIndex {
+
+    // Indexa (ou reindexa) o livro, substituindo a versão anterior se existir
+    void index(Book book);
+
+    // Chamado após cada lote de alterações; índices que acumulam escritas as tornam visíveis aqui
+    default void flush() {
+    }
+
+    // Chamado quando a carga inicial termina; a partir daí o índice pode responder consultas
+    void markReady();
+}
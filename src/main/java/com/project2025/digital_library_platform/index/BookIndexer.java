@@ -0,0 +1,127 @@
+package com.project2025.digital_library_platform.index;
+
+import com.project2025.digital_library_platform.entity.book.Book;
+import com.project2025.digital_library_platform.events.BookCreatedEvent;
+import com.project2025.digital_library_platform.events.BookStatusChangedEvent;
+import com.project2025.digital_library_platform.events.BookUpdatedEvent;
+import com.project2025.digital_library_platform.events.BooksImportedEvent;
+import com.project2025.digital_library_platform.events.LoanBatchEvent;
+import com.project2025.digital_library_platform.repositories.BookRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Mantém os índices em memória do catálogo sincronizados com o banco.
+ * Faz a carga completa no boot e depois aplica apenas as alterações publicadas pelo BookService
+ * e as mudanças de status causadas pelos empréstimos.
+ */
+@Component
+@Slf4j
+public class BookIndexer {
+
+    private final BookRepository bookRepository;
+    private final List<BookIndex> indexes;
+    private final EntityManager entityManager;
+    // Livros reindexados por eventos durante a carga inicial: a leitura do boot é mais antiga e não pode sobrescrevê-los
+    private Set<Long> reindexedWhileLoading = new HashSet<>();
+
+    public BookIndexer(BookRepository bookRepository, List<BookIndex> indexes, EntityManager entityManager) {
+        this.bookRepository = bookRepository;
+        this.indexes = indexes;
+        this.entityManager = entityManager;
+    }
+
+    // O catálogo chega pelo cursor do banco e cada livro sai do contexto de persistência depois de indexado,
+    // então a memória do boot não cresce com o tamanho do catálogo; a transação segura o cursor aberto
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.nanoTime();
+        long count = 0;
+
+        try (Stream<Book> books = bookRepository.streamAllByOrderByIdAsc()) {
+            Iterator<Book> iterator = books.iterator();
+            while (iterator.hasNext()) {
+                Book book = iterator.next();
+                synchronized (this) {
+                    if (!reindexedWhileLoading.contains(book.getId())) {
+                        dispatch(book);
+                    }
+                }
+                entityManager.detach(book);
+                count++;
+            }
+        }
+        synchronized (this) {
+            reindexedWhileLoading = null;
+        }
+        indexes.forEach(BookIndex::markReady);
+
+        log.info("Índices do catálogo carregados: {} livros em {} ms",
+                count, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Executados após o commit para que os índices nunca enxerguem dados revertidos
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookCreated(BookCreatedEvent event) {
+        reindex(event.getBookId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookUpdated(BookUpdatedEvent event) {
+        reindex(event.getBookId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookStatusChanged(BookStatusChangedEvent event) {
+        reindex(event.getBookId());
+    }
+
+    // A importação em lote anuncia um bloco inteiro de uma vez; os livros são lidos com uma única consulta
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBooksImported(BooksImportedEvent event) {
+        reindexAll(event.getBookIds());
+    }
+
+    // Empréstimos e devoluções no balcão mudam o status de vários livros num único evento
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLoanBatch(LoanBatchEvent event) {
+        reindexAll(event.getBookIds());
+    }
+
+    // Também usado pelo CatalogCacheSync para as alterações feitas em outras instâncias
+    public void reindexAll(List<Long> bookIds) {
+        apply(bookIds, bookRepository.findAllById(bookIds));
+    }
+
+    private void reindex(Long bookId) {
+        apply(List.of(bookId), bookRepository.findById(bookId).stream().toList());
+    }
+
+    // Com o lock, um livro nunca é indexado pela carga inicial depois de ter sido indexado por um evento
+    private synchronized void apply(List<Long> bookIds, List<Book> books) {
+        if (reindexedWhileLoading != null) {
+            reindexedWhileLoading.addAll(bookIds);
+        }
+        books.forEach(this::dispatch);
+        indexes.forEach(BookIndex::flush);
+    }
+
+    private void dispatch(Book book) {
+        for (BookIndex index : indexes) {
+            index.index(book);
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.project2025.digital_library_platform.index;
+
+import com.project2025.digital_library_platform.entity.book.Book;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido de título e autores do catálogo.
+ * Cada termo normalizado aponta para os IDs dos livros que o contêm; a busca casa cada termo
+ * da consulta por prefixo e intersecta os resultados, sem varrer a tabela de livros.
+ * A busca ranqueada também aceita erros de digitação: os candidatos vêm do índice de trigramas
+ * (ou da BK-tree, para palavras curtas) e são confirmados pela distância de edição.
+ */
+@Component
+public class CatalogSearchIndex implements BookIndex {
+
+    private static final double TITLE_WEIGHT = 1.0;
+    private static final double AUTHOR_WEIGHT = 0.7;
+    private static final double EXACT_MATCH = 1.0;
+    private static final double PREFIX_MATCH = 0.8;
+    private static final double EDIT_PENALTY = 0.3;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private final NavigableMap<String, Set<Long>> titleTerms = new TreeMap<>();
+    private final NavigableMap<String, Set<Long>> authorTerms = new TreeMap<>();
+    private final Map<Long, IndexedBook> books = new HashMap<>();
+    private final TrigramIndex trigrams = new TrigramIndex();
+    private final BkTree bkTree = new BkTree();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    private record IndexedBook(String title, String authors, List<String> titleTokens, List<String> authorTokens) {
+    }
+
+    public record SearchHit(Long bookId, String title, String authors, double score) {
+    }
+
+    @Override
+    public void index(Book book) {
+        if (book.getId() == null) {
+            return;
+        }
+        Long bookId = book.getId();
+        var indexed = new IndexedBook(
+                book.getTitle(),
+                book.getAuthors(),
+                TextNormalizer.tokenize(book.getTitle()),
+                TextNormalizer.tokenize(book.getAuthors()));
+
+        lock.writeLock().lock();
+        try {
+            IndexedBook previous = books.put(bookId, indexed);
+            if (previous != null) {
+                unlink(titleTerms, previous.titleTokens(), bookId);
+                unlink(authorTerms, previous.authorTokens(), bookId);
+            }
+            link(titleTerms, indexed.titleTokens(), bookId);
+            link(authorTerms, indexed.authorTokens(), bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void markReady() {
+        this.ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Retorna os IDs (ordenados) dos livros cujo título contém todos os termos da consulta
+    public List<Long> searchTitle(String query) {
+        return search(titleTerms, query);
+    }
+
+    // Retorna os IDs (ordenados) dos livros cujos autores contêm todos os termos da consulta
+    public List<Long> searchAuthor(String query) {
+        return search(authorTerms, query);
+    }
+
+    // Busca ranqueada por título e autores, tolerante a acentos e erros de digitação
+    public List<SearchHit> search(String query, int limit) {
+        Set<String> tokens = new LinkedHashSet<>(TextNormalizer.tokenize(query));
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = new HashMap<>();
+            for (String token : tokens) {
+                Map<Long, Double> best = new HashMap<>();
+                expand(token).forEach((term, weight) -> {
+                    collect(best, titleTerms.get(term), weight * TITLE_WEIGHT);
+                    collect(best, authorTerms.get(term), weight * AUTHOR_WEIGHT);
+                });
+                best.forEach((bookId, score) -> scores.merge(bookId, score, Double::sum));
+            }
+
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder())
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .limit(limit)
+                    .map(entry -> {
+                        IndexedBook book = books.get(entry.getKey());
+                        return new SearchHit(entry.getKey(), book.title(), book.authors(), entry.getValue());
+                    })
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return books.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Long> search(NavigableMap<String, Set<Long>> terms, String query) {
+        List<String> tokens = TextNormalizer.tokenize(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Set<Long> result = null;
+            for (String token : tokens) {
+                Set<Long> matches = new HashSet<>();
+                for (Set<Long> ids : withPrefix(terms, token).values()) {
+                    matches.addAll(ids);
+                }
+                if (result == null) {
+                    result = matches;
+                } else {
+                    result.retainAll(matches);
+                }
+                if (result.isEmpty()) {
+                    return List.of();
+                }
+            }
+            List<Long> ids = new ArrayList<>(result);
+            Collections.sort(ids);
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Termos do vocabulário que podem corresponder à palavra digitada, com o peso de cada correspondência
+    private Map<String, Double> expand(String token) {
+        Map<String, Double> expansions = new HashMap<>();
+        if (titleTerms.containsKey(token) || authorTerms.containsKey(token)) {
+            expansions.put(token, EXACT_MATCH);
+        }
+
+        if (token.length() >= MIN_PREFIX_LENGTH) {
+            int expanded = 0;
+            for (var terms : List.of(titleTerms, authorTerms)) {
+                for (String term : withPrefix(terms, token).keySet()) {
+                    if (expanded++ >= MAX_PREFIX_EXPANSIONS) {
+                        break;
+                    }
+                    expansions.merge(term, PREFIX_MATCH, Math::max);
+                }
+            }
+        }
+
+        int maxEdits = maxEdits(token);
+        if (maxEdits > 0) {
+            for (String candidate : fuzzyCandidates(token, maxEdits)) {
+                int distance = EditDistance.bounded(token, candidate, maxEdits);
+                if (distance > 0 && distance <= maxEdits) {
+                    expansions.merge(candidate, EXACT_MATCH - EDIT_PENALTY * distance, Math::max);
+                }
+            }
+        }
+        return expansions;
+    }
+
+    private Collection<String> fuzzyCandidates(String token, int maxEdits) {
+        int minShared = TrigramIndex.trigrams(token).size() - 4 * maxEdits;
+        // Palavras curtas não têm trigramas suficientes para filtrar; a BK-tree resolve esses casos.
+        // A árvore mede Levenshtein, em que uma transposição custa 2; o raio dobrado não poda "aomr" de "amor"
+        // e o EditDistance.bounded de quem chama descarta o que passar de maxEdits
+        return minShared > 0 ? trigrams.candidates(token, minShared) : bkTree.search(token, 2 * maxEdits);
+    }
+
+    private static int maxEdits(String token) {
+        if (token.length() < 3) {
+            return 0;
+        }
+        return token.length() < 8 ? 1 : 2;
+    }
+
+    private static void collect(Map<Long, Double> best, Set<Long> bookIds, double score) {
+        if (bookIds != null) {
+            for (Long bookId : bookIds) {
+                best.merge(bookId, score, Math::max);
+            }
+        }
+    }
+
+    private static NavigableMap<String, Set<Long>> withPrefix(NavigableMap<String, Set<Long>> terms, String prefix) {
+        return terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private void link(Map<String, Set<Long>> terms, List<String> tokens, Long bookId) {
+        for (String token : tokens) {
+            if (!isKnownTerm(token)) {
+                trigrams.add(token);
+                bkTree.add(token);
+            }
+            terms.computeIfAbsent(token, key -> new HashSet<>()).add(bookId);
+        }
+    }
+
+    private void unlink(Map<String, Set<Long>> terms, List<String> tokens, Long bookId) {
+        for (String token : tokens) {
+            Set<Long> ids = terms.get(token);
+            if (ids != null && ids.remove(bookId) && ids.isEmpty()) {
+                terms.remove(token);
+                if (!isKnownTerm(token)) {
+                    trigrams.remove(token);
+                }
+            }
+        }
+    }
+
+    private boolean isKnownTerm(String term) {
+        return titleTerms.containsKey(term) || authorTerms.containsKey(term);
+    }
+}
@@ -0,0 +1,209 @@
+package com.project2025.digital_library_platform.index;
+
+import com.project2025.digital_library_platform.events.LoanBatchEvent;
+import com.project2025.digital_library_platform.events.LoanCreatedEvent;
+import com.project2025.digital_library_platform.repositories.LoanRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * "Quem emprestou este livro também emprestou…".
+ * Conta, para cada par de livros, quantos usuários emprestaram os dois (co-ocorrência item-item),
+ * em mapas de long primitivo com o par empacotado numa única chave. Cada empréstimo novo só
+ * incrementa os pares com os livros que o usuário já tinha emprestado, e a lista dos N vizinhos
+ * mais frequentes de cada livro é mantida junto: a recomendação é uma consulta ao mapa.
+ */
+@Component
+@Slf4j
+public class CoBorrowRecommender {
+
+    public static final int TOP_N = 20;
+
+    private static final int EXPECTED_PAIRS = 1 << 16;
+
+    private final LoanRepository loanRepository;
+    private final LongLongHashMap pairCounts = new LongLongHashMap(EXPECTED_PAIRS);
+    private final LongLongHashMap borrowedByUser = new LongLongHashMap(EXPECTED_PAIRS);
+    private final Map<Long, LongList> historyByUser = new HashMap<>();
+    private final Map<Long, Neighbours> neighboursByBook = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    public record Recommendation(Long bookId, long coBorrows) {
+    }
+
+    public CoBorrowRecommender(LoanRepository loanRepository) {
+        this.loanRepository = loanRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        long start = System.nanoTime();
+        long[] loans = {0};
+        try (Stream<LoanRepository.UserBook> pairs = loanRepository.streamUserBookPairs()) {
+            pairs.forEach(pair -> {
+                recordLoan(pair.userId(), pair.bookId());
+                loans[0]++;
+            });
+        }
+        this.ready = true;
+        log.info("Recomendações carregadas: {} empréstimos, {} pares de livros em {} ms",
+                loans[0], pairCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLoanCreated(LoanCreatedEvent event) {
+        if (event.getUserId() != null) {
+            recordLoan(event.getUserId(), event.getBookId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLoanBatch(LoanBatchEvent event) {
+        if (event.isCheckout()) {
+            event.getBookIds().forEach(bookId -> recordLoan(event.getUserId(), bookId));
+        }
+    }
+
+    // Pares novos só surgem na primeira vez que o usuário empresta o livro
+    public void recordLoan(long userId, long bookId) {
+        int user = Math.toIntExact(userId);
+        int book = Math.toIntExact(bookId);
+
+        lock.writeLock().lock();
+        try {
+            if (borrowedByUser.get(pack(user, book), 0L) != 0L) {
+                return;
+            }
+            borrowedByUser.put(pack(user, book), 1L);
+
+            LongList history = historyByUser.computeIfAbsent(userId, id -> new LongList());
+            for (int i = 0; i < history.size; i++) {
+                int other = (int) history.items[i];
+                long key = book < other ? pack(book, other) : pack(other, book);
+                long count = pairCounts.get(key, 0L) + 1;
+                pairCounts.put(key, count);
+                neighboursByBook.computeIfAbsent(bookId, id -> new Neighbours()).offer(other, count);
+                neighboursByBook.computeIfAbsent((long) other, id -> new Neighbours()).offer(book, count);
+            }
+            history.add(book);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public List<Recommendation> recommend(long bookId, int limit) {
+        lock.readLock().lock();
+        try {
+            Neighbours neighbours = neighboursByBook.get(bookId);
+            if (neighbours == null || limit <= 0) {
+                return List.of();
+            }
+            int size = Math.min(limit, neighbours.size);
+            List<Recommendation> recommendations = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                recommendations.add(new Recommendation(neighbours.ids[i], neighbours.counts[i]));
+            }
+            return recommendations;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int pairCount() {
+        lock.readLock().lock();
+        try {
+            return pairCounts.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    //MÉTODOS AUXILIARES
+
+    // Dois IDs de 32 bits numa chave; o +1 garante que a chave nunca é 0 (reservada no mapa)
+    private static long pack(int high, int low) {
+        return ((long) (high + 1) << 32) | (low & 0xFFFFFFFFL);
+    }
+
+    private static final class LongList {
+        private long[] items = new long[4];
+        private int size;
+
+        private void add(long value) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+            }
+            items[size++] = value;
+        }
+    }
+
+    /**
+     * Os N vizinhos mais frequentes de um livro, por contagem decrescente (empate: menor ID primeiro).
+     * As contagens só crescem, de um em um, então basta reposicionar o vizinho que mudou.
+     */
+    private static final class Neighbours {
+        private final long[] ids = new long[TOP_N];
+        private final long[] counts = new long[TOP_N];
+        private int size;
+
+        private void offer(long id, long count) {
+            int position = indexOf(id);
+            if (position < 0) {
+                if (size < TOP_N) {
+                    position = size++;
+                } else if (ranksAbove(id, count, size - 1)) {
+                    position = size - 1;
+                } else {
+                    return;
+                }
+            }
+            ids[position] = id;
+            counts[position] = count;
+            while (position > 0 && ranksAbove(ids[position], counts[position], position - 1)) {
+                swap(position, position - 1);
+                position--;
+            }
+        }
+
+        private boolean ranksAbove(long id, long count, int position) {
+            return count > counts[position] || (count == counts[position] && id < ids[position]);
+        }
+
+        private int indexOf(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private void swap(int a, int b) {
+            long id = ids[a];
+            long count = counts[a];
+            ids[a] = ids[b];
+            counts[a] = counts[b];
+            ids[b] = id;
+            counts[b] = count;
+        }
+    }
+}
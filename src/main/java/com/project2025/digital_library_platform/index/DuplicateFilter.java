@@ -0,0 +1,57 @@
+package com.project2025.digital_library_platform.index;
+
+import com.project2025.digital_library_platform.entity.book.Book;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Filtros de Bloom das chaves com índice único no catálogo: ISBN e Google Books ID.
+ * Um "não existe" dispensa a consulta de duplicidade no cadastro; só os "talvez exista" vão ao banco.
+ * O filtro conhece os livros desta instância e os avisados pelas outras (via {@link BookIndexer#reindexAll}),
+ * então pode ficar atrasado: se errar, o índice único do banco ainda barra a duplicata no insert.
+ * O título não tem índice único e o TextNormalizer não dobra tudo que a collation iguala (ß/ss, æ/ae),
+ * por isso ele não passa por aqui e é sempre confirmado no banco.
+ */
+@Component
+public class DuplicateFilter implements BookIndex {
+
+    private static final int INITIAL_CAPACITY = 100_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final BloomFilter isbnKeys = new BloomFilter(INITIAL_CAPACITY, FALSE_POSITIVE_RATE);
+    private final BloomFilter googleBooksIds = new BloomFilter(INITIAL_CAPACITY, FALSE_POSITIVE_RATE);
+    private volatile boolean ready;
+
+    @Override
+    public void index(Book book) {
+        if (book.getIsbnKey() != null) {
+            isbnKeys.add(BloomFilter.hash(book.getIsbnKey()));
+        }
+        if (book.getGoogleBooksId() != null) {
+            googleBooksIds.add(BloomFilter.hash(googleBooksIdKey(book.getGoogleBooksId())));
+        }
+    }
+
+    @Override
+    public void markReady() {
+        this.ready = true;
+    }
+
+    // Antes da carga inicial os filtros estão incompletos e não podem descartar nada
+    public boolean isReady() {
+        return ready;
+    }
+
+    public boolean mightContainIsbn(long isbnKey) {
+        return isbnKeys.mightContain(BloomFilter.hash(isbnKey));
+    }
+
+    public boolean mightContainGoogleBooksId(String googleBooksId) {
+        return googleBooksIds.mightContain(BloomFilter.hash(googleBooksIdKey(googleBooksId)));
+    }
+
+    private static String googleBooksIdKey(String googleBooksId) {
+        return googleBooksId.strip().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,208 @@
+package com.project2025.digital_library_platform.index;
+
+import com.project2025.digital_library_platform.entity.book.Book;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Índice de facetas do catálogo (editora, autor, ano, status e ativo).
+ * Cada valor de faceta guarda um bitmap compactado (RoaringBitmap) com os IDs dos livros que o possuem:
+ * filtros viram OR dentro da mesma faceta e AND entre facetas, e as contagens saem da cardinalidade
+ * das interseções, sem GROUP BY no banco. A cardinalidade é calculada sem materializar a interseção,
+ * então contar as facetas de autor e editora não aloca um bitmap por valor.
+ */
+@Component
+public class FacetIndex implements BookIndex {
+
+    private static final Pattern YEAR = Pattern.compile("(?<!\\d)(\\d{4})(?!\\d)");
+
+    private final Map<BookFacet, Map<String, FacetValue>> postings = new EnumMap<>(BookFacet.class);
+    private final Map<Long, Map<BookFacet, Map<String, String>>> valuesByBook = new HashMap<>();
+    private final RoaringBitmap indexed = new RoaringBitmap();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    private static final class FacetValue {
+        private String label;
+        private final RoaringBitmap books = new RoaringBitmap();
+
+        private FacetValue(String label) {
+            this.label = label;
+        }
+    }
+
+    public record FacetCount(String value, int count) {
+    }
+
+    public record Result(int total, List<Long> bookIds, Map<BookFacet, List<FacetCount>> facets) {
+    }
+
+    public FacetIndex() {
+        for (BookFacet facet : BookFacet.values()) {
+            postings.put(facet, new HashMap<>());
+        }
+    }
+
+    @Override
+    public void index(Book book) {
+        if (book.getId() == null) {
+            return;
+        }
+        Long bookId = book.getId();
+        int bit = Math.toIntExact(bookId);
+        Map<BookFacet, Map<String, String>> values = extract(book);
+
+        lock.writeLock().lock();
+        try {
+            Map<BookFacet, Map<String, String>> previous = valuesByBook.put(bookId, values);
+            if (previous != null) {
+                previous.forEach((facet, keys) -> keys.keySet().forEach(key -> clear(facet, key, bit)));
+            }
+            values.forEach((facet, keys) -> keys.forEach((key, label) -> {
+                FacetValue value = postings.get(facet).computeIfAbsent(key, k -> new FacetValue(label));
+                value.label = label;
+                value.books.add(bit);
+            }));
+            indexed.add(bit);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void markReady() {
+        this.ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Aplica os filtros e devolve o total, uma página de IDs (a partir de afterId) e as contagens de cada faceta.
+     * A contagem de uma faceta ignora o filtro da própria faceta, para que o cliente possa oferecer
+     * os demais valores dela como alternativas (seleção múltipla).
+     */
+    public Result query(Map<BookFacet, Set<String>> filters, long afterId, int limit, int valuesPerFacet) {
+        lock.readLock().lock();
+        try {
+            Map<BookFacet, RoaringBitmap> selections = new EnumMap<>(BookFacet.class);
+            filters.forEach((facet, selected) -> {
+                if (selected != null && !selected.isEmpty()) {
+                    selections.put(facet, union(facet, selected));
+                }
+            });
+
+            RoaringBitmap matches = intersect(selections, null);
+            int total = matches.getCardinality();
+            List<Long> bookIds = new ArrayList<>(Math.min(limit, total));
+            if (afterId < Integer.MAX_VALUE) {
+                PeekableIntIterator iterator = matches.getIntIterator();
+                iterator.advanceIfNeeded((int) Math.max(afterId + 1, 0));
+                while (iterator.hasNext() && bookIds.size() < limit) {
+                    bookIds.add((long) iterator.next());
+                }
+            }
+
+            Map<BookFacet, List<FacetCount>> facets = new EnumMap<>(BookFacet.class);
+            for (BookFacet facet : BookFacet.values()) {
+                facets.put(facet, count(facet, intersect(selections, facet), valuesPerFacet));
+            }
+            return new Result(total, bookIds, facets);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<FacetCount> count(BookFacet facet, RoaringBitmap base, int valuesPerFacet) {
+        List<FacetCount> counts = new ArrayList<>();
+        for (FacetValue value : postings.get(facet).values()) {
+            int count = RoaringBitmap.andCardinality(value.books, base);
+            if (count > 0) {
+                counts.add(new FacetCount(value.label, count));
+            }
+        }
+        counts.sort(Comparator.comparingInt(FacetCount::count).reversed().thenComparing(FacetCount::value));
+        return counts.size() > valuesPerFacet ? counts.subList(0, valuesPerFacet) : counts;
+    }
+
+    // Interseção de todos os filtros, exceto o da faceta informada. Sem filtros devolve o próprio
+    // bitmap dos indexados, que quem chama só lê (sob o lock de leitura)
+    private RoaringBitmap intersect(Map<BookFacet, RoaringBitmap> selections, BookFacet except) {
+        RoaringBitmap result = indexed;
+        for (Map.Entry<BookFacet, RoaringBitmap> selection : selections.entrySet()) {
+            if (selection.getKey() != except) {
+                result = RoaringBitmap.and(result, selection.getValue());
+            }
+        }
+        return result;
+    }
+
+    private RoaringBitmap union(BookFacet facet, Set<String> selected) {
+        RoaringBitmap result = new RoaringBitmap();
+        for (String value : selected) {
+            FacetValue posting = postings.get(facet).get(key(value));
+            if (posting != null) {
+                result.or(posting.books);
+            }
+        }
+        return result;
+    }
+
+    private void clear(BookFacet facet, String key, int bit) {
+        FacetValue value = postings.get(facet).get(key);
+        if (value != null) {
+            value.books.remove(bit);
+            if (value.books.isEmpty()) {
+                postings.get(facet).remove(key);
+            }
+        }
+    }
+
+    private static Map<BookFacet, Map<String, String>> extract(Book book) {
+        Map<BookFacet, Map<String, String>> values = new EnumMap<>(BookFacet.class);
+        put(values, BookFacet.PUBLISHER, book.getPublisher());
+        if (book.getAuthors() != null) {
+            for (String author : book.getAuthors().split(",")) {
+                put(values, BookFacet.AUTHOR, author);
+            }
+        }
+        if (book.getPublishedDate() != null) {
+            Matcher year = YEAR.matcher(book.getPublishedDate());
+            if (year.find()) {
+                put(values, BookFacet.YEAR, year.group(1));
+            }
+        }
+        if (book.getStatus() != null) {
+            put(values, BookFacet.STATUS, book.getStatus().name());
+        }
+        put(values, BookFacet.ACTIVE, String.valueOf(book.isActive()));
+        return values;
+    }
+
+    private static void put(Map<BookFacet, Map<String, String>> values, BookFacet facet, String label) {
+        if (label == null || label.isBlank()) {
+            return;
+        }
+        String trimmed = label.trim();
+        values.computeIfAbsent(facet, f -> new LinkedHashMap<>()).put(key(trimmed), trimmed);
+    }
+
+    private static String key(String value) {
+        return TextNormalizer.fold(value.trim());
+    }
+}
@@ -0,0 +1,218 @@
+package com.project2025.digital_library_platform.index;
+
+import com.project2025.digital_library_platform.entity.book.Book;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.br.BrazilianAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherFactory;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.similarities.BM25Similarity;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Índice textual embarcado (Lucene) sobre título, autores e descrição, gravado em disco local.
+ * Os textos passam pelo analisador de português (minúsculas, stopwords e radicais), então
+ * "governos totalitários" encontra uma descrição que fala em "governo totalitário".
+ * O ranqueamento é BM25, com peso maior para título e autores do que para a descrição.
+ * As consultas são respondidas só pelo índice, sem passar pelo MySQL.
+ */
+@Component
+@Slf4j
+public class FullTextIndex implements BookIndex {
+
+    private static final String ID = "id";
+    private static final String TITLE = "title";
+    private static final String AUTHORS = "authors";
+    private static final String DESCRIPTION = "description";
+    private static final float TITLE_BOOST = 3.0f;
+    private static final float AUTHORS_BOOST = 2.0f;
+    private static final float DESCRIPTION_BOOST = 1.0f;
+    private static final int MAX_QUERY_TERMS = 32;
+
+    private final Analyzer analyzer = new BrazilianAnalyzer();
+    private final FSDirectory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private volatile boolean ready;
+
+    public record SearchHit(Long bookId, String title, String authors, double score) {
+    }
+
+    // O índice é recriado a cada boot: a carga inicial do BookIndexer reindexa todo o catálogo
+    public FullTextIndex(@Value("${library.search.index-dir:data/search-index}") String indexDir) throws IOException {
+        this.directory = FSDirectory.open(Path.of(indexDir));
+        IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE)
+                .setSimilarity(new BM25Similarity());
+        this.writer = new IndexWriter(directory, config);
+        this.searcherManager = new SearcherManager(writer, new SearcherFactory() {
+            @Override
+            public IndexSearcher newSearcher(IndexReader reader, IndexReader previousReader) {
+                IndexSearcher searcher = new IndexSearcher(reader);
+                searcher.setSimilarity(new BM25Similarity());
+                return searcher;
+            }
+        });
+    }
+
+    @Override
+    public void index(Book book) {
+        if (book.getId() == null) {
+            return;
+        }
+        Document document = new Document();
+        document.add(new StringField(ID, book.getId().toString(), Field.Store.YES));
+        addText(document, TITLE, book.getTitle(), Field.Store.YES);
+        addText(document, AUTHORS, book.getAuthors(), Field.Store.YES);
+        addText(document, DESCRIPTION, book.getDescription(), Field.Store.NO);
+
+        try {
+            writer.updateDocument(new Term(ID, book.getId().toString()), document);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao indexar o livro " + book.getId(), e);
+        }
+    }
+
+    // Torna visíveis para a busca os livros indexados desde a última chamada
+    @Override
+    public void flush() {
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            log.warn("Falha ao atualizar o índice textual", e);
+        }
+    }
+
+    @Override
+    public void markReady() {
+        try {
+            writer.commit();
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar o índice textual", e);
+        }
+        this.ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public List<SearchHit> search(String query, int limit) {
+        BooleanQuery luceneQuery = buildQuery(query);
+        if (luceneQuery == null || limit <= 0) {
+            return List.of();
+        }
+
+        IndexSearcher searcher = null;
+        try {
+            searcher = searcherManager.acquire();
+            TopDocs topDocs = searcher.search(luceneQuery, limit);
+            StoredFields storedFields = searcher.storedFields();
+            List<SearchHit> hits = new ArrayList<>(topDocs.scoreDocs.length);
+            for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                Document document = storedFields.document(scoreDoc.doc);
+                hits.add(new SearchHit(Long.valueOf(document.get(ID)), document.get(TITLE), document.get(AUTHORS),
+                        scoreDoc.score));
+            }
+            return hits;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha na busca textual", e);
+        } finally {
+            release(searcher);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    //MÉTODOS AUXILIARES
+
+    // Cada termo analisado vira uma cláusula opcional em cada campo; o BM25 soma as contribuições
+    private BooleanQuery buildQuery(String query) {
+        Set<String> terms = analyze(query);
+        if (terms.isEmpty()) {
+            return null;
+        }
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        for (String term : terms) {
+            builder.add(boosted(TITLE, term, TITLE_BOOST), BooleanClause.Occur.SHOULD);
+            builder.add(boosted(AUTHORS, term, AUTHORS_BOOST), BooleanClause.Occur.SHOULD);
+            builder.add(boosted(DESCRIPTION, term, DESCRIPTION_BOOST), BooleanClause.Occur.SHOULD);
+        }
+        return builder.build();
+    }
+
+    private Set<String> analyze(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (text == null || text.isBlank()) {
+            return terms;
+        }
+        try (TokenStream stream = analyzer.tokenStream(DESCRIPTION, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken() && terms.size() < MAX_QUERY_TERMS) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao analisar a consulta", e);
+        }
+        return terms;
+    }
+
+    private static BoostQuery boosted(String field, String term, float boost) {
+        return new BoostQuery(new TermQuery(new Term(field, term)), boost);
+    }
+
+    private static void addText(Document document, String field, String value, Field.Store store) {
+        if (value != null && !value.isBlank()) {
+            document.add(new TextField(field, value, store));
+        }
+    }
+
+    private void release(IndexSearcher searcher) {
+        if (searcher == null) {
+            return;
+        }
+        try {
+            searcherManager.release(searcher);
+        } catch (IOException e) {
+            log.warn("Falha ao liberar o leitor do índice textual", e);
+        }
+    }
+}
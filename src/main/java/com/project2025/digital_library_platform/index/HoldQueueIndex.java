@@ -0,0 +1,101 @@
+package com.project2025.digital_library_platform.index;
+
+import com.project2025.digital_library_platform.events.HoldClosedEvent;
+import com.project2025.digital_library_platform.events.HoldPlacedEvent;
+import com.project2025.digital_library_platform.repositories.BookHoldRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * Espelho em memória das filas de reserva (book_holds), para consultar a fila e a posição de cada
+ * usuário sem ir ao banco. Cada livro tem um mapa ordenado e concorrente do ID da reserva para o
+ * usuário: a ordem dos IDs é a ordem de chegada. O banco continua sendo a fonte da verdade para a
+ * entrega do livro na devolução; o espelho só é atualizado após o commit.
+ */
+@Component
+@Slf4j
+public class HoldQueueIndex {
+
+    private final BookHoldRepository holdRepository;
+    private final Map<Long, ConcurrentSkipListMap<Long, Long>> queues = new ConcurrentHashMap<>();
+    // Reservas que saem da fila durante a carga inicial não podem voltar pela leitura do boot
+    private final Set<Long> closedWhileLoading = ConcurrentHashMap.newKeySet();
+    private volatile boolean ready;
+
+    public HoldQueueIndex(BookHoldRepository holdRepository) {
+        this.holdRepository = holdRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        long start = System.nanoTime();
+        long[] holds = {0};
+        try (Stream<BookHoldRepository.QueuedHold> queued = holdRepository.streamQueuedHolds()) {
+            queued.forEach(hold -> {
+                if (!closedWhileLoading.contains(hold.holdId())) {
+                    add(hold.bookId(), hold.holdId(), hold.userId());
+                }
+                holds[0]++;
+            });
+        }
+        this.ready = true;
+        closedWhileLoading.clear();
+        log.info("Filas de reserva carregadas: {} reservas em {} livros em {} ms",
+                holds[0], queues.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHoldPlaced(HoldPlacedEvent event) {
+        add(event.getBookId(), event.getHoldId(), event.getUserId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHoldClosed(HoldClosedEvent event) {
+        if (!ready) {
+            closedWhileLoading.add(event.getHoldId());
+        }
+        queues.computeIfPresent(event.getBookId(), (bookId, queue) -> {
+            queue.remove(event.getHoldId());
+            return queue.isEmpty() ? null : queue;
+        });
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // IDs das reservas do livro, na ordem da fila
+    public List<Long> queue(long bookId) {
+        NavigableMap<Long, Long> queue = queues.get(bookId);
+        return queue == null ? List.of() : List.copyOf(queue.keySet());
+    }
+
+    public int size(long bookId) {
+        NavigableMap<Long, Long> queue = queues.get(bookId);
+        return queue == null ? 0 : queue.size();
+    }
+
+    //MÉTODOS AUXILIARES
+
+    // compute é atômico por livro: não corre com a remoção da fila que acabou de esvaziar
+    private void add(long bookId, long holdId, long userId) {
+        queues.compute(bookId, (id, queue) -> {
+            ConcurrentSkipListMap<Long, Long> target = queue == null ? new ConcurrentSkipListMap<>() : queue;
+            target.put(holdId, userId);
+            return target;
+        });
+    }
+}
@@ -0,0 +1,80 @@
+package com.project2025.digital_library_platform.index;
+
+import com.project2025.digital_library_platform.entity.book.Book;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Índice ISBN-13 numérico → ID do livro, em mapas de long primitivo.
+ * A consulta usa leitura otimista do StampedLock: sem boxing, sem alocação e sem bloquear
+ * enquanto ninguém estiver escrevendo.
+ */
+@Component
+public class IsbnIndex implements BookIndex {
+
+    public static final long NOT_FOUND = -1L;
+
+    private static final int EXPECTED_BOOKS = 1024;
+
+    private final LongLongHashMap bookIdByIsbn = new LongLongHashMap(EXPECTED_BOOKS);
+    private final LongLongHashMap isbnByBookId = new LongLongHashMap(EXPECTED_BOOKS);
+    private final StampedLock lock = new StampedLock();
+    private volatile boolean ready;
+
+    @Override
+    public void index(Book book) {
+        if (book.getId() == null) {
+            return;
+        }
+        long bookId = book.getId();
+        long isbnKey = book.getIsbnKey() == null ? NOT_FOUND : book.getIsbnKey();
+
+        long stamp = lock.writeLock();
+        try {
+            long previous = isbnByBookId.remove(bookId, NOT_FOUND);
+            if (previous != NOT_FOUND && bookIdByIsbn.get(previous, NOT_FOUND) == bookId) {
+                bookIdByIsbn.remove(previous, NOT_FOUND);
+            }
+            if (isbnKey != NOT_FOUND) {
+                bookIdByIsbn.put(isbnKey, bookId);
+                isbnByBookId.put(bookId, isbnKey);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void markReady() {
+        this.ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // ID do livro com esta chave ISBN-13, ou NOT_FOUND
+    public long findBookId(long isbnKey) {
+        long stamp = lock.tryOptimisticRead();
+        long bookId = bookIdByIsbn.get(isbnKey, NOT_FOUND);
+        if (lock.validate(stamp)) {
+            return bookId;
+        }
+        stamp = lock.readLock();
+        try {
+            return bookIdByIsbn.get(isbnKey, NOT_FOUND);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return bookIdByIsbn.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.project2025.digital_library_platform.index;
+
+import com.project2025.digital_library_platform.events.LoanBatchEvent;
+import com.project2025.digital_library_platform.events.LoanCreatedEvent;
+import com.project2025.digital_library_platform.repositories.LoanRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Alimenta o peso das sugestões do autocomplete com o número de empréstimos de cada livro.
+ */
+@Component
+public class LoanPopularityTracker {
+
+    private final LoanRepository loanRepository;
+    private final AutocompleteIndex autocompleteIndex;
+
+    public LoanPopularityTracker(LoanRepository loanRepository, AutocompleteIndex autocompleteIndex) {
+        this.loanRepository = loanRepository;
+        this.autocompleteIndex = autocompleteIndex;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        for (var count : loanRepository.countLoansByBook()) {
+            autocompleteIndex.addLoans(count.getBookId(), count.getLoans());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLoanCreated(LoanCreatedEvent event) {
+        autocompleteIndex.addLoans(event.getBookId(), 1);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLoanBatch(LoanBatchEvent event) {
+        if (event.isCheckout()) {
+            event.getBookIds().forEach(bookId -> autocompleteIndex.addLoans(bookId, 1));
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.project2025.digital_library_platform.index;
+
+/**
+ * Mapa long → long com endereçamento aberto (sondagem linear), sem boxing.
+ * A chave 0 é reservada para marcar posições vazias.
+ * Não é thread-safe: quem usa controla o acesso (leituras podem ser otimistas, validadas depois).
+ */
+final class LongLongHashMap {
+
+    private static final long EMPTY = 0L;
+    private static final double MAX_LOAD = 0.6;
+
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+
+    LongLongHashMap(int expectedSize) {
+        allocate(tableSize(expectedSize));
+    }
+
+    long get(long key, long missing) {
+        long[] keys = this.keys;
+        long[] values = this.values;
+        if (keys.length != values.length) {
+            // Leitura otimista pegou um rehash no meio; quem chama descarta o resultado
+            return missing;
+        }
+        int mask = keys.length - 1;
+        for (int slot = slot(key, mask); ; slot = (slot + 1) & mask) {
+            long current = keys[slot];
+            if (current == key) {
+                return values[slot];
+            }
+            if (current == EMPTY) {
+                return missing;
+            }
+        }
+    }
+
+    void put(long key, long value) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("Chave 0 é reservada");
+        }
+        for (int slot = slot(key, mask); ; slot = (slot + 1) & mask) {
+            long current = keys[slot];
+            if (current == key) {
+                values[slot] = value;
+                return;
+            }
+            if (current == EMPTY) {
+                keys[slot] = key;
+                values[slot] = value;
+                if (++size > resizeAt) {
+                    rehash(keys.length * 2);
+                }
+                return;
+            }
+        }
+    }
+
+    long remove(long key, long missing) {
+        if (key == EMPTY) {
+            return missing;
+        }
+        for (int slot = slot(key, mask); ; slot = (slot + 1) & mask) {
+            long current = keys[slot];
+            if (current == EMPTY) {
+                return missing;
+            }
+            if (current == key) {
+                long previous = values[slot];
+                shiftBack(slot);
+                size--;
+                return previous;
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Remoção sem lápides: puxa para trás as chaves seguintes que ficariam inalcançáveis
+    private void shiftBack(int gap) {
+        int slot = gap;
+        while (true) {
+            slot = (slot + 1) & mask;
+            long key = keys[slot];
+            if (key == EMPTY) {
+                break;
+            }
+            int home = slot(key, mask);
+            boolean reachable = gap <= slot ? (home > gap && home <= slot) : (home > gap || home <= slot);
+            if (!reachable) {
+                keys[gap] = key;
+                values[gap] = values[slot];
+                gap = slot;
+            }
+        }
+        keys[gap] = EMPTY;
+        values[gap] = 0L;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        long[] newKeys = new long[capacity];
+        long[] newValues = new long[capacity];
+        int newMask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != EMPTY) {
+                int slot = slot(key, newMask);
+                while (newKeys[slot] != EMPTY) {
+                    slot = (slot + 1) & newMask;
+                }
+                newKeys[slot] = key;
+                newValues[slot] = oldValues[i];
+            }
+        }
+        this.values = newValues;
+        this.keys = newKeys;
+        this.mask = newMask;
+        this.resizeAt = (int) (capacity * MAX_LOAD);
+    }
+
+    private void allocate(int capacity) {
+        this.keys = new long[capacity];
+        this.values = new long[capacity];
+        this.mask = capacity - 1;
+        this.resizeAt = (int) (capacity * MAX_LOAD);
+    }
+
+    private static int tableSize(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / MAX_LOAD)) - 1) << 1;
+        return Math.max(16, capacity);
+    }
+
+    private static int slot(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
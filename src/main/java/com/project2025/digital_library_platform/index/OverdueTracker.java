@@ -0,0 +1,232 @@
+package com.project2025.digital_library_platform.index;
+
+import com.project2025.digital_library_platform.events.LoanBatchEvent;
+import com.project2025.digital_library_platform.events.LoanClosedEvent;
+import com.project2025.digital_library_platform.events.LoanCreatedEvent;
+import com.project2025.digital_library_platform.repositories.LoanRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Empréstimos vencidos sem varrer a tabela loans.
+ * Os empréstimos em aberto ficam num heap mínimo pelo prazo de devolução; um timer acorda no prazo
+ * do primeiro da fila e move para o conjunto de vencidos todos os que já expiraram. Devoluções e
+ * cancelamentos só tiram o empréstimo do mapa de prazos: a entrada antiga no heap é descartada
+ * quando chega ao topo. Ler os vencidos custa O(vencidos).
+ */
+@Component
+@Slf4j
+public class OverdueTracker {
+
+    private record Deadline(long dueMillis, long loanId) implements Comparable<Deadline> {
+        @Override
+        public int compareTo(Deadline other) {
+            int byDue = Long.compare(dueMillis, other.dueMillis);
+            return byDue != 0 ? byDue : Long.compare(loanId, other.loanId);
+        }
+    }
+
+    private final LoanRepository loanRepository;
+    private final Clock clock;
+    private final PriorityQueue<Deadline> pending = new PriorityQueue<>();
+    private final Map<Long, Long> dueByLoan = new HashMap<>();
+    // Na ordem em que venceram, que é a ordem dos prazos
+    private final Map<Long, Long> overdue = new LinkedHashMap<>();
+    private final ScheduledExecutorService timer;
+    private ScheduledFuture<?> wakeUp;
+    private long wakeUpAt = Long.MAX_VALUE;
+    // Devoluções que chegam durante a carga inicial não podem ser desfeitas pela leitura do boot
+    private Set<Long> closedWhileLoading = new HashSet<>();
+    private volatile boolean ready;
+
+    @Autowired
+    public OverdueTracker(LoanRepository loanRepository) {
+        this(loanRepository, Clock.systemDefaultZone());
+    }
+
+    OverdueTracker(LoanRepository loanRepository, Clock clock) {
+        this.loanRepository = loanRepository;
+        this.clock = clock;
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "overdue-tracker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        stream();
+    }
+
+    // Avisos de outras instâncias podem ter se perdido (fila recriada na reconexão): descarta tudo e relê o banco.
+    // Enquanto relê, o endpoint de vencidos volta a consultar o banco
+    @Transactional(readOnly = true)
+    public void reload() {
+        synchronized (this) {
+            if (!ready) {
+                return;
+            }
+            ready = false;
+            pending.clear();
+            dueByLoan.clear();
+            overdue.clear();
+            closedWhileLoading = new HashSet<>();
+        }
+        stream();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLoanCreated(LoanCreatedEvent event) {
+        if (event.getReturnDate() != null) {
+            synchronized (this) {
+                track(event.getLoanId(), event.getReturnDate());
+                expire(clock.millis());
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onLoanClosed(LoanClosedEvent event) {
+        forget(event.getLoanId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onLoanBatch(LoanBatchEvent event) {
+        if (event.isCheckout()) {
+            event.getLoanIds().forEach(loanId -> track(loanId, event.getReturnDate()));
+            expire(clock.millis());
+        } else {
+            event.getLoanIds().forEach(this::forget);
+        }
+    }
+
+    // Empréstimos abertos em outra instância
+    public synchronized void onRemoteOpened(List<LoanRepository.LoanDeadline> deadlines) {
+        deadlines.forEach(deadline -> track(deadline.loanId(), deadline.returnDate()));
+        expire(clock.millis());
+    }
+
+    // Empréstimos devolvidos ou cancelados em outra instância
+    public synchronized void onRemoteClosed(List<Long> loanIds) {
+        loanIds.forEach(this::forget);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // IDs dos empréstimos vencidos, do prazo mais antigo para o mais recente
+    public List<Long> overdueLoanIds() {
+        return overdueAt(clock.millis());
+    }
+
+    public synchronized int overdueCount() {
+        return overdue.size();
+    }
+
+    synchronized List<Long> overdueAt(long nowMillis) {
+        expire(nowMillis);
+        return new ArrayList<>(overdue.keySet());
+    }
+
+    @PreDestroy
+    public void close() {
+        timer.shutdownNow();
+    }
+
+    //MÉTODOS AUXILIARES
+
+    private void stream() {
+        long start = System.nanoTime();
+        long[] loans = {0};
+        try (Stream<LoanRepository.LoanDeadline> deadlines = loanRepository.streamOpenLoanDeadlines()) {
+            deadlines.forEach(deadline -> {
+                synchronized (this) {
+                    if (!closedWhileLoading.contains(deadline.loanId())) {
+                        track(deadline.loanId(), deadline.returnDate());
+                    }
+                }
+                loans[0]++;
+            });
+        }
+        synchronized (this) {
+            closedWhileLoading = null;
+            this.ready = true;
+            expire(clock.millis());
+        }
+        log.info("Controle de vencidos carregado: {} empréstimos em aberto, {} vencidos em {} ms",
+                loans[0], overdueCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void forget(Long loanId) {
+        if (closedWhileLoading != null) {
+            closedWhileLoading.add(loanId);
+        }
+        dueByLoan.remove(loanId);
+        overdue.remove(loanId);
+    }
+
+    private void track(long loanId, LocalDateTime returnDate) {
+        long dueMillis = returnDate.atZone(clock.getZone()).toInstant().toEpochMilli();
+        dueByLoan.put(loanId, dueMillis);
+        pending.add(new Deadline(dueMillis, loanId));
+    }
+
+    // Move para os vencidos tudo que expirou até agora e agenda o timer para o próximo prazo
+    private void expire(long nowMillis) {
+        Deadline head;
+        while ((head = pending.peek()) != null && head.dueMillis() <= nowMillis) {
+            pending.poll();
+            Long due = dueByLoan.get(head.loanId());
+            if (due != null && due == head.dueMillis()) {
+                dueByLoan.remove(head.loanId());
+                overdue.put(head.loanId(), due);
+            }
+        }
+        schedule(head == null ? Long.MAX_VALUE : head.dueMillis(), nowMillis);
+    }
+
+    private void schedule(long dueMillis, long nowMillis) {
+        if (dueMillis == wakeUpAt || timer.isShutdown()) {
+            return;
+        }
+        if (wakeUp != null) {
+            wakeUp.cancel(false);
+            wakeUp = null;
+        }
+        wakeUpAt = dueMillis;
+        if (dueMillis != Long.MAX_VALUE) {
+            wakeUp = timer.schedule(this::onWakeUp, Math.max(0, dueMillis - nowMillis), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized void onWakeUp() {
+        wakeUpAt = Long.MAX_VALUE;
+        wakeUp = null;
+        expire(clock.millis());
+    }
+}
@@ -0,0 +1,86 @@
+package com.project2025.digital_library_platform.index;
+
+import com.project2025.digital_library_platform.DTOs.DomainChangeMessage;
+import com.project2025.digital_library_platform.events.LoanBatchEvent;
+import com.project2025.digital_library_platform.events.LoanClosedEvent;
+import com.project2025.digital_library_platform.events.LoanCreatedEvent;
+import com.project2025.digital_library_platform.repositories.LoanRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.AsyncConsumerStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Mantém o {@link OverdueTracker} de todas as instâncias com os mesmos empréstimos em aberto.
+ * Após o commit de um empréstimo, devolução ou cancelamento, publica um {@link DomainChangeMessage}
+ * no exchange library.events (routing key loans.changed) com os IDs dos empréstimos.
+ * Cada instância recebe esses avisos numa fila anônima própria: empréstimos abertos têm o prazo lido
+ * do banco (se já foram devolvidos, não voltam ao controle) e os encerrados saem do controle.
+ */
+@Component
+@Slf4j
+public class OverdueTrackerSync {
+
+    public static final String ROUTING_KEY = "loans.changed";
+    static final String LOANS_OPENED = "LOANS_OPENED";
+    static final String LOANS_CLOSED = "LOANS_CLOSED";
+
+    private final OverdueTracker overdueTracker;
+    private final LoanRepository loanRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public OverdueTrackerSync(OverdueTracker overdueTracker, LoanRepository loanRepository, RabbitTemplate rabbitTemplate) {
+        this.overdueTracker = overdueTracker;
+        this.loanRepository = loanRepository;
+        this.rabbitTemplate = rabbitTemplate;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLoanCreated(LoanCreatedEvent event) {
+        changed(LOANS_OPENED, List.of(event.getLoanId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLoanClosed(LoanClosedEvent event) {
+        changed(LOANS_CLOSED, List.of(event.getLoanId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLoanBatch(LoanBatchEvent event) {
+        changed(event.isCheckout() ? LOANS_OPENED : LOANS_CLOSED, event.getLoanIds());
+    }
+
+    @RabbitListener(queues = "#{loanChangesQueue.name}")
+    public void onRemoteChange(DomainChangeMessage message) {
+        if (nodeId.equals(message.origin())) {
+            return;
+        }
+        if (LOANS_OPENED.equals(message.type())) {
+            overdueTracker.onRemoteOpened(loanRepository.findOpenDeadlinesByIdIn(message.ids()));
+        } else {
+            overdueTracker.onRemoteClosed(message.ids());
+        }
+    }
+
+    // A fila anônima é recriada a cada (re)conexão; avisos enviados enquanto isso se perderam
+    @EventListener
+    public void onConsumerStarted(AsyncConsumerStartedEvent event) {
+        overdueTracker.reload();
+    }
+
+    private void changed(String type, List<Long> loanIds) {
+        try {
+            rabbitTemplate.convertAndSend("library.events", ROUTING_KEY, new DomainChangeMessage(nodeId, type, loanIds));
+        } catch (AmqpException e) {
+            log.warn("Falha ao avisar as outras instâncias sobre {} dos empréstimos {}", type, loanIds, e);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.project2025.digital_library_platform.index;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Trie compactada (radix tree) de sugestões de autocomplete.
+ * Cada nó guarda as K sugestões de maior peso da sua subárvore, então a consulta por prefixo
+ * só percorre o prefixo e devolve a lista pronta. Inserções, remoções e mudanças de peso
+ * recalculam as listas apenas no caminho da chave alterada.
+ */
+final class SuggestionTrie {
+
+    static final Comparator<Entry> BY_WEIGHT = Comparator.comparingLong((Entry entry) -> entry.weight).reversed()
+            .thenComparing(entry -> entry.label);
+
+    static final class Entry {
+        final String label;
+        final AutocompleteIndex.Kind kind;
+        final Set<Long> bookIds = new LinkedHashSet<>();
+        final Set<String> keys = new LinkedHashSet<>();
+        long weight;
+
+        Entry(String label, AutocompleteIndex.Kind kind) {
+            this.label = label;
+            this.kind = kind;
+        }
+    }
+
+    private static final class Node {
+        private String edge;
+        private Map<Character, Node> children = new HashMap<>(2);
+        private List<Entry> terminals = new ArrayList<>(1);
+        private List<Entry> top = List.of();
+
+        private Node(String edge) {
+            this.edge = edge;
+        }
+    }
+
+    private final Node root = new Node("");
+    private final int topK;
+
+    SuggestionTrie(int topK) {
+        this.topK = topK;
+    }
+
+    void add(String key, Entry entry) {
+        Deque<Node> path = new ArrayDeque<>();
+        Node node = root;
+        path.push(node);
+        int i = 0;
+        while (i < key.length()) {
+            Node child = node.children.get(key.charAt(i));
+            if (child == null) {
+                child = new Node(key.substring(i));
+                node.children.put(key.charAt(i), child);
+                path.push(child);
+                node = child;
+                break;
+            }
+            int common = commonPrefix(child.edge, key, i);
+            if (common < child.edge.length()) {
+                // Divide a aresta: o trecho comum vira um nó intermediário
+                Node middle = new Node(child.edge.substring(0, common));
+                child.edge = child.edge.substring(common);
+                middle.children.put(child.edge.charAt(0), child);
+                node.children.put(middle.edge.charAt(0), middle);
+                child = middle;
+            }
+            path.push(child);
+            node = child;
+            i += common;
+        }
+        if (!node.terminals.contains(entry)) {
+            node.terminals.add(entry);
+        }
+        recompute(path);
+    }
+
+    void remove(String key, Entry entry) {
+        Deque<Node> path = find(key);
+        if (path == null || !path.peek().terminals.remove(entry)) {
+            return;
+        }
+        Node node = path.pop();
+        if (node != root && node.terminals.isEmpty()) {
+            Node parent = path.peek();
+            if (node.children.isEmpty()) {
+                parent.children.remove(node.edge.charAt(0));
+                if (parent != root && parent.terminals.isEmpty() && parent.children.size() == 1) {
+                    mergeWithOnlyChild(parent);
+                }
+            } else if (node.children.size() == 1) {
+                mergeWithOnlyChild(node);
+                path.push(node);
+            } else {
+                path.push(node);
+            }
+        } else {
+            path.push(node);
+        }
+        recompute(path);
+    }
+
+    // Recalcula as listas do caminho depois que o peso de uma sugestão com esta chave mudou
+    void refresh(String key) {
+        Deque<Node> path = find(key);
+        if (path != null) {
+            recompute(path);
+        }
+    }
+
+    List<Entry> top(String prefix) {
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+        Node node = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            Node child = node.children.get(prefix.charAt(i));
+            if (child == null) {
+                return List.of();
+            }
+            int common = commonPrefix(child.edge, prefix, i);
+            if (i + common == prefix.length()) {
+                return child.top;
+            }
+            if (common < child.edge.length()) {
+                return List.of();
+            }
+            node = child;
+            i += common;
+        }
+        return node.top;
+    }
+
+    private Deque<Node> find(String key) {
+        Deque<Node> path = new ArrayDeque<>();
+        Node node = root;
+        path.push(node);
+        int i = 0;
+        while (i < key.length()) {
+            Node child = node.children.get(key.charAt(i));
+            if (child == null || !key.startsWith(child.edge, i)) {
+                return null;
+            }
+            path.push(child);
+            node = child;
+            i += child.edge.length();
+        }
+        return path;
+    }
+
+    private static void mergeWithOnlyChild(Node node) {
+        Node child = node.children.values().iterator().next();
+        node.edge = node.edge + child.edge;
+        node.children = child.children;
+        node.terminals = child.terminals;
+        node.top = child.top;
+    }
+
+    // O caminho está do nó mais profundo para a raiz, então cada nó já enxerga os filhos atualizados
+    private void recompute(Deque<Node> path) {
+        for (Node node : path) {
+            List<Entry> candidates = new ArrayList<>(node.terminals);
+            for (Node child : node.children.values()) {
+                candidates.addAll(child.top);
+            }
+            candidates.sort(BY_WEIGHT);
+
+            Set<Entry> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+            List<Entry> top = new ArrayList<>(Math.min(topK, candidates.size()));
+            for (Entry candidate : candidates) {
+                if (top.size() == topK) {
+                    break;
+                }
+                if (seen.add(candidate)) {
+                    top.add(candidate);
+                }
+            }
+            node.top = List.copyOf(top);
+        }
+    }
+
+    private static int commonPrefix(String edge, String key, int offset) {
+        int max = Math.min(edge.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && edge.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,61 @@
+package com.project2025.digital_library_platform.index;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Índice de trigramas do vocabulário do catálogo.
+ * Gera candidatos para a busca aproximada: uma palavra a até K edições de outra
+ * ainda compartilha pelo menos |trigramas| - 4K trigramas com ela.
+ */
+final class TrigramIndex {
+
+    private final Map<String, Set<String>> termsByTrigram = new HashMap<>();
+
+    void add(String term) {
+        for (String trigram : trigrams(term)) {
+            termsByTrigram.computeIfAbsent(trigram, key -> new HashSet<>()).add(term);
+        }
+    }
+
+    void remove(String term) {
+        for (String trigram : trigrams(term)) {
+            Set<String> terms = termsByTrigram.get(trigram);
+            if (terms != null && terms.remove(term) && terms.isEmpty()) {
+                termsByTrigram.remove(trigram);
+            }
+        }
+    }
+
+    // Termos que compartilham pelo menos minShared trigramas com a palavra
+    Set<String> candidates(String term, int minShared) {
+        Map<String, Integer> shared = new HashMap<>();
+        for (String trigram : trigrams(term)) {
+            Set<String> terms = termsByTrigram.get(trigram);
+            if (terms != null) {
+                for (String candidate : terms) {
+                    shared.merge(candidate, 1, Integer::sum);
+                }
+            }
+        }
+        Set<String> result = new HashSet<>();
+        shared.forEach((candidate, count) -> {
+            if (count >= minShared) {
+                result.add(candidate);
+            }
+        });
+        return result;
+    }
+
+    static Set<String> trigrams(String term) {
+        String padded = "$" + term + "$";
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+}
@@ -0,0 +1,31 @@
+package com.project2025.digital_library_platform.repositories;
+
+import com.project2025.digital_library_platform.DTOs.authorDtos.AuthorDTO;
+import com.project2025.digital_library_platform.entity.book.Author;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface AuthorRepository extends JpaRepository<Author, Long>, AuthorRepositoryCustom {
+
+    String SELECT_AUTHOR = "SELECT new com.project2025.digital_library_platform.DTOs.authorDtos.AuthorDTO(a.id, a.name) " +
+            "FROM Author a ";
+
+    // Busca pontual no índice único de normalized_name
+    @Query(SELECT_AUTHOR + "WHERE a.normalizedName = :normalizedName")
+    Optional<AuthorDTO> findResponseByNormalizedName(@Param("normalizedName") String normalizedName);
+
+    // Faixa do índice a partir do prefixo, por keyset no próprio nome normalizado; o prefixo chega escapado com '!'
+    @Query(SELECT_AUTHOR + "WHERE a.normalizedName LIKE CONCAT(:prefix, '%') ESCAPE '!' " +
+            "AND a.normalizedName > :after ORDER BY a.normalizedName ASC")
+    List<AuthorDTO> findPageByPrefix(@Param("prefix") String prefix, @Param("after") String after, Limit limit);
+
+    // Percorre só o índice (author_id, book_id) de book_authors
+    @Query(value = "SELECT ba.book_id FROM book_authors ba WHERE ba.author_id = :authorId AND ba.book_id > :afterId " +
+            "ORDER BY ba.book_id ASC LIMIT :limit", nativeQuery = true)
+    List<Long> findBookIds(@Param("authorId") Long authorId, @Param("afterId") Long afterId, @Param("limit") int limit);
+}
@@ -0,0 +1,19 @@
+package com.project2025.digital_library_platform.repositories;
+
+import java.util.List;
+import java.util.Map;
+
+public interface AuthorRepositoryCustom {
+
+    // Livro com o texto de autores ainda sem vínculos em book_authors
+    record UnlinkedBook(Long bookId, String authors) {
+    }
+
+    // Grava os autores que ainda não existem e devolve o ID de cada nome normalizado recebido
+    Map<String, Long> findOrCreate(Map<String, String> namesByNormalizedName);
+
+    // Substitui os vínculos de cada livro pelos autores informados, na ordem da lista
+    void replaceLinks(Map<Long, List<Long>> authorIdsByBookId);
+
+    List<UnlinkedBook> findUnlinkedBooks(long afterId, int limit);
+}
@@ -0,0 +1,87 @@
+package com.project2025.digital_library_platform.repositories;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Escrita dos autores e dos vínculos com os livros via JDBC batch, como em {@link BookRepositoryCustomImpl}.
+ * O INSERT IGNORE sobre o índice único de normalized_name torna o "busca ou cria" seguro entre
+ * transações concorrentes: quem perde a corrida apenas lê o ID gravado pela outra.
+ * A collation do banco pode igualar chaves que o AuthorService dobra de formas diferentes ("strauß" e
+ * "strauss" no utf8mb4_0900_ai_ci): a segunda não é gravada e passa a apontar para o autor da primeira.
+ */
+public class AuthorRepositoryCustomImpl implements AuthorRepositoryCustom {
+
+    private static final String INSERT_AUTHOR_SQL = "INSERT IGNORE INTO authors (name, normalized_name) VALUES (?, ?)";
+    private static final String SELECT_IDS_SQL = "SELECT id, normalized_name FROM authors WHERE normalized_name IN (:names)";
+    private static final String SELECT_ID_SQL = "SELECT id FROM authors WHERE normalized_name = :name";
+    private static final String DELETE_LINKS_SQL = "DELETE FROM book_authors WHERE book_id IN (:bookIds)";
+    private static final String INSERT_LINK_SQL = "INSERT INTO book_authors (book_id, author_id, sort_order) VALUES (?, ?, ?)";
+    private static final String SELECT_UNLINKED_SQL = "SELECT b.id, b.authors FROM books b " +
+            "WHERE b.id > :afterId AND b.authors IS NOT NULL " +
+            "AND NOT EXISTS (SELECT 1 FROM book_authors ba WHERE ba.book_id = b.id) ORDER BY b.id LIMIT :limit";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public AuthorRepositoryCustomImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Map<String, Long> findOrCreate(Map<String, String> namesByNormalizedName) {
+        if (namesByNormalizedName.isEmpty()) {
+            return Map.of();
+        }
+        List<Object[]> rows = new ArrayList<>(namesByNormalizedName.size());
+        namesByNormalizedName.forEach((normalizedName, name) -> rows.add(new Object[]{name, normalizedName}));
+        jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_AUTHOR_SQL, rows);
+
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query(SELECT_IDS_SQL, new MapSqlParameterSource("names", namesByNormalizedName.keySet()),
+                rs -> {
+                    ids.put(rs.getString("normalized_name"), rs.getLong("id"));
+                });
+
+        // A linha que casou com uma chave igual só na collation volta com a grafia gravada;
+        // a comparação do próprio banco diz qual é
+        for (String normalizedName : namesByNormalizedName.keySet()) {
+            if (!ids.containsKey(normalizedName)) {
+                jdbcTemplate.queryForList(SELECT_ID_SQL, new MapSqlParameterSource("name", normalizedName), Long.class)
+                        .stream()
+                        .findFirst()
+                        .ifPresent(id -> ids.put(normalizedName, id));
+            }
+        }
+        return ids;
+    }
+
+    @Override
+    public void replaceLinks(Map<Long, List<Long>> authorIdsByBookId) {
+        if (authorIdsByBookId.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(DELETE_LINKS_SQL, new MapSqlParameterSource("bookIds", authorIdsByBookId.keySet()));
+
+        List<Object[]> links = new ArrayList<>();
+        authorIdsByBookId.forEach((bookId, authorIds) -> {
+            for (int position = 0; position < authorIds.size(); position++) {
+                links.add(new Object[]{bookId, authorIds.get(position), position});
+            }
+        });
+        if (!links.isEmpty()) {
+            jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_LINK_SQL, links);
+        }
+    }
+
+    @Override
+    public List<UnlinkedBook> findUnlinkedBooks(long afterId, int limit) {
+        return jdbcTemplate.query(SELECT_UNLINKED_SQL,
+                new MapSqlParameterSource("afterId", afterId).addValue("limit", limit),
+                (rs, rowNum) -> new UnlinkedBook(rs.getLong("id"), rs.getString("authors")));
+    }
+}
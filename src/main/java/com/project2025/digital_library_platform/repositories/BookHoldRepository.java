@@ -0,0 +1,39 @@
+package com.project2025.digital_library_platform.repositories;
+
+import com.project2025.digital_library_platform.DTOs.holdDtos.HoldResponseDTO;
+import com.project2025.digital_library_platform.entity.BookHold;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BookHoldRepository extends JpaRepository<BookHold, Long>, BookHoldRepositoryCustom {
+
+    boolean existsByBookIdAndUserId(Long bookId, Long userId);
+
+    long countByBookIdAndIdLessThanEqual(Long bookId, Long id);
+
+    // Início da fila do livro, travado até o commit da devolução que entrega o livro
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM BookHold h WHERE h.book.id = :bookId ORDER BY h.id ASC")
+    List<BookHold> findQueueForUpdate(@Param("bookId") Long bookId, Limit limit);
+
+    @Query("SELECT DISTINCT h.book.id FROM BookHold h WHERE h.book.id IN :bookIds")
+    List<Long> findBookIdsWithHolds(@Param("bookIds") Collection<Long> bookIds);
+
+    String SELECT_HOLD_RESPONSE = "SELECT new com.project2025.digital_library_platform.DTOs.holdDtos.HoldResponseDTO(" +
+            "h.id, b.id, b.title, u.id, u.login, h.createdAt) FROM BookHold h JOIN h.book b JOIN h.user u ";
+
+    @Query(SELECT_HOLD_RESPONSE + "WHERE b.id = :bookId ORDER BY h.id ASC")
+    List<HoldResponseDTO> findResponsesByBookId(@Param("bookId") Long bookId);
+
+    @Query(SELECT_HOLD_RESPONSE + "WHERE h.id IN :ids ORDER BY h.id ASC")
+    List<HoldResponseDTO> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+}
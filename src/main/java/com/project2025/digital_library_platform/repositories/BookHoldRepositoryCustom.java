@@ -0,0 +1,12 @@
+package com.project2025.digital_library_platform.repositories;
+
+import java.util.stream.Stream;
+
+public interface BookHoldRepositoryCustom {
+
+    // Filas de todos os livros para o espelho em memória; lidas uma vez no boot
+    Stream<QueuedHold> streamQueuedHolds();
+
+    record QueuedHold(Long holdId, Long bookId, Long userId) {
+    }
+}
@@ -0,0 +1,33 @@
+package com.project2025.digital_library_platform.repositories;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.stream.Stream;
+
+/**
+ * Leitura das filas no boot com o fetch size de library.jdbc.stream-fetch-size (Integer.MIN_VALUE no MySQL),
+ * para o resultado chegar aos poucos em vez de inteiro na memória.
+ */
+public class BookHoldRepositoryCustomImpl implements BookHoldRepositoryCustom {
+
+    private static final String QUEUED_HOLDS_JPQL = "SELECT new com.project2025.digital_library_platform." +
+            "repositories.BookHoldRepositoryCustom$QueuedHold(h.id, h.book.id, h.user.id) FROM BookHold h ORDER BY h.id ASC";
+
+    private final EntityManager entityManager;
+    private final int streamFetchSize;
+
+    public BookHoldRepositoryCustomImpl(EntityManager entityManager,
+                                        @Value("${library.jdbc.stream-fetch-size:" + Integer.MIN_VALUE + "}") int streamFetchSize) {
+        this.entityManager = entityManager;
+        this.streamFetchSize = streamFetchSize;
+    }
+
+    @Override
+    public Stream<QueuedHold> streamQueuedHolds() {
+        return entityManager.createQuery(QUEUED_HOLDS_JPQL, QueuedHold.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, streamFetchSize)
+                .getResultStream();
+    }
+}
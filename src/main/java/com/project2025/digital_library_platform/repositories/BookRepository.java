@@ -1,34 +1,142 @@
 package com.project2025.digital_library_platform.repositories;
 
 
+import com.project2025.digital_library_platform.DTOs.bookDtos.BookResponseDTO;
 import com.project2025.digital_library_platform.entity.book.Book;
 import com.project2025.digital_library_platform.entity.book.Status;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
-public interface BookRepository extends JpaRepository<Book, Long> {
+public interface BookRepository extends JpaRepository<Book, Long>, BookRepositoryCustom {
+
+    // Leitura direto no DTO: sem entidade gerenciada, sem snapshot para dirty checking
+    String SELECT_BOOK_RESPONSE = "SELECT new com.project2025.digital_library_platform.DTOs.bookDtos.BookResponseDTO(" +
+            "b.id, b.googleBooksId, b.title, b.authors, b.publisher, b.publishedDate, b.isbn10, b.isbn13, " +
+            "b.description, b.pageCount, b.status, b.active) FROM Book b ";
 
     boolean existsByTitle(String title);
 
     List<Book> findByActiveAndStatus(Boolean active, Status status);
 
+    long countByActiveAndStatus(Boolean active, Status status);
+
+    boolean existsByIdAndActiveAndStatus(Long id, Boolean active, Status status);
+
+    // Reserva atômica para empréstimo: só um UPDATE concorrente encontra o livro disponível e altera a linha
+    @Modifying
+    @Query("UPDATE Book b SET b.status = com.project2025.digital_library_platform.entity.book.Status.LOANED, " +
+            "b.updatedAt = :now WHERE b.id = :id AND b.active = true " +
+            "AND b.status = com.project2025.digital_library_platform.entity.book.Status.AVAILABLE")
+    int claimForLoan(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // Mesma reserva para um lote inteiro; quem chama compara o total alterado com o tamanho do lote
+    @Modifying
+    @Query("UPDATE Book b SET b.status = com.project2025.digital_library_platform.entity.book.Status.LOANED, " +
+            "b.updatedAt = :now WHERE b.id IN :ids AND b.active = true " +
+            "AND b.status = com.project2025.digital_library_platform.entity.book.Status.AVAILABLE")
+    int claimAllForLoan(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Book b SET b.status = com.project2025.digital_library_platform.entity.book.Status.AVAILABLE, " +
+            "b.updatedAt = :now WHERE b.id IN :ids " +
+            "AND b.status = com.project2025.digital_library_platform.entity.book.Status.LOANED")
+    int releaseAll(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    // Reserva na fila: trava o livro para não correr com a devolução que decide a entrega
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Book b WHERE b.id = :id")
+    Optional<Book> findForUpdateById(@Param("id") Long id);
+
+    @Query("SELECT b.id FROM Book b WHERE b.id IN :ids")
+    List<Long> findIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Editora de cada livro para os totais por editora dos relatórios
+    @Query("SELECT b.id AS bookId, b.publisher AS publisher FROM Book b WHERE b.id IN :ids")
+    List<BookPublisher> findPublishersByIdIn(@Param("ids") Collection<Long> ids);
+
+    interface BookPublisher {
+        Long getBookId();
+
+        String getPublisher();
+    }
+
+    @Query(SELECT_BOOK_RESPONSE + "WHERE b.id = :id")
+    Optional<BookResponseDTO> findResponseById(@Param("id") Long id);
+
+    @Query(SELECT_BOOK_RESPONSE + "WHERE b.id IN :ids ORDER BY b.id ASC")
+    List<BookResponseDTO> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(SELECT_BOOK_RESPONSE + "WHERE b.id IN :ids AND b.active = :active AND b.status = :status ORDER BY b.id ASC")
+    List<BookResponseDTO> findResponsesByIdInAndActiveAndStatus(@Param("ids") Collection<Long> ids,
+                                                                @Param("active") Boolean active, @Param("status") Status status);
+
+    // Paginação por keyset: cada página parte da chave do último livro da anterior, sem OFFSET
+
+    @Query(SELECT_BOOK_RESPONSE + "WHERE b.id > :id ORDER BY b.id ASC")
+    List<BookResponseDTO> findPageOrderById(@Param("id") Long id, Limit limit);
+
+    @Query(SELECT_BOOK_RESPONSE + "WHERE b.active = :active AND b.status = :status AND b.id > :id ORDER BY b.id ASC")
+    List<BookResponseDTO> findPageByActiveAndStatusOrderById(@Param("active") Boolean active, @Param("status") Status status,
+                                                             @Param("id") Long id, Limit limit);
+
+    @Query(SELECT_BOOK_RESPONSE + "WHERE b.title > :title OR (b.title = :title AND b.id > :id) ORDER BY b.title ASC, b.id ASC")
+    List<BookResponseDTO> findPageOrderByTitle(@Param("title") String title, @Param("id") Long id, Limit limit);
+
+    @Query(SELECT_BOOK_RESPONSE + "WHERE b.active = :active AND b.status = :status " +
+            "AND (b.title > :title OR (b.title = :title AND b.id > :id)) ORDER BY b.title ASC, b.id ASC")
+    List<BookResponseDTO> findPageByActiveAndStatusOrderByTitle(@Param("active") Boolean active, @Param("status") Status status,
+                                                                @Param("title") String title, @Param("id") Long id, Limit limit);
+
     List<Book> findByTitleContainingIgnoreCase(String title);
 
-    boolean existsByIsbn10(String isbn10);
+    boolean existsByIsbnKey(Long isbnKey);
+
+    Optional<Book> findByIsbnKey(Long isbnKey);
 
-    boolean existsByIsbn13(String isbn13);
+    @Query(SELECT_BOOK_RESPONSE + "WHERE b.isbnKey = :isbnKey")
+    Optional<BookResponseDTO> findResponseByIsbnKey(@Param("isbnKey") Long isbnKey);
 
     boolean existsByGoogleBooksId(String gooleBooksId);
 
-    @Query("SELECT b FROM Book b where b.isbn10 = ?1 OR b.isbn13 = ?2")
-    Optional<Book> findByIsbn10OrIsbn13(String isbn10, String isbn13);
+    // Confirma de uma vez as chaves que os filtros de duplicidade não descartaram; parâmetros nulos não casam com nada
+    @Query("SELECT b.isbnKey AS isbnKey, b.title AS title, b.googleBooksId AS googleBooksId FROM Book b " +
+            "WHERE b.isbnKey = :isbnKey OR b.title = :title OR b.googleBooksId = :googleBooksId")
+    List<BookKeys> findDuplicateKeys(@Param("isbnKey") Long isbnKey, @Param("title") String title,
+                                     @Param("googleBooksId") String googleBooksId);
+
+    interface BookKeys {
+        Long getIsbnKey();
+
+        String getTitle();
+
+        String getGoogleBooksId();
+    }
+
+    // Verificações de duplicidade da importação em lote: uma consulta por lote em vez de uma por livro
+
+    @Query("SELECT b.isbnKey FROM Book b WHERE b.isbnKey IN :isbnKeys")
+    Set<Long> findExistingIsbnKeys(@Param("isbnKeys") Collection<Long> isbnKeys);
+
+    @Query("SELECT b.title FROM Book b WHERE b.title IN :titles")
+    List<String> findExistingTitles(@Param("titles") Collection<String> titles);
+
+    @Query("SELECT b.googleBooksId FROM Book b WHERE b.googleBooksId IN :googleBooksIds")
+    Set<String> findExistingGoogleBooksIds(@Param("googleBooksIds") Collection<String> googleBooksIds);
 
     // Optional<Book> findByPublisherNameContainingIgnoreCase(String publisherName);
 
-    // List<Book> findByAuthorsContainingIgnoreCase(String authors);
+    List<Book> findByAuthorsContainingIgnoreCase(String authors);
 
     //  Optional<Book> findByIsbn(String isbn);
 
@@ -0,0 +1,15 @@
+package com.project2025.digital_library_platform.repositories;
+
+import com.project2025.digital_library_platform.entity.book.Book;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface BookRepositoryCustom {
+
+    // Insere os livros em lotes JDBC e preenche o ID gerado de cada um, na mesma ordem da lista
+    List<Long> insertBatch(List<Book> books);
+
+    // Catálogo inteiro em ordem de ID, lido aos poucos e sem snapshot para dirty checking
+    Stream<Book> streamAllByOrderByIdAsc();
+}
@@ -0,0 +1,107 @@
+package com.project2025.digital_library_platform.repositories;
+
+import com.project2025.digital_library_platform.entity.book.Book;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Inserção em lote fora do Hibernate: com IDs IDENTITY o Hibernate não agrupa os INSERTs,
+ * então a importação grava direto via JDBC batch (use rewriteBatchedStatements=true na URL do MySQL).
+ * Os índices em memória não são atualizados aqui; quem chama publica o evento do lote.
+ * A leitura do catálogo inteiro usa o fetch size de library.jdbc.stream-fetch-size: Integer.MIN_VALUE
+ * faz o driver do MySQL entregar as linhas uma a uma, sem carregar o resultado inteiro.
+ */
+public class BookRepositoryCustomImpl implements BookRepositoryCustom {
+
+    private static final String INSERT_SQL = "INSERT INTO books (google_books_id, title, authors, publisher, " +
+            "published_date, isbn_10, isbn_13, isbn_key, description, thumbnail_url, page_count, status, active, " +
+            "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String STREAM_ALL_JPQL = "SELECT b FROM Book b ORDER BY b.id ASC";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final int streamFetchSize;
+
+    public BookRepositoryCustomImpl(JdbcTemplate jdbcTemplate, EntityManager entityManager,
+                                    @Value("${library.jdbc.stream-fetch-size:" + Integer.MIN_VALUE + "}") int streamFetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.streamFetchSize = streamFetchSize;
+    }
+
+    @Override
+    public List<Long> insertBatch(List<Book> books) {
+        if (books.isEmpty()) {
+            return List.of();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp timestamp = Timestamp.valueOf(now);
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Book book = books.get(i);
+                        ps.setString(1, book.getGoogleBooksId());
+                        ps.setString(2, book.getTitle());
+                        ps.setString(3, book.getAuthors());
+                        ps.setString(4, book.getPublisher());
+                        ps.setString(5, book.getPublishedDate());
+                        ps.setString(6, book.getIsbn10());
+                        ps.setString(7, book.getIsbn13());
+                        ps.setObject(8, book.getIsbnKey(), Types.BIGINT);
+                        ps.setString(9, book.getDescription());
+                        ps.setString(10, book.getThumbnailUrl());
+                        ps.setObject(11, book.getPageCount(), Types.INTEGER);
+                        ps.setString(12, book.getStatus().name());
+                        ps.setBoolean(13, book.isActive());
+                        ps.setTimestamp(14, timestamp);
+                        ps.setTimestamp(15, timestamp);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return books.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        List<Long> ids = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            Long id = ((Number) keys.get(i).values().iterator().next()).longValue();
+            Book book = books.get(i);
+            book.setId(id);
+            book.setCreatedAt(now);
+            book.setUpdatedAt(now);
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    @Override
+    public Stream<Book> streamAllByOrderByIdAsc() {
+        return entityManager.createQuery(STREAM_ALL_JPQL, Book.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, streamFetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+}
@@ -0,0 +1,14 @@
+package com.project2025.digital_library_platform.repositories;
+
+import com.project2025.digital_library_platform.entity.report.CirculationDaily;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface CirculationDailyRepository extends JpaRepository<CirculationDaily, LocalDate> {
+
+    List<CirculationDaily> findByDayBetweenOrderByDayAsc(LocalDate from, LocalDate to);
+}
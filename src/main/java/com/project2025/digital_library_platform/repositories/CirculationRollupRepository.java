@@ -0,0 +1,25 @@
+package com.project2025.digital_library_platform.repositories;
+
+import com.project2025.digital_library_platform.DTOs.reportDtos.CirculationRankingDTO;
+import com.project2025.digital_library_platform.entity.report.CirculationDimension;
+import com.project2025.digital_library_platform.entity.report.CirculationRollup;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface CirculationRollupRepository extends JpaRepository<CirculationRollup, CirculationRollup.Key>,
+        CirculationRollupRepositoryCustom {
+
+    // Percorre só o intervalo de dias do recorte pela chave primária (dimension, rollup_date, dimension_key)
+    @Query("SELECT new com.project2025.digital_library_platform.DTOs.reportDtos.CirculationRankingDTO(r.dimensionKey, SUM(r.loans)) " +
+            "FROM CirculationRollup r WHERE r.dimension = :dimension AND r.day BETWEEN :from AND :to " +
+            "GROUP BY r.dimensionKey HAVING SUM(r.loans) > 0 ORDER BY SUM(r.loans) DESC, r.dimensionKey ASC")
+    List<CirculationRankingDTO> findRanking(@Param("dimension") CirculationDimension dimension,
+                                            @Param("from") LocalDate from, @Param("to") LocalDate to, Limit limit);
+}
@@ -0,0 +1,33 @@
+package com.project2025.digital_library_platform.repositories;
+
+import com.project2025.digital_library_platform.entity.report.CirculationDimension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface CirculationRollupRepositoryCustom {
+
+    record DailyDelta(LocalDate day, int loans, int returnedLoans, int lateReturns, int cancelledLoans) {
+    }
+
+    record RollupDelta(CirculationDimension dimension, LocalDate day, String key, int loans) {
+    }
+
+    // Linha de circulation_outbox; id é null até ser gravada
+    record OutboxDelta(Long id, LocalDate day, Long bookId, Long userId, int loans, int returnedLoans,
+                       int lateReturns, int cancelledLoans) {
+    }
+
+    // Soma os acréscimos aos totais existentes, criando as linhas que ainda não existem
+    void addDaily(List<DailyDelta> deltas);
+
+    void addRollups(List<RollupDelta> deltas);
+
+    // Grava os acréscimos na transação corrente, para serem somados pela próxima gravação periódica
+    void addToOutbox(List<OutboxDelta> deltas);
+
+    // Trava os acréscimos mais antigos ainda não somados; outra instância gravando ao mesmo tempo espera o commit
+    List<OutboxDelta> lockOutbox(int limit);
+
+    void deleteFromOutbox(List<Long> ids);
+}
@@ -0,0 +1,92 @@
+package com.project2025.digital_library_platform.repositories;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Date;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Upserts em lote dos totais de circulação: um INSERT ... ON DUPLICATE KEY UPDATE por linha tocada,
+ * enviados num único batch. As linhas vão sempre na ordem da chave primária, então duas instâncias
+ * gravando ao mesmo tempo travam as mesmas linhas na mesma ordem e não entram em deadlock.
+ */
+public class CirculationRollupRepositoryCustomImpl implements CirculationRollupRepositoryCustom {
+
+    private static final String ADD_DAILY_SQL = "INSERT INTO circulation_daily " +
+            "(rollup_date, loans, returned_loans, late_returns, cancelled_loans) " +
+            "VALUES (:day, :loans, :returnedLoans, :lateReturns, :cancelledLoans) ON DUPLICATE KEY UPDATE " +
+            "loans = loans + VALUES(loans), returned_loans = returned_loans + VALUES(returned_loans), " +
+            "late_returns = late_returns + VALUES(late_returns), cancelled_loans = cancelled_loans + VALUES(cancelled_loans)";
+    private static final String ADD_ROLLUP_SQL = "INSERT INTO circulation_rollups " +
+            "(dimension, rollup_date, dimension_key, loans) VALUES (:dimension, :day, :key, :loans) " +
+            "ON DUPLICATE KEY UPDATE loans = loans + VALUES(loans)";
+    private static final String ADD_OUTBOX_SQL = "INSERT INTO circulation_outbox " +
+            "(rollup_date, book_id, user_id, loans, returned_loans, late_returns, cancelled_loans) " +
+            "VALUES (:day, :bookId, :userId, :loans, :returnedLoans, :lateReturns, :cancelledLoans)";
+    private static final String LOCK_OUTBOX_SQL = "SELECT id, rollup_date, book_id, user_id, loans, returned_loans, " +
+            "late_returns, cancelled_loans FROM circulation_outbox ORDER BY id LIMIT :limit FOR UPDATE";
+    private static final String DELETE_OUTBOX_SQL = "DELETE FROM circulation_outbox WHERE id IN (:ids)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public CirculationRollupRepositoryCustomImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void addDaily(List<DailyDelta> deltas) {
+        MapSqlParameterSource[] batch = deltas.stream()
+                .sorted(Comparator.comparing(DailyDelta::day))
+                .map(delta -> new MapSqlParameterSource("day", Date.valueOf(delta.day()))
+                        .addValue("loans", delta.loans())
+                        .addValue("returnedLoans", delta.returnedLoans())
+                        .addValue("lateReturns", delta.lateReturns())
+                        .addValue("cancelledLoans", delta.cancelledLoans()))
+                .toArray(MapSqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(ADD_DAILY_SQL, batch);
+    }
+
+    @Override
+    public void addRollups(List<RollupDelta> deltas) {
+        MapSqlParameterSource[] batch = deltas.stream()
+                .sorted(Comparator.comparing((RollupDelta delta) -> delta.dimension().name())
+                        .thenComparing(RollupDelta::day)
+                        .thenComparing(RollupDelta::key))
+                .map(delta -> new MapSqlParameterSource("dimension", delta.dimension().name())
+                        .addValue("day", Date.valueOf(delta.day()))
+                        .addValue("key", delta.key())
+                        .addValue("loans", delta.loans()))
+                .toArray(MapSqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(ADD_ROLLUP_SQL, batch);
+    }
+
+    @Override
+    public void addToOutbox(List<OutboxDelta> deltas) {
+        MapSqlParameterSource[] batch = deltas.stream()
+                .map(delta -> new MapSqlParameterSource("day", Date.valueOf(delta.day()))
+                        .addValue("bookId", delta.bookId())
+                        .addValue("userId", delta.userId())
+                        .addValue("loans", delta.loans())
+                        .addValue("returnedLoans", delta.returnedLoans())
+                        .addValue("lateReturns", delta.lateReturns())
+                        .addValue("cancelledLoans", delta.cancelledLoans()))
+                .toArray(MapSqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(ADD_OUTBOX_SQL, batch);
+    }
+
+    @Override
+    public List<OutboxDelta> lockOutbox(int limit) {
+        return jdbcTemplate.query(LOCK_OUTBOX_SQL, new MapSqlParameterSource("limit", limit), (rs, rowNum) ->
+                new OutboxDelta(rs.getLong("id"), rs.getDate("rollup_date").toLocalDate(),
+                        rs.getObject("book_id", Long.class), rs.getObject("user_id", Long.class),
+                        rs.getInt("loans"), rs.getInt("returned_loans"), rs.getInt("late_returns"),
+                        rs.getInt("cancelled_loans")));
+    }
+
+    @Override
+    public void deleteFromOutbox(List<Long> ids) {
+        jdbcTemplate.update(DELETE_OUTBOX_SQL, new MapSqlParameterSource("ids", ids));
+    }
+}
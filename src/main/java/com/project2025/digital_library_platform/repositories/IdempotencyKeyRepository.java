@@ -0,0 +1,31 @@
+package com.project2025.digital_library_platform.repositories;
+
+import com.project2025.digital_library_platform.entity.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String>, IdempotencyKeyRepositoryCustom {
+
+    @Modifying
+    @Query("UPDATE IdempotencyKey k SET k.completed = true, k.responseStatus = :status, k.contentType = :contentType, " +
+            "k.responseBody = :body, k.lockedUntil = null, k.expiresAt = :expiresAt WHERE k.key = :key AND k.completed = false")
+    int complete(@Param("key") String key, @Param("status") int status, @Param("contentType") String contentType,
+                 @Param("body") byte[] body, @Param("expiresAt") LocalDateTime expiresAt);
+
+    // Requisição que falhou no servidor: a chave volta a ficar livre para uma nova tentativa
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.key = :key AND k.completed = false")
+    int release(@Param("key") String key);
+
+    // Chave expirada ou reserva abandonada (instância que caiu antes de completar ou liberar a chave)
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.key = :key AND (k.expiresAt < :now " +
+            "OR (k.completed = false AND k.lockedUntil < :now))")
+    int deleteStale(@Param("key") String key, @Param("now") LocalDateTime now);
+}
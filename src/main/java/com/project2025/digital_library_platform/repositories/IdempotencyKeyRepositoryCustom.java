@@ -0,0 +1,12 @@
+package com.project2025.digital_library_platform.repositories;
+
+import java.time.LocalDateTime;
+
+public interface IdempotencyKeyRepositoryCustom {
+
+    // Registra a chave como em andamento, reservada até lockedUntil; false se ela já existe
+    boolean claim(String key, String fingerprint, LocalDateTime now, LocalDateTime lockedUntil, LocalDateTime expiresAt);
+
+    // Apaga até limit chaves expiradas; devolve quantas apagou
+    int purgeExpired(LocalDateTime now, int limit);
+}
@@ -0,0 +1,43 @@
+package com.project2025.digital_library_platform.repositories;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * O INSERT direto decide qual requisição fica com a chave, também entre instâncias:
+ * a chave primária recusa a segunda, sem SELECT antes.
+ */
+public class IdempotencyKeyRepositoryCustomImpl implements IdempotencyKeyRepositoryCustom {
+
+    private static final String CLAIM_SQL = "INSERT INTO idempotency_keys " +
+            "(idempotency_key, fingerprint, completed, locked_until, created_at, expires_at) " +
+            "VALUES (:key, :fingerprint, FALSE, :lockedUntil, :now, :expiresAt)";
+    private static final String PURGE_SQL = "DELETE FROM idempotency_keys WHERE expires_at < :now LIMIT :limit";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public IdempotencyKeyRepositoryCustomImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public boolean claim(String key, String fingerprint, LocalDateTime now, LocalDateTime lockedUntil,
+                         LocalDateTime expiresAt) {
+        try {
+            return jdbcTemplate.update(CLAIM_SQL, Map.of("key", key, "fingerprint", fingerprint,
+                    "lockedUntil", Timestamp.valueOf(lockedUntil), "now", Timestamp.valueOf(now),
+                    "expiresAt", Timestamp.valueOf(expiresAt))) == 1;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public int purgeExpired(LocalDateTime now, int limit) {
+        return jdbcTemplate.update(PURGE_SQL, Map.of("now", Timestamp.valueOf(now), "limit", limit));
+    }
+}
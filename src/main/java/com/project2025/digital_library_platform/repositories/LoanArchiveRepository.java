@@ -0,0 +1,34 @@
+package com.project2025.digital_library_platform.repositories;
+
+import com.project2025.digital_library_platform.DTOs.loanDtos.LoanResponseDTO;
+import com.project2025.digital_library_platform.entity.LoanArchive;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface LoanArchiveRepository extends JpaRepository<LoanArchive, Long>, LoanArchiveRepositoryCustom {
+
+    // Mesmo DTO das leituras de loans, para o histórico juntar as duas tabelas sem conversão
+
+    String SELECT_ARCHIVED_RESPONSE = "SELECT new com.project2025.digital_library_platform.DTOs.loanDtos.LoanResponseDTO(" +
+            "l.id, b.title, u.login, l.loanDate, l.returnDate, l.returned) FROM LoanArchive l JOIN l.book b JOIN l.user u ";
+
+    @Query(SELECT_ARCHIVED_RESPONSE + "WHERE l.id = :id")
+    Optional<LoanResponseDTO> findResponseById(@Param("id") Long id);
+
+    @Query(SELECT_ARCHIVED_RESPONSE + "WHERE u.id = :userId ORDER BY l.id ASC")
+    List<LoanResponseDTO> findResponsesByUserId(@Param("userId") Long userId);
+
+    // Mesmo keyset de LoanRepository.findHistoryPage, pelo índice (user_id, loan_date) do arquivo
+    @Query(SELECT_ARCHIVED_RESPONSE + "WHERE l.user.id = :userId AND l.loanDate <= :loanDate " +
+            "AND (l.loanDate < :loanDate OR l.id < :id) ORDER BY l.loanDate DESC, l.id DESC")
+    List<LoanResponseDTO> findHistoryPage(@Param("userId") Long userId, @Param("loanDate") LocalDateTime loanDate,
+                                          @Param("id") Long id, Limit limit);
+}
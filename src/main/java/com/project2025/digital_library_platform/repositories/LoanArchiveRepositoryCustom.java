@@ -0,0 +1,13 @@
+package com.project2025.digital_library_platform.repositories;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+public interface LoanArchiveRepositoryCustom {
+
+    // Move para loans_archive até limit empréstimos devolvidos antes de cutoff; devolve quantos moveu
+    int archiveReturnedBefore(LocalDateTime cutoff, int limit);
+
+    // Cria as partições mensais que faltam até o mês informado; false se a tabela não é particionada
+    boolean ensureMonthlyPartitions(YearMonth through);
+}
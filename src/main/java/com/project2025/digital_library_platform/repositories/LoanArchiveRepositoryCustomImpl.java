@@ -0,0 +1,113 @@
+package com.project2025.digital_library_platform.repositories;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Arquivamento em blocos: cada chamada copia um bloco de empréstimos devolvidos para loans_archive
+ * e apaga os mesmos IDs de loans, dentro da transação de quem chama. O SELECT ... FOR UPDATE trava
+ * só as linhas do bloco, que ninguém mais altera depois da devolução.
+ * No MySQL, loans_archive é particionada por mês de loan_date: a primeira chamada de ensureMonthlyPartitions
+ * particiona a tabela (p_history e p_future) e as partições novas saem de p_future, que fica vazia enquanto
+ * os meses são criados antes de receberem linhas. Não depende de nenhuma configuração do Spring.
+ */
+public class LoanArchiveRepositoryCustomImpl implements LoanArchiveRepositoryCustom {
+
+    private static final String SELECT_IDS_SQL = "SELECT id FROM loans WHERE returned = TRUE " +
+            "AND actual_return_date < :cutoff ORDER BY actual_return_date, id LIMIT :limit FOR UPDATE";
+    private static final String COPY_SQL = "INSERT INTO loans_archive (id, loan_date, return_date, returned, " +
+            "actual_return_date, user_id, book_id, created_at, updated_at, archived_at) " +
+            "SELECT id, loan_date, return_date, returned, actual_return_date, user_id, book_id, created_at, updated_at, " +
+            ":now FROM loans WHERE id IN (:ids)";
+    private static final String DELETE_SQL = "DELETE FROM loans WHERE id IN (:ids) AND returned = TRUE";
+    private static final String SELECT_PARTITIONS_SQL = "SELECT PARTITION_NAME FROM information_schema.PARTITIONS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'loans_archive' AND PARTITION_NAME IS NOT NULL";
+
+    // O que é anterior ao primeiro mês com partição própria fica em p_history
+    private static final String PARTITION_SQL = "ALTER TABLE loans_archive PARTITION BY RANGE (UNIX_TIMESTAMP(loan_date)) (" +
+            "PARTITION p_history VALUES LESS THAN (UNIX_TIMESTAMP('2025-01-01 00:00:00')), " +
+            "PARTITION p_future VALUES LESS THAN MAXVALUE)";
+
+    private static final String FUTURE_PARTITION = "p_future";
+    // Primeiro mês com partição própria
+    private static final YearMonth FIRST_MONTH = YearMonth.of(2025, 1);
+
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+    private static final Pattern MONTH_PARTITION = Pattern.compile("p\\d{6}");
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public LoanArchiveRepositoryCustomImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int archiveReturnedBefore(LocalDateTime cutoff, int limit) {
+        List<Long> ids = jdbcTemplate.queryForList(SELECT_IDS_SQL,
+                Map.of("cutoff", Timestamp.valueOf(cutoff), "limit", limit), Long.class);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids)
+                .addValue("now", Timestamp.valueOf(LocalDateTime.now()));
+        int copied = jdbcTemplate.update(COPY_SQL, params);
+        int deleted = jdbcTemplate.update(DELETE_SQL, params);
+        if (copied != ids.size() || deleted != ids.size()) {
+            // A exceção desfaz o bloco inteiro: nada fica nas duas tabelas ou em nenhuma
+            throw new IllegalStateException("Bloco de arquivamento inconsistente: " + ids.size() +
+                    " selecionados, " + copied + " copiados, " + deleted + " removidos");
+        }
+        return deleted;
+    }
+
+    @Override
+    public boolean ensureMonthlyPartitions(YearMonth through) {
+        if (!isMySql()) {
+            return false;
+        }
+        List<String> partitions = jdbcTemplate.getJdbcTemplate().queryForList(SELECT_PARTITIONS_SQL, String.class);
+        if (partitions.isEmpty()) {
+            // Tabela recém-criada pelo schema.sql: particiona uma vez, reconstruindo a tabela com o que já houver nela
+            jdbcTemplate.getJdbcTemplate().execute(PARTITION_SQL);
+            partitions = List.of(FUTURE_PARTITION);
+        } else if (!partitions.contains(FUTURE_PARTITION)) {
+            return false;
+        }
+        YearMonth next = partitions.stream()
+                .filter(name -> MONTH_PARTITION.matcher(name).matches())
+                .map(name -> YearMonth.parse(name, PARTITION_NAME))
+                .max(Comparator.naturalOrder())
+                .map(last -> last.plusMonths(1))
+                .orElse(FIRST_MONTH);
+        if (next.isAfter(through)) {
+            return true;
+        }
+
+        StringBuilder sql = new StringBuilder("ALTER TABLE loans_archive REORGANIZE PARTITION ")
+                .append(FUTURE_PARTITION).append(" INTO (");
+        for (YearMonth month = next; !month.isAfter(through); month = month.plusMonths(1)) {
+            sql.append("PARTITION ").append(PARTITION_NAME.format(month))
+                    .append(" VALUES LESS THAN (UNIX_TIMESTAMP('").append(month.plusMonths(1).atDay(1))
+                    .append(" 00:00:00')), ");
+        }
+        sql.append("PARTITION ").append(FUTURE_PARTITION).append(" VALUES LESS THAN MAXVALUE)");
+        jdbcTemplate.getJdbcTemplate().execute(sql.toString());
+        return true;
+    }
+
+    private boolean isMySql() {
+        String product = jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        return "MySQL".equalsIgnoreCase(product);
+    }
+}
@@ -1,26 +1,103 @@
 package com.project2025.digital_library_platform.repositories;
 
 
+import com.project2025.digital_library_platform.DTOs.loanDtos.LoanResponseDTO;
 import com.project2025.digital_library_platform.entity.book.Book;
 import com.project2025.digital_library_platform.entity.Loan;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface LoanRepository extends JpaRepository<Loan, Long> {
+public interface LoanRepository extends JpaRepository<Loan, Long>, LoanRepositoryCustom {
 
+    // Quem precisa das entidades recebe livro e usuário no mesmo SELECT (JOIN FETCH), sem uma consulta por empréstimo
+
+    @EntityGraph(attributePaths = {"book", "user"})
     List<Loan> findByReturnedFalse();
 
     boolean existsByBookAndReturnedFalse(Book book);
 
+    boolean existsByBookIdAndUserIdAndReturnedFalse(Long bookId, Long userId);
+
+    @EntityGraph(attributePaths = {"book", "user"})
     List<Loan> findByReturnDateBeforeAndReturnedFalse(LocalDateTime date);
 
+    @EntityGraph(attributePaths = {"book", "user"})
     List<Loan> findAllByUserId(Long userId);
 
+    // Devolução em lote: as linhas ficam travadas até o commit, junto com a marca de vencido lida aqui
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM Loan l WHERE l.id IN :ids")
+    List<Loan> findAllForUpdateByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Devolução em lote: só empréstimos ainda em aberto são alterados
+    @Modifying
+    @Query("UPDATE Loan l SET l.returned = true, l.actualReturnDate = :now, l.updatedAt = :now " +
+            "WHERE l.id IN :ids AND l.returned = false")
+    int markAllReturned(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    // Devolução e cancelamento alteram o livro do empréstimo. A trava impede que a varredura de vencidos
+    // marque o empréstimo entre a leitura e a devolução, o que deixaria o contador de vencidos errado
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @EntityGraph(attributePaths = "book")
+    Optional<Loan> findWithBookById(Long id);
+
+    // Leituras direto no DTO: título e login vêm no mesmo SELECT, sem carregar Book e User
+
+    String SELECT_LOAN_RESPONSE = "SELECT new com.project2025.digital_library_platform.DTOs.loanDtos.LoanResponseDTO(" +
+            "l.id, b.title, u.login, l.loanDate, l.returnDate, l.returned) FROM Loan l JOIN l.book b JOIN l.user u ";
+
+    @Query(SELECT_LOAN_RESPONSE + "WHERE l.id = :id")
+    Optional<LoanResponseDTO> findResponseById(@Param("id") Long id);
+
+    @Query(SELECT_LOAN_RESPONSE + "WHERE l.returned = false ORDER BY l.id ASC")
+    List<LoanResponseDTO> findActiveResponses();
+
+    @Query(SELECT_LOAN_RESPONSE + "WHERE l.returned = false AND l.returnDate < :date ORDER BY l.returnDate ASC")
+    List<LoanResponseDTO> findOverdueResponses(@Param("date") LocalDateTime date);
+
+    @Query(SELECT_LOAN_RESPONSE + "WHERE l.id IN :ids ORDER BY l.returnDate ASC, l.id ASC")
+    List<LoanResponseDTO> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Prazos dos empréstimos abertos em outra instância, para o controle de vencidos local
+    @Query("SELECT new com.project2025.digital_library_platform.repositories.LoanRepositoryCustom$LoanDeadline(" +
+            "l.id, l.returnDate) FROM Loan l WHERE l.id IN :ids AND l.returned = false")
+    List<LoanDeadline> findOpenDeadlinesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(SELECT_LOAN_RESPONSE + "WHERE u.id = :userId ORDER BY l.id ASC")
+    List<LoanResponseDTO> findResponsesByUserId(@Param("userId") Long userId);
+
+    // Histórico por keyset no índice (user_id, loan_date), do mais recente para o mais antigo: cada página
+    // começa logo depois do último empréstimo da anterior, com o mesmo custo na primeira e na centésima
+    @Query(SELECT_LOAN_RESPONSE + "WHERE l.user.id = :userId AND l.loanDate <= :loanDate " +
+            "AND (l.loanDate < :loanDate OR l.id < :id) ORDER BY l.loanDate DESC, l.id DESC")
+    List<LoanResponseDTO> findHistoryPage(@Param("userId") Long userId, @Param("loanDate") LocalDateTime loanDate,
+                                          @Param("id") Long id, Limit limit);
+
+    // Popularidade dos livros para o autocomplete, somando os empréstimos arquivados; lida uma vez no boot
+    @Query(value = "SELECT h.book_id AS bookId, COUNT(*) AS loans FROM (" +
+            "SELECT book_id FROM loans UNION ALL SELECT book_id FROM loans_archive) h GROUP BY h.book_id",
+            nativeQuery = true)
+    List<BookLoanCount> countLoansByBook();
+
+    interface BookLoanCount {
+        Long getBookId();
+
+        Long getLoans();
+    }
+
     //List<Loan> findByUserId(Long id);
 
     //Optional<Loan> findByBookIdAndUserId(Long bookId, Long userId);
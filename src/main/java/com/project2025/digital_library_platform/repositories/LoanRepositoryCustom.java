@@ -0,0 +1,27 @@
+package com.project2025.digital_library_platform.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface LoanRepositoryCustom {
+
+    // Grava o empréstimo só se o usuário existir e estiver ativo; devolve o ID gerado ou null se nada foi gravado
+    Long insertForActiveUser(Long userId, Long bookId, LocalDateTime loanDate, LocalDateTime returnDate);
+
+    // Grava um empréstimo por livro num único lote JDBC e devolve os IDs na ordem dos livros
+    List<Long> insertBatch(Long userId, List<Long> bookIds, LocalDateTime loanDate, LocalDateTime returnDate);
+
+    // Histórico (usuário, livro) para montar as co-ocorrências das recomendações, incluindo os empréstimos
+    // arquivados; lido uma vez no boot. As contagens não dependem da ordem de leitura
+    Stream<UserBook> streamUserBookPairs();
+
+    // Prazos dos empréstimos em aberto para o controle de vencidos; lidos uma vez no boot
+    Stream<LoanDeadline> streamOpenLoanDeadlines();
+
+    record UserBook(Long userId, Long bookId) {
+    }
+
+    record LoanDeadline(Long loanId, LocalDateTime returnDate) {
+    }
+}
@@ -0,0 +1,126 @@
+package com.project2025.digital_library_platform.repositories;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * INSERT ... SELECT do empréstimo: a verificação do usuário ativo vai no próprio INSERT,
+ * então o caminho feliz do empréstimo não lê o usuário antes de gravar.
+ * O empréstimo em lote grava todos os livros do atendimento com JDBC batch, como a importação do catálogo.
+ * As leituras de boot usam o fetch size de library.jdbc.stream-fetch-size (Integer.MIN_VALUE no MySQL).
+ */
+public class LoanRepositoryCustomImpl implements LoanRepositoryCustom {
+
+    private static final String INSERT_SQL = "INSERT INTO loans (loan_date, return_date, returned, overdue, user_id, book_id, " +
+            "created_at, updated_at) SELECT ?, ?, FALSE, FALSE, u.id, ?, ?, ? FROM users u WHERE u.id = ? AND u.active = TRUE";
+
+    private static final String INSERT_BATCH_SQL = "INSERT INTO loans (loan_date, return_date, returned, overdue, " +
+            "user_id, book_id, created_at, updated_at) VALUES (?, ?, FALSE, FALSE, ?, ?, ?, ?)";
+
+    private static final String USER_BOOK_SQL = "SELECT user_id, book_id FROM loans " +
+            "UNION ALL SELECT user_id, book_id FROM loans_archive";
+
+    private static final String OPEN_DEADLINES_JPQL = "SELECT new com.project2025.digital_library_platform." +
+            "repositories.LoanRepositoryCustom$LoanDeadline(l.id, l.returnDate) FROM Loan l WHERE l.returned = false";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final int streamFetchSize;
+
+    public LoanRepositoryCustomImpl(JdbcTemplate jdbcTemplate, EntityManager entityManager,
+                                    @Value("${library.jdbc.stream-fetch-size:" + Integer.MIN_VALUE + "}") int streamFetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.streamFetchSize = streamFetchSize;
+    }
+
+    @Override
+    public Long insertForActiveUser(Long userId, Long bookId, LocalDateTime loanDate, LocalDateTime returnDate) {
+        Timestamp now = Timestamp.valueOf(loanDate);
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+
+        int inserted = jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(INSERT_SQL, new String[]{"id"});
+            ps.setTimestamp(1, now);
+            ps.setTimestamp(2, Timestamp.valueOf(returnDate));
+            ps.setLong(3, bookId);
+            ps.setTimestamp(4, now);
+            ps.setTimestamp(5, now);
+            ps.setLong(6, userId);
+            return ps;
+        }, keyHolder);
+
+        if (inserted == 0) {
+            return null;
+        }
+        Number key = keyHolder.getKey();
+        return key == null ? null : key.longValue();
+    }
+
+    @Override
+    public List<Long> insertBatch(Long userId, List<Long> bookIds, LocalDateTime loanDate, LocalDateTime returnDate) {
+        if (bookIds.isEmpty()) {
+            return List.of();
+        }
+        Timestamp now = Timestamp.valueOf(loanDate);
+        Timestamp due = Timestamp.valueOf(returnDate);
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_BATCH_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setTimestamp(1, now);
+                        ps.setTimestamp(2, due);
+                        ps.setLong(3, userId);
+                        ps.setLong(4, bookIds.get(i));
+                        ps.setTimestamp(5, now);
+                        ps.setTimestamp(6, now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return bookIds.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        List<Long> ids = new ArrayList<>(keys.size());
+        for (Map<String, Object> key : keys) {
+            ids.add(((Number) key.values().iterator().next()).longValue());
+        }
+        return ids;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Stream<UserBook> streamUserBookPairs() {
+        Stream<Object[]> rows = entityManager.createNativeQuery(USER_BOOK_SQL)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, streamFetchSize)
+                .getResultStream();
+        return rows.map(row -> new UserBook(((Number) row[0]).longValue(), ((Number) row[1]).longValue()));
+    }
+
+    @Override
+    public Stream<LoanDeadline> streamOpenLoanDeadlines() {
+        return entityManager.createQuery(OPEN_DEADLINES_JPQL, LoanDeadline.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, streamFetchSize)
+                .getResultStream();
+    }
+}
@@ -0,0 +1,33 @@
+package com.project2025.digital_library_platform.repositories;
+
+import com.project2025.digital_library_platform.DTOs.loanDtos.LoanCountersDTO;
+import com.project2025.digital_library_platform.entity.user.UserLoanCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface UserLoanCounterRepository extends JpaRepository<UserLoanCounter, Long>, UserLoanCounterRepositoryCustom {
+
+    @Query("SELECT new com.project2025.digital_library_platform.DTOs.loanDtos.LoanCountersDTO(" +
+            "c.userId, c.activeLoans, c.overdueLoans, c.lifetimeLoans) FROM UserLoanCounter c WHERE c.userId = :userId")
+    Optional<LoanCountersDTO> findCountersByUserId(@Param("userId") Long userId);
+
+    // Só incrementa se o usuário não tiver vencidos e continuar dentro do limite; 0 = recusado ou sem contadores
+    @Modifying
+    @Query("UPDATE UserLoanCounter c SET c.activeLoans = c.activeLoans + :loans, c.lifetimeLoans = c.lifetimeLoans + :loans " +
+            "WHERE c.userId = :userId AND c.overdueLoans = 0 AND c.activeLoans + :loans <= :maxActive")
+    int reserve(@Param("userId") Long userId, @Param("loans") int loans, @Param("maxActive") int maxActive);
+
+    // Devoluções e cancelamentos; o cancelamento também tira o empréstimo do total
+    @Modifying
+    @Query("UPDATE UserLoanCounter c SET c.activeLoans = c.activeLoans - :closed, " +
+            "c.overdueLoans = c.overdueLoans - :overdue, c.lifetimeLoans = c.lifetimeLoans - :cancelled " +
+            "WHERE c.userId = :userId")
+    int release(@Param("userId") Long userId, @Param("closed") int closed,
+                @Param("overdue") int overdue, @Param("cancelled") int cancelled);
+}
@@ -0,0 +1,14 @@
+package com.project2025.digital_library_platform.repositories;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public interface UserLoanCounterRepositoryCustom {
+
+    // Cria os contadores do usuário a partir dos empréstimos gravados; false se o usuário não existe
+    boolean initialize(Long userId);
+
+    // Marca como vencidos até limit empréstimos em aberto com prazo antes de now e soma nos contadores;
+    // devolve quantos foram marcados por usuário
+    Map<Long, Integer> flagOverdue(LocalDateTime now, int limit);
+}
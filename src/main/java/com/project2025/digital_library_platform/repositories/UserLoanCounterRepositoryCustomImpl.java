@@ -0,0 +1,71 @@
+package com.project2025.digital_library_platform.repositories;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Criação preguiçosa dos contadores e marcação dos vencidos via JDBC.
+ * A contagem inicial é a única leitura agregada sobre loans e acontece uma vez por usuário,
+ * pelo índice de user_id. A marcação trava as linhas com SELECT ... FOR UPDATE e só pega
+ * empréstimos ainda não marcados, então cada vencido entra uma única vez no contador,
+ * mesmo com várias instâncias rodando a varredura.
+ */
+public class UserLoanCounterRepositoryCustomImpl implements UserLoanCounterRepositoryCustom {
+
+    private static final String INITIALIZE_SQL = "INSERT INTO user_loan_counters " +
+            "(user_id, active_loans, overdue_loans, lifetime_loans) SELECT u.id, " +
+            "(SELECT COUNT(*) FROM loans l WHERE l.user_id = u.id AND l.returned = FALSE), " +
+            "(SELECT COUNT(*) FROM loans l WHERE l.user_id = u.id AND l.returned = FALSE AND l.overdue = TRUE), " +
+            "(SELECT COUNT(*) FROM loans l WHERE l.user_id = u.id) + " +
+            "(SELECT COUNT(*) FROM loans_archive a WHERE a.user_id = u.id) " +
+            "FROM users u WHERE u.id = :userId";
+    private static final String SELECT_DUE_SQL = "SELECT id, user_id FROM loans WHERE returned = FALSE " +
+            "AND overdue = FALSE AND return_date < :now ORDER BY return_date, id LIMIT :limit FOR UPDATE";
+    private static final String FLAG_SQL = "UPDATE loans SET overdue = TRUE WHERE id IN (:ids)";
+    private static final String ADD_OVERDUE_SQL = "UPDATE user_loan_counters SET overdue_loans = overdue_loans + :overdue " +
+            "WHERE user_id = :userId";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public UserLoanCounterRepositoryCustomImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public boolean initialize(Long userId) {
+        try {
+            return jdbcTemplate.update(INITIALIZE_SQL, Map.of("userId", userId)) == 1;
+        } catch (DuplicateKeyException e) {
+            // Outra transação criou os contadores primeiro
+            return true;
+        }
+    }
+
+    @Override
+    public Map<Long, Integer> flagOverdue(LocalDateTime now, int limit) {
+        List<Long> ids = new ArrayList<>();
+        Map<Long, Integer> overdueByUser = new LinkedHashMap<>();
+        jdbcTemplate.query(SELECT_DUE_SQL, Map.of("now", Timestamp.valueOf(now), "limit", limit), rs -> {
+            ids.add(rs.getLong(1));
+            overdueByUser.merge(rs.getLong(2), 1, Integer::sum);
+        });
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        jdbcTemplate.update(FLAG_SQL, Map.of("ids", ids));
+
+        MapSqlParameterSource[] batch = overdueByUser.entrySet().stream()
+                .map(entry -> new MapSqlParameterSource("userId", entry.getKey()).addValue("overdue", entry.getValue()))
+                .toArray(MapSqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(ADD_OVERDUE_SQL, batch);
+        return overdueByUser;
+    }
+}
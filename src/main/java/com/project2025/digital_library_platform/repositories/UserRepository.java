@@ -1,9 +1,12 @@
 package com.project2025.digital_library_platform.repositories;
 
 
+import com.project2025.digital_library_platform.DTOs.userDtos.UserResponseDTO;
 import com.project2025.digital_library_platform.entity.user.Role;
 import com.project2025.digital_library_platform.entity.user.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -18,8 +21,30 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     List<User> findByActiveTrue();
 
+    boolean existsByIdAndActiveTrue(Long id);
+
     List<User> findByRole(Role role);
 
+    // Leituras direto no DTO, sem carregar a entidade (e a senha) no contexto de persistência
+
+    String SELECT_USER_RESPONSE = "SELECT new com.project2025.digital_library_platform.DTOs.userDtos.UserResponseDTO(" +
+            "u.id, u.login, u.nome, u.email, u.endereco, u.telefone, u.role, u.active) FROM User u ";
+
+    @Query(SELECT_USER_RESPONSE + "WHERE u.id = :id")
+    Optional<UserResponseDTO> findResponseById(@Param("id") Long id);
+
+    @Query(SELECT_USER_RESPONSE + "WHERE u.login = :login")
+    Optional<UserResponseDTO> findResponseByLogin(@Param("login") String login);
+
+    @Query(SELECT_USER_RESPONSE + "ORDER BY u.id ASC")
+    List<UserResponseDTO> findAllResponses();
+
+    @Query(SELECT_USER_RESPONSE + "WHERE u.active = true ORDER BY u.id ASC")
+    List<UserResponseDTO> findActiveResponses();
+
+    @Query(SELECT_USER_RESPONSE + "WHERE u.role = :role ORDER BY u.id ASC")
+    List<UserResponseDTO> findResponsesByRole(@Param("role") Role role);
+
     //  * Busca todos os usuários bloqueados
     // List<User> findByBlockedTrue();
 
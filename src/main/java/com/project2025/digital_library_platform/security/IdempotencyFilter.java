@@ -0,0 +1,231 @@
+package com.project2025.digital_library_platform.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project2025.digital_library_platform.cache.IdempotencyCache.StoredResponse;
+import com.project2025.digital_library_platform.exception.ErrorCode;
+import com.project2025.digital_library_platform.services.IdempotencyService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Suporte ao cabeçalho Idempotency-Key nas requisições que alteram empréstimos e livros.
+ * A primeira requisição com a chave executa normalmente e a resposta fica guardada; uma repetição
+ * (o cliente do balcão reenvia quando dá timeout) recebe a mesma resposta, sem passar de novo pelas
+ * validações. A chave vale por usuário e só para a mesma requisição: método, caminho e corpo iguais.
+ * Respostas 5xx não são guardadas, para que a repetição tente de novo.
+ * Roda depois do filtro do Spring Security, com o usuário já autenticado.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Set<String> MUTATING_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+    private static final Pattern VALID_KEY = Pattern.compile("[A-Za-z0-9_.:-]{1,100}");
+    private static final int MAX_BODY_BYTES = 1024 * 1024;
+
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
+
+    public IdempotencyFilter(IdempotencyService idempotencyService, ObjectMapper objectMapper) {
+        this.idempotencyService = idempotencyService;
+        this.objectMapper = objectMapper;
+    }
+
+    // Importação em lote fica de fora: o corpo é lido em streaming e livros repetidos já são rejeitados
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getServletPath();
+        return request.getHeader(HEADER) == null
+                || !MUTATING_METHODS.contains(request.getMethod())
+                || !(path.startsWith("/api/loans/") || path.startsWith("/api/books/"))
+                || path.equals("/api/books/import");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String clientKey = request.getHeader(HEADER);
+        if (!VALID_KEY.matcher(clientKey).matches()) {
+            reject(response, HttpStatus.BAD_REQUEST, "Idempotency-Key deve ter de 1 a 100 letras, números ou _ . : -",
+                    ErrorCode.IDEMPOTENCY_KEY_INVALID);
+            return;
+        }
+        byte[] body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+        if (body.length > MAX_BODY_BYTES) {
+            reject(response, HttpStatus.PAYLOAD_TOO_LARGE, "Corpo grande demais para uso com Idempotency-Key",
+                    ErrorCode.IDEMPOTENCY_KEY_INVALID);
+            return;
+        }
+
+        String key = authentication.getName() + ":" + clientKey;
+        String fingerprint = fingerprint(request, body);
+
+        StoredResponse stored = idempotencyService.findResponse(key);
+        if (stored == null && !idempotencyService.claim(key, fingerprint)) {
+            // Outra requisição ficou com a chave: ou já terminou, ou ainda está rodando
+            stored = idempotencyService.findResponse(key);
+            if (stored == null) {
+                reject(response, HttpStatus.CONFLICT, "Requisição com esta Idempotency-Key ainda em andamento",
+                        ErrorCode.IDEMPOTENCY_KEY_IN_USE);
+                return;
+            }
+        }
+        if (stored != null) {
+            if (!stored.fingerprint().equals(fingerprint)) {
+                reject(response, HttpStatus.UNPROCESSABLE_ENTITY, "Idempotency-Key já usada em outra requisição",
+                        ErrorCode.IDEMPOTENCY_KEY_REUSED);
+                return;
+            }
+            replay(response, stored);
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            filterChain.doFilter(new CachedBodyRequest(request, body), wrapper);
+            if (wrapper.getStatus() < 500 && !request.isAsyncStarted()) {
+                idempotencyService.complete(key, new StoredResponse(fingerprint, wrapper.getStatus(),
+                        wrapper.getContentType(), wrapper.getContentAsByteArray()));
+                completed = true;
+            }
+        } finally {
+            if (!completed) {
+                idempotencyService.release(key);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    //MÉTODOS AUXILIARES
+
+    private void replay(HttpServletResponse response, StoredResponse stored) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    // Mesmo formato das respostas do GlobalExceptionHandler
+    private void reject(HttpServletResponse response, HttpStatus status, String message, ErrorCode code) throws IOException {
+        Map<String, String> error = new LinkedHashMap<>();
+        error.put("message", message);
+        error.put("code", code.name());
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    private static String fingerprint(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((request.getMethod() + " " + request.getRequestURI() + "?" + request.getQueryString() + "\n")
+                    .getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    // O corpo já foi lido para o fingerprint; o controller recebe uma cópia
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    // O corpo já está todo em memória: está disponível e lido por inteiro de uma vez
+                    try {
+                        listener.onDataAvailable();
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding() == null ? StandardCharsets.UTF_8.name() : getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(), Charset.forName(encoding)));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
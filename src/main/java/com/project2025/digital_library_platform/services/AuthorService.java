@@ -0,0 +1,225 @@
+package com.project2025.digital_library_platform.services;
+
+import com.project2025.digital_library_platform.DTOs.authorDtos.AuthorDTO;
+import com.project2025.digital_library_platform.DTOs.authorDtos.AuthorPageDTO;
+import com.project2025.digital_library_platform.DTOs.bookDtos.BookPageDTO;
+import com.project2025.digital_library_platform.DTOs.bookDtos.BookResponseDTO;
+import com.project2025.digital_library_platform.entity.book.Book;
+import com.project2025.digital_library_platform.exception.BusinessException;
+import com.project2025.digital_library_platform.exception.ErrorCode;
+import com.project2025.digital_library_platform.index.TextNormalizer;
+import com.project2025.digital_library_platform.repositories.AuthorRepository;
+import com.project2025.digital_library_platform.repositories.AuthorRepositoryCustom.UnlinkedBook;
+import com.project2025.digital_library_platform.repositories.BookRepository;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Autores normalizados do catálogo.
+ * O texto de autores de cada livro (separado por vírgula ou ponto e vírgula) é dividido em nomes,
+ * e cada nome é gravado uma única vez na tabela authors, identificado pela forma normalizada
+ * (sem acentos, em minúsculas, com espaços simples). A tabela book_authors liga livros e autores,
+ * então "todos os livros de um autor" é uma busca no índice em vez de um LIKE sobre books.authors.
+ */
+@Service
+@Slf4j
+public class AuthorService {
+
+    private static final int BACKFILL_CHUNK_SIZE = 1000;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MAX_NAME_LENGTH = 255;
+    private static final Pattern SEPARATOR = Pattern.compile("[,;]");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private final AuthorRepository authorRepository;
+    private final BookRepository bookRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public AuthorService(AuthorRepository authorRepository, BookRepository bookRepository,
+                         TransactionTemplate transactionTemplate) {
+        this.authorRepository = authorRepository;
+        this.bookRepository = bookRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    //VÍNCULOS ENTRE LIVROS E AUTORES
+
+    @Transactional
+    @Operation(description = "Atualiza os autores vinculados a um livro a partir do texto de autores")
+    public void link(Book book) {
+        link(List.of(book));
+    }
+
+    // Uma inserção em lote dos autores novos e outra dos vínculos, para todos os livros recebidos
+    @Transactional
+    @Operation(description = "Atualiza os autores vinculados a vários livros de uma vez")
+    public void link(Collection<Book> books) {
+        Map<Long, String> authorsByBookId = new LinkedHashMap<>();
+        for (Book book : books) {
+            authorsByBookId.put(book.getId(), book.getAuthors());
+        }
+        linkAuthors(authorsByBookId);
+    }
+
+    // Divide os livros gravados antes da tabela de autores existir; livros já vinculados não são tocados
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        long start = System.nanoTime();
+        long afterId = 0;
+        int linked = 0;
+        List<UnlinkedBook> chunk;
+        do {
+            long from = afterId;
+            chunk = transactionTemplate.execute(status -> {
+                List<UnlinkedBook> books = authorRepository.findUnlinkedBooks(from, BACKFILL_CHUNK_SIZE);
+                Map<Long, String> authorsByBookId = new LinkedHashMap<>();
+                books.forEach(book -> authorsByBookId.put(book.bookId(), book.authors()));
+                linkAuthors(authorsByBookId);
+                return books;
+            });
+            if (chunk == null || chunk.isEmpty()) {
+                break;
+            }
+            linked += chunk.size();
+            afterId = chunk.get(chunk.size() - 1).bookId();
+        } while (chunk.size() == BACKFILL_CHUNK_SIZE);
+
+        if (linked > 0) {
+            log.info("Autores separados de {} livros em {} ms", linked, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    //OPERAÇÕES DE CONSULTA
+
+    @Transactional(readOnly = true)
+    @Operation(description = "Busca um autor pelo nome, ignorando acentos, caixa e espaços repetidos")
+    public AuthorDTO findByName(String name) {
+        return authorRepository.findResponseByNormalizedName(normalize(name))
+                .orElseThrow(() -> new BusinessException("Autor não encontrado", ErrorCode.AUTHOR_NOT_FOUND));
+    }
+
+    @Transactional(readOnly = true)
+    @Operation(description = "Lista os autores em ordem alfabética, filtrando pelo início do nome, uma página por vez")
+    public AuthorPageDTO listAuthors(String prefix, String cursor, int size) {
+        int pageSize = pageSize(size);
+        List<AuthorDTO> authors = authorRepository.findPageByPrefix(escapeLike(normalize(prefix)),
+                decodeCursor(cursor), Limit.of(pageSize + 1));
+
+        boolean hasNext = authors.size() > pageSize;
+        List<AuthorDTO> page = hasNext ? authors.subList(0, pageSize) : authors;
+        String nextCursor = hasNext ? encodeCursor(normalize(page.get(page.size() - 1).name())) : null;
+        return new AuthorPageDTO(page, nextCursor);
+    }
+
+    @Transactional(readOnly = true)
+    @Operation(description = "Lista os livros de um autor por ID, uma página por vez")
+    public BookPageDTO findBooks(Long authorId, String cursor, int size) {
+        if (!authorRepository.existsById(authorId)) {
+            throw new BusinessException("Autor não encontrado", ErrorCode.AUTHOR_NOT_FOUND);
+        }
+        int pageSize = pageSize(size);
+        long afterId = parseBookCursor(decodeCursor(cursor));
+        List<Long> bookIds = authorRepository.findBookIds(authorId, afterId, pageSize + 1);
+
+        boolean hasNext = bookIds.size() > pageSize;
+        List<Long> pageIds = hasNext ? bookIds.subList(0, pageSize) : bookIds;
+        List<BookResponseDTO> books = pageIds.isEmpty() ? List.of() : bookRepository.findResponsesByIdIn(pageIds);
+        String nextCursor = hasNext ? encodeCursor(String.valueOf(pageIds.get(pageIds.size() - 1))) : null;
+        return new BookPageDTO(books, nextCursor);
+    }
+
+    //MÉTODOS AUXILIARES
+
+    public static String normalize(String name) {
+        return SPACES.matcher(TextNormalizer.fold(name).strip()).replaceAll(" ");
+    }
+
+    // Nomes na ordem em que aparecem no texto, sem repetir o mesmo autor
+    public static List<String> split(String authors) {
+        if (authors == null || authors.isBlank()) {
+            return List.of();
+        }
+        Map<String, String> names = new LinkedHashMap<>();
+        for (String part : SEPARATOR.split(authors)) {
+            String name = SPACES.matcher(part.strip()).replaceAll(" ");
+            if (!name.isEmpty() && name.length() <= MAX_NAME_LENGTH) {
+                names.putIfAbsent(normalize(name), name);
+            }
+        }
+        return List.copyOf(names.values());
+    }
+
+    private void linkAuthors(Map<Long, String> authorsByBookId) {
+        if (authorsByBookId.isEmpty()) {
+            return;
+        }
+        Map<String, String> namesByNormalizedName = new HashMap<>();
+        Map<Long, List<String>> keysByBookId = new LinkedHashMap<>();
+        authorsByBookId.forEach((bookId, authors) -> {
+            List<String> keys = new ArrayList<>();
+            for (String name : split(authors)) {
+                String key = normalize(name);
+                namesByNormalizedName.putIfAbsent(key, name);
+                keys.add(key);
+            }
+            keysByBookId.put(bookId, keys);
+        });
+
+        Map<String, Long> authorIds = authorRepository.findOrCreate(namesByNormalizedName);
+        Map<Long, List<Long>> authorIdsByBookId = new LinkedHashMap<>();
+        keysByBookId.forEach((bookId, keys) -> authorIdsByBookId.put(bookId, keys.stream().map(authorIds::get).toList()));
+        authorRepository.replaceLinks(authorIdsByBookId);
+    }
+
+    private static int pageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    // O '!' é o caractere de escape declarado na consulta por prefixo
+    private static String escapeLike(String prefix) {
+        return prefix.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
+    // O cursor é opaco para o cliente: a chave do último item entregue em Base64 URL-safe
+    private static String encodeCursor(String key) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return "";
+        }
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Cursor de paginação inválido", ErrorCode.INVALID_OPERATION);
+        }
+    }
+
+    private static long parseBookCursor(String key) {
+        if (key.isEmpty()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(key);
+        } catch (NumberFormatException e) {
+            throw new BusinessException("Cursor de paginação inválido", ErrorCode.INVALID_OPERATION);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.project2025.digital_library_platform.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.project2025.digital_library_platform.DTOs.bookDtos.BookResponseDTO;
+import com.project2025.digital_library_platform.entity.book.Book;
+import com.project2025.digital_library_platform.mappers.BookMapper;
+import com.project2025.digital_library_platform.repositories.BookRepository;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class BookExportService {
+
+    private static final int FLUSH_EVERY = 500;
+
+    private final BookRepository bookRepository;
+    private final BookMapper bookMapper;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    public BookExportService(BookRepository bookRepository, BookMapper bookMapper, ObjectMapper objectMapper,
+                             EntityManager entityManager) {
+        this.bookRepository = bookRepository;
+        this.bookMapper = bookMapper;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+    }
+
+    // A transação precisa ficar aberta enquanto o cursor do banco é percorrido
+    @Transactional(readOnly = true)
+    @Operation(description = "Exporta o catálogo completo em NDJSON (um livro por linha), com memória constante")
+    public long exportCatalog(OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(BookResponseDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long count = 0;
+
+        try (Stream<Book> books = bookRepository.streamAllByOrderByIdAsc();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            Iterator<Book> iterator = books.iterator();
+            while (iterator.hasNext()) {
+                Book book = iterator.next();
+                writer.writeValue(generator, bookMapper.toDto(book));
+                generator.writeRaw('\n');
+                // Sem o detach, o contexto de persistência guardaria todos os livros já exportados
+                entityManager.detach(book);
+
+                if (++count % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        return count;
+    }
+}
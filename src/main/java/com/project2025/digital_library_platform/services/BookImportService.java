@@ -0,0 +1,272 @@
+package com.project2025.digital_library_platform.services;
+
+import com.project2025.digital_library_platform.DTOs.bookDtos.BookCreateDTO;
+import com.project2025.digital_library_platform.DTOs.bookDtos.BookImportErrorDTO;
+import com.project2025.digital_library_platform.DTOs.bookDtos.BookImportResultDTO;
+import com.project2025.digital_library_platform.converters.BookImportParser;
+import com.project2025.digital_library_platform.entity.book.Book;
+import com.project2025.digital_library_platform.entity.book.Isbn;
+import com.project2025.digital_library_platform.entity.book.Status;
+import com.project2025.digital_library_platform.events.BooksImportedEvent;
+import com.project2025.digital_library_platform.index.DuplicateFilter;
+import com.project2025.digital_library_platform.index.TextNormalizer;
+import com.project2025.digital_library_platform.mappers.BookMapper;
+import com.project2025.digital_library_platform.repositories.BookRepository;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Importação do catálogo em lote.
+ * O arquivo é processado em blocos: cada bloco é validado com uma consulta por tipo de duplicidade
+ * (ISBN, título e Google Books ID), gravado com JDBC batch em uma única transação e anunciado
+ * com um único evento. Um bloco que falha ao gravar não desfaz os blocos anteriores.
+ */
+@Service
+@Slf4j
+public class BookImportService {
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final BookImportParser bookImportParser;
+    private final BookRepository bookRepository;
+    private final BookMapper bookMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DuplicateFilter duplicateFilter;
+    private final AuthorService authorService;
+
+    public BookImportService(BookImportParser bookImportParser, BookRepository bookRepository, BookMapper bookMapper,
+                             TransactionTemplate transactionTemplate, ApplicationEventPublisher eventPublisher,
+                             DuplicateFilter duplicateFilter, AuthorService authorService) {
+        this.bookImportParser = bookImportParser;
+        this.bookRepository = bookRepository;
+        this.bookMapper = bookMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.duplicateFilter = duplicateFilter;
+        this.authorService = authorService;
+    }
+
+    @Operation(description = "Importa livros em lote a partir de um arquivo CSV ou NDJSON")
+    public BookImportResultDTO importBooks(InputStream in, BookImportParser.Format format) throws IOException {
+        long start = System.nanoTime();
+        var report = new ImportReport();
+        List<BookImportParser.Row> chunk = new ArrayList<>(CHUNK_SIZE);
+
+        bookImportParser.parse(in, format, row -> {
+            chunk.add(row);
+            if (chunk.size() == CHUNK_SIZE) {
+                importChunk(chunk, report);
+                chunk.clear();
+            }
+        });
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, report);
+        }
+
+        log.info("Importação do catálogo: {} recebidos, {} importados, {} rejeitados em {} ms",
+                report.received, report.imported, report.rejected, (System.nanoTime() - start) / 1_000_000);
+        return report.toDto();
+    }
+
+    //PROCESSAMENTO DE UM BLOCO
+
+    private record Candidate(long line, BookCreateDTO dto, String title, String titleKey, Long isbnKey,
+                             String googleBooksId) {
+    }
+
+    private void importChunk(List<BookImportParser.Row> rows, ImportReport report) {
+        report.received += rows.size();
+        List<Candidate> candidates = validateRows(rows, report);
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        List<BookImportErrorDTO> duplicates = new ArrayList<>();
+        try {
+            List<Long> ids = transactionTemplate.execute(status -> {
+                List<Book> books = filterExisting(candidates, duplicates);
+                List<Long> bookIds = bookRepository.insertBatch(books);
+                books.forEach(duplicateFilter::index);
+                authorService.link(books);
+                if (!bookIds.isEmpty()) {
+                    eventPublisher.publishEvent(new BooksImportedEvent(bookIds));
+                }
+                return bookIds;
+            });
+            duplicates.forEach(report::reject);
+            report.imported += ids == null ? 0 : ids.size();
+        } catch (DataAccessException e) {
+            // Outro cadastro pode ter gravado o mesmo ISBN/Google Books ID entre a verificação e o INSERT
+            log.warn("Falha ao gravar bloco da importação (linhas {} a {})",
+                    candidates.get(0).line(), candidates.get(candidates.size() - 1).line(), e);
+            candidates.forEach(candidate -> report.reject(new BookImportErrorDTO(candidate.line(), candidate.title(),
+                    "Falha ao gravar o bloco: " + e.getMostSpecificCause().getMessage())));
+        }
+    }
+
+    // Regras que não dependem do banco: campos obrigatórios, ISBN válido e repetições dentro do próprio arquivo
+    private List<Candidate> validateRows(List<BookImportParser.Row> rows, ImportReport report) {
+        List<Candidate> candidates = new ArrayList<>(rows.size());
+        Set<Long> isbnKeys = new HashSet<>();
+        Set<String> titleKeys = new HashSet<>();
+        Set<String> googleBooksIds = new HashSet<>();
+
+        for (var row : rows) {
+            if (row.error() != null) {
+                report.reject(new BookImportErrorDTO(row.line(), null, row.error()));
+                continue;
+            }
+            BookCreateDTO dto = row.book();
+            String title = blankToNull(dto.title());
+            if (title == null) {
+                report.reject(new BookImportErrorDTO(row.line(), null, "Título é obrigatório"));
+                continue;
+            }
+
+            Long isbnKey;
+            try {
+                isbnKey = resolveIsbnKey(dto.isbn10(), dto.isbn13());
+            } catch (IllegalArgumentException e) {
+                report.reject(new BookImportErrorDTO(row.line(), title, e.getMessage()));
+                continue;
+            }
+            String titleKey = TextNormalizer.fold(title);
+            String googleBooksId = blankToNull(dto.googleBooksId());
+
+            String repeated = isbnKey != null && isbnKeys.contains(isbnKey) ? "ISBN repetido no arquivo"
+                    : titleKeys.contains(titleKey) ? "Título repetido no arquivo"
+                    : googleBooksId != null && googleBooksIds.contains(googleBooksId) ? "Google Books ID repetido no arquivo"
+                    : null;
+            if (repeated != null) {
+                report.reject(new BookImportErrorDTO(row.line(), title, repeated));
+                continue;
+            }
+
+            if (isbnKey != null) {
+                isbnKeys.add(isbnKey);
+            }
+            titleKeys.add(titleKey);
+            if (googleBooksId != null) {
+                googleBooksIds.add(googleBooksId);
+            }
+            candidates.add(new Candidate(row.line(), dto, title, titleKey, isbnKey, googleBooksId));
+        }
+        return candidates;
+    }
+
+    // Uma consulta IN por tipo de duplicidade para o bloco inteiro, no lugar de três exists por livro.
+    // Com os filtros de duplicidade carregados, só entram na consulta o ISBN e o Google Books ID que talvez existam;
+    // títulos não têm índice único e vão sempre ao banco
+    private List<Book> filterExisting(List<Candidate> candidates, List<BookImportErrorDTO> duplicates) {
+        boolean filtered = duplicateFilter.isReady();
+        Set<Long> isbnKeys = candidates.stream()
+                .map(Candidate::isbnKey)
+                .filter(Objects::nonNull)
+                .filter(key -> !filtered || duplicateFilter.mightContainIsbn(key))
+                .collect(Collectors.toSet());
+        Set<String> titles = candidates.stream()
+                .map(Candidate::title)
+                .collect(Collectors.toSet());
+        Set<String> googleBooksIds = candidates.stream()
+                .map(Candidate::googleBooksId)
+                .filter(Objects::nonNull)
+                .filter(id -> !filtered || duplicateFilter.mightContainGoogleBooksId(id))
+                .collect(Collectors.toSet());
+
+        Set<Long> existingIsbnKeys = isbnKeys.isEmpty() ? Set.of() : bookRepository.findExistingIsbnKeys(isbnKeys);
+        Set<String> existingTitleKeys = titles.isEmpty() ? Set.of() : bookRepository.findExistingTitles(titles)
+                .stream()
+                .map(TextNormalizer::fold)
+                .collect(Collectors.toSet());
+        Set<String> existingGoogleBooksIds = googleBooksIds.isEmpty() ? Set.of() : bookRepository.findExistingGoogleBooksIds(googleBooksIds);
+
+        List<Book> books = new ArrayList<>(candidates.size());
+        for (var candidate : candidates) {
+            String duplicate = candidate.isbnKey() != null && existingIsbnKeys.contains(candidate.isbnKey())
+                    ? "Livro com este ISBN já cadastrado!"
+                    : existingTitleKeys.contains(candidate.titleKey()) ? "Livro com este título já cadastrado!"
+                    : candidate.googleBooksId() != null && existingGoogleBooksIds.contains(candidate.googleBooksId())
+                    ? "Livro já cadastrado através do Google Books!"
+                    : null;
+            if (duplicate != null) {
+                duplicates.add(new BookImportErrorDTO(candidate.line(), candidate.title(), duplicate));
+            } else {
+                books.add(toBook(candidate));
+            }
+        }
+        return books;
+    }
+
+    private Book toBook(Candidate candidate) {
+        Book book = bookMapper.toEntity(candidate.dto());
+        book.setTitle(candidate.title());
+        book.setGoogleBooksId(candidate.googleBooksId());
+        book.assignIsbn(candidate.isbnKey());
+        if (book.getStatus() == null) {
+            book.setStatus(Status.AVAILABLE);
+        }
+        book.activate();
+        return book;
+    }
+
+    //MÉTODOS AUXILIARES
+
+    // Mesma regra do cadastro individual, mas sem exceção de negócio: o erro vira uma linha rejeitada
+    private static Long resolveIsbnKey(String isbn10, String isbn13) {
+        Long fromIsbn10 = parseIsbn(isbn10);
+        Long fromIsbn13 = parseIsbn(isbn13);
+        if (fromIsbn10 != null && fromIsbn13 != null && !fromIsbn10.equals(fromIsbn13)) {
+            throw new IllegalArgumentException("ISBN-10 e ISBN-13 não correspondem ao mesmo livro");
+        }
+        return fromIsbn13 != null ? fromIsbn13 : fromIsbn10;
+    }
+
+    private static Long parseIsbn(String raw) {
+        if (raw == null || raw.isBlank()) {
+            return null;
+        }
+        long key = Isbn.parseKey(raw);
+        if (key == Isbn.INVALID) {
+            throw new IllegalArgumentException("ISBN inválido: " + raw);
+        }
+        return key;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static final class ImportReport {
+        private long received;
+        private long imported;
+        private long rejected;
+        private final List<BookImportErrorDTO> errors = new ArrayList<>();
+
+        // Todas as rejeições entram na contagem; só as primeiras vão detalhadas na resposta
+        private void reject(BookImportErrorDTO error) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(error);
+            }
+        }
+
+        private BookImportResultDTO toDto() {
+            return new BookImportResultDTO(received, imported, rejected, List.copyOf(errors));
+        }
+    }
+}
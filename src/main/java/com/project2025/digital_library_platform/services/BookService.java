@@ -2,32 +2,95 @@ package com.project2025.digital_library_platform.services;
 
 import com.project2025.digital_library_platform.entity.book.*;
 import com.project2025.digital_library_platform.DTOs.bookDtos.BookCreateDTO;
+import com.project2025.digital_library_platform.DTOs.bookDtos.BookFacetSearchDTO;
+import com.project2025.digital_library_platform.DTOs.bookDtos.BookPageDTO;
+import com.project2025.digital_library_platform.DTOs.bookDtos.BookRecommendationDTO;
 import com.project2025.digital_library_platform.DTOs.bookDtos.BookResponseDTO;
+import com.project2025.digital_library_platform.DTOs.bookDtos.BookSearchHitDTO;
+import com.project2025.digital_library_platform.DTOs.bookDtos.BookSuggestionDTO;
 import com.project2025.digital_library_platform.DTOs.bookDtos.BookUpdateDTO;
+import com.project2025.digital_library_platform.DTOs.bookDtos.FacetCountDTO;
+import com.project2025.digital_library_platform.cache.BookCache;
 import com.project2025.digital_library_platform.events.BookCreatedEvent;
+import com.project2025.digital_library_platform.events.BookUpdatedEvent;
 import com.project2025.digital_library_platform.exception.BusinessException;
 import com.project2025.digital_library_platform.exception.ErrorCode;
+import com.project2025.digital_library_platform.index.AutocompleteIndex;
+import com.project2025.digital_library_platform.index.AvailabilityIndex;
+import com.project2025.digital_library_platform.index.BookFacet;
+import com.project2025.digital_library_platform.index.CatalogSearchIndex;
+import com.project2025.digital_library_platform.index.CoBorrowRecommender;
+import com.project2025.digital_library_platform.index.DuplicateFilter;
+import com.project2025.digital_library_platform.index.FacetIndex;
+import com.project2025.digital_library_platform.index.FullTextIndex;
+import com.project2025.digital_library_platform.index.IsbnIndex;
 import com.project2025.digital_library_platform.mappers.BookMapper;
 import com.project2025.digital_library_platform.repositories.BookRepository;
 import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class BookService {
 
+    private static final int MAX_SEARCH_RESULTS = 100;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int FACET_VALUES_LIMIT = 20;
+    private static final int MAX_SUGGESTIONS = 10;
+    private static final String SORT_BY_ID = "id";
+    private static final String SORT_BY_TITLE = "title";
+
     private final BookMapper bookMapper;
     private final BookRepository bookRepository;
     private final ApplicationEventPublisher eventPublisher;
-
-    public BookService(BookMapper bookMapper, BookRepository bookRepository, ApplicationEventPublisher eventPublisher) {
+    private final CatalogSearchIndex catalogSearchIndex;
+    private final FacetIndex facetIndex;
+    private final AutocompleteIndex autocompleteIndex;
+    private final IsbnIndex isbnIndex;
+    private final DuplicateFilter duplicateFilter;
+    private final FullTextIndex fullTextIndex;
+    private final AvailabilityIndex availabilityIndex;
+    private final BookCache bookCache;
+    private final CoBorrowRecommender coBorrowRecommender;
+    private final AuthorService authorService;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public BookService(BookMapper bookMapper, BookRepository bookRepository, ApplicationEventPublisher eventPublisher,
+                       CatalogSearchIndex catalogSearchIndex, FacetIndex facetIndex, AutocompleteIndex autocompleteIndex,
+                       IsbnIndex isbnIndex, DuplicateFilter duplicateFilter, FullTextIndex fullTextIndex,
+                       AvailabilityIndex availabilityIndex, BookCache bookCache,
+                       PlatformTransactionManager transactionManager, CoBorrowRecommender coBorrowRecommender,
+                       AuthorService authorService) {
         this.bookMapper = bookMapper;
         this.bookRepository = bookRepository;
         this.eventPublisher = eventPublisher;
+        this.catalogSearchIndex = catalogSearchIndex;
+        this.facetIndex = facetIndex;
+        this.autocompleteIndex = autocompleteIndex;
+        this.isbnIndex = isbnIndex;
+        this.duplicateFilter = duplicateFilter;
+        this.fullTextIndex = fullTextIndex;
+        this.availabilityIndex = availabilityIndex;
+        this.bookCache = bookCache;
+        this.coBorrowRecommender = coBorrowRecommender;
+        this.authorService = authorService;
+        // Leituras servidas pelo cache não abrem transação; só o carregamento em caso de falta vai ao banco
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
 
     }
 
@@ -39,9 +102,13 @@ public class BookService {
         validateBookCreation(bookCreateDTO);
 
         Book book = bookMapper.toEntity(bookCreateDTO);
+        book.assignIsbn(resolveIsbnKey(bookCreateDTO.isbn10(), bookCreateDTO.isbn13()));
         book.activate();
 
         Book savedBook = bookRepository.save(book);
+        // Marca já, antes do commit: um "talvez exista" a mais é inofensivo, um "não existe" errado não
+        duplicateFilter.index(savedBook);
+        authorService.link(savedBook);
 
         eventPublisher.publishEvent(new BookCreatedEvent(savedBook.getId()));
         return bookMapper.toDto(savedBook);
@@ -53,48 +120,207 @@ public class BookService {
         var existingBook = findBookById(id);
         validateBookUpdate(existingBook, bookUpdateDTO);
         bookMapper.updateFromDto(existingBook, bookUpdateDTO);
+        existingBook.assignIsbn(resolveIsbnKey(bookUpdateDTO.isbn10(), bookUpdateDTO.isbn13()));
 
         var updatedBook = bookRepository.save(existingBook);
+        duplicateFilter.index(updatedBook);
+        authorService.link(updatedBook);
+
+        eventPublisher.publishEvent(new BookUpdatedEvent(updatedBook.getId()));
         return bookMapper.toDto(updatedBook);
     }
     
     //OPERAÇÕES DE CONSULTA
+    //As leituras selecionam direto nos DTOs, em transação somente leitura (sem flush nem dirty checking)
 
-        @Operation(description = "Busca um livro por ID")
+    @Operation(description = "Busca um livro por ID")
     public BookResponseDTO findById(Long id) {
-        var book = findBookById(id);
-        return bookMapper.toDto(book);
+        return cachedBook(id)
+                .orElseThrow(() -> new BusinessException("Livro não encontrado!", ErrorCode.BOOK_NOT_FOUND));
     }
 
     @Operation(description = "Buscar um livro por ISBN")
     public BookResponseDTO findByIsbn(String isbn) {
-        return bookRepository.findByIsbn10OrIsbn13(isbn, isbn)
-                .map(bookMapper::toDto)
+        long isbnKey = Isbn.toKey(isbn);
+        Optional<BookResponseDTO> book;
+        long bookId = isbnIndex.isReady() ? isbnIndex.findBookId(isbnKey) : IsbnIndex.NOT_FOUND;
+        if (bookId != IsbnIndex.NOT_FOUND) {
+            book = cachedBook(bookId);
+        } else {
+            // A falta no índice é confirmada no banco: o livro pode ter sido criado em outra instância
+            // e o aviso ainda não ter chegado aqui
+            book = readOnlyTransaction.execute(status -> bookRepository.findResponseByIsbnKey(isbnKey));
+        }
+        return book
                 .orElseThrow(() -> new BusinessException("Livro com ISBN não encontrado", ErrorCode.BOOK_NOT_FOUND));
     }
 
+    @Transactional(readOnly = true)
     @Operation(description = "Buscar por título")
     public List<BookResponseDTO> findByTitle(String title) {
-        List<Book> livros = bookRepository.findByTitleContainingIgnoreCase(title);
+        // Enquanto o índice não termina a carga inicial, a busca cai no LIKE do banco
+        List<BookResponseDTO> livros = catalogSearchIndex.isReady()
+                ? findAllByIds(catalogSearchIndex.searchTitle(title))
+                : toDtos(bookRepository.findByTitleContainingIgnoreCase(title));
         if (livros.isEmpty()) {
             throw new BusinessException("Livro não encontrado", ErrorCode.BOOK_NOT_FOUND);
         }
-        return livros.stream().map(bookMapper::toDto)
-                .collect(Collectors.toList());
+        return livros;
+    }
+
+    @Transactional(readOnly = true)
+    @Operation(description = "Buscar por autor")
+    public List<BookResponseDTO> findByAuthor(String author) {
+        List<BookResponseDTO> livros = catalogSearchIndex.isReady()
+                ? findAllByIds(catalogSearchIndex.searchAuthor(author))
+                : toDtos(bookRepository.findByAuthorsContainingIgnoreCase(author));
+        if (livros.isEmpty()) {
+            throw new BusinessException("Nenhum livro encontrado para o autor", ErrorCode.BOOK_NOT_FOUND);
+        }
+        return livros;
+    }
+
+    @Operation(description = "Busca ranqueada por título e autores, tolerante a acentos e erros de digitação")
+    public List<BookSearchHitDTO> search(String query, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS));
+        if (!catalogSearchIndex.isReady()) {
+            return bookRepository.findByTitleContainingIgnoreCase(query)
+                    .stream()
+                    .limit(size)
+                    .map(book -> new BookSearchHitDTO(book.getId(), book.getTitle(), book.getAuthors(), 1.0))
+                    .toList();
+        }
+        return catalogSearchIndex.search(query, size)
+                .stream()
+                .map(hit -> new BookSearchHitDTO(hit.bookId(), hit.title(), hit.authors(), hit.score()))
+                .toList();
+    }
+
+    @Operation(description = "Busca textual por título, autores e descrição, ranqueada por BM25")
+    public List<BookSearchHitDTO> searchText(String query, int limit) {
+        // Responde só pelo índice textual; enquanto a carga inicial não termina, não há resultados
+        if (!fullTextIndex.isReady()) {
+            return List.of();
+        }
+        return fullTextIndex.search(query, Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS)))
+                .stream()
+                .map(hit -> new BookSearchHitDTO(hit.bookId(), hit.title(), hit.authors(), hit.score()))
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    @Operation(description = "Livros que os usuários que emprestaram este livro também emprestaram")
+    public List<BookRecommendationDTO> recommend(Long bookId, int limit) {
+        var recommendations = coBorrowRecommender.recommend(bookId, Math.max(1, Math.min(limit, CoBorrowRecommender.TOP_N)));
+        if (recommendations.isEmpty()) {
+            return List.of();
+        }
+        // Só a página recomendada é lida do banco, pela chave primária; a ordem é a das co-ocorrências
+        Map<Long, BookResponseDTO> books = findAllByIds(recommendations.stream()
+                .map(CoBorrowRecommender.Recommendation::bookId)
+                .sorted()
+                .toList())
+                .stream()
+                .collect(Collectors.toMap(BookResponseDTO::getId, book -> book));
+        return recommendations.stream()
+                .filter(recommendation -> books.containsKey(recommendation.bookId()))
+                .map(recommendation -> {
+                    BookResponseDTO book = books.get(recommendation.bookId());
+                    return new BookRecommendationDTO(book.getId(), book.getTitle(), book.getAuthors(),
+                            recommendation.coBorrows());
+                })
+                .toList();
     }
 
-        @Operation(description = "Lista todos os livros cadastrados")
-    public List<BookResponseDTO> findAll() {
-        return bookRepository.findAll()
+    @Operation(description = "Sugestões de títulos e autores para o prefixo digitado, das mais emprestadas para as menos")
+    public List<BookSuggestionDTO> autocomplete(String prefix, int limit) {
+        // Sem a carga inicial não há sugestões; o campo de busca simplesmente não sugere nada
+        if (!autocompleteIndex.isReady()) {
+            return List.of();
+        }
+        return autocompleteIndex.suggest(prefix, Math.max(1, Math.min(limit, MAX_SUGGESTIONS)))
                 .stream()
-                .map(bookMapper::toDto)
+                .map(suggestion -> new BookSuggestionDTO(suggestion.text(), suggestion.kind().name(), suggestion.bookId()))
                 .toList();
     }
 
-        @Operation(description = "Lista todos os livros disponíveis para empréstimo")
-    public List<BookResponseDTO> findAvailableBooks() {
-        List<Book> availableBooks = bookRepository.findByActiveAndStatus(true, Status.AVAILABLE);
-        return bookMapper.toResponseList(availableBooks);
+    @Transactional(readOnly = true)
+    @Operation(description = "Busca facetada: filtra por editora, autor, ano, status e ativo e retorna as contagens de cada faceta")
+    public BookFacetSearchDTO searchFacets(Map<BookFacet, Set<String>> filters, Long afterId, int size) {
+        if (!facetIndex.isReady()) {
+            throw new BusinessException("Índice de facetas ainda está sendo carregado", ErrorCode.INDEX_NOT_READY);
+        }
+        int pageSize = pageSize(size);
+        var result = facetIndex.query(filters, afterId == null ? 0L : afterId, pageSize + 1, FACET_VALUES_LIMIT);
+
+        boolean hasNext = result.bookIds().size() > pageSize;
+        List<Long> pageIds = hasNext ? result.bookIds().subList(0, pageSize) : result.bookIds();
+        List<BookResponseDTO> books = findAllByIds(pageIds);
+
+        Map<String, List<FacetCountDTO>> facets = new LinkedHashMap<>();
+        result.facets().forEach((facet, counts) -> facets.put(
+                facet.name().toLowerCase(Locale.ROOT),
+                counts.stream().map(count -> new FacetCountDTO(count.value(), count.count())).toList()));
+
+        return new BookFacetSearchDTO(result.total(), books, facets, hasNext ? pageIds.get(pageIds.size() - 1) : null);
+    }
+
+        @Transactional(readOnly = true)
+    @Operation(description = "Lista os livros cadastrados, uma página por vez, a partir do cursor da página anterior")
+    public BookPageDTO findAll(String cursor, int size, String sort) {
+        int pageSize = pageSize(size);
+        String sortBy = sortKey(sort);
+        Limit limit = Limit.of(pageSize + 1);
+        List<BookResponseDTO> books = switch (sortBy) {
+            case SORT_BY_TITLE -> {
+                var after = decodeCursor(cursor, SORT_BY_TITLE);
+                yield bookRepository.findPageOrderByTitle(after.title(), after.id(), limit);
+            }
+            default -> bookRepository.findPageOrderById(decodeCursor(cursor, SORT_BY_ID).id(), limit);
+        };
+        return toPage(books, pageSize, sortBy);
+    }
+
+    @Operation(description = "Lista os livros disponíveis para empréstimo, uma página por vez, a partir do cursor da página anterior")
+    public BookPageDTO findAvailableBooks(String cursor, int size, String sort) {
+        int pageSize = pageSize(size);
+        String sortBy = sortKey(sort);
+        return bookCache.getAvailablePage(cursor, pageSize, sortBy,
+                () -> readOnlyTransaction.execute(status -> loadAvailableBooks(cursor, pageSize, sortBy)));
+    }
+
+    private BookPageDTO loadAvailableBooks(String cursor, int pageSize, String sortBy) {
+        Limit limit = Limit.of(pageSize + 1);
+        List<BookResponseDTO> availableBooks = switch (sortBy) {
+            case SORT_BY_TITLE -> {
+                var after = decodeCursor(cursor, SORT_BY_TITLE);
+                yield bookRepository.findPageByActiveAndStatusOrderByTitle(true, Status.AVAILABLE, after.title(), after.id(), limit);
+            }
+            // Com o bitmap carregado, só a página devolvida é lida do banco, pela chave primária
+            default -> availabilityIndex.isReady()
+                    ? findAvailableFromIndex(decodeCursor(cursor, SORT_BY_ID).id(), limit)
+                    : bookRepository.findPageByActiveAndStatusOrderById(
+                    true, Status.AVAILABLE, decodeCursor(cursor, SORT_BY_ID).id(), limit);
+        };
+        return toPage(availableBooks, pageSize, sortBy);
+    }
+
+        @Transactional(readOnly = true)
+    @Operation(description = "Conta os livros disponíveis para empréstimo")
+    public long countAvailableBooks() {
+        if (availabilityIndex.isReady()) {
+            return availabilityIndex.count();
+        }
+        return bookRepository.countByActiveAndStatus(true, Status.AVAILABLE);
+    }
+
+        @Transactional(readOnly = true)
+    @Operation(description = "Verifica se um livro está disponível para empréstimo")
+    public boolean isBookAvailable(Long id) {
+        if (availabilityIndex.isReady()) {
+            return availabilityIndex.isAvailable(id);
+        }
+        return bookRepository.existsByIdAndActiveAndStatus(id, true, Status.AVAILABLE);
     }
 
     //MÉTODOS DE VALIDAÇÃO
@@ -105,50 +331,44 @@ public class BookService {
             throw new BusinessException("Título é obrigatório", ErrorCode.BOOK_ALREADY_EXISTS);
         }
 
-        //Valida ISBN-10 se fornecido
-        if (bookCreateDTO.isbn10() != null && !bookCreateDTO.isbn10().isEmpty()) {
-            if (bookRepository.existsByIsbn10(bookCreateDTO.isbn10())) {
-                throw new BusinessException("Livro com este ISBN-10 já cadastrado!", ErrorCode.BOOK_ALREADY_EXISTS);
-            }
-        }
+        //Valida ISBN-10/ISBN-13 se fornecidos; a duplicidade é verificada pela chave canônica
+        Long isbnKey = resolveIsbnKey(bookCreateDTO.isbn10(), bookCreateDTO.isbn13());
+        String googleBooksId = bookCreateDTO.googleBooksId() == null || bookCreateDTO.googleBooksId().isEmpty()
+                ? null : bookCreateDTO.googleBooksId();
 
-        //Valida ISBN-13 se fornecido
-        if (bookCreateDTO.isbn13() != null && !bookCreateDTO.isbn13().isEmpty()) {
-            if (bookRepository.existsByIsbn13(bookCreateDTO.isbn13())) {
-                throw new BusinessException("Livro com este ISBN-13 já cadastrado!", ErrorCode.BOOK_ALREADY_EXISTS);
-            }
+        //Só vão ao banco as chaves que os filtros não descartam, todas confirmadas na mesma consulta
+        Long isbnToCheck = isbnKey != null && mightExistIsbn(isbnKey) ? isbnKey : null;
+        //Título não tem índice único: sempre vai ao banco, mesmo que o filtro desta instância não o conheça
+        String titleToCheck = bookCreateDTO.title();
+        String googleBooksIdToCheck = googleBooksId != null && mightExistGoogleBooksId(googleBooksId) ? googleBooksId : null;
+        List<BookRepository.BookKeys> matches = bookRepository.findDuplicateKeys(isbnToCheck, titleToCheck, googleBooksIdToCheck);
+
+        if (isbnToCheck != null && matches.stream().anyMatch(match -> isbnToCheck.equals(match.getIsbnKey()))) {
+            throw new BusinessException("Livro com este ISBN já cadastrado!", ErrorCode.BOOK_ALREADY_EXISTS);
         }
 
-         //Valida título
-        if (existsByTitle(bookCreateDTO.title())) {
+         //Descartados os casos de ISBN, uma linha que não casou pelo Google Books ID casou pelo título (na collation do banco)
+        if (titleToCheck != null && matches.stream().anyMatch(match -> titleToCheck.equalsIgnoreCase(match.getTitle())
+                || !googleBooksIdMatches(match, googleBooksIdToCheck))) {
             throw new BusinessException("Livro com este título já cadastrado!", ErrorCode.BOOK_ALREADY_EXISTS);
         }
 
-         //Valida Google Books ID se fornecido
-        if (bookCreateDTO.googleBooksId() != null && !bookCreateDTO.googleBooksId().isEmpty()) {
-            if (existsByGoogleBooksId(bookCreateDTO.googleBooksId())) {
-                throw new BusinessException("Livro já cadastrado através do Google Books!", ErrorCode.BOOK_ALREADY_EXISTS);
-            }
+        if (googleBooksIdToCheck != null && matches.stream().anyMatch(match -> googleBooksIdMatches(match, googleBooksIdToCheck))) {
+            throw new BusinessException("Livro já cadastrado através do Google Books!", ErrorCode.BOOK_ALREADY_EXISTS);
         }
     }
 
         private void validateBookUpdate(Book existingBook, BookUpdateDTO bookUpdateDTO) {
-        //Valida ISBN-10 apenas se foi alterado
-        if (bookUpdateDTO.isbn10() != null &&
-                !bookUpdateDTO.isbn10().equals(existingBook.getIsbn10()) &&
-                existsByIsbn10(bookUpdateDTO.isbn10())) {
-            throw new BusinessException("ISBN-10 já está em uso por outro livro!", ErrorCode.BOOK_ALREADY_EXISTS);
-        }
-
-         //Valida ISBN-13 apenas se foi alterado
-        if (bookUpdateDTO.isbn13() != null &&
-                !bookUpdateDTO.isbn13().equals(existingBook.getIsbn13()) &&
-                existsByIsbn13(bookUpdateDTO.isbn13())) {
-            throw new BusinessException("ISBN-13 já está em uso por outro livro!", ErrorCode.BOOK_ALREADY_EXISTS);
+        //Valida ISBN apenas se foi alterado
+        Long isbnKey = resolveIsbnKey(bookUpdateDTO.isbn10(), bookUpdateDTO.isbn13());
+        if (isbnKey != null &&
+                !isbnKey.equals(existingBook.getIsbnKey()) &&
+                existsByIsbnKey(isbnKey)) {
+            throw new BusinessException("ISBN já está em uso por outro livro!", ErrorCode.BOOK_ALREADY_EXISTS);
         }
 
          //Valida título apenas se foi alterado
-        if (!existingBook.getTitle().equals(bookUpdateDTO.title()) && existsByTitle(bookUpdateDTO.title())) {
+        if (!existingBook.getTitle().equals(bookUpdateDTO.title()) && bookRepository.existsByTitle(bookUpdateDTO.title())) {
             throw new BusinessException("Título já está em uso por outro livro!", ErrorCode.BOOK_ALREADY_EXISTS);
         }
     }
@@ -160,20 +380,111 @@ public class BookService {
                 .orElseThrow(() -> new BusinessException("Livro não encontrado!", ErrorCode.BOOK_NOT_FOUND));
     }
 
-    
-    private boolean existsByIsbn10(String isbn10) {
-        return bookRepository.existsByIsbn10(isbn10);
+    private Optional<BookResponseDTO> cachedBook(long id) {
+        return bookCache.getBook(id, () -> readOnlyTransaction.execute(status -> bookRepository.findResponseById(id)));
+    }
+
+    // Busca por chave primária os IDs vindos de um índice, já ordenados por ID
+    private List<BookResponseDTO> findAllByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return bookRepository.findResponsesByIdIn(ids);
+    }
+
+    // O bitmap escolhe os IDs, mas o status vale o que está no banco: se algum livro da página deixou de estar
+    // disponível sem o índice ter visto, a página inteira sai da consulta por keyset
+    private List<BookResponseDTO> findAvailableFromIndex(Long afterId, Limit limit) {
+        List<Long> ids = availabilityIndex.page(afterId, limit.max());
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<BookResponseDTO> books = bookRepository.findResponsesByIdInAndActiveAndStatus(ids, true, Status.AVAILABLE);
+        if (books.size() == ids.size()) {
+            return books;
+        }
+        return bookRepository.findPageByActiveAndStatusOrderById(true, Status.AVAILABLE, afterId, limit);
+    }
+
+    private List<BookResponseDTO> toDtos(List<Book> books) {
+        return books.stream().map(bookMapper::toDto).collect(Collectors.toList());
+    }
+
+    // Chave ISBN-13 canônica a partir do ISBN-10 e/ou ISBN-13 informados; null se nenhum foi informado
+    private Long resolveIsbnKey(String isbn10, String isbn13) {
+        Long fromIsbn10 = isbn10 == null || isbn10.isBlank() ? null : Isbn.toKey(isbn10);
+        Long fromIsbn13 = isbn13 == null || isbn13.isBlank() ? null : Isbn.toKey(isbn13);
+        if (fromIsbn10 != null && fromIsbn13 != null && !fromIsbn10.equals(fromIsbn13)) {
+            throw new BusinessException("ISBN-10 e ISBN-13 não correspondem ao mesmo livro", ErrorCode.INVALID_ISBN);
+        }
+        return fromIsbn13 != null ? fromIsbn13 : fromIsbn10;
     }
 
-    private boolean existsByIsbn13(String isbn13) {
-        return bookRepository.existsByIsbn13(isbn13);
+    // Chave do último livro entregue; a próxima página começa logo depois dela
+    private record PageCursor(Long id, String title) {
+    }
+
+    private static int pageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    private static String sortKey(String sort) {
+        if (sort == null || sort.isBlank() || SORT_BY_ID.equalsIgnoreCase(sort)) {
+            return SORT_BY_ID;
+        }
+        if (SORT_BY_TITLE.equalsIgnoreCase(sort)) {
+            return SORT_BY_TITLE;
+        }
+        throw new BusinessException("Ordenação inválida: use 'id' ou 'title'", ErrorCode.INVALID_OPERATION);
+    }
+
+    // Busca pageSize + 1 linhas só para saber se existe uma próxima página
+    private BookPageDTO toPage(List<BookResponseDTO> books, int pageSize, String sort) {
+        boolean hasNext = books.size() > pageSize;
+        List<BookResponseDTO> page = hasNext ? books.subList(0, pageSize) : books;
+        String nextCursor = hasNext ? encodeCursor(page.get(page.size() - 1), sort) : null;
+        return new BookPageDTO(page, nextCursor);
+    }
+
+    // O cursor é opaco para o cliente: "<ordenação>:<id>[:<título>]" em Base64 URL-safe
+    private static String encodeCursor(BookResponseDTO last, String sort) {
+        String raw = SORT_BY_TITLE.equals(sort)
+                ? sort + ":" + last.getId() + ":" + last.getTitle()
+                : sort + ":" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static PageCursor decodeCursor(String cursor, String sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return new PageCursor(0L, "");
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 3);
+            if (!parts[0].equals(sort) || parts.length != (SORT_BY_TITLE.equals(sort) ? 3 : 2)) {
+                throw new IllegalArgumentException(raw);
+            }
+            return new PageCursor(Long.parseLong(parts[1]), parts.length == 3 ? parts[2] : "");
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Cursor de paginação inválido", ErrorCode.INVALID_OPERATION);
+        }
+    }
+
+    private static boolean googleBooksIdMatches(BookRepository.BookKeys match, String googleBooksId) {
+        return googleBooksId != null && googleBooksId.equalsIgnoreCase(match.getGoogleBooksId());
+    }
+
+    // Enquanto os filtros não terminam a carga inicial, qualquer chave "talvez exista"
+
+    private boolean mightExistIsbn(long isbnKey) {
+        return !duplicateFilter.isReady() || duplicateFilter.mightContainIsbn(isbnKey);
     }
 
-    private boolean existsByTitle(String title) {
-        return bookRepository.existsByTitle(title);
+    private boolean mightExistGoogleBooksId(String googleBooksId) {
+        return !duplicateFilter.isReady() || duplicateFilter.mightContainGoogleBooksId(googleBooksId);
     }
 
-    private boolean existsByGoogleBooksId(String googleBooksId) {
-        return bookRepository.existsByGoogleBooksId(googleBooksId);
+    private boolean existsByIsbnKey(Long isbnKey) {
+        return mightExistIsbn(isbnKey) && bookRepository.existsByIsbnKey(isbnKey);
     }
 }
\ No newline at end of file
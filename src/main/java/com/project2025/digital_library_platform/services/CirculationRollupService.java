@@ -0,0 +1,190 @@
+package com.project2025.digital_library_platform.services;
+
+import com.project2025.digital_library_platform.entity.report.CirculationDimension;
+import com.project2025.digital_library_platform.events.LoanBatchEvent;
+import com.project2025.digital_library_platform.events.LoanClosedEvent;
+import com.project2025.digital_library_platform.events.LoanCreatedEvent;
+import com.project2025.digital_library_platform.repositories.BookRepository;
+import com.project2025.digital_library_platform.repositories.CirculationRollupRepository;
+import com.project2025.digital_library_platform.repositories.CirculationRollupRepositoryCustom.DailyDelta;
+import com.project2025.digital_library_platform.repositories.CirculationRollupRepositoryCustom.OutboxDelta;
+import com.project2025.digital_library_platform.repositories.CirculationRollupRepositoryCustom.RollupDelta;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mantém os totais diários dos relatórios (circulation_daily e circulation_rollups) sem GROUP BY sobre loans.
+ * Cada empréstimo, devolução e cancelamento grava seus acréscimos em circulation_outbox na própria transação,
+ * só com inserts; a cada poucos segundos as linhas pendentes viram um lote de upserts, um por linha de total
+ * tocada, e são apagadas na mesma transação. Assim a transação do empréstimo não disputa a linha do dia com
+ * todas as outras e nenhum acréscimo se perde se a aplicação cair, ao custo de os relatórios atrasarem até
+ * uma gravação.
+ */
+@Service
+@Slf4j
+public class CirculationRollupService {
+
+    // Editora dos livros sem editora cadastrada
+    public static final String NO_PUBLISHER = "";
+
+    // Linhas da circulation_outbox somadas por transação
+    private static final int FLUSH_CHUNK = 5_000;
+
+    private static final int LOANS = 0;
+    private static final int RETURNED = 1;
+    private static final int LATE = 2;
+    private static final int CANCELLED = 3;
+
+    private record DayKey(LocalDate day, Long id) {
+    }
+
+    private final CirculationRollupRepository rollupRepository;
+    private final BookRepository bookRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public CirculationRollupService(
+            CirculationRollupRepository rollupRepository,
+            BookRepository bookRepository,
+            TransactionTemplate transactionTemplate
+    ) {
+        this.rollupRepository = rollupRepository;
+        this.bookRepository = bookRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    //REGISTRO DOS EVENTOS
+    //Antes do commit, na transação que publicou o evento: o acréscimo é gravado junto com o empréstimo ou não é gravado
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onLoanCreated(LoanCreatedEvent event) {
+        rollupRepository.addToOutbox(List.of(loan(LocalDate.now(), event.getBookId(), event.getUserId(), 1)));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onLoanBatch(LoanBatchEvent event) {
+        LocalDate today = LocalDate.now();
+        if (event.isCheckout()) {
+            rollupRepository.addToOutbox(event.getBookIds().stream()
+                    .map(bookId -> loan(today, bookId, event.getUserId(), 1))
+                    .toList());
+        } else {
+            rollupRepository.addToOutbox(List.of(new OutboxDelta(null, today, null, null, 0,
+                    event.getLoanIds().size(), event.getLateLoanIds().size(), 0)));
+        }
+    }
+
+    // O cancelamento desfaz o empréstimo no dia em que ele foi feito
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onLoanClosed(LoanClosedEvent event) {
+        if (event.isCancelled()) {
+            LocalDate loanDay = event.getLoanDate().toLocalDate();
+            rollupRepository.addToOutbox(List.of(new OutboxDelta(null, loanDay, event.getBookId(), event.getUserId(),
+                    -1, 0, 0, 1)));
+        } else {
+            rollupRepository.addToOutbox(List.of(new OutboxDelta(null, LocalDate.now(), null, null, 0,
+                    1, event.isLate() ? 1 : 0, 0)));
+        }
+    }
+
+    //GRAVAÇÃO
+
+    @Scheduled(fixedDelayString = "${library.reports.flush-ms:5000}")
+    @Operation(description = "Grava nos totais diários os acréscimos pendentes em circulation_outbox")
+    public void flush() {
+        long start = System.nanoTime();
+        long rows = 0;
+        int chunk;
+        try {
+            do {
+                Integer written = transactionTemplate.execute(status -> {
+                    List<OutboxDelta> deltas = rollupRepository.lockOutbox(FLUSH_CHUNK);
+                    if (deltas.isEmpty()) {
+                        return 0;
+                    }
+                    Pending batch = new Pending();
+                    deltas.forEach(batch::add);
+                    write(batch);
+                    rollupRepository.deleteFromOutbox(deltas.stream().map(OutboxDelta::id).toList());
+                    return deltas.size();
+                });
+                chunk = written == null ? 0 : written;
+                rows += chunk;
+            } while (chunk == FLUSH_CHUNK);
+        } catch (RuntimeException e) {
+            // As linhas continuam em circulation_outbox e entram na próxima gravação
+            log.warn("Falha ao gravar os totais de circulação; nova tentativa na próxima gravação", e);
+            return;
+        }
+        if (rows > 0) {
+            log.debug("Totais de circulação gravados: {} acréscimos em {} ms", rows, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    //MÉTODOS AUXILIARES
+
+    private void write(Pending batch) {
+        List<DailyDelta> daily = new ArrayList<>(batch.daily.size());
+        batch.daily.forEach((day, totals) ->
+                daily.add(new DailyDelta(day, totals[LOANS], totals[RETURNED], totals[LATE], totals[CANCELLED])));
+        rollupRepository.addDaily(daily);
+
+        List<RollupDelta> rollups = new ArrayList<>();
+        batch.users.forEach((key, loans) ->
+                rollups.add(new RollupDelta(CirculationDimension.USER, key.day(), key.id().toString(), loans)));
+        batch.books.forEach((key, loans) ->
+                rollups.add(new RollupDelta(CirculationDimension.BOOK, key.day(), key.id().toString(), loans)));
+
+        // Editora lida na gravação, uma consulta para todos os livros do lote
+        Map<Long, String> publishers = new HashMap<>();
+        List<Long> bookIds = batch.books.keySet().stream().map(DayKey::id).distinct().toList();
+        if (!bookIds.isEmpty()) {
+            bookRepository.findPublishersByIdIn(bookIds).forEach(book -> publishers.put(book.getBookId(),
+                    book.getPublisher() == null ? NO_PUBLISHER : book.getPublisher()));
+        }
+        Map<RollupDelta, Integer> byPublisher = new HashMap<>();
+        batch.books.forEach((key, loans) -> byPublisher.merge(new RollupDelta(CirculationDimension.PUBLISHER, key.day(),
+                publishers.getOrDefault(key.id(), NO_PUBLISHER), 0), loans, Integer::sum));
+        byPublisher.forEach((key, loans) -> {
+            if (loans != 0) {
+                rollups.add(new RollupDelta(key.dimension(), key.day(), key.key(), loans));
+            }
+        });
+        rollupRepository.addRollups(rollups);
+    }
+
+    private static OutboxDelta loan(LocalDate day, Long bookId, Long userId, int loans) {
+        return new OutboxDelta(null, day, bookId, userId, loans, 0, 0, 0);
+    }
+
+    // Acréscimos de um lote da circulation_outbox somados por linha de total
+    private static final class Pending {
+        private final Map<LocalDate, int[]> daily = new HashMap<>();
+        private final Map<DayKey, Integer> books = new HashMap<>();
+        private final Map<DayKey, Integer> users = new HashMap<>();
+
+        private void add(OutboxDelta delta) {
+            int[] totals = daily.computeIfAbsent(delta.day(), d -> new int[4]);
+            totals[LOANS] += delta.loans();
+            totals[RETURNED] += delta.returnedLoans();
+            totals[LATE] += delta.lateReturns();
+            totals[CANCELLED] += delta.cancelledLoans();
+            if (delta.loans() != 0 && delta.bookId() != null) {
+                books.merge(new DayKey(delta.day(), delta.bookId()), delta.loans(), Integer::sum);
+            }
+            if (delta.loans() != 0 && delta.userId() != null) {
+                users.merge(new DayKey(delta.day(), delta.userId()), delta.loans(), Integer::sum);
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.project2025.digital_library_platform.services;
+
+import com.project2025.digital_library_platform.DTOs.holdDtos.HoldCreateDTO;
+import com.project2025.digital_library_platform.DTOs.holdDtos.HoldResponseDTO;
+import com.project2025.digital_library_platform.entity.BookHold;
+import com.project2025.digital_library_platform.entity.book.Book;
+import com.project2025.digital_library_platform.entity.book.Status;
+import com.project2025.digital_library_platform.entity.user.User;
+import com.project2025.digital_library_platform.events.HoldClosedEvent;
+import com.project2025.digital_library_platform.events.HoldPlacedEvent;
+import com.project2025.digital_library_platform.exception.BusinessException;
+import com.project2025.digital_library_platform.exception.ErrorCode;
+import com.project2025.digital_library_platform.index.HoldQueueIndex;
+import com.project2025.digital_library_platform.repositories.BookHoldRepository;
+import com.project2025.digital_library_platform.repositories.BookRepository;
+import com.project2025.digital_library_platform.repositories.LoanRepository;
+import com.project2025.digital_library_platform.repositories.UserRepository;
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Filas de reserva dos livros emprestados. Quem reserva entra no fim da fila do livro e, na devolução,
+ * o {@link LoanService} empresta o livro direto ao primeiro da fila que puder levá-lo, na mesma transação:
+ * o livro não chega a ficar disponível e ninguém precisa ficar consultando a lista de disponíveis.
+ */
+@Service
+public class HoldService {
+
+    private final BookHoldRepository holdRepository;
+    private final BookRepository bookRepository;
+    private final UserRepository userRepository;
+    private final LoanRepository loanRepository;
+    private final HoldQueueIndex holdQueueIndex;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public HoldService(
+            BookHoldRepository holdRepository,
+            BookRepository bookRepository,
+            UserRepository userRepository,
+            LoanRepository loanRepository,
+            HoldQueueIndex holdQueueIndex,
+            ApplicationEventPublisher eventPublisher
+    ) {
+        this.holdRepository = holdRepository;
+        this.bookRepository = bookRepository;
+        this.userRepository = userRepository;
+        this.loanRepository = loanRepository;
+        this.holdQueueIndex = holdQueueIndex;
+        this.eventPublisher = eventPublisher;
+    }
+
+    //OPERAÇÕES DE CRIAÇÃO E CANCELAMENTO
+
+    // O livro fica travado até o commit: uma devolução simultânea ou vê esta reserva ou acontece antes e a recusa
+        @Transactional
+    @Operation(description = "Coloca o usuário na fila de reserva de um livro emprestado")
+    public HoldResponseDTO placeHold(HoldCreateDTO holdCreateDTO) {
+        Long bookId = holdCreateDTO.bookId();
+        Long userId = holdCreateDTO.userId();
+
+        Book book = bookRepository.findForUpdateById(bookId)
+                .orElseThrow(() -> new BusinessException("Livro não encontrado", ErrorCode.BOOK_NOT_FOUND));
+        if (!book.isActive() || book.getStatus() == Status.UNAVAILABLE) {
+            throw new BusinessException("Livro não disponível para empréstimo", ErrorCode.BOOK_UNAVAILABLE);
+        }
+        if (book.getStatus() == Status.AVAILABLE) {
+            throw new BusinessException("Livro disponível: faça o empréstimo em vez da reserva", ErrorCode.INVALID_OPERATION);
+        }
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new BusinessException("Usuário não encontrado", ErrorCode.USER_NOT_FOUND));
+        if (!user.isActive()) {
+            throw new BusinessException("Usuário inativo não faz reserva", ErrorCode.USER_UNAVAILABLE);
+        }
+        if (loanRepository.existsByBookIdAndUserIdAndReturnedFalse(bookId, userId)) {
+            throw new BusinessException("O livro já está emprestado para este usuário", ErrorCode.INVALID_OPERATION);
+        }
+        if (holdRepository.existsByBookIdAndUserId(bookId, userId)) {
+            throw new BusinessException("Usuário já está na fila deste livro", ErrorCode.HOLD_ALREADY_EXISTS);
+        }
+
+        BookHold hold = holdRepository.save(BookHold.builder().book(book).user(user).build());
+        eventPublisher.publishEvent(new HoldPlacedEvent(hold.getId(), bookId, userId));
+        int position = Math.toIntExact(holdRepository.countByBookIdAndIdLessThanEqual(bookId, hold.getId()));
+        return new HoldResponseDTO(hold.getId(), bookId, book.getTitle(), userId, user.getLogin(),
+                hold.getCreatedAt(), position);
+    }
+
+        @Transactional
+    @Operation(description = "Tira o usuário da fila de reserva")
+    public void cancelHold(Long holdId) {
+        BookHold hold = holdRepository.findById(holdId)
+                .orElseThrow(() -> new BusinessException("Reserva não encontrada", ErrorCode.HOLD_NOT_FOUND));
+        holdRepository.delete(hold);
+        eventPublisher.publishEvent(new HoldClosedEvent(holdId, hold.getBook().getId(), hold.getUser().getId(), null));
+    }
+
+    //OPERAÇÕES DE CONSULTA
+
+        @Transactional(readOnly = true)
+    @Operation(description = "Lista a fila de reserva de um livro, na ordem de atendimento")
+    public List<HoldResponseDTO> findQueue(Long bookId) {
+        // Enquanto o espelho em memória não termina a carga inicial, a fila vem do banco
+        List<HoldResponseDTO> holds;
+        if (holdQueueIndex.isReady()) {
+            List<Long> holdIds = holdQueueIndex.queue(bookId);
+            holds = holdIds.isEmpty() ? List.of() : holdRepository.findResponsesByIdIn(holdIds);
+        } else {
+            holds = holdRepository.findResponsesByBookId(bookId);
+        }
+
+        List<HoldResponseDTO> queue = new ArrayList<>(holds.size());
+        for (HoldResponseDTO hold : holds) {
+            queue.add(hold.withPosition(queue.size() + 1));
+        }
+        return queue;
+    }
+}
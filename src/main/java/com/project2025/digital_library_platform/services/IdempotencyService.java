@@ -0,0 +1,106 @@
+package com.project2025.digital_library_platform.services;
+
+import com.project2025.digital_library_platform.cache.IdempotencyCache;
+import com.project2025.digital_library_platform.cache.IdempotencyCache.StoredResponse;
+import com.project2025.digital_library_platform.repositories.IdempotencyKeyRepository;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Chaves de idempotência das requisições que alteram empréstimos e livros, usadas pelo
+ * {@link com.project2025.digital_library_platform.security.IdempotencyFilter}. A tabela idempotency_keys
+ * vale para todas as instâncias; o {@link IdempotencyCache} responde as repetições sem consultar o banco.
+ * A reserva de uma requisição em andamento dura library.idempotency.lease-seconds, que precisa ser maior
+ * que a requisição mais lenta; a resposta guardada vale library.idempotency.ttl-hours.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    private static final int PURGE_CHUNK_SIZE = 1_000;
+
+    private final IdempotencyKeyRepository keyRepository;
+    private final IdempotencyCache idempotencyCache;
+    private final Duration ttl;
+    private final Duration lease;
+
+    public IdempotencyService(
+            IdempotencyKeyRepository keyRepository,
+            IdempotencyCache idempotencyCache,
+            @Value("${library.idempotency.ttl-hours:24}") long ttlHours,
+            @Value("${library.idempotency.lease-seconds:60}") long leaseSeconds
+    ) {
+        this.keyRepository = keyRepository;
+        this.idempotencyCache = idempotencyCache;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.lease = Duration.ofSeconds(leaseSeconds);
+    }
+
+        @Transactional(readOnly = true)
+    @Operation(description = "Resposta guardada da chave, se a requisição original já terminou")
+    public StoredResponse findResponse(String key) {
+        StoredResponse cached = idempotencyCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        return keyRepository.findById(key)
+                .filter(row -> row.isCompleted() && row.getExpiresAt().isAfter(now))
+                .map(row -> {
+                    StoredResponse stored = new StoredResponse(row.getFingerprint(), row.getResponseStatus(),
+                            row.getContentType(), row.getResponseBody() == null ? new byte[0] : row.getResponseBody());
+                    // No cache só até a linha expirar, não um prazo cheio a partir desta leitura
+                    idempotencyCache.put(key, stored, row.getExpiresAt());
+                    return stored;
+                })
+                .orElse(null);
+    }
+
+    // Uma chave expirada que ainda não foi apagada pela limpeza é tratada como nova, assim como uma
+    // reserva vencida sem resposta: a requisição original morreu com a instância e não vai completar
+        @Transactional
+    @Operation(description = "Registra a chave como em andamento; false se outra requisição já a usou")
+    public boolean claim(String key, String fingerprint) {
+        LocalDateTime now = LocalDateTime.now();
+        keyRepository.deleteStale(key, now);
+        return keyRepository.claim(key, fingerprint, now, now.plus(lease), now.plus(ttl));
+    }
+
+        @Transactional
+    @Operation(description = "Guarda a resposta da requisição que estava com a chave")
+    public void complete(String key, StoredResponse response) {
+        // A resposta vale ttl a partir de agora, no banco e no cache
+        LocalDateTime expiresAt = LocalDateTime.now().plus(ttl);
+        keyRepository.complete(key, response.status(), response.contentType(), response.body(), expiresAt);
+        idempotencyCache.put(key, response, expiresAt);
+    }
+
+        @Transactional
+    @Operation(description = "Libera a chave de uma requisição que falhou no servidor")
+    public void release(String key) {
+        keyRepository.release(key);
+    }
+
+    @Scheduled(fixedDelayString = "${library.idempotency.purge-delay-ms:600000}")
+    @Operation(description = "Apaga as chaves expiradas, em blocos")
+    public int purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = keyRepository.purgeExpired(now, PURGE_CHUNK_SIZE);
+            total += deleted;
+        } while (deleted == PURGE_CHUNK_SIZE);
+        if (total > 0) {
+            log.info("Chaves de idempotência expiradas apagadas: {}", total);
+        }
+        return total;
+    }
+}
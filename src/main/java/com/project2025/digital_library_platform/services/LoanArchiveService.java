@@ -0,0 +1,103 @@
+package com.project2025.digital_library_platform.services;
+
+import com.project2025.digital_library_platform.repositories.LoanArchiveRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Move os empréstimos devolvidos há mais de N dias de loans para loans_archive, em segundo plano.
+ * Cada bloco roda numa transação curta própria e há uma pausa entre os blocos, então o
+ * arquivamento nunca segura travas por muito tempo nem disputa o banco com os empréstimos do dia.
+ * Se for interrompido no meio, os blocos já confirmados ficam arquivados e a próxima execução continua.
+ */
+@Service
+@Slf4j
+public class LoanArchiveService {
+
+    // Meses à frente com partição criada antes de receber linhas
+    private static final int PARTITION_MONTHS_AHEAD = 2;
+
+    private final LoanArchiveRepository loanArchiveRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int archiveAfterDays;
+    private final int chunkSize;
+    private final long pauseMillis;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public LoanArchiveService(
+            LoanArchiveRepository loanArchiveRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${library.loans.archive.after-days:365}") int archiveAfterDays,
+            @Value("${library.loans.archive.chunk-size:500}") int chunkSize,
+            @Value("${library.loans.archive.pause-ms:200}") long pauseMillis
+    ) {
+        this.loanArchiveRepository = loanArchiveRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.archiveAfterDays = archiveAfterDays;
+        this.chunkSize = chunkSize;
+        this.pauseMillis = pauseMillis;
+    }
+
+    @Scheduled(cron = "${library.loans.archive.cron:0 30 3 * * *}")
+    public void archiveScheduled() {
+        ensurePartitions();
+        archiveReturnedBefore(LocalDateTime.now().minusDays(archiveAfterDays));
+    }
+
+    // Devolve quantos empréstimos foram arquivados; 0 se outra execução já estiver em andamento
+    public int archiveReturnedBefore(LocalDateTime cutoff) {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Arquivamento de empréstimos já em andamento, execução ignorada");
+            return 0;
+        }
+        long start = System.nanoTime();
+        int archived = 0;
+        try {
+            Integer moved;
+            do {
+                moved = transactionTemplate.execute(status -> loanArchiveRepository.archiveReturnedBefore(cutoff, chunkSize));
+                archived += moved == null ? 0 : moved;
+            } while (moved != null && moved == chunkSize && pause());
+        } finally {
+            running.set(false);
+        }
+        if (archived > 0) {
+            log.info("{} empréstimos devolvidos antes de {} arquivados em {} ms",
+                    archived, cutoff, (System.nanoTime() - start) / 1_000_000);
+        }
+        return archived;
+    }
+
+    //MÉTODOS AUXILIARES
+
+    private void ensurePartitions() {
+        try {
+            if (!loanArchiveRepository.ensureMonthlyPartitions(YearMonth.now().plusMonths(PARTITION_MONTHS_AHEAD))) {
+                log.warn("loans_archive não está particionada; arquivando sem partições mensais");
+            }
+        } catch (DataAccessException e) {
+            log.warn("Não foi possível criar as partições mensais de loans_archive", e);
+        }
+    }
+
+    private boolean pause() {
+        if (pauseMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.project2025.digital_library_platform.services;
+
+import com.project2025.digital_library_platform.DTOs.loanDtos.LoanCountersDTO;
+import com.project2025.digital_library_platform.cache.UserLoanCounterCache;
+import com.project2025.digital_library_platform.events.LoanCountersChangedEvent;
+import com.project2025.digital_library_platform.exception.BusinessException;
+import com.project2025.digital_library_platform.exception.ErrorCode;
+import com.project2025.digital_library_platform.repositories.UserLoanCounterRepository;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Limites de empréstimo por usuário (máximo de empréstimos em aberto e bloqueio enquanto houver vencidos)
+ * sem COUNT sobre loans a cada empréstimo. Os contadores ficam em user_loan_counters e são alterados por
+ * UPDATEs condicionais na transação do {@link LoanService}: a reserva só incrementa se o usuário ainda
+ * estiver dentro dos limites, então dois empréstimos simultâneos não passam do máximo.
+ * O contador de vencidos é alimentado por uma varredura periódica que marca os empréstimos vencidos.
+ */
+@Service
+@Slf4j
+public class LoanCounterService {
+
+    private static final int OVERDUE_CHUNK_SIZE = 500;
+
+    private final UserLoanCounterRepository counterRepository;
+    private final UserLoanCounterCache counterCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxActiveLoans;
+
+    public LoanCounterService(
+            UserLoanCounterRepository counterRepository,
+            UserLoanCounterCache counterCache,
+            ApplicationEventPublisher eventPublisher,
+            TransactionTemplate transactionTemplate,
+            @Value("${library.loans.max-active:5}") int maxActiveLoans
+    ) {
+        this.counterRepository = counterRepository;
+        this.counterCache = counterCache;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.maxActiveLoans = maxActiveLoans;
+    }
+
+    //VERIFICAÇÃO E RESERVA
+
+    // Responde pelo cache; uma recusa é sempre confirmada no banco antes de ser devolvida
+    @Operation(description = "Verifica se o usuário pode fazer mais empréstimos")
+    public void checkEligibility(Long userId, int newLoans) {
+        Optional<LoanCountersDTO> cached = findCounters(userId);
+        if (cached.isEmpty() || isEligible(cached.get(), newLoans)) {
+            return;
+        }
+        counterCache.invalidate(List.of(userId));
+        counterRepository.findCountersByUserId(userId)
+                .filter(counters -> !isEligible(counters, newLoans))
+                .ifPresent(counters -> {
+                    throw refusal(counters);
+                });
+    }
+
+        @Transactional
+    @Operation(description = "Reserva empréstimos nos contadores do usuário, respeitando os limites")
+    public void reserve(Long userId, int loans) {
+        if (!tryReserve(userId, loans)) {
+            throw refusal(counterRepository.findCountersByUserId(userId)
+                    .orElseThrow(() -> new BusinessException("Usuário não encontrado", ErrorCode.USER_NOT_FOUND)));
+        }
+    }
+
+    // Sem exceção na recusa: quem chama decide o que fazer sem marcar a transação para rollback
+        @Transactional
+    @Operation(description = "Tenta reservar empréstimos nos contadores do usuário; false se ele estiver fora dos limites")
+    public boolean tryReserve(Long userId, int loans) {
+        if (counterRepository.reserve(userId, loans, maxActiveLoans) == 0) {
+            // Primeiro empréstimo desde a criação dos contadores: conta o que já existe e tenta de novo
+            if (!counterRepository.initialize(userId) || counterRepository.reserve(userId, loans, maxActiveLoans) == 0) {
+                return false;
+            }
+        }
+        eventPublisher.publishEvent(new LoanCountersChangedEvent(List.of(userId)));
+        return true;
+    }
+
+        @Transactional
+    @Operation(description = "Tira dos contadores do usuário empréstimos devolvidos ou cancelados")
+    public void release(Long userId, int closed, int overdue, int cancelled) {
+        counterRepository.release(userId, closed, overdue, cancelled);
+        eventPublisher.publishEvent(new LoanCountersChangedEvent(List.of(userId)));
+    }
+
+    @Operation(description = "Busca os contadores de empréstimos do usuário")
+    public Optional<LoanCountersDTO> findCounters(Long userId) {
+        return counterCache.get(userId, () -> counterRepository.findCountersByUserId(userId));
+    }
+
+    //VENCIDOS
+
+    // Cada bloco numa transação curta; o bloqueio por vencido vale a partir da varredura seguinte ao prazo
+    @Scheduled(fixedDelayString = "${library.loans.overdue-sweep-ms:60000}")
+    public int flagOverdueLoans() {
+        LocalDateTime now = LocalDateTime.now();
+        int flagged = 0;
+        int chunk;
+        do {
+            Map<Long, Integer> overdueByUser = transactionTemplate.execute(status -> {
+                Map<Long, Integer> byUser = counterRepository.flagOverdue(now, OVERDUE_CHUNK_SIZE);
+                if (!byUser.isEmpty()) {
+                    eventPublisher.publishEvent(new LoanCountersChangedEvent(byUser.keySet()));
+                }
+                return byUser;
+            });
+            chunk = overdueByUser == null ? 0 : overdueByUser.values().stream().mapToInt(Integer::intValue).sum();
+            flagged += chunk;
+        } while (chunk == OVERDUE_CHUNK_SIZE);
+
+        if (flagged > 0) {
+            log.info("{} empréstimos marcados como vencidos", flagged);
+        }
+        return flagged;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCountersChanged(LoanCountersChangedEvent event) {
+        counterCache.invalidate(event.getUserIds());
+    }
+
+    //MÉTODOS AUXILIARES
+
+    private boolean isEligible(LoanCountersDTO counters, int newLoans) {
+        return counters.overdueLoans() == 0 && counters.activeLoans() + newLoans <= maxActiveLoans;
+    }
+
+    private BusinessException refusal(LoanCountersDTO counters) {
+        if (counters.overdueLoans() > 0) {
+            return new BusinessException("Usuário com empréstimos vencidos não pode fazer novos empréstimos",
+                    ErrorCode.USER_HAS_OVERDUE_LOANS);
+        }
+        return new BusinessException("Limite de " + maxActiveLoans + " empréstimos em aberto atingido",
+                ErrorCode.LOAN_LIMIT_REACHED);
+    }
+}
@@ -0,0 +1,168 @@
+package com.project2025.digital_library_platform.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.project2025.digital_library_platform.DTOs.loanDtos.LoanPageDTO;
+import com.project2025.digital_library_platform.DTOs.loanDtos.LoanResponseDTO;
+import com.project2025.digital_library_platform.exception.BusinessException;
+import com.project2025.digital_library_platform.exception.ErrorCode;
+import com.project2025.digital_library_platform.repositories.LoanArchiveRepository;
+import com.project2025.digital_library_platform.repositories.LoanRepository;
+import com.project2025.digital_library_platform.repositories.UserRepository;
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Histórico de empréstimos de um usuário, do mais recente para o mais antigo, juntando loans e loans_archive.
+ * As páginas são lidas por keyset em (loan_date, id) nas duas tabelas: cada uma entrega no máximo uma página
+ * a partir do cursor e as duas listas são intercaladas em memória. O custo de uma página não depende de
+ * quantos empréstimos o usuário já fez.
+ */
+@Service
+public class LoanHistoryService {
+
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int EXPORT_CHUNK_SIZE = 500;
+    // Cursor da primeira página: depois de qualquer empréstimo gravado
+    private static final HistoryCursor FIRST_PAGE = new HistoryCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+    private static final Comparator<LoanResponseDTO> MOST_RECENT_FIRST = Comparator
+            .comparing(LoanResponseDTO::getLoanDate)
+            .thenComparing(LoanResponseDTO::getId)
+            .reversed();
+
+    private final LoanRepository loanRepository;
+    private final LoanArchiveRepository loanArchiveRepository;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public LoanHistoryService(
+            LoanRepository loanRepository,
+            LoanArchiveRepository loanArchiveRepository,
+            UserRepository userRepository,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.loanRepository = loanRepository;
+        this.loanArchiveRepository = loanArchiveRepository;
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    // Chave do último empréstimo entregue; a próxima página começa logo depois dela
+    private record HistoryCursor(LocalDateTime loanDate, Long id) {
+    }
+
+    //OPERAÇÕES DE CONSULTA
+
+        @Transactional(readOnly = true)
+    @Operation(description = "Lista o histórico de empréstimos do usuário, uma página por vez, a partir do cursor da página anterior")
+    public LoanPageDTO findHistory(Long userId, String cursor, int size) {
+        validateUser(userId);
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<LoanResponseDTO> loans = page(userId, decodeCursor(cursor), pageSize + 1);
+
+        // Busca pageSize + 1 linhas só para saber se existe uma próxima página
+        boolean hasNext = loans.size() > pageSize;
+        List<LoanResponseDTO> page = hasNext ? loans.subList(0, pageSize) : loans;
+        return new LoanPageDTO(page, hasNext ? encodeCursor(page.get(page.size() - 1)) : null);
+    }
+
+    // Histórico inteiro em blocos pelo mesmo keyset: memória constante e nenhuma transação
+    // ou cursor do banco aberto enquanto o cliente recebe os dados. Cada bloco lê loans e loans_archive numa
+    // transação curta só dele, para as duas consultas verem o mesmo snapshot: um empréstimo arquivado entre
+    // elas não some nem aparece duas vezes no bloco
+    @Operation(description = "Exporta o histórico de empréstimos do usuário em NDJSON (um empréstimo por linha)")
+    public long exportHistory(Long userId, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(LoanResponseDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long count = 0;
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            HistoryCursor after = FIRST_PAGE;
+            List<LoanResponseDTO> chunk;
+            do {
+                HistoryCursor from = after;
+                chunk = readOnlyTransaction.execute(status -> page(userId, from, EXPORT_CHUNK_SIZE));
+                for (LoanResponseDTO loan : chunk) {
+                    writer.writeValue(generator, loan);
+                    generator.writeRaw('\n');
+                }
+                count += chunk.size();
+                generator.flush();
+                if (!chunk.isEmpty()) {
+                    LoanResponseDTO last = chunk.get(chunk.size() - 1);
+                    after = new HistoryCursor(last.getLoanDate(), last.getId());
+                }
+            } while (chunk.size() == EXPORT_CHUNK_SIZE);
+        }
+        return count;
+    }
+
+    // O histórico de usuários desativados continua disponível
+        @Operation(description = "Valida se o usuário existe")
+    public void validateUser(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new BusinessException("Usuário não encontrado", ErrorCode.USER_NOT_FOUND);
+        }
+    }
+
+    //MÉTODOS AUXILIARES
+
+    // Até limit empréstimos depois do cursor; os IDs são únicos entre as duas tabelas
+    private List<LoanResponseDTO> page(Long userId, HistoryCursor after, int limit) {
+        List<LoanResponseDTO> current = loanRepository.findHistoryPage(userId, after.loanDate(), after.id(), Limit.of(limit));
+        List<LoanResponseDTO> archived = loanArchiveRepository.findHistoryPage(userId, after.loanDate(), after.id(), Limit.of(limit));
+        if (archived.isEmpty()) {
+            return current;
+        }
+        List<LoanResponseDTO> merged = new ArrayList<>(current.size() + archived.size());
+        merged.addAll(current);
+        merged.addAll(archived);
+        merged.sort(MOST_RECENT_FIRST);
+        return merged.size() > limit ? merged.subList(0, limit) : merged;
+    }
+
+    // O cursor é opaco para o cliente: "<id>:<loan_date ISO>" em Base64 URL-safe
+    private static String encodeCursor(LoanResponseDTO last) {
+        String raw = last.getId() + ":" + last.getLoanDate();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static HistoryCursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST_PAGE;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException(raw);
+            }
+            return new HistoryCursor(LocalDateTime.parse(parts[1]), Long.parseLong(parts[0]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BusinessException("Cursor de paginação inválido", ErrorCode.INVALID_OPERATION);
+        }
+    }
+}
@@ -1,70 +1,139 @@
 package com.project2025.digital_library_platform.services;
 
-import com.project2025.digital_library_platform.converters.LoanConverter;
+import com.project2025.digital_library_platform.entity.BookHold;
 import com.project2025.digital_library_platform.entity.book.Book;
+import com.project2025.digital_library_platform.DTOs.loanDtos.LoanBatchCreateDTO;
+import com.project2025.digital_library_platform.DTOs.loanDtos.LoanBatchReturnDTO;
 import com.project2025.digital_library_platform.DTOs.loanDtos.LoanCreateDTO;
 import com.project2025.digital_library_platform.entity.Loan;
 
 import com.project2025.digital_library_platform.DTOs.loanDtos.LoanResponseDTO;
 import com.project2025.digital_library_platform.entity.user.User;
+import com.project2025.digital_library_platform.events.BookStatusChangedEvent;
+import com.project2025.digital_library_platform.events.HoldClosedEvent;
+import com.project2025.digital_library_platform.events.LoanBatchEvent;
+import com.project2025.digital_library_platform.events.LoanClosedEvent;
 import com.project2025.digital_library_platform.events.LoanCreatedEvent;
 import com.project2025.digital_library_platform.exception.BusinessException;
 import com.project2025.digital_library_platform.exception.ErrorCode;
+import com.project2025.digital_library_platform.index.OverdueTracker;
+import com.project2025.digital_library_platform.repositories.BookHoldRepository;
 import com.project2025.digital_library_platform.repositories.BookRepository;
+import com.project2025.digital_library_platform.repositories.LoanArchiveRepository;
 import com.project2025.digital_library_platform.repositories.LoanRepository;
 import com.project2025.digital_library_platform.repositories.UserRepository;
 import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.data.domain.Limit;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 public class LoanService {
 
+    private static final int LOAN_DAYS = 14;
+    // Reservas examinadas por devolução; quem não puder levar o livro agora é pulado e continua na fila
+    private static final int HANDOFF_ATTEMPTS = 10;
+
     private final LoanRepository loanRepository;
-    private final LoanConverter loanConverter;
     private final BookRepository bookRepository;
     private final UserRepository userRepository;
     private final ApplicationEventPublisher eventPublisher;
+    private final OverdueTracker overdueTracker;
+    private final LoanArchiveRepository loanArchiveRepository;
+    private final LoanCounterService loanCounterService;
+    private final BookHoldRepository bookHoldRepository;
 
     public LoanService(
             LoanRepository loanRepository,
-            LoanConverter loanConverter,
             BookRepository bookRepository,
             UserRepository userRepository,
-            ApplicationEventPublisher eventPublisher
+            ApplicationEventPublisher eventPublisher,
+            OverdueTracker overdueTracker,
+            LoanArchiveRepository loanArchiveRepository,
+            LoanCounterService loanCounterService,
+            BookHoldRepository bookHoldRepository
     ) {
         this.loanRepository = loanRepository;
-        this.loanConverter = loanConverter;
         this.bookRepository = bookRepository;
         this.userRepository = userRepository;
         this.eventPublisher = eventPublisher;
+        this.overdueTracker = overdueTracker;
+        this.loanArchiveRepository = loanArchiveRepository;
+        this.loanCounterService = loanCounterService;
+        this.bookHoldRepository = bookHoldRepository;
     }
 
+    /**
+     * Empréstimo em dois comandos: um UPDATE condicional que só muda o livro de AVAILABLE para LOANED
+     * e um INSERT ... SELECT que só grava o empréstimo se o usuário estiver ativo. Entre dois pedidos
+     * simultâneos para o mesmo livro, o banco serializa os UPDATEs e apenas um altera a linha.
+     * Os limites do usuário são reservados da mesma forma, por um UPDATE condicional nos seus contadores.
+     * As leituras para explicar a recusa só acontecem quando um dos comandos não grava nada.
+     */
         @Transactional
     @Operation(description = "Registra um novo empréstimo")
     public LoanResponseDTO registerLoan(LoanCreateDTO loanCreateDTO) {
-        Book book = validateBookAvailability(loanCreateDTO.bookId());
-        User user = validateUserForLoan(loanCreateDTO.userId());
+        Long bookId = loanCreateDTO.bookId();
+        Long userId = loanCreateDTO.userId();
+        LocalDateTime loanDate = LocalDateTime.now();
+        LocalDateTime returnDate = loanDate.plusDays(LOAN_DAYS);
 
-        book.borrow(); 
+        if (bookRepository.claimForLoan(bookId, loanDate) == 0) {
+            throw bookUnavailable(bookId);
+        }
+        loanCounterService.reserve(userId, 1);
+        Long loanId = loanRepository.insertForActiveUser(userId, bookId, loanDate, returnDate);
+        if (loanId == null) {
+            // A exceção desfaz a reserva do livro e dos contadores junto com a transação
+            validateUser(userId);
+            throw new BusinessException("Usuário não pode fazer empréstimo", ErrorCode.USER_UNAVAILABLE);
+        }
 
-        Loan loan = prepareLoanEntity(loanCreateDTO, user, book);
-        bookRepository.save(book);
+        eventPublisher.publishEvent(new LoanCreatedEvent(loanId, bookId, userId, returnDate));
+        eventPublisher.publishEvent(new BookStatusChangedEvent(bookId));
+        return loanRepository.findResponseById(loanId)
+                .orElseThrow(() -> new BusinessException("Empréstimo não encontrado", ErrorCode.LOAN_NOT_FOUND));
+    }
 
-        var savedLoan = loanRepository.save(loan);
+    /**
+     * Empréstimo de vários livros no mesmo atendimento, tudo ou nada: o usuário e os seus limites são
+     * validados uma vez, todos os livros são reservados por um único UPDATE condicional e os empréstimos são gravados
+     * num lote JDBC. Se algum livro não puder ser reservado, a transação inteira é desfeita.
+     */
+        @Transactional
+    @Operation(description = "Registra o empréstimo de vários livros para o mesmo usuário")
+    public List<LoanResponseDTO> registerLoans(LoanBatchCreateDTO loanBatchCreateDTO) {
+        Long userId = loanBatchCreateDTO.userId();
+        List<Long> bookIds = distinctIds(loanBatchCreateDTO.bookIds(), "Livro repetido no pedido de empréstimo");
+        validateUserForLoan(userId, bookIds.size());
+
+        LocalDateTime loanDate = LocalDateTime.now();
+        LocalDateTime returnDate = loanDate.plusDays(LOAN_DAYS);
+        if (bookRepository.claimAllForLoan(bookIds, loanDate) != bookIds.size()) {
+            throw booksUnavailable(bookIds);
+        }
+        loanCounterService.reserve(userId, bookIds.size());
+        List<Long> loanIds = loanRepository.insertBatch(userId, bookIds, loanDate, returnDate);
 
-        eventPublisher.publishEvent(new LoanCreatedEvent(savedLoan.getId()));
-        return loanConverter.toDto(savedLoan);
+        eventPublisher.publishEvent(new LoanBatchEvent(LoanBatchEvent.Kind.CHECKOUT, userId, loanIds, bookIds, returnDate, List.of()));
+        return loanRepository.findResponsesByIdIn(loanIds);
     }
 
+    // Se houver fila de reserva, o livro devolvido já sai emprestado para o primeiro da fila que puder levá-lo
         @Transactional
     @Operation(description = "Devolve um empréstimo")
     public void returnLoan(Long loanId) {
         var loan = validateLoan(loanId);
+        boolean overdue = loan.isOverdue();
 
         loan.markAsReturned(); 
 
@@ -73,6 +142,44 @@ public class LoanService {
 
         bookRepository.save(book);
         loanRepository.save(loan);
+        loanCounterService.release(loan.getUser().getId(), 1, overdue ? 1 : 0, 0);
+        if (handOffToNextHolder(book.getId(), LocalDateTime.now())) {
+            // O UPDATE da entrega não passa pela entidade gerenciada, que o reindex após o commit ainda enxerga
+            book.borrow();
+        }
+
+        boolean late = loan.getActualReturnDate().isAfter(loan.getReturnDate());
+        eventPublisher.publishEvent(new LoanClosedEvent(loan.getId(), book.getId(), loan.getUser().getId(),
+                loan.getLoanDate(), false, late));
+        eventPublisher.publishEvent(new BookStatusChangedEvent(book.getId()));
+    }
+
+    // Devolução em lote: uma leitura travada dos empréstimos e um UPDATE por tabela (nos contadores, um por usuário)
+        @Transactional
+    @Operation(description = "Devolve vários empréstimos de uma vez")
+    public void returnLoans(LoanBatchReturnDTO loanBatchReturnDTO) {
+        List<Long> loanIds = distinctIds(loanBatchReturnDTO.loanIds(), "Empréstimo repetido no pedido de devolução");
+        List<Loan> loans = loanRepository.findAllForUpdateByIdIn(loanIds);
+        if (loans.size() != loanIds.size()) {
+            throw new BusinessException("Um ou mais empréstimos não foram encontrados", ErrorCode.LOAN_NOT_FOUND);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (loanRepository.markAllReturned(loanIds, now) != loanIds.size()) {
+            throw new BusinessException("Um ou mais empréstimos já foram devolvidos", ErrorCode.LOAN_ALREADY_RETURNED);
+        }
+        List<Long> bookIds = loans.stream().map(loan -> loan.getBook().getId()).toList();
+        bookRepository.releaseAll(bookIds, now);
+        for (Long heldBookId : bookHoldRepository.findBookIdsWithHolds(bookIds)) {
+            handOffToNextHolder(heldBookId, now);
+        }
+
+        Map<Long, List<Loan>> loansByUser = loans.stream().collect(Collectors.groupingBy(loan -> loan.getUser().getId()));
+        loansByUser.forEach((userId, closed) -> loanCounterService.release(userId, closed.size(),
+                (int) closed.stream().filter(Loan::isOverdue).count(), 0));
+
+        List<Long> lateLoanIds = loans.stream().filter(loan -> now.isAfter(loan.getReturnDate())).map(Loan::getId).toList();
+        eventPublisher.publishEvent(new LoanBatchEvent(LoanBatchEvent.Kind.RETURN, null, loanIds, bookIds, null, lateLoanIds));
     }
 
         @Transactional
@@ -85,45 +192,66 @@ public class LoanService {
             book.toReturn(); 
             bookRepository.save(book);
             loanRepository.delete(loan);
+            loanCounterService.release(loan.getUser().getId(), 1, loan.isOverdue() ? 1 : 0, 1);
+            if (handOffToNextHolder(book.getId(), LocalDateTime.now())) {
+                book.borrow();
+            }
+
+            eventPublisher.publishEvent(new LoanClosedEvent(loan.getId(), book.getId(), loan.getUser().getId(),
+                    loan.getLoanDate(), true, false));
+            eventPublisher.publishEvent(new BookStatusChangedEvent(book.getId()));
         } else {
             throw new BusinessException("Empréstimo devolvido não pode ser cancelado", ErrorCode.INVALID_OPERATION);
         }
     }
 
-        @Operation(description = "Lista todos os empréstimos ativos")
+    //CONSULTAS
+    //Um único SELECT com JOIN traz título e login direto no DTO, sem carregar Loan, Book e User
+
+        @Transactional(readOnly = true)
+    @Operation(description = "Lista todos os empréstimos ativos")
     public List<LoanResponseDTO> findActiveLoans() {
-        return loanRepository.findByReturnedFalse()
-                .stream()
-                .map(loanConverter::toDto)
-                .toList();
+        return loanRepository.findActiveResponses();
     }
 
-        @Operation(description = "Lista empréstimos vencidos")
+        @Transactional(readOnly = true)
+    @Operation(description = "Lista empréstimos vencidos")
     public List<LoanResponseDTO> findOverDueLoans() {
-        return loanRepository.findByReturnDateBeforeAndReturnedFalse(LocalDateTime.now())
-                .stream()
-                .map(loanConverter::toDto)
-                .toList();
+        // Enquanto o controle de vencidos não termina a carga inicial, a consulta vai ao banco
+        if (!overdueTracker.isReady()) {
+            return loanRepository.findOverdueResponses(LocalDateTime.now());
+        }
+        List<Long> loanIds = overdueTracker.overdueLoanIds();
+        return loanIds.isEmpty() ? List.of() : loanRepository.findResponsesByIdIn(loanIds);
     }
 
-        @Operation(description = "Busca empréstimos por usuário")
+        @Transactional(readOnly = true)
+    @Operation(description = "Busca empréstimos por usuário")
     public List<LoanResponseDTO> findLoansByUser(Long userId) {
-        validateUserForLoan(userId);
-        return loanRepository.findAllByUserId(userId)
-                .stream()
-                .map(loanConverter::toDto)
-                .toList();
+        validateUser(userId);
+        // O histórico inclui os empréstimos já arquivados; os IDs são únicos entre as duas tabelas
+        List<LoanResponseDTO> archived = loanArchiveRepository.findResponsesByUserId(userId);
+        List<LoanResponseDTO> current = loanRepository.findResponsesByUserId(userId);
+        if (archived.isEmpty()) {
+            return current;
+        }
+        List<LoanResponseDTO> history = new ArrayList<>(archived.size() + current.size());
+        history.addAll(archived);
+        history.addAll(current);
+        history.sort(Comparator.comparing(LoanResponseDTO::getId));
+        return history;
     }
 
-        @Operation(description = "Busca um empréstimo por ID")
+        @Transactional(readOnly = true)
+    @Operation(description = "Busca um empréstimo por ID")
     public LoanResponseDTO findLoanById(Long loanId) {
-        return loanRepository.findById(loanId)
-                .map(loanConverter::toDto)
+        return loanRepository.findResponseById(loanId)
+                .or(() -> loanArchiveRepository.findResponseById(loanId))
                 .orElseThrow(() -> new BusinessException("Empréstimo não encontrado", ErrorCode.LOAN_NOT_FOUND));
     }
 
-        @Operation(description = "valida se o usuário esta ativo e pode fazer emprestimo")
-    private User validateUserForLoan(Long userId) {
+        @Operation(description = "valida se o usuário esta ativo")
+    private User validateUser(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new BusinessException("Usuário não encontrado", ErrorCode.USER_NOT_FOUND));
 
@@ -133,21 +261,77 @@ public class LoanService {
         return user;
     }
 
-        @Operation(description = "Valise se o livro está disponivel para emprestimo")
-    private Book validateBookAvailability(Long bookId) {
-        Book book = bookRepository.findById(bookId)
-                .orElseThrow(() -> new BusinessException("Livro não encontrado", ErrorCode.BOOK_NOT_FOUND));
+        @Operation(description = "valida se o usuário esta ativo e pode fazer mais emprestimos, pelos contadores")
+    private User validateUserForLoan(Long userId, int newLoans) {
+        User user = validateUser(userId);
+        loanCounterService.checkEligibility(userId, newLoans);
+        return user;
+    }
+
+        @Operation(description = "Explica por que o livro não pôde ser reservado para empréstimo")
+    private BusinessException bookUnavailable(Long bookId) {
+        if (!bookRepository.existsById(bookId)) {
+            return new BusinessException("Livro não encontrado", ErrorCode.BOOK_NOT_FOUND);
+        }
+        return new BusinessException("Livro não disponível para empréstimo", ErrorCode.BOOK_UNAVAILABLE);
+    }
+
+        @Operation(description = "Explica por que algum livro do lote não pôde ser reservado")
+    private BusinessException booksUnavailable(List<Long> bookIds) {
+        List<Long> found = bookRepository.findIdsByIdIn(bookIds);
+        if (found.size() != bookIds.size()) {
+            List<Long> missing = bookIds.stream().filter(id -> !found.contains(id)).toList();
+            return new BusinessException("Livros não encontrados: " + missing, ErrorCode.BOOK_NOT_FOUND);
+        }
+        return new BusinessException("Um ou mais livros não estão disponíveis para empréstimo", ErrorCode.BOOK_UNAVAILABLE);
+    }
+
+    /**
+     * Chamado com o livro já devolvido (AVAILABLE) e travado nesta transação. Percorre o início da fila,
+     * travado até o commit, e empresta o livro ao primeiro usuário ativo e dentro dos limites.
+     * Sem ninguém apto, o livro fica disponível e a fila continua como está.
+     */
+        @Operation(description = "Empresta o livro devolvido ao primeiro da fila de reserva que puder levá-lo")
+    private boolean handOffToNextHolder(Long bookId, LocalDateTime now) {
+        for (BookHold hold : bookHoldRepository.findQueueForUpdate(bookId, Limit.of(HANDOFF_ATTEMPTS))) {
+            Long userId = hold.getUser().getId();
+            if (!userRepository.existsByIdAndActiveTrue(userId) || !loanCounterService.tryReserve(userId, 1)) {
+                continue;
+            }
+            if (bookRepository.claimForLoan(bookId, now) == 0) {
+                // Livro desativado na devolução: ninguém da fila pode levá-lo
+                loanCounterService.release(userId, 1, 0, 1);
+                return false;
+            }
+            LocalDateTime returnDate = now.plusDays(LOAN_DAYS);
+            Long loanId = loanRepository.insertForActiveUser(userId, bookId, now, returnDate);
+            if (loanId == null) {
+                // Usuário desativado entre a leitura e o INSERT: desfaz e passa para o próximo
+                loanCounterService.release(userId, 1, 0, 1);
+                bookRepository.releaseAll(List.of(bookId), now);
+                continue;
+            }
+            bookHoldRepository.delete(hold);
+
+            eventPublisher.publishEvent(new LoanCreatedEvent(loanId, bookId, userId, returnDate));
+            eventPublisher.publishEvent(new HoldClosedEvent(hold.getId(), bookId, userId, loanId));
+            return true;
+        }
+        return false;
+    }
 
-        boolean bookLoaned = loanRepository.existsByBookAndReturnedFalse(book);
-        if (bookLoaned) {
-            throw new BusinessException("Livro já emprestado", ErrorCode.BOOK_UNAVAILABLE);
+        @Operation(description = "Rejeita IDs repetidos num pedido em lote")
+    private List<Long> distinctIds(List<Long> ids, String message) {
+        List<Long> distinct = List.copyOf(new LinkedHashSet<>(ids));
+        if (distinct.size() != ids.size()) {
+            throw new BusinessException(message, ErrorCode.INVALID_OPERATION);
         }
-        return book;
+        return distinct;
     }
 
         @Operation(description = "Valida se o emprestimo existe e ainda está pendendente")
     private Loan validateLoan(Long loanId) {
-        Loan loan = loanRepository.findById(loanId)
+        Loan loan = loanRepository.findWithBookById(loanId)
                 .orElseThrow(() -> new BusinessException("Empréstimo não encontrado", ErrorCode.LOAN_NOT_FOUND));
 
         if (loan.isReturned()) {
@@ -157,20 +341,7 @@ public class LoanService {
     }
 
         @Operation(description = "Publica evento no rabbit quando cria emprestimo")
-    private void publishLoanRegisteredEvent(Long loanId) {
-        eventPublisher.publishEvent(new LoanCreatedEvent(loanId));
-    }
-
-        @Operation(description = "Prepara para criar emprestimos")
-    private Loan prepareLoanEntity(LoanCreateDTO loanCreateDTO, User user, Book book) {
-        Loan loan = loanConverter.toEntity(loanCreateDTO);
-        loan.setUser(user);
-        loan.setBook(book);
-
-        loan.setLoanDate(LocalDateTime.now());
-        loan.setReturnDate(loan.getLoanDate().plusDays(14));
-        loan.setReturned(false);
-
-        return loan;
+    private void publishLoanRegisteredEvent(Long loanId, Long bookId, Long userId, LocalDateTime returnDate) {
+        eventPublisher.publishEvent(new LoanCreatedEvent(loanId, bookId, userId, returnDate));
     }
 }
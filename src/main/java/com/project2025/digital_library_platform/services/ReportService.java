@@ -0,0 +1,83 @@
+package com.project2025.digital_library_platform.services;
+
+import com.project2025.digital_library_platform.DTOs.reportDtos.CirculationDayDTO;
+import com.project2025.digital_library_platform.DTOs.reportDtos.CirculationRankingDTO;
+import com.project2025.digital_library_platform.DTOs.reportDtos.CirculationReportDTO;
+import com.project2025.digital_library_platform.entity.report.CirculationDaily;
+import com.project2025.digital_library_platform.entity.report.CirculationDimension;
+import com.project2025.digital_library_platform.exception.BusinessException;
+import com.project2025.digital_library_platform.exception.ErrorCode;
+import com.project2025.digital_library_platform.repositories.CirculationDailyRepository;
+import com.project2025.digital_library_platform.repositories.CirculationRollupRepository;
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Relatórios de circulação. Lê só os totais diários mantidos pelo {@link CirculationRollupService}:
+ * o custo depende do número de dias do período, não do número de empréstimos.
+ */
+@Service
+public class ReportService {
+
+    private static final int MAX_PERIOD_DAYS = 366;
+    private static final int MAX_RANKING_SIZE = 100;
+
+    private final CirculationDailyRepository dailyRepository;
+    private final CirculationRollupRepository rollupRepository;
+
+    public ReportService(CirculationDailyRepository dailyRepository, CirculationRollupRepository rollupRepository) {
+        this.dailyRepository = dailyRepository;
+        this.rollupRepository = rollupRepository;
+    }
+
+    //OPERAÇÕES DE CONSULTA
+
+        @Transactional(readOnly = true)
+    @Operation(description = "Totais de empréstimos, devoluções, cancelamentos e taxa de atraso do período, dia a dia")
+    public CirculationReportDTO findCirculation(LocalDate from, LocalDate to) {
+        validatePeriod(from, to);
+        List<CirculationDayDTO> days = new ArrayList<>();
+        long loans = 0, returnedLoans = 0, lateReturns = 0, cancelledLoans = 0;
+        for (CirculationDaily daily : dailyRepository.findByDayBetweenOrderByDayAsc(from, to)) {
+            days.add(new CirculationDayDTO(daily.getDay(), daily.getLoans(), daily.getReturnedLoans(),
+                    daily.getLateReturns(), daily.getCancelledLoans(), rate(daily.getLateReturns(), daily.getReturnedLoans())));
+            loans += daily.getLoans();
+            returnedLoans += daily.getReturnedLoans();
+            lateReturns += daily.getLateReturns();
+            cancelledLoans += daily.getCancelledLoans();
+        }
+        return new CirculationReportDTO(from, to, loans, returnedLoans, lateReturns, cancelledLoans,
+                rate(lateReturns, returnedLoans), days);
+    }
+
+        @Transactional(readOnly = true)
+    @Operation(description = "Livros, usuários ou editoras com mais empréstimos no período")
+    public List<CirculationRankingDTO> findRanking(CirculationDimension dimension, LocalDate from, LocalDate to, int limit) {
+        validatePeriod(from, to);
+        int size = Math.max(1, Math.min(limit, MAX_RANKING_SIZE));
+        return rollupRepository.findRanking(dimension, from, to, Limit.of(size));
+    }
+
+    //MÉTODOS AUXILIARES
+
+        @Operation(description = "Valida o período pedido")
+    private void validatePeriod(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new BusinessException("A data inicial deve ser anterior à data final", ErrorCode.INVALID_OPERATION);
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_PERIOD_DAYS) {
+            throw new BusinessException("Período máximo de " + MAX_PERIOD_DAYS + " dias", ErrorCode.INVALID_OPERATION);
+        }
+    }
+
+    private static double rate(long late, long returned) {
+        return returned == 0 ? 0 : (double) late / returned;
+    }
+}
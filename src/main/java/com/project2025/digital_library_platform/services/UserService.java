@@ -48,43 +48,38 @@ public class UserService {
     }
 
     //CONSULTAS
+    //Selecionam direto no DTO em transação somente leitura: nenhuma entidade User entra no contexto
 
-        @Operation(description = "Busca um usuário por ID")
+        @Transactional(readOnly = true)
+    @Operation(description = "Busca um usuário por ID")
     public UserResponseDTO findById(Long id) {
-        User user = findUserById(id);
-        return userConverter.toDto(user);
+        return userRepository.findResponseById(id)
+                .orElseThrow(() -> new BusinessException("Usuário não encontrado", ErrorCode.USER_NOT_FOUND));
     }
 
-        @Operation(description = "Busca um usuário por login")
+        @Transactional(readOnly = true)
+    @Operation(description = "Busca um usuário por login")
     public UserResponseDTO findByLogin(String login) {
-        return userRepository.findByLogin(login)
-                .map(userConverter::toDto)
+        return userRepository.findResponseByLogin(login)
                 .orElseThrow(() -> new BusinessException("Usuário não encontrado", ErrorCode.USER_NOT_FOUND));
     }
 
-        @Operation(description = "Lista todos os usuários cadastrados")
+        @Transactional(readOnly = true)
+    @Operation(description = "Lista todos os usuários cadastrados")
     public List<UserResponseDTO> findAll() {
-        return userRepository.findAll()
-                .stream()
-                .map(userConverter::toDto)
-                .toList();
+        return userRepository.findAllResponses();
     }
 
-        @Operation(description = "Lista todos os usuários ativos")
+        @Transactional(readOnly = true)
+    @Operation(description = "Lista todos os usuários ativos")
     public List<UserResponseDTO> findActiveUsers() {
-        return userRepository.findByActiveTrue()
-                .stream()
-                .filter(User::isActive)
-                .map(userConverter::toDto)
-                .toList();
+        return userRepository.findActiveResponses();
     }
 
-        @Operation(description = "Lista usuários por função/role")
+        @Transactional(readOnly = true)
+    @Operation(description = "Lista usuários por função/role")
     public List<UserResponseDTO> findUsersByRole(Role role) {
-        return userRepository.findByRole(role)
-                .stream()
-                .map(userConverter::toDto)
-                .toList();
+        return userRepository.findResponsesByRole(role);
     }
 
   //CONTROLE DE STATUS
@@ -1,4 +1,13 @@
+DROP TABLE IF EXISTS idempotency_keys;
+DROP TABLE IF EXISTS circulation_outbox;
+DROP TABLE IF EXISTS circulation_rollups;
+DROP TABLE IF EXISTS circulation_daily;
+DROP TABLE IF EXISTS book_holds;
+DROP TABLE IF EXISTS user_loan_counters;
+DROP TABLE IF EXISTS loans_archive;
 DROP TABLE IF EXISTS loans;
+DROP TABLE IF EXISTS book_authors;
+DROP TABLE IF EXISTS authors;
 DROP TABLE IF EXISTS books;
 DROP TABLE IF EXISTS users;
 
@@ -26,6 +35,7 @@ CREATE TABLE books (
     published_date VARCHAR(50),
     isbn_10 VARCHAR(20),
     isbn_13 VARCHAR(20),
+    isbn_key BIGINT UNIQUE,
     description TEXT,
     thumbnail_url VARCHAR(500),
     page_count INTEGER,
@@ -37,11 +47,32 @@ CREATE TABLE books (
     updated_at TIMESTAMP NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
 );
 
+-- Autores normalizados: books.authors continua sendo o texto exibido, os vínculos ficam em book_authors
+CREATE TABLE authors (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL,
+    normalized_name VARCHAR(255) NOT NULL,
+
+    CONSTRAINT uk_author_normalized_name UNIQUE (normalized_name)
+);
+
+CREATE TABLE book_authors (
+    book_id BIGINT NOT NULL,
+    author_id BIGINT NOT NULL,
+    sort_order INT NOT NULL,
+
+    PRIMARY KEY (book_id, author_id),
+    CONSTRAINT fk_book_author_book FOREIGN KEY (book_id) REFERENCES books(id) ON DELETE CASCADE,
+    CONSTRAINT fk_book_author_author FOREIGN KEY (author_id) REFERENCES authors(id) ON DELETE RESTRICT
+);
+
 CREATE TABLE loans (
     id BIGINT PRIMARY KEY AUTO_INCREMENT,
     loan_date TIMESTAMP NOT NULL,
     return_date TIMESTAMP NOT NULL,
     returned BOOLEAN NOT NULL DEFAULT FALSE,
+    -- Já contado em user_loan_counters.overdue_loans pela varredura de vencidos
+    overdue BOOLEAN NOT NULL DEFAULT FALSE,
     actual_return_date TIMESTAMP NULL,
     user_id BIGINT NOT NULL,
     book_id BIGINT NOT NULL,
@@ -52,6 +83,97 @@ CREATE TABLE loans (
     CONSTRAINT fk_loan_book FOREIGN KEY (book_id) REFERENCES books(id) ON DELETE RESTRICT
 );
 
+-- Contadores de empréstimos por usuário para os limites de empréstimo (LoanCounterService),
+-- criados no primeiro empréstimo do usuário a partir do que já está em loans e loans_archive
+CREATE TABLE user_loan_counters (
+    user_id BIGINT PRIMARY KEY,
+    active_loans INT NOT NULL DEFAULT 0,
+    overdue_loans INT NOT NULL DEFAULT 0,
+    lifetime_loans BIGINT NOT NULL DEFAULT 0,
+
+    CONSTRAINT fk_loan_counter_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+-- Filas de reserva dos livros emprestados (HoldService): a ordem de atendimento é a ordem do ID
+CREATE TABLE book_holds (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    book_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT uk_hold_book_user UNIQUE (book_id, user_id),
+    CONSTRAINT fk_hold_book FOREIGN KEY (book_id) REFERENCES books(id) ON DELETE CASCADE,
+    CONSTRAINT fk_hold_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+-- Totais diários dos relatórios (CirculationRollupService), somados por upsert a partir dos eventos de empréstimo.
+-- Sem chaves estrangeiras: os totais continuam valendo depois que livros e usuários são removidos
+CREATE TABLE circulation_daily (
+    rollup_date DATE PRIMARY KEY,
+    loans INT NOT NULL DEFAULT 0,
+    returned_loans INT NOT NULL DEFAULT 0,
+    late_returns INT NOT NULL DEFAULT 0,
+    cancelled_loans INT NOT NULL DEFAULT 0
+);
+
+-- Empréstimos por dia e por livro, usuário ou editora; a chave primária atende o ranking de um período
+CREATE TABLE circulation_rollups (
+    dimension VARCHAR(16) NOT NULL CHECK (dimension IN ('BOOK', 'USER', 'PUBLISHER')),
+    rollup_date DATE NOT NULL,
+    dimension_key VARCHAR(255) NOT NULL,
+    loans INT NOT NULL DEFAULT 0,
+
+    PRIMARY KEY (dimension, rollup_date, dimension_key)
+);
+
+-- Acréscimos aos totais gravados na própria transação do empréstimo, devolução ou cancelamento; a gravação
+-- periódica do CirculationRollupService soma as linhas em circulation_daily e circulation_rollups e as apaga.
+-- Só recebe inserts, então a transação do empréstimo não disputa a linha do dia com as outras
+CREATE TABLE circulation_outbox (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    rollup_date DATE NOT NULL,
+    book_id BIGINT NULL,
+    user_id BIGINT NULL,
+    loans INT NOT NULL DEFAULT 0,
+    returned_loans INT NOT NULL DEFAULT 0,
+    late_returns INT NOT NULL DEFAULT 0,
+    cancelled_loans INT NOT NULL DEFAULT 0
+);
+
+-- Respostas guardadas das requisições com Idempotency-Key (IdempotencyFilter); apagadas depois de expirar
+CREATE TABLE idempotency_keys (
+    idempotency_key VARCHAR(150) PRIMARY KEY,
+    fingerprint CHAR(64) NOT NULL,
+    completed BOOLEAN NOT NULL DEFAULT FALSE,
+    response_status INT NULL,
+    content_type VARCHAR(255) NULL,
+    response_body MEDIUMBLOB NULL,
+    -- Reserva da requisição em andamento, bem mais curta que expires_at (validade da resposta guardada)
+    locked_until TIMESTAMP NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL
+);
+
+-- Empréstimos devolvidos há mais de N dias, movidos de loans pelo arquivamento (LoanArchiveService).
+-- No MySQL a tabela é particionada por mês de loan_date pelo próprio arquivamento, na primeira execução:
+-- consultas por período só abrem as partições do intervalo e meses antigos podem ser descartados com
+-- DROP PARTITION. O MySQL exige a coluna de partição na chave primária e não aceita chaves estrangeiras
+-- em tabelas particionadas, por isso a chave é (id, loan_date) e não há FKs.
+CREATE TABLE loans_archive (
+    id BIGINT NOT NULL,
+    loan_date TIMESTAMP NOT NULL,
+    return_date TIMESTAMP NOT NULL,
+    returned BOOLEAN NOT NULL,
+    actual_return_date TIMESTAMP NULL,
+    user_id BIGINT NOT NULL,
+    book_id BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    PRIMARY KEY (id, loan_date)
+);
+
 CREATE INDEX idx_user_email ON users(email);
 CREATE INDEX idx_user_role ON users(role);
 CREATE INDEX idx_user_active ON users(active);
@@ -60,7 +182,27 @@ CREATE INDEX idx_book_title ON books(title);
 CREATE INDEX idx_book_status ON books(status);
 CREATE INDEX idx_book_active ON books(active);
 CREATE INDEX idx_book_google_id ON books(google_books_id);
+-- Paginação por keyset dos livros disponíveis (ordenada por ID ou por título)
+CREATE INDEX idx_book_active_status_id ON books(active, status, id);
+CREATE INDEX idx_book_active_status_title ON books(active, status, title, id);
+
+-- Livros de um autor: leitura só do índice, já na ordem de book_id
+CREATE INDEX idx_book_author_author_book ON book_authors(author_id, book_id);
 
-CREATE INDEX idx_loan_user_id ON loans(user_id);
+-- Histórico do usuário por keyset, do empréstimo mais recente para o mais antigo
+CREATE INDEX idx_loan_user_date ON loans(user_id, loan_date);
 CREATE INDEX idx_loan_book_id ON loans(book_id);
-CREATE INDEX idx_loan_returned ON loans(returned);
\ No newline at end of file
+-- Varredura dos vencidos: só os em aberto ainda não marcados, na ordem do prazo
+CREATE INDEX idx_loan_open_due ON loans(returned, overdue, return_date);
+-- Seleção dos blocos do arquivamento, na ordem da devolução
+CREATE INDEX idx_loan_returned_actual ON loans(returned, actual_return_date);
+
+-- Início da fila de um livro, na ordem de atendimento
+CREATE INDEX idx_hold_book_id ON book_holds(book_id, id);
+
+-- Limpeza das chaves de idempotência expiradas
+CREATE INDEX idx_idempotency_expires ON idempotency_keys(expires_at);
+
+-- Histórico arquivado por usuário e por livro
+CREATE INDEX idx_loan_archive_user_date ON loans_archive(user_id, loan_date);
+CREATE INDEX idx_loan_archive_book_id ON loans_archive(book_id);
\ No newline at end of file
@@ -0,0 +1,91 @@
+package com.project2025.digital_library_platform.cache;
+
+import com.project2025.digital_library_platform.DTOs.bookDtos.BookPageDTO;
+import com.project2025.digital_library_platform.DTOs.bookDtos.BookResponseDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookCacheTest {
+
+    private BookCache cache;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        cache = new BookCache();
+    }
+
+    private BookResponseDTO book(Long id, String title) {
+        BookResponseDTO dto = new BookResponseDTO();
+        dto.setId(id);
+        dto.setTitle(title);
+        return dto;
+    }
+
+    private Optional<BookResponseDTO> load(Long id, String title) {
+        loads.incrementAndGet();
+        return Optional.of(book(id, title));
+    }
+
+    @Test
+    @DisplayName("Deve carregar uma vez e servir as leituras seguintes do cache")
+    void getBook_ShouldLoadOnlyOnce() {
+        // ACT
+        cache.getBook(1L, () -> load(1L, "1984"));
+        Optional<BookResponseDTO> cached = cache.getBook(1L, () -> load(1L, "1984"));
+
+        // ASSERT
+        assertThat(cached).get().extracting(BookResponseDTO::getTitle).isEqualTo("1984");
+        assertThat(loads).hasValue(1);
+
+        System.out.println("✅ Leitura pelo cache executada COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Não deve servir um valor carregado antes de uma invalidação que chegou durante a carga")
+    void getBook_WhenInvalidatedDuringLoad_ShouldNotServeStaleValue() {
+        // ARRANGE: a invalidação chega enquanto a versão antiga ainda está sendo lida do banco
+        cache.getBook(1L, () -> {
+            cache.invalidate(List.of(1L));
+            return load(1L, "Título antigo");
+        });
+
+        // ACT
+        Optional<BookResponseDTO> result = cache.getBook(1L, () -> load(1L, "Título novo"));
+
+        // ASSERT
+        assertThat(result).get().extracting(BookResponseDTO::getTitle).isEqualTo("Título novo");
+        assertThat(loads).hasValue(2);
+
+        System.out.println("✅ Versão por entrada do cache executada COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Deve descartar as páginas de disponíveis a cada alteração no catálogo e não guardar livros inexistentes")
+    void getAvailablePage_WhenAnyBookChanges_ShouldReload() {
+        // ARRANGE
+        BookPageDTO page = new BookPageDTO(List.of(book(1L, "1984")), null);
+        AtomicInteger pageLoads = new AtomicInteger();
+
+        // ACT
+        cache.getAvailablePage(null, 50, "id", () -> { pageLoads.incrementAndGet(); return page; });
+        cache.getAvailablePage(null, 50, "id", () -> { pageLoads.incrementAndGet(); return page; });
+        cache.invalidate(List.of(42L));
+        cache.getAvailablePage(null, 50, "id", () -> { pageLoads.incrementAndGet(); return page; });
+        cache.getBook(7L, Optional::empty);
+
+        // ASSERT
+        assertThat(pageLoads).hasValue(2);
+        assertThat(cache.getBook(7L, () -> load(7L, "Novo livro"))).isPresent();
+        assertThat(loads).hasValue(1);
+
+        System.out.println("✅ Invalidação das páginas de disponíveis executada COM SUCESSO!");
+    }
+}
@@ -0,0 +1,47 @@
+package com.project2025.digital_library_platform.cache;
+
+import com.project2025.digital_library_platform.DTOs.DomainChangeMessage;
+import com.project2025.digital_library_platform.index.BookIndexer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.util.List;
+
+import static org.mockito.Mockito.inOrder;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogCacheSyncTest {
+
+    @Mock
+    private BookCache bookCache;
+    @Mock
+    private BookIndexer bookIndexer;
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @InjectMocks
+    private CatalogCacheSync catalogCacheSync;
+
+    @Test
+    @DisplayName("Deve reindexar os livros alterados em outra instância antes de invalidar o cache")
+    void onRemoteChange_ShouldReindexThenInvalidate() {
+        // ARRANGE
+        List<Long> bookIds = List.of(3L, 7L);
+
+        // ACT
+        catalogCacheSync.onRemoteChange(new DomainChangeMessage("outra-instancia", "BOOK_CREATED", bookIds));
+
+        // ASSERT
+        InOrder order = inOrder(bookIndexer, bookCache);
+        order.verify(bookIndexer).reindexAll(bookIds);
+        order.verify(bookCache).invalidate(bookIds);
+
+        System.out.println("✅ Reindexação de alteração remota executada COM SUCESSO!");
+    }
+}
@@ -0,0 +1,29 @@
+package com.project2025.digital_library_platform.cache;
+
+import com.project2025.digital_library_platform.cache.IdempotencyCache.StoredResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyCacheTest {
+
+    private final IdempotencyCache cache = new IdempotencyCache();
+
+    @Test
+    @DisplayName("Cada resposta deve expirar no prazo da sua linha em idempotency_keys")
+    void get_ShouldHonourEachEntryExpiry() {
+        // ARRANGE
+        StoredResponse response = new StoredResponse("0".repeat(64), 201, "application/json", new byte[0]);
+        cache.put("valida", response, LocalDateTime.now().plusHours(1));
+        cache.put("expirada", response, LocalDateTime.now().minusSeconds(1));
+
+        // ACT & ASSERT
+        assertThat(cache.get("valida")).isSameAs(response);
+        assertThat(cache.get("expirada")).isNull();
+
+        System.out.println("✅ Expiração por resposta do cache de idempotência executada COM SUCESSO!");
+    }
+}
@@ -0,0 +1,52 @@
+package com.project2025.digital_library_platform.entity.book;
+
+import com.project2025.digital_library_platform.exception.BusinessException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IsbnTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"8535902775", "85-359-0277-5", "9788535902778", "978-85-359-0277-8", "978 85 359 0277 8"})
+    @DisplayName("Deve converter ISBN-10 e ISBN-13 do mesmo livro para a mesma chave")
+    void parseKey_ShouldCanonicalizeToIsbn13(String isbn) {
+        assertThat(Isbn.parseKey(isbn)).isEqualTo(9788535902778L);
+
+        System.out.println("✅ Chave canônica de '" + isbn + "' calculada COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Deve aceitar X como dígito verificador do ISBN-10")
+    void parseKey_ShouldAcceptXCheckDigit() {
+        long key = Isbn.parseKey("0-8044-2957-X");
+
+        assertThat(key).isEqualTo(9780804429573L);
+        assertThat(Isbn.toIsbn10(key)).isEqualTo("080442957X");
+
+        System.out.println("✅ ISBN-10 com dígito X convertido COM SUCESSO!");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "5454545454", "545454524", "9788535902779", "9771234567003", "85359X0277", "97885359027780"})
+    @DisplayName("Deve rejeitar ISBN com formato, prefixo ou dígito verificador inválido")
+    void parseKey_InvalidIsbn_ShouldReturnInvalid(String isbn) {
+        assertThat(Isbn.parseKey(isbn)).isEqualTo(Isbn.INVALID);
+        assertThrows(BusinessException.class, () -> Isbn.toKey(isbn));
+
+        System.out.println("✅ ISBN inválido '" + isbn + "' rejeitado CORRETAMENTE!");
+    }
+
+    @Test
+    @DisplayName("Não deve gerar ISBN-10 para ISBN-13 com prefixo 979")
+    void toIsbn10_Prefix979_ShouldReturnNull() {
+        assertThat(Isbn.toIsbn10(9790000000001L)).isNull();
+        assertThat(Isbn.toIsbn13(9790000000001L)).isEqualTo("9790000000001");
+
+        System.out.println("✅ Prefixo 979 tratado CORRETAMENTE!");
+    }
+}
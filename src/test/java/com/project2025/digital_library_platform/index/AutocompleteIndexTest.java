@@ -0,0 +1,80 @@
+package com.project2025.digital_library_platform.index;
+
+import com.project2025.digital_library_platform.entity.book.Book;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AutocompleteIndexTest {
+
+    private AutocompleteIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new AutocompleteIndex();
+        index.index(book(1L, "Dom Quixote", "Miguel de Cervantes"));
+        index.index(book(2L, "Dom Casmurro", "Machado de Assis"));
+        index.index(book(3L, "Memórias Póstumas de Brás Cubas", "Machado de Assis"));
+        index.markReady();
+    }
+
+    private Book book(Long id, String title, String authors) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle(title);
+        book.setAuthors(authors);
+        return book;
+    }
+
+    @Test
+    @DisplayName("Deve sugerir títulos e autores pelo início de qualquer palavra, ignorando acentos")
+    void suggest_ShouldMatchWordPrefixes() {
+        assertThat(index.suggest("dom", 10))
+                .extracting(AutocompleteIndex.Suggestion::text)
+                .containsExactly("Dom Casmurro", "Dom Quixote");
+        assertThat(index.suggest("quix", 10))
+                .extracting(AutocompleteIndex.Suggestion::bookId)
+                .containsExactly(1L);
+        assertThat(index.suggest("BRAS cu", 10))
+                .extracting(AutocompleteIndex.Suggestion::text)
+                .containsExactly("Memórias Póstumas de Brás Cubas");
+        assertThat(index.suggest("mach", 10)).singleElement()
+                .satisfies(suggestion -> assertThat(suggestion.kind()).isEqualTo(AutocompleteIndex.Kind.AUTHOR));
+
+        System.out.println("✅ Sugestões por prefixo executadas COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Deve ordenar sugestões pelos livros mais emprestados")
+    void suggest_ShouldRankByLoans() {
+        // ACT
+        index.addLoans(1L, 3);
+
+        // ASSERT
+        assertThat(index.suggest("dom", 10))
+                .extracting(AutocompleteIndex.Suggestion::text)
+                .containsExactly("Dom Quixote", "Dom Casmurro");
+        assertThat(index.suggest("dom", 1)).hasSize(1);
+
+        System.out.println("✅ Ranqueamento por popularidade executado COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Deve remover sugestões antigas quando o livro é reindexado")
+    void index_UpdatedTitle_ShouldReplaceSuggestions() {
+        // ACT
+        index.index(book(2L, "Helena", "Machado de Assis"));
+
+        // ASSERT
+        assertThat(index.suggest("casm", 10)).isEmpty();
+        assertThat(index.suggest("hel", 10))
+                .extracting(AutocompleteIndex.Suggestion::bookId)
+                .containsExactly(2L);
+        assertThat(index.suggest("machado", 10)).singleElement()
+                .satisfies(suggestion -> assertThat(suggestion.weight()).isEqualTo(2));
+
+        System.out.println("✅ Reindexação do autocomplete executada COM SUCESSO!");
+    }
+}
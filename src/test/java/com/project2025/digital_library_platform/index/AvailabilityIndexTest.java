@@ -0,0 +1,68 @@
+package com.project2025.digital_library_platform.index;
+
+import com.project2025.digital_library_platform.entity.book.Book;
+import com.project2025.digital_library_platform.entity.book.Status;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AvailabilityIndexTest {
+
+    private AvailabilityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new AvailabilityIndex();
+        for (long id = 1; id <= 10; id++) {
+            index.index(book(id, id % 3 == 0 ? Status.UNAVAILABLE : Status.AVAILABLE));
+        }
+        index.markReady();
+    }
+
+    private Book book(Long id, Status status) {
+        Book book = new Book();
+        book.setId(id);
+        book.setStatus(status);
+        return book;
+    }
+
+    @Test
+    @DisplayName("Deve contar e paginar por ID apenas os livros disponíveis")
+    void page_ShouldSeekAfterIdOverAvailableBooks() {
+        assertThat(index.count()).isEqualTo(7);
+        assertThat(index.page(0L, 3)).containsExactly(1L, 2L, 4L);
+        assertThat(index.page(4L, 3)).containsExactly(5L, 7L, 8L);
+        assertThat(index.page(8L, 3)).containsExactly(10L);
+        assertThat(index.page(10L, 3)).isEmpty();
+
+        System.out.println("✅ Paginação pelo bitmap de disponíveis executada COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Deve refletir empréstimo, devolução e desativação do livro")
+    void index_WhenStatusChanges_ShouldUpdateMembership() {
+        // ARRANGE
+        Book borrowed = book(1L, Status.AVAILABLE);
+        borrowed.borrow();
+        Book returned = book(3L, Status.LOANED);
+        returned.toReturn();
+        Book withdrawn = book(2L, Status.AVAILABLE);
+        withdrawn.markAsUnavailable();
+
+        // ACT
+        index.index(borrowed);
+        index.index(returned);
+        index.index(withdrawn);
+
+        // ASSERT
+        assertThat(index.isAvailable(1L)).isFalse();
+        assertThat(index.isAvailable(2L)).isFalse();
+        assertThat(index.isAvailable(3L)).isTrue();
+        assertThat(index.isAvailable(999L)).isFalse();
+        assertThat(index.count()).isEqualTo(6);
+
+        System.out.println("✅ Atualização do bitmap de disponíveis executada COM SUCESSO!");
+    }
+}
@@ -0,0 +1,110 @@
+package com.project2025.digital_library_platform.index;
+
+import com.project2025.digital_library_platform.entity.book.Book;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogSearchIndexTest {
+
+    private CatalogSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CatalogSearchIndex();
+        index.index(book(1L, "Dom Quixote", "Miguel de Cervantes"));
+        index.index(book(2L, "Dom Casmurro", "Machado de Assis"));
+        index.index(book(3L, "O Cortiço", "Aluísio Azevedo"));
+        index.markReady();
+    }
+
+    private Book book(Long id, String title, String authors) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle(title);
+        book.setAuthors(authors);
+        return book;
+    }
+
+    @Test
+    @DisplayName("Deve buscar por termos do título ignorando caixa e acentos")
+    void searchTitle_ShouldIgnoreCaseAndAccents() {
+        assertThat(index.searchTitle("dom")).containsExactly(1L, 2L);
+        assertThat(index.searchTitle("CORTICO")).containsExactly(3L);
+        assertThat(index.searchTitle("dom quix")).containsExactly(1L);
+        assertThat(index.searchTitle("capitu")).isEmpty();
+
+        System.out.println("✅ Busca por título no índice executada COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Deve buscar por autor")
+    void searchAuthor_ShouldMatchAuthorTerms() {
+        assertThat(index.searchAuthor("machado")).containsExactly(2L);
+        assertThat(index.searchAuthor("aluisio")).containsExactly(3L);
+
+        System.out.println("✅ Busca por autor no índice executada COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Deve remover os termos antigos ao reindexar um livro alterado")
+    void index_WhenBookUpdated_ShouldReplaceOldTerms() {
+        // ACT
+        index.index(book(2L, "Memórias Póstumas de Brás Cubas", "Machado de Assis"));
+
+        // ASSERT
+        assertThat(index.searchTitle("casmurro")).isEmpty();
+        assertThat(index.searchTitle("bras cubas")).containsExactly(2L);
+        assertThat(index.searchTitle("dom")).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(3);
+
+        System.out.println("✅ Reindexação executada COM SUCESSO!");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"Quixote", "quixote", "Quixóte", "Quixtoe", "Quijote"})
+    @DisplayName("Deve encontrar o livro com variações de acento, caixa e erros de digitação")
+    void search_ShouldTolerateAccentsAndTypos(String query) {
+        assertThat(index.search(query, 10))
+                .first()
+                .extracting(CatalogSearchIndex.SearchHit::bookId)
+                .isEqualTo(1L);
+
+        System.out.println("✅ Busca aproximada por '" + query + "' executada COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Deve ranquear correspondência exata acima de correspondência aproximada")
+    void search_ShouldRankExactMatchesFirst() {
+        // ARRANGE
+        index.index(book(4L, "O Cortiso", "Autor Fictício"));
+
+        // ACT
+        var hits = index.search("cortico", 10);
+
+        // ASSERT
+        assertThat(hits).extracting(CatalogSearchIndex.SearchHit::bookId).containsExactly(3L, 4L);
+        assertThat(hits.get(0).score()).isGreaterThan(hits.get(1).score());
+
+        System.out.println("✅ Ranqueamento da busca aproximada executado COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Deve encontrar palavras curtas com letras trocadas de lugar")
+    void search_WhenShortWordTransposed_ShouldFindBook() {
+        // ARRANGE
+        index.index(book(5L, "Amor de Perdição", "Camilo Castelo Branco"));
+
+        // ACT
+        var hits = index.search("aomr", 10);
+
+        // ASSERT
+        assertThat(hits).extracting(CatalogSearchIndex.SearchHit::bookId).contains(5L);
+
+        System.out.println("✅ Busca com transposição em palavra curta executada COM SUCESSO!");
+    }
+}
@@ -0,0 +1,89 @@
+package com.project2025.digital_library_platform.index;
+
+import com.project2025.digital_library_platform.repositories.LoanRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class CoBorrowRecommenderTest {
+
+    private CoBorrowRecommender recommender;
+
+    @BeforeEach
+    void setUp() {
+        recommender = new CoBorrowRecommender(mock(LoanRepository.class));
+    }
+
+    @Test
+    @DisplayName("Deve recomendar os livros emprestados pelos mesmos usuários, dos mais frequentes para os menos")
+    void recommend_ShouldRankByCoBorrowCount() {
+        // ARRANGE
+        recommender.recordLoan(1L, 10L);
+        recommender.recordLoan(1L, 20L);
+        recommender.recordLoan(1L, 30L);
+        recommender.recordLoan(2L, 10L);
+        recommender.recordLoan(2L, 30L);
+        recommender.recordLoan(3L, 30L);
+        recommender.recordLoan(3L, 10L);
+        recommender.recordLoan(3L, 10L); // reempréstimo não conta de novo
+
+        // ACT
+        List<CoBorrowRecommender.Recommendation> result = recommender.recommend(10L, 5);
+
+        // ASSERT
+        assertThat(result).containsExactly(
+                new CoBorrowRecommender.Recommendation(30L, 3),
+                new CoBorrowRecommender.Recommendation(20L, 1));
+        assertThat(recommender.recommend(20L, 1)).containsExactly(new CoBorrowRecommender.Recommendation(10L, 1));
+        assertThat(recommender.recommend(99L, 5)).isEmpty();
+
+        System.out.println("✅ Recomendação por co-ocorrência executada COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("A lista incremental dos N vizinhos deve coincidir com a contagem completa dos pares")
+    void recommend_ShouldMatchFullRecount() {
+        // ARRANGE
+        Random random = new Random(42);
+        Map<Long, Set<Long>> history = new HashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            long user = 1 + random.nextInt(500);
+            long book = 1 + random.nextInt(200);
+            recommender.recordLoan(user, book);
+            history.computeIfAbsent(user, id -> new HashSet<>()).add(book);
+        }
+
+        // ACT & ASSERT
+        for (long book = 1; book <= 200; book++) {
+            Map<Long, Long> counts = new HashMap<>();
+            for (Set<Long> books : history.values()) {
+                if (books.contains(book)) {
+                    for (Long other : books) {
+                        if (other != book) {
+                            counts.merge(other, 1L, Long::sum);
+                        }
+                    }
+                }
+            }
+            List<CoBorrowRecommender.Recommendation> expected = counts.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                    .limit(CoBorrowRecommender.TOP_N)
+                    .map(entry -> new CoBorrowRecommender.Recommendation(entry.getKey(), entry.getValue()))
+                    .toList();
+
+            assertThat(recommender.recommend(book, CoBorrowRecommender.TOP_N)).isEqualTo(expected);
+        }
+
+        System.out.println("✅ Vizinhos pré-calculados conferidos COM SUCESSO!");
+    }
+}
@@ -0,0 +1,72 @@
+package com.project2025.digital_library_platform.index;
+
+import com.project2025.digital_library_platform.entity.book.Book;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DuplicateFilterTest {
+
+    private DuplicateFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new DuplicateFilter();
+    }
+
+    private Book book(Long isbnKey, String title, String googleBooksId) {
+        Book book = new Book();
+        book.setIsbnKey(isbnKey);
+        book.setTitle(title);
+        book.setGoogleBooksId(googleBooksId);
+        return book;
+    }
+
+    @Test
+    @DisplayName("Deve reconhecer ISBN e Google Books ID indexados, este ignorando caixa")
+    void mightContain_ShouldMatchNormalizedKeys() {
+        // ARRANGE
+        filter.index(book(9788535902778L, "As Walkírias", "gE0YAAAAYAAJ"));
+
+        // ACT & ASSERT
+        assertThat(filter.mightContainIsbn(9788535902778L)).isTrue();
+        assertThat(filter.mightContainGoogleBooksId("ge0yaaaayaaj")).isTrue();
+        assertThat(filter.mightContainIsbn(9788516038472L)).isFalse();
+        assertThat(filter.mightContainGoogleBooksId("outroId")).isFalse();
+
+        System.out.println("✅ Normalização das chaves do filtro executada COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Não deve ter falsos negativos e deve manter a taxa de falsos positivos ao crescer além da capacidade inicial")
+    void mightContain_AfterGrowing_ShouldKeepFalsePositiveRateLow() {
+        // ARRANGE
+        int books = 300_000;
+        for (long i = 0; i < books; i++) {
+            filter.index(book(9780000000000L + i * 10, "Livro " + i, "gb" + i));
+        }
+
+        // ACT
+        int missing = 0;
+        for (long i = 0; i < books; i++) {
+            if (!filter.mightContainIsbn(9780000000000L + i * 10) || !filter.mightContainGoogleBooksId("GB" + i)) {
+                missing++;
+            }
+        }
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (long i = 0; i < probes; i++) {
+            if (filter.mightContainIsbn(9790000000000L + i * 10)) {
+                falsePositives++;
+            }
+        }
+
+        // ASSERT
+        assertThat(missing).isZero();
+        assertThat((double) falsePositives / probes).isLessThan(0.02);
+
+        System.out.println("✅ Filtro de duplicidade sem falsos negativos executado COM SUCESSO!");
+    }
+}
@@ -0,0 +1,95 @@
+package com.project2025.digital_library_platform.index;
+
+import com.project2025.digital_library_platform.entity.book.Book;
+import com.project2025.digital_library_platform.entity.book.Status;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FacetIndexTest {
+
+    private FacetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new FacetIndex();
+        index.index(book(1L, "Rocco", "Machado de Assis", "10-05-1899", Status.AVAILABLE, true));
+        index.index(book(2L, "Rocco", "Machado de Assis, José de Alencar", "1865", Status.LOANED, true));
+        index.index(book(3L, "Companhia das Letras", "Clarice Lispector", "1977-01-01", Status.AVAILABLE, true));
+        index.index(book(4L, "Companhia das Letras", "Clarice Lispector", null, Status.UNAVAILABLE, false));
+        index.markReady();
+    }
+
+    private Book book(Long id, String publisher, String authors, String publishedDate, Status status, boolean active) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle("Livro " + id);
+        book.setPublisher(publisher);
+        book.setAuthors(authors);
+        book.setPublishedDate(publishedDate);
+        book.setStatus(status);
+        book.setActive(active);
+        return book;
+    }
+
+    @Test
+    @DisplayName("Deve contar livros por valor de cada faceta sem filtros")
+    void query_WithoutFilters_ShouldCountEveryFacet() {
+        // ACT
+        var result = index.query(Map.of(), 0, 10, 20);
+
+        // ASSERT
+        assertThat(result.total()).isEqualTo(4);
+        assertThat(result.bookIds()).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(result.facets().get(BookFacet.AUTHOR)).containsExactly(
+                new FacetIndex.FacetCount("Clarice Lispector", 2),
+                new FacetIndex.FacetCount("Machado de Assis", 2),
+                new FacetIndex.FacetCount("José de Alencar", 1));
+        assertThat(result.facets().get(BookFacet.YEAR))
+                .extracting(FacetIndex.FacetCount::value)
+                .containsExactly("1865", "1899", "1977");
+
+        System.out.println("✅ Contagem de facetas executada COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Deve combinar filtros com AND entre facetas e ignorar o filtro da própria faceta na contagem")
+    void query_WithFilters_ShouldIntersectFacets() {
+        // ACT
+        var result = index.query(Map.of(
+                BookFacet.PUBLISHER, Set.of("rocco"),
+                BookFacet.STATUS, Set.of("available")), 0, 10, 20);
+
+        // ASSERT
+        assertThat(result.total()).isEqualTo(1);
+        assertThat(result.bookIds()).containsExactly(1L);
+        // Status conta sobre "editora = Rocco", permitindo trocar a seleção de status
+        assertThat(result.facets().get(BookFacet.STATUS)).containsExactly(
+                new FacetIndex.FacetCount("AVAILABLE", 1),
+                new FacetIndex.FacetCount("LOANED", 1));
+
+        System.out.println("✅ Filtro combinado de facetas executado COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Deve mover o livro de faceta quando o status muda")
+    void index_StatusChange_ShouldUpdateCounts() {
+        // ACT
+        index.index(book(2L, "Rocco", "Machado de Assis, José de Alencar", "1865", Status.AVAILABLE, true));
+        var result = index.query(Map.of(BookFacet.STATUS, Set.of("AVAILABLE")), 1, 10, 20);
+
+        // ASSERT
+        assertThat(result.total()).isEqualTo(3);
+        assertThat(result.bookIds()).containsExactly(2L, 3L);
+        assertThat(result.facets().get(BookFacet.STATUS))
+                .extracting(FacetIndex.FacetCount::value)
+                .doesNotContain("LOANED");
+
+        System.out.println("✅ Atualização de facetas após mudança de status executada COM SUCESSO!");
+    }
+}
@@ -0,0 +1,95 @@
+package com.project2025.digital_library_platform.index;
+
+import com.project2025.digital_library_platform.entity.book.Book;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FullTextIndexTest {
+
+    @TempDir
+    Path indexDir;
+
+    private FullTextIndex index;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        index = new FullTextIndex(indexDir.toString());
+        index.index(book(1L, "1984", "George Orwell",
+                "Romance distópico sobre um governo totalitário que vigia e controla todos os cidadãos."));
+        index.index(book(2L, "A Revolução dos Bichos", "George Orwell",
+                "Fábula sobre animais que expulsam o fazendeiro e acabam sob a tirania dos porcos."));
+        index.index(book(3L, "Cozinha Brasileira", "Ana Maria",
+                "Receitas tradicionais de todas as regiões do Brasil."));
+        index.markReady();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        index.close();
+    }
+
+    private Book book(Long id, String title, String authors, String description) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle(title);
+        book.setAuthors(authors);
+        book.setDescription(description);
+        return book;
+    }
+
+    @Test
+    @DisplayName("Deve encontrar livros pelo assunto da descrição, com plurais e acentos diferentes da consulta")
+    void search_ShouldMatchDescriptionWithPortugueseAnalysis() {
+        assertThat(index.search("governos totalitarios", 10))
+                .extracting(FullTextIndex.SearchHit::bookId)
+                .containsExactly(1L);
+        assertThat(index.search("receita", 10))
+                .extracting(FullTextIndex.SearchHit::bookId)
+                .containsExactly(3L);
+        assertThat(index.search("de que os", 10)).isEmpty();
+
+        System.out.println("✅ Busca textual na descrição executada COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Deve ranquear com BM25 dando mais peso ao título e aos autores que à descrição")
+    void search_ShouldRankTitleAboveDescription() {
+        // ARRANGE
+        index.index(book(4L, "Tirania", "Timothy Snyder", "Vinte lições para resistir ao autoritarismo."));
+        index.flush();
+
+        // ACT & ASSERT
+        assertThat(index.search("tirania", 10))
+                .extracting(FullTextIndex.SearchHit::bookId)
+                .containsExactly(4L, 2L);
+        assertThat(index.search("orwell", 10))
+                .extracting(FullTextIndex.SearchHit::title)
+                .containsExactlyInAnyOrder("1984", "A Revolução dos Bichos");
+
+        System.out.println("✅ Ranqueamento BM25 executado COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Deve substituir o documento anterior ao reindexar um livro")
+    void index_WhenBookChanges_ShouldReplacePreviousDocument() {
+        // ARRANGE
+        index.index(book(3L, "Cozinha Brasileira", "Ana Maria", "Pratos típicos do Nordeste."));
+        index.flush();
+
+        // ACT & ASSERT
+        assertThat(index.search("receitas", 10)).isEmpty();
+        assertThat(index.search("nordeste", 10))
+                .extracting(FullTextIndex.SearchHit::bookId)
+                .containsExactly(3L);
+
+        System.out.println("✅ Reindexação no índice textual executada COM SUCESSO!");
+    }
+}
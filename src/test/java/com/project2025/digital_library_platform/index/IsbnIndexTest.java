@@ -0,0 +1,79 @@
+package com.project2025.digital_library_platform.index;
+
+import com.project2025.digital_library_platform.entity.book.Book;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IsbnIndexTest {
+
+    private IsbnIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new IsbnIndex();
+    }
+
+    private Book book(Long id, Long isbnKey) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle("Livro " + id);
+        book.setIsbnKey(isbnKey);
+        return book;
+    }
+
+    @Test
+    @DisplayName("Deve encontrar o livro pela chave ISBN e acompanhar a troca de ISBN")
+    void findBookId_ShouldFollowReindexing() {
+        // ARRANGE
+        index.index(book(1L, 9788535902778L));
+        index.index(book(2L, 9788516038472L));
+
+        // ACT
+        index.index(book(1L, 9788575224843L));
+
+        // ASSERT
+        assertThat(index.findBookId(9788535902778L)).isEqualTo(IsbnIndex.NOT_FOUND);
+        assertThat(index.findBookId(9788575224843L)).isEqualTo(1L);
+        assertThat(index.findBookId(9788516038472L)).isEqualTo(2L);
+        assertThat(index.size()).isEqualTo(2);
+
+        System.out.println("✅ Reindexação de ISBN executada COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Deve remover o livro do índice quando o ISBN é apagado")
+    void index_WithoutIsbn_ShouldRemovePreviousKey() {
+        // ARRANGE
+        index.index(book(1L, 9788535902778L));
+
+        // ACT
+        index.index(book(1L, null));
+
+        // ASSERT
+        assertThat(index.findBookId(9788535902778L)).isEqualTo(IsbnIndex.NOT_FOUND);
+        assertThat(index.size()).isZero();
+
+        System.out.println("✅ Remoção de ISBN do índice executada COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Deve manter todas as chaves ao crescer a tabela")
+    void index_ManyBooks_ShouldSurviveRehash() {
+        // ARRANGE
+        long base = 9780000000000L;
+        for (long id = 1; id <= 5_000; id++) {
+            index.index(book(id, base + id * 10));
+        }
+
+        // ASSERT
+        for (long id = 1; id <= 5_000; id++) {
+            assertThat(index.findBookId(base + id * 10)).isEqualTo(id);
+        }
+        assertThat(index.size()).isEqualTo(5_000);
+
+        System.out.println("✅ Crescimento da tabela de ISBNs executado COM SUCESSO!");
+    }
+}
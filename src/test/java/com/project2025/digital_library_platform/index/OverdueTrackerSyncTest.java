@@ -0,0 +1,74 @@
+package com.project2025.digital_library_platform.index;
+
+import com.project2025.digital_library_platform.DTOs.DomainChangeMessage;
+import com.project2025.digital_library_platform.events.LoanBatchEvent;
+import com.project2025.digital_library_platform.repositories.LoanRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OverdueTrackerSyncTest {
+
+    @Mock
+    private OverdueTracker overdueTracker;
+    @Mock
+    private LoanRepository loanRepository;
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @InjectMocks
+    private OverdueTrackerSync overdueTrackerSync;
+
+    @Test
+    @DisplayName("Deve avisar as outras instâncias dos empréstimos devolvidos no lote")
+    void onLoanBatch_WhenReturn_ShouldPublishClosedLoans() {
+        // ARRANGE
+        LoanBatchEvent event = new LoanBatchEvent(LoanBatchEvent.Kind.RETURN, 1L, List.of(5L, 6L), List.of(50L, 60L),
+                null, List.of());
+
+        // ACT
+        overdueTrackerSync.onLoanBatch(event);
+
+        // ASSERT
+        ArgumentCaptor<DomainChangeMessage> message = ArgumentCaptor.forClass(DomainChangeMessage.class);
+        verify(rabbitTemplate).convertAndSend(eq("library.events"), eq(OverdueTrackerSync.ROUTING_KEY), message.capture());
+        assertThat(message.getValue().type()).isEqualTo(OverdueTrackerSync.LOANS_CLOSED);
+        assertThat(message.getValue().ids()).containsExactly(5L, 6L);
+
+        System.out.println("✅ Aviso de devoluções às outras instâncias executado COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Deve ler do banco o prazo dos empréstimos abertos em outra instância")
+    void onRemoteChange_WhenOpened_ShouldTrackDeadlinesFromDatabase() {
+        // ARRANGE
+        List<LoanRepository.LoanDeadline> deadlines =
+                List.of(new LoanRepository.LoanDeadline(7L, LocalDateTime.of(2025, 8, 15, 10, 0)));
+        when(loanRepository.findOpenDeadlinesByIdIn(List.of(7L, 8L))).thenReturn(deadlines);
+
+        // ACT
+        overdueTrackerSync.onRemoteChange(
+                new DomainChangeMessage("outra-instancia", OverdueTrackerSync.LOANS_OPENED, List.of(7L, 8L)));
+
+        // ASSERT
+        verify(overdueTracker).onRemoteOpened(deadlines);
+        verify(overdueTracker, never()).onRemoteClosed(List.of(7L, 8L));
+
+        System.out.println("✅ Empréstimos abertos em outra instância controlados COM SUCESSO!");
+    }
+}
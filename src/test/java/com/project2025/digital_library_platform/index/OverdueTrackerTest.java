@@ -0,0 +1,144 @@
+package com.project2025.digital_library_platform.index;
+
+import com.project2025.digital_library_platform.events.LoanClosedEvent;
+import com.project2025.digital_library_platform.events.LoanCreatedEvent;
+import com.project2025.digital_library_platform.repositories.LoanRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OverdueTrackerTest {
+
+    private static final ZoneId ZONE = ZoneOffset.UTC;
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 8, 1, 10, 0);
+
+    private final LoanRepository loanRepository = mock(LoanRepository.class);
+    private OverdueTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new OverdueTracker(loanRepository, Clock.fixed(NOW.atZone(ZONE).toInstant(), ZONE));
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracker.close();
+    }
+
+    private static long at(LocalDateTime time) {
+        return time.atZone(ZONE).toInstant().toEpochMilli();
+    }
+
+    private void loan(long loanId, LocalDateTime returnDate) {
+        tracker.onLoanCreated(new LoanCreatedEvent(loanId, 100 + loanId, 1L, returnDate));
+    }
+
+    @Test
+    @DisplayName("Deve mover os empréstimos para os vencidos exatamente no prazo, em ordem de prazo")
+    void overdueAt_ShouldExpireLoansWhenTheirDeadlinePasses() {
+        // ARRANGE
+        loan(1L, NOW.plusDays(1));
+        loan(2L, NOW.plusDays(2));
+        loan(3L, NOW.minusHours(1));
+
+        // ACT + ASSERT
+        assertThat(tracker.overdueAt(at(NOW))).containsExactly(3L);
+        assertThat(tracker.overdueAt(at(NOW.plusDays(1)) - 1)).containsExactly(3L);
+        assertThat(tracker.overdueAt(at(NOW.plusDays(1)))).containsExactly(3L, 1L);
+        assertThat(tracker.overdueAt(at(NOW.plusDays(3)))).containsExactly(3L, 1L, 2L);
+        assertThat(tracker.overdueCount()).isEqualTo(3);
+
+        System.out.println("✅ Vencimento dos empréstimos no prazo executado COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Devolução e cancelamento devem tirar o empréstimo do controle, vencido ou não")
+    void onLoanClosed_ShouldForgetLoan() {
+        // ARRANGE
+        loan(1L, NOW.minusDays(1));
+        loan(2L, NOW.plusDays(1));
+        loan(3L, NOW.plusDays(2));
+
+        // ACT
+        tracker.onLoanClosed(new LoanClosedEvent(1L, 101L, 1L, NOW.minusDays(15), false, true));
+        tracker.onLoanClosed(new LoanClosedEvent(2L, 102L, 1L, NOW.minusDays(13), true, false));
+
+        // ASSERT
+        assertThat(tracker.overdueAt(at(NOW.plusDays(30)))).containsExactly(3L);
+
+        System.out.println("✅ Remoção de empréstimos encerrados executada COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Deve carregar os prazos em aberto no boot sem desfazer devoluções recebidas durante a carga")
+    void load_ShouldTrackOpenLoansAndSkipLoansClosedMeanwhile() {
+        // ARRANGE
+        tracker.onLoanClosed(new LoanClosedEvent(2L, 102L, 1L, NOW.minusDays(15), false, false));
+        when(loanRepository.streamOpenLoanDeadlines()).thenReturn(Stream.of(
+                deadline(1L, NOW.minusDays(2)),
+                deadline(2L, NOW.minusDays(1)),
+                deadline(3L, NOW.plusDays(5))));
+
+        // ACT
+        tracker.load();
+
+        // ASSERT
+        assertThat(tracker.isReady()).isTrue();
+        assertThat(tracker.overdueLoanIds()).containsExactly(1L);
+        assertThat(tracker.overdueAt(at(NOW.plusDays(5)))).containsExactly(1L, 3L);
+
+        System.out.println("✅ Carga inicial do controle de vencidos executada COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Deve descartar o estado local e reler os prazos do banco ao recarregar")
+    void reload_ShouldReplaceStateWithDatabaseDeadlines() {
+        // ARRANGE
+        when(loanRepository.streamOpenLoanDeadlines())
+                .thenReturn(Stream.of(deadline(1L, NOW.minusDays(1)), deadline(2L, NOW.minusDays(2))))
+                .thenReturn(Stream.of(deadline(2L, NOW.minusDays(2)), deadline(4L, NOW.minusHours(1))));
+        tracker.load();
+
+        // ACT
+        tracker.reload();
+
+        // ASSERT
+        assertThat(tracker.isReady()).isTrue();
+        assertThat(tracker.overdueLoanIds()).containsExactly(2L, 4L);
+
+        System.out.println("✅ Recarga do controle de vencidos executada COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Deve controlar os empréstimos abertos e esquecer os encerrados em outras instâncias")
+    void onRemoteChanges_ShouldTrackAndForgetLoans() {
+        // ARRANGE
+        loan(1L, NOW.minusDays(1));
+
+        // ACT
+        tracker.onRemoteOpened(List.of(deadline(2L, NOW.minusHours(2)), deadline(3L, NOW.plusDays(1))));
+        tracker.onRemoteClosed(List.of(1L));
+
+        // ASSERT
+        assertThat(tracker.overdueLoanIds()).containsExactly(2L);
+        assertThat(tracker.overdueAt(at(NOW.plusDays(1)))).containsExactly(2L, 3L);
+
+        System.out.println("✅ Alterações remotas no controle de vencidos executadas COM SUCESSO!");
+    }
+
+    private static LoanRepository.LoanDeadline deadline(Long loanId, LocalDateTime returnDate) {
+        return new LoanRepository.LoanDeadline(loanId, returnDate);
+    }
+}
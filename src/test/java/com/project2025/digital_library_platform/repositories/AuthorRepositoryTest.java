@@ -0,0 +1,43 @@
+package com.project2025.digital_library_platform.repositories;
+
+import com.project2025.digital_library_platform.support.DatabaseTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * "Busca ou cria" dos autores quando a collation do banco iguala chaves diferentes para a aplicação.
+ * O IGNORECASE do H2 faz o papel do utf8mb4_0900_ai_ci, que iguala "strauß" e "strauss".
+ */
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:authors;MODE=MySQL;DATABASE_TO_LOWER=TRUE;IGNORECASE=TRUE")
+class AuthorRepositoryTest extends DatabaseTest {
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Test
+    @DisplayName("Deve devolver um ID para cada chave, inclusive as que o banco considera iguais a outra")
+    void findOrCreate_WhenKeysCollateEqual_ShouldResolveEveryKey() {
+        // ARRANGE
+        Map<String, Long> existing = authorRepository.findOrCreate(Map.of("johann strauss", "Johann Strauss"));
+        Map<String, String> names = new LinkedHashMap<>();
+        names.put("JOHANN STRAUSS", "JOHANN STRAUSS");
+        names.put("richard wagner", "Richard Wagner");
+
+        // ACT
+        Map<String, Long> ids = authorRepository.findOrCreate(names);
+
+        // ASSERT
+        assertThat(ids.get("JOHANN STRAUSS")).isEqualTo(existing.get("johann strauss"));
+        assertThat(ids.get("richard wagner")).isNotNull();
+        assertThat(authorRepository.count()).isEqualTo(2);
+
+        System.out.println("✅ Autores iguais na collation do banco resolvidos COM SUCESSO!");
+    }
+}
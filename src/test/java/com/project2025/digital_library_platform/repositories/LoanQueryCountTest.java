@@ -0,0 +1,161 @@
+package com.project2025.digital_library_platform.repositories;
+
+import com.project2025.digital_library_platform.DTOs.loanDtos.LoanResponseDTO;
+import com.project2025.digital_library_platform.cache.UserLoanCounterCache;
+import com.project2025.digital_library_platform.entity.Loan;
+import com.project2025.digital_library_platform.entity.book.Book;
+import com.project2025.digital_library_platform.entity.book.Status;
+import com.project2025.digital_library_platform.entity.user.User;
+import com.project2025.digital_library_platform.events.LoanCreatedEvent;
+import com.project2025.digital_library_platform.index.OverdueTracker;
+import com.project2025.digital_library_platform.services.LoanCounterService;
+import com.project2025.digital_library_platform.services.LoanService;
+import com.project2025.digital_library_platform.support.DatabaseTest;
+import com.project2025.digital_library_platform.support.TestUsers;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Garante que as listagens de empréstimos fazem um número fixo de consultas, qualquer que seja
+ * o número de empréstimos retornados (sem N+1 ao ler livro e usuário de cada empréstimo).
+ */
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({LoanService.class, LoanCounterService.class, UserLoanCounterCache.class, OverdueTracker.class})
+class LoanQueryCountTest extends DatabaseTest {
+
+    private static final int FEW_LOANS = 3;
+    private static final int MANY_LOANS = 60;
+
+    @Autowired
+    private LoanService loanService;
+    @Autowired
+    private LoanRepository loanRepository;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private OverdueTracker overdueTracker;
+
+    private Statistics statistics;
+    private User reader;
+    private int created;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        loanRepository.deleteAll();
+        bookRepository.deleteAll();
+        userRepository.deleteAll();
+        created = 0;
+        reader = userRepository.save(TestUsers.reader("leitor"));
+    }
+
+    // Metade dos empréstimos já venceu, todos são do mesmo leitor e cada um é de um livro diferente
+    private void createLoans(int total) {
+        LocalDateTime now = LocalDateTime.now();
+        while (created < total) {
+            Book book = new Book();
+            book.setTitle("Livro " + created);
+            book.setStatus(Status.LOANED);
+            book.setCreatedAt(now);
+            bookRepository.save(book);
+
+            LocalDateTime loanDate = now.minusDays(created % 2 == 0 ? 30 : 1);
+            Loan loan = loanRepository.save(Loan.builder()
+                    .book(book)
+                    .user(reader)
+                    .loanDate(loanDate)
+                    .returnDate(loanDate.plusDays(14))
+                    .returned(false)
+                    .build());
+            // O controle de vencidos já carregou no boot; recebe o mesmo evento que o LoanService publicaria
+            overdueTracker.onLoanCreated(new LoanCreatedEvent(loan.getId(), book.getId(), reader.getId(), loan.getReturnDate()));
+            created++;
+        }
+    }
+
+    private long statementsFor(Supplier<? extends List<?>> listing, int expectedSize) {
+        statistics.clear();
+        List<?> result = listing.get();
+        assertThat(result).hasSize(expectedSize);
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    @DisplayName("Listagens de empréstimos devem fazer o mesmo número de consultas para poucos e muitos resultados")
+    void loanListings_ShouldNotGrowStatementsWithResultSize() {
+        // ARRANGE
+        createLoans(FEW_LOANS);
+        long activeFew = statementsFor(loanService::findActiveLoans, FEW_LOANS);
+        long overdueFew = statementsFor(loanService::findOverDueLoans, (FEW_LOANS + 1) / 2);
+        long byUserFew = statementsFor(() -> loanService.findLoansByUser(reader.getId()), FEW_LOANS);
+
+        // ACT
+        createLoans(MANY_LOANS);
+        long activeMany = statementsFor(loanService::findActiveLoans, MANY_LOANS);
+        long overdueMany = statementsFor(loanService::findOverDueLoans, MANY_LOANS / 2);
+        long byUserMany = statementsFor(() -> loanService.findLoansByUser(reader.getId()), MANY_LOANS);
+
+        // ASSERT
+        assertThat(activeMany).isEqualTo(activeFew).isEqualTo(1);
+        assertThat(overdueMany).isEqualTo(overdueFew).isEqualTo(1);
+        // Usuário, empréstimos em aberto e empréstimos arquivados
+        assertThat(byUserMany).isEqualTo(byUserFew).isEqualTo(3);
+        assertThat(loanService.findLoansByUser(reader.getId())).allSatisfy((LoanResponseDTO loan) -> {
+            assertThat(loan.getBookTitle()).startsWith("Livro ");
+            assertThat(loan.getUserName()).isEqualTo("leitor");
+        });
+
+        System.out.println("✅ Contagem de consultas das listagens de empréstimos executada COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Consultas por entidade devem trazer livro e usuário no mesmo SELECT")
+    void entityFinders_ShouldFetchBookAndUserInOneStatement() {
+        // ARRANGE
+        createLoans(MANY_LOANS);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        // ACT
+        long active = statementsFor(() -> readOnly.execute(status -> touch(loanRepository.findByReturnedFalse())),
+                MANY_LOANS);
+        long byUser = statementsFor(() -> readOnly.execute(status -> touch(loanRepository.findAllByUserId(reader.getId()))),
+                MANY_LOANS);
+
+        // ASSERT
+        assertThat(active).isEqualTo(1);
+        assertThat(byUser).isEqualTo(1);
+
+        System.out.println("✅ Carga de livro e usuário com entity graph executada COM SUCESSO!");
+    }
+
+    // Lê as associações como o LoanConverter.toDto faz
+    private static List<Loan> touch(List<Loan> loans) {
+        loans.forEach(loan -> {
+            assertThat(loan.getBook().getTitle()).isNotNull();
+            assertThat(loan.getUser().getLogin()).isNotNull();
+        });
+        return loans;
+    }
+}
@@ -0,0 +1,136 @@
+package com.project2025.digital_library_platform.repositories;
+
+import com.project2025.digital_library_platform.DTOs.bookDtos.BookResponseDTO;
+import com.project2025.digital_library_platform.entity.book.Book;
+import com.project2025.digital_library_platform.entity.book.Status;
+import com.project2025.digital_library_platform.mappers.BookMapper;
+import com.project2025.digital_library_platform.support.DatabaseTest;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.mapstruct.factory.Mappers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara a leitura por entidade + mapper com a leitura por projeção direta no DTO.
+ * Mede bytes alocados pela thread e tempo por requisição; só roda com -Dbenchmark=true.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ReadPathBenchmarkTest extends DatabaseTest {
+
+    private static final int BOOKS = 2000;
+    private static final int PAGE_SIZE = 50;
+    private static final int WARMUP = 200;
+    private static final int ROUNDS = 1000;
+
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final BookMapper bookMapper = Mappers.getMapper(BookMapper.class);
+    private TransactionTemplate readOnly;
+    private final List<List<Long>> pages = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        if (bookRepository.count() == 0) {
+            String description = "Descrição longa do livro. ".repeat(200);
+            List<Book> books = new ArrayList<>(BOOKS);
+            for (int i = 1; i <= BOOKS; i++) {
+                Book book = new Book();
+                book.setTitle("Livro " + i);
+                book.setAuthors("Autor " + (i % 100));
+                book.setPublisher("Editora");
+                book.setDescription(description);
+                book.setPageCount(100 + i % 400);
+                book.setStatus(Status.AVAILABLE);
+                book.setCreatedAt(LocalDateTime.now());
+                books.add(book);
+            }
+            bookRepository.saveAll(books);
+        }
+
+        List<Long> ids = bookRepository.findAll().stream().map(Book::getId).sorted().toList();
+        pages.clear();
+        for (int from = 0; from < ids.size(); from += PAGE_SIZE) {
+            pages.add(ids.subList(from, Math.min(from + PAGE_SIZE, ids.size())));
+        }
+    }
+
+    @Test
+    @DisplayName("Projeção direta no DTO deve alocar menos que entidade + mapper")
+    void projection_ShouldAllocateLessThanEntityHydration() {
+        // ARRANGE
+        Supplier<List<BookResponseDTO>> entities = pageReader(ids -> {
+            List<BookResponseDTO> dtos = bookRepository.findAllById(ids).stream().map(bookMapper::toDto).toList();
+            entityManager.clear();
+            return dtos;
+        });
+        Supplier<List<BookResponseDTO>> projections = pageReader(bookRepository::findResponsesByIdIn);
+
+        // ACT
+        Measurement entityRun = measure(entities);
+        Measurement projectionRun = measure(projections);
+
+        // ASSERT
+        System.out.printf("Entidade + mapper: %,d bytes/requisição, %,d µs/requisição%n",
+                entityRun.bytesPerRequest(), entityRun.microsPerRequest());
+        System.out.printf("Projeção DTO:      %,d bytes/requisição, %,d µs/requisição%n",
+                projectionRun.bytesPerRequest(), projectionRun.microsPerRequest());
+        assertThat(projectionRun.bytesPerRequest()).isLessThan(entityRun.bytesPerRequest());
+
+        System.out.println("✅ Benchmark de leitura por projeção executado COM SUCESSO!");
+    }
+
+    //MÉTODOS AUXILIARES
+
+    private record Measurement(long bytesPerRequest, long microsPerRequest) {
+    }
+
+    private interface PageQuery {
+        List<BookResponseDTO> read(List<Long> ids);
+    }
+
+    // Cada chamada simula uma requisição: uma página de livros lida em transação somente leitura
+    private Supplier<List<BookResponseDTO>> pageReader(PageQuery query) {
+        int[] next = {0};
+        return () -> readOnly.execute(status -> query.read(pages.get(next[0]++ % pages.size())));
+    }
+
+    private Measurement measure(Supplier<List<BookResponseDTO>> request) {
+        for (int i = 0; i < WARMUP; i++) {
+            request.get();
+        }
+
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long bytesBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        long rows = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            rows += request.get().size();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - bytesBefore;
+
+        assertThat(rows).isEqualTo((long) ROUNDS * PAGE_SIZE);
+        return new Measurement(allocated / ROUNDS, elapsed / ROUNDS / 1_000);
+    }
+}
@@ -0,0 +1,207 @@
+package com.project2025.digital_library_platform.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project2025.digital_library_platform.cache.IdempotencyCache;
+import com.project2025.digital_library_platform.repositories.IdempotencyKeyRepository;
+import com.project2025.digital_library_platform.services.IdempotencyService;
+import com.project2025.digital_library_platform.support.DatabaseTest;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Idempotency-Key contra o banco (H2 em modo MySQL), com uma cadeia de filtros falsa no lugar do controller.
+ */
+@Import({IdempotencyService.class, IdempotencyCache.class})
+class IdempotencyFilterTest extends DatabaseTest {
+
+    private static final String LOAN_BODY = "{\"userId\":1,\"bookId\":2}";
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+    @Autowired
+    private IdempotencyKeyRepository keyRepository;
+
+    private IdempotencyFilter filter;
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        keyRepository.deleteAllInBatch();
+        filter = new IdempotencyFilter(idempotencyService, new ObjectMapper());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("bibliotecaria", null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static MockHttpServletRequest request(String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/loans/register");
+        request.setServletPath("/api/loans/register");
+        request.addHeader(IdempotencyFilter.HEADER, key);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private MockHttpServletResponse send(IdempotencyFilter target, String key, String body, int status) throws Exception {
+        MockHttpServletRequest request = request(key, body);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        FilterChain controller = (req, res) -> {
+            int execution = executions.incrementAndGet();
+            String received = new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            assertThat(received).isEqualTo(body);
+            ((HttpServletResponse) res).setStatus(status);
+            res.setContentType("application/json");
+            res.getWriter().write("{\"id\":" + execution + "}");
+        };
+        target.doFilter(request, response, controller);
+        return response;
+    }
+
+    @Test
+    @DisplayName("Deve responder a repetição com a resposta original, também a partir do banco, sem executar de novo")
+    void doFilter_WhenRequestRepeated_ShouldReplayOriginalResponse() throws Exception {
+        // ACT
+        MockHttpServletResponse original = send(filter, "balcao-1", LOAN_BODY, 201);
+        MockHttpServletResponse replay = send(filter, "balcao-1", LOAN_BODY, 201);
+        IdempotencyFilter otherInstance = new IdempotencyFilter(
+                new IdempotencyService(keyRepository, new IdempotencyCache(), 24, 60), new ObjectMapper());
+        MockHttpServletResponse fromDatabase = send(otherInstance, "balcao-1", LOAN_BODY, 201);
+
+        // ASSERT
+        assertThat(executions).hasValue(1);
+        assertThat(original.getStatus()).isEqualTo(201);
+        assertThat(original.getContentAsString()).isEqualTo("{\"id\":1}");
+        for (MockHttpServletResponse response : List.of(replay, fromDatabase)) {
+            assertThat(response.getStatus()).isEqualTo(201);
+            assertThat(response.getContentAsString()).isEqualTo("{\"id\":1}");
+            assertThat(response.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        }
+
+        System.out.println("✅ Repetição com Idempotency-Key executada COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Deve entregar o corpo guardado a quem lê pela API não bloqueante do servlet")
+    void doFilter_WhenControllerUsesReadListener_ShouldDeliverBody() throws Exception {
+        // ARRANGE
+        List<String> calls = new ArrayList<>();
+        FilterChain controller = (req, res) -> {
+            ServletInputStream input = req.getInputStream();
+            input.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    calls.add(new String(input.readAllBytes(), StandardCharsets.UTF_8));
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    calls.add("fim");
+                }
+
+                @Override
+                public void onError(Throwable error) {
+                    calls.add("erro");
+                }
+            });
+            ((HttpServletResponse) res).setStatus(201);
+        };
+
+        // ACT
+        filter.doFilter(request("balcao-7", LOAN_BODY), new MockHttpServletResponse(), controller);
+
+        // ASSERT
+        assertThat(calls).containsExactly(LOAN_BODY, "fim");
+
+        System.out.println("✅ Leitura do corpo pelo ReadListener executada COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Deve recusar a chave reaproveitada em outra requisição ou ainda em andamento")
+    void doFilter_WhenKeyReusedOrInProgress_ShouldRefuse() throws Exception {
+        // ARRANGE
+        send(filter, "balcao-2", LOAN_BODY, 200);
+        idempotencyService.claim("bibliotecaria:balcao-3", "0".repeat(64));
+
+        // ACT
+        MockHttpServletResponse reused = send(filter, "balcao-2", "{\"userId\":1,\"bookId\":3}", 200);
+        MockHttpServletResponse inProgress = send(filter, "balcao-3", LOAN_BODY, 200);
+        MockHttpServletResponse invalid = send(filter, "chave com espaço", LOAN_BODY, 200);
+
+        // ASSERT
+        assertThat(executions).hasValue(1);
+        assertThat(reused.getStatus()).isEqualTo(422);
+        assertThat(reused.getContentAsString()).contains("IDEMPOTENCY_KEY_REUSED");
+        assertThat(inProgress.getStatus()).isEqualTo(409);
+        assertThat(inProgress.getContentAsString()).contains("IDEMPOTENCY_KEY_IN_USE");
+        assertThat(invalid.getStatus()).isEqualTo(400);
+
+        System.out.println("✅ Recusa de chave reaproveitada executada COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Deve liberar a chave quando a requisição falha no servidor, para a repetição executar de novo")
+    void doFilter_WhenServerError_ShouldReleaseKey() throws Exception {
+        // ACT
+        MockHttpServletResponse failed = send(filter, "balcao-4", LOAN_BODY, 503);
+        MockHttpServletResponse retried = send(filter, "balcao-4", LOAN_BODY, 201);
+
+        // ASSERT
+        assertThat(failed.getStatus()).isEqualTo(503);
+        assertThat(retried.getStatus()).isEqualTo(201);
+        assertThat(retried.getContentAsString()).isEqualTo("{\"id\":2}");
+        assertThat(executions).hasValue(2);
+
+        System.out.println("✅ Liberação da chave após erro do servidor executada COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Deve assumir a chave de uma requisição abandonada depois que a reserva vence")
+    void doFilter_WhenClaimAbandoned_ShouldTakeOverAfterLease() throws Exception {
+        // ARRANGE
+        LocalDateTime now = LocalDateTime.now();
+        keyRepository.claim("bibliotecaria:balcao-5", "0".repeat(64), now.minusMinutes(5), now.minusMinutes(4),
+                now.plusHours(23));
+        keyRepository.claim("bibliotecaria:balcao-6", "0".repeat(64), now, now.plusMinutes(1), now.plusHours(24));
+
+        // ACT
+        MockHttpServletResponse takenOver = send(filter, "balcao-5", LOAN_BODY, 201);
+        MockHttpServletResponse stillRunning = send(filter, "balcao-6", LOAN_BODY, 201);
+
+        // ASSERT
+        assertThat(takenOver.getStatus()).isEqualTo(201);
+        assertThat(takenOver.getContentAsString()).isEqualTo("{\"id\":1}");
+        assertThat(stillRunning.getStatus()).isEqualTo(409);
+        assertThat(executions).hasValue(1);
+        assertThat(keyRepository.findById("bibliotecaria:balcao-5")).get()
+                .satisfies(key -> assertThat(key.isCompleted()).isTrue())
+                .satisfies(key -> assertThat(key.getLockedUntil()).isNull());
+
+        System.out.println("✅ Retomada de chave abandonada executada COM SUCESSO!");
+    }
+}
@@ -0,0 +1,138 @@
+package com.project2025.digital_library_platform.services;
+
+import com.project2025.digital_library_platform.DTOs.authorDtos.AuthorDTO;
+import com.project2025.digital_library_platform.DTOs.authorDtos.AuthorPageDTO;
+import com.project2025.digital_library_platform.entity.book.Book;
+import com.project2025.digital_library_platform.exception.BusinessException;
+import com.project2025.digital_library_platform.exception.ErrorCode;
+import com.project2025.digital_library_platform.repositories.AuthorRepository;
+import com.project2025.digital_library_platform.repositories.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthorServiceTest {
+
+    @Mock
+    private AuthorRepository authorRepository;
+    @Mock
+    private BookRepository bookRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AuthorService authorService;
+
+    @BeforeEach
+    void setUp() {
+        authorService = new AuthorService(authorRepository, bookRepository, new TransactionTemplate(transactionManager));
+    }
+
+    private Book book(Long id, String authors) {
+        Book book = new Book();
+        book.setId(id);
+        book.setAuthors(authors);
+        return book;
+    }
+
+    @Test
+    @DisplayName("Deve separar o texto de autores e normalizar acentos, caixa e espaços")
+    void split_ShouldTrimAndDeduplicateNames() {
+        assertThat(AuthorService.split(" Machado de  Assis, José de Alencar;MACHADO DE ASSÍS ,, "))
+                .containsExactly("Machado de Assis", "José de Alencar");
+        assertThat(AuthorService.split(null)).isEmpty();
+        assertThat(AuthorService.normalize("  José   de Alencar ")).isEqualTo("jose de alencar");
+
+        System.out.println("✅ Separação dos autores executada COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Deve gravar cada autor uma vez e vincular os livros na ordem do texto")
+    @SuppressWarnings("unchecked")
+    void link_ShouldCreateAuthorsOnceAndReplaceLinks() {
+        // ARRANGE
+        when(authorRepository.findOrCreate(anyMap())).thenReturn(Map.of(
+                "machado de assis", 10L, "jose de alencar", 20L));
+
+        // ACT
+        authorService.link(List.of(
+                book(1L, "Machado de Assis"),
+                book(2L, "José de Alencar, Machado de Assis"),
+                book(3L, null)));
+
+        // ASSERT
+        ArgumentCaptor<Map<String, String>> names = ArgumentCaptor.forClass(Map.class);
+        verify(authorRepository).findOrCreate(names.capture());
+        assertThat(names.getValue()).containsOnly(
+                Map.entry("machado de assis", "Machado de Assis"),
+                Map.entry("jose de alencar", "José de Alencar"));
+
+        ArgumentCaptor<Map<Long, List<Long>>> links = ArgumentCaptor.forClass(Map.class);
+        verify(authorRepository).replaceLinks(links.capture());
+        assertThat(links.getValue()).containsOnly(
+                Map.entry(1L, List.of(10L)),
+                Map.entry(2L, List.of(20L, 10L)),
+                Map.entry(3L, List.of()));
+
+        System.out.println("✅ Vínculo entre livros e autores executado COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Deve buscar o autor pelo nome normalizado e listar por prefixo com cursor")
+    void findByName_AndListAuthors_ShouldUseNormalizedName() {
+        // ARRANGE
+        when(authorRepository.findResponseByNormalizedName("machado de assis"))
+                .thenReturn(Optional.of(new AuthorDTO(10L, "Machado de Assis")));
+        when(authorRepository.findPageByPrefix("mach", "", Limit.of(2)))
+                .thenReturn(List.of(new AuthorDTO(10L, "Machado de Assis"), new AuthorDTO(11L, "Machado Neto")));
+        when(authorRepository.findPageByPrefix(eq("mach"), eq("machado de assis"), any(Limit.class)))
+                .thenReturn(List.of(new AuthorDTO(11L, "Machado Neto")));
+
+        // ACT
+        AuthorDTO author = authorService.findByName("MACHADO  DE ASSIS");
+        AuthorPageDTO first = authorService.listAuthors("Mách", null, 1);
+        AuthorPageDTO second = authorService.listAuthors("Mách", first.nextCursor(), 1);
+
+        // ASSERT
+        assertThat(author.id()).isEqualTo(10L);
+        assertThat(first.content()).extracting(AuthorDTO::name).containsExactly("Machado de Assis");
+        assertThat(second.content()).extracting(AuthorDTO::name).containsExactly("Machado Neto");
+        assertThat(second.nextCursor()).isNull();
+
+        System.out.println("✅ Consulta de autores executada COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao listar livros de autor inexistente")
+    void findBooks_WhenAuthorNotFound_ShouldThrowBusinessException() {
+        // ARRANGE
+        when(authorRepository.existsById(99L)).thenReturn(false);
+
+        // ACT
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> authorService.findBooks(99L, null, 10));
+
+        // ASSERT
+        assertThat(exception.getCode()).isEqualTo(ErrorCode.AUTHOR_NOT_FOUND);
+        verify(authorRepository, never()).findBookIds(any(), anyLong(), anyInt());
+
+        System.out.println("✅ Validação de autor inexistente executada COM SUCESSO!");
+    }
+}
@@ -0,0 +1,107 @@
+package com.project2025.digital_library_platform.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project2025.digital_library_platform.DTOs.bookDtos.BookResponseDTO;
+import com.project2025.digital_library_platform.entity.book.Book;
+import com.project2025.digital_library_platform.mappers.BookMapper;
+import com.project2025.digital_library_platform.repositories.BookRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static com.project2025.digital_library_platform.entity.book.Status.AVAILABLE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookExportServiceTest {
+
+    @Mock
+    private BookRepository bookRepository;
+    @Mock
+    private BookMapper bookMapper;
+    @Mock
+    private EntityManager entityManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private BookExportService bookExportService;
+
+    @BeforeEach
+    void setUp() {
+        bookExportService = new BookExportService(bookRepository, bookMapper, objectMapper, entityManager);
+    }
+
+    @Test
+    @DisplayName("Deve exportar um livro por linha em NDJSON e liberar cada entidade do contexto")
+    void exportCatalog_ShouldWriteOneJsonPerLine() throws Exception {
+        // ARRANGE
+        AtomicBoolean streamClosed = new AtomicBoolean();
+        Stream<Book> books = LongStream.rangeClosed(1, 3)
+                .mapToObj(id -> {
+                    Book book = new Book();
+                    book.setId(id);
+                    book.setTitle("Livro " + id);
+                    return book;
+                })
+                .onClose(() -> streamClosed.set(true));
+
+        when(bookRepository.streamAllByOrderByIdAsc()).thenReturn(books);
+        when(bookMapper.toDto(any(Book.class))).thenAnswer(invocation -> {
+            Book book = invocation.getArgument(0);
+            BookResponseDTO dto = new BookResponseDTO();
+            dto.setId(book.getId());
+            dto.setTitle(book.getTitle());
+            dto.setStatus(AVAILABLE);
+            return dto;
+        });
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // ACT
+        long exported = bookExportService.exportCatalog(out);
+
+        // ASSERT
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(exported).isEqualTo(3);
+        assertThat(lines).hasSize(3);
+        for (int i = 0; i < lines.length; i++) {
+            BookResponseDTO dto = objectMapper.readValue(lines[i], BookResponseDTO.class);
+            assertThat(dto.getId()).isEqualTo(i + 1L);
+            assertThat(dto.getTitle()).isEqualTo("Livro " + (i + 1));
+        }
+        verify(entityManager, times(3)).detach(any(Book.class));
+        verify(bookRepository, never()).findAll();
+        assertThat(streamClosed).isTrue();
+
+        System.out.println("✅ Exportação NDJSON do catálogo executada COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Deve exportar catálogo vazio sem escrever nenhuma linha")
+    void exportCatalog_EmptyCatalog_ShouldWriteNothing() throws Exception {
+        // ARRANGE
+        when(bookRepository.streamAllByOrderByIdAsc()).thenReturn(Stream.empty());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // ACT
+        long exported = bookExportService.exportCatalog(out);
+
+        // ASSERT
+        assertThat(exported).isZero();
+        assertThat(out.size()).isZero();
+        verifyNoInteractions(bookMapper, entityManager);
+
+        System.out.println("✅ Exportação de catálogo vazio executada COM SUCESSO!");
+    }
+}
@@ -0,0 +1,231 @@
+package com.project2025.digital_library_platform.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project2025.digital_library_platform.DTOs.bookDtos.BookCreateDTO;
+import com.project2025.digital_library_platform.DTOs.bookDtos.BookImportErrorDTO;
+import com.project2025.digital_library_platform.DTOs.bookDtos.BookImportResultDTO;
+import com.project2025.digital_library_platform.converters.BookImportParser;
+import com.project2025.digital_library_platform.entity.book.Book;
+import com.project2025.digital_library_platform.events.BooksImportedEvent;
+import com.project2025.digital_library_platform.index.DuplicateFilter;
+import com.project2025.digital_library_platform.mappers.BookMapper;
+import com.project2025.digital_library_platform.repositories.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.project2025.digital_library_platform.entity.book.Status.AVAILABLE;
+import static com.project2025.digital_library_platform.entity.book.Status.UNAVAILABLE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookImportServiceTest {
+
+    @Mock
+    private BookRepository bookRepository;
+    @Mock
+    private BookMapper bookMapper;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private DuplicateFilter duplicateFilter;
+    @Mock
+    private AuthorService authorService;
+
+    private final AtomicLong nextId = new AtomicLong(1);
+
+    private BookImportService bookImportService;
+
+    @BeforeEach
+    void setUp() {
+        bookImportService = new BookImportService(new BookImportParser(new ObjectMapper()), bookRepository, bookMapper,
+                new TransactionTemplate(transactionManager), eventPublisher, duplicateFilter, authorService);
+    }
+
+    @Test
+    @DisplayName("Deve importar CSV com campos entre aspas e rejeitar ISBN já cadastrado")
+    void importBooks_Csv_ShouldInsertInOneBatchAndRejectExistingIsbn() throws Exception {
+        // ARRANGE
+        String csv = """
+                title,authors,isbn_13,pageCount,status
+                "Dom Casmurro, edição comentada",Machado de Assis,978-85-359-0277-8,256,
+                "O ""Alienista""\",Machado de Assis,,96,UNAVAILABLE
+                Memórias Póstumas de Brás Cubas,Machado de Assis,9788535902778,,
+                """;
+        when(bookRepository.findExistingIsbnKeys(anyCollection())).thenReturn(Set.of(9788535902778L));
+        when(bookRepository.findExistingTitles(anyCollection())).thenReturn(List.of());
+        mapAndInsert();
+
+        // ACT
+        BookImportResultDTO result = importCsv(csv);
+
+        // ASSERT
+        assertThat(result.received()).isEqualTo(3);
+        assertThat(result.imported()).isEqualTo(1);
+        assertThat(result.rejected()).isEqualTo(2);
+        assertThat(result.errors()).extracting(BookImportErrorDTO::line, BookImportErrorDTO::reason)
+                .containsExactlyInAnyOrder(
+                        tuple(1L, "Livro com este ISBN já cadastrado!"),
+                        tuple(3L, "ISBN repetido no arquivo"));
+
+        List<Book> inserted = captureInserted().get(0);
+        assertThat(inserted).hasSize(1);
+        assertThat(inserted.get(0).getTitle()).isEqualTo("O \"Alienista\"");
+        assertThat(inserted.get(0).getStatus()).isEqualTo(UNAVAILABLE);
+        assertThat(inserted.get(0).isActive()).isTrue();
+        verify(authorService).link(inserted);
+        verify(bookRepository, never()).existsByIsbnKey(any());
+        verify(bookRepository, never()).existsByTitle(any());
+        verify(eventPublisher, times(1)).publishEvent(any(BooksImportedEvent.class));
+
+        System.out.println("✅ Importação CSV com rejeição de ISBN duplicado executada COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar linhas NDJSON inválidas sem interromper a importação")
+    void importBooks_Ndjson_ShouldRejectInvalidLinesAndKeepGoing() throws Exception {
+        // ARRANGE
+        String ndjson = """
+                {"title":"Clean Code","authors":"Robert C. Martin","isbn10":"8535902775","status":"AVAILABLE"}
+                {"title":
+                {"authors":"Sem título"}
+                {"title":"Refactoring","isbn13":"9780000000000"}
+                {"title":"CLEAN CODE"}
+
+                {"title":"Domain-Driven Design","googleBooksId":"abc123"}
+                """;
+        when(bookRepository.findExistingTitles(anyCollection())).thenReturn(List.of());
+        when(bookRepository.findExistingIsbnKeys(anyCollection())).thenReturn(Set.of());
+        when(bookRepository.findExistingGoogleBooksIds(anyCollection())).thenReturn(Set.of());
+        mapAndInsert();
+
+        // ACT
+        BookImportResultDTO result = bookImportService.importBooks(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), BookImportParser.Format.NDJSON);
+
+        // ASSERT
+        assertThat(result.received()).isEqualTo(6);
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(result.rejected()).isEqualTo(4);
+        assertThat(result.errors()).extracting(BookImportErrorDTO::line).containsExactly(2L, 3L, 4L, 5L);
+        assertThat(result.errors().get(1).reason()).isEqualTo("Título é obrigatório");
+        assertThat(result.errors().get(2).reason()).startsWith("ISBN inválido");
+        assertThat(result.errors().get(3).reason()).isEqualTo("Título repetido no arquivo");
+
+        List<Book> inserted = captureInserted().get(0);
+        assertThat(inserted).extracting(Book::getTitle).containsExactly("Clean Code", "Domain-Driven Design");
+        assertThat(inserted.get(0).getIsbnKey()).isEqualTo(9788535902778L);
+        assertThat(inserted.get(0).getIsbn13()).isEqualTo("9788535902778");
+        assertThat(inserted.get(1).getGoogleBooksId()).isEqualTo("abc123");
+        assertThat(inserted.get(1).getStatus()).isEqualTo(AVAILABLE);
+
+        System.out.println("✅ Importação NDJSON com linhas inválidas executada COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Deve gravar em blocos com uma consulta por tipo de duplicidade e um evento por bloco")
+    void importBooks_LargeFile_ShouldProcessInChunks() throws Exception {
+        // ARRANGE
+        StringBuilder csv = new StringBuilder("title\n");
+        for (int i = 1; i <= 2500; i++) {
+            csv.append("Livro ").append(i).append('\n');
+        }
+        when(bookRepository.findExistingTitles(anyCollection())).thenReturn(List.of("livro 42"));
+        mapAndInsert();
+
+        // ACT
+        BookImportResultDTO result = importCsv(csv.toString());
+
+        // ASSERT
+        assertThat(result.received()).isEqualTo(2500);
+        assertThat(result.imported()).isEqualTo(2499);
+        assertThat(result.rejected()).isEqualTo(1);
+        assertThat(result.errors().get(0).title()).isEqualTo("Livro 42");
+        assertThat(captureInserted()).extracting(List::size).containsExactly(999, 1000, 500);
+        verify(bookRepository, times(3)).findExistingTitles(anyCollection());
+        verify(bookRepository, never()).findExistingIsbnKeys(anyCollection());
+
+        ArgumentCaptor<BooksImportedEvent> events = ArgumentCaptor.forClass(BooksImportedEvent.class);
+        verify(eventPublisher, times(3)).publishEvent(events.capture());
+        assertThat(events.getAllValues()).extracting(event -> event.getBookIds().size()).containsExactly(999, 1000, 500);
+
+        System.out.println("✅ Importação em blocos executada COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar o bloco inteiro quando a gravação em lote falhar")
+    void importBooks_BatchInsertFails_ShouldRejectWholeChunk() throws Exception {
+        // ARRANGE
+        when(bookRepository.findExistingTitles(anyCollection())).thenReturn(List.of());
+        when(bookMapper.toEntity(any(BookCreateDTO.class))).thenAnswer(invocation -> new Book());
+        when(bookRepository.insertBatch(any())).thenThrow(new DataIntegrityViolationException("Duplicate entry"));
+
+        // ACT
+        BookImportResultDTO result = importCsv("title\nLivro A\nLivro B\n");
+
+        // ASSERT
+        assertThat(result.imported()).isZero();
+        assertThat(result.rejected()).isEqualTo(2);
+        assertThat(result.errors()).allSatisfy(error -> assertThat(error.reason()).startsWith("Falha ao gravar o bloco"));
+        verify(eventPublisher, never()).publishEvent(any());
+        verify(transactionManager).rollback(any());
+
+        System.out.println("✅ Falha de gravação em lote tratada COM SUCESSO!");
+    }
+
+    //MÉTODOS AUXILIARES
+
+    private BookImportResultDTO importCsv(String csv) throws Exception {
+        return bookImportService.importBooks(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), BookImportParser.Format.CSV);
+    }
+
+    private void mapAndInsert() {
+        when(bookMapper.toEntity(any(BookCreateDTO.class))).thenAnswer(invocation -> {
+            BookCreateDTO dto = invocation.getArgument(0);
+            Book book = new Book();
+            book.setTitle(dto.title());
+            book.setAuthors(dto.authors());
+            book.setPageCount(dto.pageCount());
+            book.setStatus(dto.status());
+            return book;
+        });
+        when(bookRepository.insertBatch(any())).thenAnswer(invocation -> {
+            List<Book> books = invocation.getArgument(0);
+            List<Long> ids = new ArrayList<>();
+            for (Book book : books) {
+                book.setId(nextId.getAndIncrement());
+                ids.add(book.getId());
+            }
+            return ids;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<Book>> captureInserted() {
+        ArgumentCaptor<List<Book>> captor = ArgumentCaptor.forClass(List.class);
+        verify(bookRepository, atLeastOnce()).insertBatch(captor.capture());
+        return captor.getAllValues();
+    }
+}
@@ -1,12 +1,27 @@
 package com.project2025.digital_library_platform.services;
 
+import com.project2025.digital_library_platform.cache.BookCache;
 import com.project2025.digital_library_platform.entity.book.Book;
 import com.project2025.digital_library_platform.entity.book.Status;
 import com.project2025.digital_library_platform.DTOs.bookDtos.BookCreateDTO;
+import com.project2025.digital_library_platform.DTOs.bookDtos.BookFacetSearchDTO;
+import com.project2025.digital_library_platform.DTOs.bookDtos.BookPageDTO;
+import com.project2025.digital_library_platform.DTOs.bookDtos.BookRecommendationDTO;
 import com.project2025.digital_library_platform.DTOs.bookDtos.BookResponseDTO;
+import com.project2025.digital_library_platform.DTOs.bookDtos.BookSearchHitDTO;
 import com.project2025.digital_library_platform.DTOs.bookDtos.BookUpdateDTO;
 import com.project2025.digital_library_platform.events.BookCreatedEvent;
 import com.project2025.digital_library_platform.exception.BusinessException;
+import com.project2025.digital_library_platform.exception.ErrorCode;
+import com.project2025.digital_library_platform.index.AutocompleteIndex;
+import com.project2025.digital_library_platform.index.AvailabilityIndex;
+import com.project2025.digital_library_platform.index.BookFacet;
+import com.project2025.digital_library_platform.index.CatalogSearchIndex;
+import com.project2025.digital_library_platform.index.CoBorrowRecommender;
+import com.project2025.digital_library_platform.index.DuplicateFilter;
+import com.project2025.digital_library_platform.index.FacetIndex;
+import com.project2025.digital_library_platform.index.FullTextIndex;
+import com.project2025.digital_library_platform.index.IsbnIndex;
 import com.project2025.digital_library_platform.mappers.BookMapper;
 import com.project2025.digital_library_platform.repositories.BookRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -20,15 +35,20 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
 
-import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static com.project2025.digital_library_platform.entity.book.Status.AVAILABLE;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
@@ -42,6 +62,28 @@ class BookServiceTest {
     private BookMapper bookMapper;
     @Mock
     private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private CatalogSearchIndex catalogSearchIndex;
+    @Mock
+    private FacetIndex facetIndex;
+    @Mock
+    private AutocompleteIndex autocompleteIndex;
+    @Mock
+    private IsbnIndex isbnIndex;
+    @Mock
+    private DuplicateFilter duplicateFilter;
+    @Mock
+    private FullTextIndex fullTextIndex;
+    @Mock
+    private AvailabilityIndex availabilityIndex;
+    @Spy
+    private BookCache bookCache = new BookCache();
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private CoBorrowRecommender coBorrowRecommender;
+    @Mock
+    private AuthorService authorService;
 
     @InjectMocks
     private BookService bookService;
@@ -61,8 +103,8 @@ class BookServiceTest {
                 "Paulo Coelho",
                 "Casa Publicadora de letras",
                 "10-05-1989",
-                "5454545454",
-                "545454524",
+                "8535902775",
+                "9788535902778",
                 "Livro falando sobre as Wiccas",
                 230,
                 "45454545434", AVAILABLE);
@@ -74,8 +116,9 @@ class BookServiceTest {
         book.setAuthors("Paulo Coelho");
         book.setPublisher("Casa publicadora de Letras");
         book.setPublishedDate("10-05-1989");
-        book.setIsbn10("5454545454");
-        book.setIsbn13("545454524");
+        book.setIsbn10("8535902775");
+        book.setIsbn13("9788535902778");
+        book.setIsbnKey(9788535902778L);
         book.setDescription("Livro falando sobre as Wiccas");
         book.setPageCount(230);
         book.setStatus(AVAILABLE);
@@ -87,8 +130,8 @@ class BookServiceTest {
         bookResponseDTO.setAuthors("Paulo Coelho");
         bookResponseDTO.setPublisher("Casa publicadora de Letras");
         bookResponseDTO.setPublishedDate("10-05-1989");
-        bookResponseDTO.setIsbn10("5454545454");
-        bookResponseDTO.setIsbn13("545454524");
+        bookResponseDTO.setIsbn10("8535902775");
+        bookResponseDTO.setIsbn13("9788535902778");
         bookResponseDTO.setDescription("Livro falando sobre as Wiccas");
         bookResponseDTO.setPageCount(230);
         bookResponseDTO.setStatus(AVAILABLE);
@@ -98,8 +141,8 @@ class BookServiceTest {
                 "Paulo Coelho",
                 "Casa publicadora de Letra",
                 "10-05-1989",
-                "5454545454",
-                "545454524",
+                "8535902775",
+                "9788535902778",
                 "Livro falando sobre as Wiccas",
                 300);
     }
@@ -111,30 +154,14 @@ class BookServiceTest {
         updatedResponse.setAuthors("Paulo Coelho");
         updatedResponse.setPublisher("Casa publicadora de Letra");
         updatedResponse.setPublishedDate("10-05-1989");
-        updatedResponse.setIsbn10("5454545454");
-        updatedResponse.setIsbn13("545454524");
+        updatedResponse.setIsbn10("8535902775");
+        updatedResponse.setIsbn13("9788535902778");
         updatedResponse.setDescription("Livro falando sobre as Wiccas");
         updatedResponse.setPageCount(300);
         updatedResponse.setStatus(AVAILABLE);
         return updatedResponse;
     }
 
-    private Book createTestBook(Long id, String title, Status status) {
-        Book testBook = new Book();
-        testBook.setId(id);
-        testBook.setTitle(title);
-        testBook.setAuthors("Autor teste");
-        testBook.setPublisher("Editora");
-        testBook.setPublishedDate("10-10-2010");
-        testBook.setIsbn10("54545485242");
-        testBook.setIsbn13("852852652");
-        testBook.setDescription("Descrição livro");
-        testBook.setPageCount(400);
-        testBook.setStatus(status);
-        testBook.activate();
-        return testBook;
-    }
-
     private BookResponseDTO createTestBookResponseDTO(Long id, String title, Status status) {
         BookResponseDTO dto = new BookResponseDTO();
         dto.setId(id);
@@ -175,6 +202,7 @@ class BookServiceTest {
         //VERIFY
         verify(bookMapper).toEntity(bookCreateDTO);
         verify(bookRepository).save(book);
+        verify(authorService).link(book);
         verify(eventPublisher).publishEvent(any(BookCreatedEvent.class));
         verify(bookMapper).toDto(book);
 
@@ -206,8 +234,7 @@ class BookServiceTest {
     @DisplayName("Deve capturar e verificar evento publicado corretamente")
     void createBook_shouldPublishCorrectEvent() {
         // ARRANGE
-        when(bookRepository.existsByIsbn10(any())).thenReturn(false);
-        when(bookRepository.existsByIsbn13(any())).thenReturn(false);
+        when(bookRepository.findDuplicateKeys(any(), any(), any())).thenReturn(List.of());
         when(bookMapper.toEntity(any())).thenReturn(book);
         when(bookRepository.save(any())).thenReturn(book);
         when(bookMapper.toDto(any())).thenReturn(bookResponseDTO);
@@ -257,6 +284,7 @@ class BookServiceTest {
         inOrder.verify(bookMapper).updateFromDto(book, bookUpdateDTO);
         inOrder.verify(bookRepository).save(book);
         inOrder.verify(bookMapper).toDto(book);
+        verify(authorService).link(book);
 
         System.out.println("✅ Atualização de livro executada COM SUCESSO!");
     }
@@ -267,8 +295,7 @@ class BookServiceTest {
     @DisplayName("Deve buscar livro por ID")
     void findById_WhenValidId_ShouldReturnBook() {
         // ARRANGE
-        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
-        when(bookMapper.toDto(book)).thenReturn(bookResponseDTO);
+        when(bookRepository.findResponseById(1L)).thenReturn(Optional.of(bookResponseDTO));
 
         // ACT
         BookResponseDTO result = bookService.findById(1L);
@@ -281,21 +308,38 @@ class BookServiceTest {
                     assertThat(response.getTitle()).isEqualTo("As Walkírias");
                 });
 
-        InOrder inOrder = inOrder(bookRepository, bookMapper);
-        inOrder.verify(bookRepository).findById(1L);
-        inOrder.verify(bookMapper).toDto(book);
+        verify(bookRepository).findResponseById(1L);
+        verify(bookRepository, never()).findById(any());
+        verifyNoInteractions(bookMapper);
 
         System.out.println("✅ Busca por ID executada COM SUCESSO!");
     }
 
+    @Test
+    @DisplayName("Deve servir a segunda busca por ID do cache e voltar ao banco após a invalidação")
+    void findById_WhenCached_ShouldSkipDatabaseUntilInvalidated() {
+        // ARRANGE
+        when(bookRepository.findResponseById(1L)).thenReturn(Optional.of(bookResponseDTO));
+
+        // ACT
+        bookService.findById(1L);
+        bookService.findById(1L);
+        bookCache.invalidate(List.of(1L));
+        bookService.findById(1L);
+
+        // ASSERT
+        verify(bookRepository, times(2)).findResponseById(1L);
+
+        System.out.println("✅ Cache de busca por ID executado COM SUCESSO!");
+    }
+
     @ParameterizedTest
-    @ValueSource(strings = {"5454545454", "545454524"})
+    @ValueSource(strings = {"8535902775", "9788535902778", "978-85-359-0277-8", "85-359-0277-5"})
     @DisplayName("Deve buscar um livro por ISBN")
     void findByIsbn_WhenValidIsbn_ShouldReturnBook(String isbn) {
 
         // ARRANGE
-        when(bookRepository.findByIsbn10OrIsbn13(isbn, isbn)).thenReturn(Optional.of(book));
-        when(bookMapper.toDto(book)).thenReturn(bookResponseDTO);
+        when(bookRepository.findResponseByIsbnKey(9788535902778L)).thenReturn(Optional.of(bookResponseDTO));
 
         // ACT
         BookResponseDTO result = bookService.findByIsbn(isbn);
@@ -311,6 +355,66 @@ class BookServiceTest {
         System.out.println("✅ Busca por ISBN executada COM SUCESSO!");
     }
 
+    @Test
+    @DisplayName("Deve buscar por ISBN no índice em memória e carregar o livro pela chave primária")
+    void findByIsbn_WhenIndexReady_ShouldUseIsbnIndex() {
+        // ARRANGE
+        when(isbnIndex.isReady()).thenReturn(true);
+        when(isbnIndex.findBookId(9788535902778L)).thenReturn(1L);
+        when(bookRepository.findResponseById(1L)).thenReturn(Optional.of(bookResponseDTO));
+
+        // ACT
+        BookResponseDTO result = bookService.findByIsbn("85-359-0277-5");
+
+        // ASSERT
+        assertThat(result.getId()).isEqualTo(1L);
+        verify(bookRepository, never()).findResponseByIsbnKey(any());
+
+        System.out.println("✅ Busca por ISBN via índice executada COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Deve confirmar no banco o ISBN que não está no índice, criado em outra instância")
+    void findByIsbn_WhenIndexMisses_ShouldConfirmInDatabase() {
+        // ARRANGE
+        when(isbnIndex.isReady()).thenReturn(true);
+        when(isbnIndex.findBookId(9788535902778L)).thenReturn(IsbnIndex.NOT_FOUND);
+        when(bookRepository.findResponseByIsbnKey(9788535902778L)).thenReturn(Optional.of(bookResponseDTO));
+
+        // ACT
+        BookResponseDTO result = bookService.findByIsbn("85-359-0277-5");
+
+        // ASSERT
+        assertThat(result.getId()).isEqualTo(1L);
+
+        System.out.println("✅ Confirmação de ISBN fora do índice executada COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Deve gravar o ISBN na forma canônica ao criar um livro só com ISBN-10")
+    void createBook_WithIsbn10Only_ShouldStoreCanonicalIsbn13() {
+        // ARRANGE
+        BookCreateDTO dto = new BookCreateDTO("As Walkírias", "Paulo Coelho", "Casa Publicadora de letras",
+                "10-05-1989", "85-359-0277-5", null, "Livro falando sobre as Wiccas", 230, null, AVAILABLE);
+        Book entity = new Book();
+        entity.setIsbn10("85-359-0277-5");
+        when(bookMapper.toEntity(dto)).thenReturn(entity);
+        when(bookRepository.save(entity)).thenReturn(book);
+        when(bookMapper.toDto(book)).thenReturn(bookResponseDTO);
+
+        // ACT
+        bookService.createBook(dto);
+
+        // ASSERT
+        ArgumentCaptor<Book> saved = ArgumentCaptor.forClass(Book.class);
+        verify(bookRepository).save(saved.capture());
+        assertThat(saved.getValue().getIsbnKey()).isEqualTo(9788535902778L);
+        assertThat(saved.getValue().getIsbn13()).isEqualTo("9788535902778");
+        assertThat(saved.getValue().getIsbn10()).isEqualTo("8535902775");
+
+        System.out.println("✅ Canonicalização de ISBN executada COM SUCESSO!");
+    }
+
     @ParameterizedTest
     @ValueSource(strings = {"walkirias", "WALKIRIAS", "Walkírias", "jornada", "espiritual"})
     @DisplayName("Deve buscar um livro por título")
@@ -335,34 +439,205 @@ class BookServiceTest {
     }
 
     @Test
-    @DisplayName("Deve retornar apenas livros disponíveis")
-    void findAvailableBooks_ReturnsOnlyAvailable() {
+    @DisplayName("Deve buscar por título no índice em memória sem usar LIKE")
+    void findByTitle_WhenIndexReady_ShouldNotScanTable() {
         // ARRANGE
-        List<Book> availableBooks = Arrays.asList(
-                createTestBook(1L, "Livro 1", AVAILABLE),
-                createTestBook(2L, "Livro 2", AVAILABLE)
-        );
+        when(catalogSearchIndex.isReady()).thenReturn(true);
+        when(catalogSearchIndex.searchTitle("walkirias")).thenReturn(List.of(1L));
+        when(bookRepository.findResponsesByIdIn(List.of(1L))).thenReturn(List.of(bookResponseDTO));
 
-        List<BookResponseDTO> expectedDTOs = Arrays.asList(
-                createTestBookResponseDTO(1L, "Livro 1", AVAILABLE),
-                createTestBookResponseDTO(2L, "Livro 2", AVAILABLE)
-        );
+        // ACT
+        List<BookResponseDTO> result = bookService.findByTitle("walkirias");
 
-        when(bookRepository.findByActiveAndStatus(true, AVAILABLE)).thenReturn(availableBooks);
-        when(bookMapper.toResponseList(availableBooks)).thenReturn(expectedDTOs);
+        // ASSERT
+        assertThat(result).hasSize(1);
+        verify(bookRepository, never()).findByTitleContainingIgnoreCase(any());
+
+        System.out.println("✅ Busca por título via índice executada COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Deve retornar apenas livros disponíveis")
+    void findAvailableBooks_ReturnsOnlyAvailable() {
+        // ARRANGE
+        when(bookRepository.findPageByActiveAndStatusOrderById(true, AVAILABLE, 0L, Limit.of(51)))
+                .thenReturn(List.of(createTestBookResponseDTO(1L, "Livro 1", AVAILABLE),
+                        createTestBookResponseDTO(2L, "Livro 2", AVAILABLE)));
 
         // ACT
-        List<BookResponseDTO> result = bookService.findAvailableBooks();
+        BookPageDTO result = bookService.findAvailableBooks(null, 50, "id");
 
         // ASSERT
-        assertThat(result)
+        assertThat(result.content())
                 .isNotNull()
                 .hasSize(2)
                 .allMatch(book -> book.getStatus() == AVAILABLE);
+        assertThat(result.nextCursor()).isNull();
 
         System.out.println("✅ Listagem de livros disponíveis executada COM SUCESSO!");
     }
 
+    @Test
+    @DisplayName("Deve paginar os livros disponíveis pelo bitmap e ler do banco só a página devolvida")
+    void findAvailableBooks_WhenIndexReady_ShouldPageFromBitmap() {
+        // ARRANGE
+        when(availabilityIndex.isReady()).thenReturn(true);
+        when(availabilityIndex.page(0L, 3)).thenReturn(List.of(4L, 9L, 12L));
+        when(bookRepository.findResponsesByIdInAndActiveAndStatus(List.of(4L, 9L, 12L), true, AVAILABLE)).thenReturn(List.of(
+                createTestBookResponseDTO(4L, "Livro 4", AVAILABLE),
+                createTestBookResponseDTO(9L, "Livro 9", AVAILABLE),
+                createTestBookResponseDTO(12L, "Livro 12", AVAILABLE)));
+
+        // ACT
+        BookPageDTO result = bookService.findAvailableBooks(null, 2, "id");
+
+        // ASSERT
+        assertThat(result.content()).extracting(BookResponseDTO::getId).containsExactly(4L, 9L);
+        assertThat(result.nextCursor()).isNotNull();
+        verify(bookRepository, never()).findPageByActiveAndStatusOrderById(any(), any(), any(), any());
+
+        System.out.println("✅ Listagem de disponíveis via bitmap executada COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Deve descartar a página do bitmap e ir ao banco quando algum livro já não está disponível")
+    void findAvailableBooks_WhenIndexDrifted_ShouldFallBackToKeyset() {
+        // ARRANGE
+        when(availabilityIndex.isReady()).thenReturn(true);
+        when(availabilityIndex.page(0L, 3)).thenReturn(List.of(4L, 9L, 12L));
+        when(bookRepository.findResponsesByIdInAndActiveAndStatus(List.of(4L, 9L, 12L), true, AVAILABLE)).thenReturn(List.of(
+                createTestBookResponseDTO(4L, "Livro 4", AVAILABLE),
+                createTestBookResponseDTO(12L, "Livro 12", AVAILABLE)));
+        when(bookRepository.findPageByActiveAndStatusOrderById(true, AVAILABLE, 0L, Limit.of(3))).thenReturn(List.of(
+                createTestBookResponseDTO(4L, "Livro 4", AVAILABLE),
+                createTestBookResponseDTO(12L, "Livro 12", AVAILABLE),
+                createTestBookResponseDTO(15L, "Livro 15", AVAILABLE)));
+
+        // ACT
+        BookPageDTO result = bookService.findAvailableBooks(null, 2, "id");
+
+        // ASSERT
+        assertThat(result.content()).extracting(BookResponseDTO::getId).containsExactly(4L, 12L);
+        assertThat(result.nextCursor()).isNotNull();
+
+        System.out.println("✅ Descarte da página desatualizada do bitmap executado COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Deve paginar por keyset continuando a partir do último ID entregue")
+    void findAll_ShouldSeekFromCursorInsteadOfOffset() {
+        // ARRANGE
+        BookResponseDTO book1 = createTestBookResponseDTO(1L, "Livro 1", AVAILABLE);
+        BookResponseDTO book2 = createTestBookResponseDTO(2L, "Livro 2", AVAILABLE);
+        BookResponseDTO book3 = createTestBookResponseDTO(3L, "Livro 3", AVAILABLE);
+
+        when(bookRepository.findPageOrderById(0L, Limit.of(3))).thenReturn(List.of(book1, book2, book3));
+        when(bookRepository.findPageOrderById(2L, Limit.of(3))).thenReturn(List.of(book3));
+
+        // ACT
+        BookPageDTO firstPage = bookService.findAll(null, 2, "id");
+        BookPageDTO lastPage = bookService.findAll(firstPage.nextCursor(), 2, "id");
+
+        // ASSERT
+        assertThat(firstPage.content()).extracting(BookResponseDTO::getId).containsExactly(1L, 2L);
+        assertThat(firstPage.nextCursor()).isNotNull();
+        assertThat(lastPage.content()).extracting(BookResponseDTO::getId).containsExactly(3L);
+        assertThat(lastPage.nextCursor()).isNull();
+        verify(bookRepository, never()).findAll();
+
+        System.out.println("✅ Paginação por keyset executada COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Deve paginar por título usando título e ID do último livro como cursor")
+    void findAll_SortedByTitle_ShouldSeekFromTitleAndId() {
+        // ARRANGE
+        BookResponseDTO book1 = createTestBookResponseDTO(7L, "A Hora da Estrela", AVAILABLE);
+        BookResponseDTO book2 = createTestBookResponseDTO(3L, "Capitães da Areia", AVAILABLE);
+
+        when(bookRepository.findPageOrderByTitle("", 0L, Limit.of(2))).thenReturn(List.of(book1, book2));
+        when(bookRepository.findPageOrderByTitle("A Hora da Estrela", 7L, Limit.of(2))).thenReturn(List.of(book2));
+
+        // ACT
+        BookPageDTO firstPage = bookService.findAll(null, 1, "title");
+        BookPageDTO secondPage = bookService.findAll(firstPage.nextCursor(), 1, "title");
+
+        // ASSERT
+        assertThat(firstPage.content()).extracting(BookResponseDTO::getId).containsExactly(7L);
+        assertThat(secondPage.content()).extracting(BookResponseDTO::getId).containsExactly(3L);
+        assertThat(secondPage.nextCursor()).isNull();
+
+        System.out.println("✅ Paginação por título executada COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Deve responder a busca facetada a partir do índice em memória")
+    void searchFacets_ShouldUseFacetIndex() {
+        // ARRANGE
+        Map<BookFacet, Set<String>> filters = Map.of(BookFacet.STATUS, Set.of("AVAILABLE"));
+        var facetResult = new FacetIndex.Result(1, List.of(1L),
+                Map.of(BookFacet.STATUS, List.of(new FacetIndex.FacetCount("AVAILABLE", 1))));
+
+        when(facetIndex.isReady()).thenReturn(true);
+        when(facetIndex.query(filters, 0L, 21, 20)).thenReturn(facetResult);
+        when(bookRepository.findResponsesByIdIn(List.of(1L))).thenReturn(List.of(bookResponseDTO));
+
+        // ACT
+        BookFacetSearchDTO result = bookService.searchFacets(filters, null, 20);
+
+        // ASSERT
+        assertThat(result.total()).isEqualTo(1);
+        assertThat(result.books()).containsExactly(bookResponseDTO);
+        assertThat(result.facets().get("status")).singleElement()
+                .satisfies(count -> assertThat(count.count()).isEqualTo(1));
+        assertThat(result.nextAfterId()).isNull();
+
+        System.out.println("✅ Busca facetada executada COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Deve responder a busca textual só pelo índice, sem consultar o banco")
+    void searchText_ShouldUseFullTextIndexOnly() {
+        // ARRANGE
+        when(fullTextIndex.isReady()).thenReturn(true);
+        when(fullTextIndex.search("governos totalitários", 20))
+                .thenReturn(List.of(new FullTextIndex.SearchHit(1L, "1984", "George Orwell", 2.5)));
+
+        // ACT
+        List<BookSearchHitDTO> result = bookService.searchText("governos totalitários", 20);
+
+        // ASSERT
+        assertThat(result).singleElement().satisfies(hit -> {
+            assertThat(hit.id()).isEqualTo(1L);
+            assertThat(hit.title()).isEqualTo("1984");
+            assertThat(hit.score()).isEqualTo(2.5);
+        });
+        verifyNoInteractions(bookRepository);
+
+        System.out.println("✅ Busca textual executada COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Deve devolver as recomendações na ordem das co-ocorrências, lendo só os livros recomendados")
+    void recommend_ShouldKeepCoBorrowOrder() {
+        // ARRANGE
+        when(coBorrowRecommender.recommend(1L, 10)).thenReturn(List.of(
+                new CoBorrowRecommender.Recommendation(9L, 5),
+                new CoBorrowRecommender.Recommendation(3L, 2)));
+        when(bookRepository.findResponsesByIdIn(List.of(3L, 9L))).thenReturn(List.of(
+                createTestBookResponseDTO(3L, "Capitães da Areia", AVAILABLE),
+                createTestBookResponseDTO(9L, "Vidas Secas", AVAILABLE)));
+
+        // ACT
+        List<BookRecommendationDTO> result = bookService.recommend(1L, 10);
+
+        // ASSERT
+        assertThat(result).extracting(BookRecommendationDTO::id, BookRecommendationDTO::coBorrows)
+                .containsExactly(tuple(9L, 5L), tuple(3L, 2L));
+
+        System.out.println("✅ Recomendações do livro executadas COM SUCESSO!");
+    }
+
     // =============== TESTES DE CENÁRIOS DE ERRO ===============
 
     @Test
@@ -370,7 +645,8 @@ class BookServiceTest {
     void createBook_DuplicateIsbn10_ShouldThrowBusinessException() {
 
         //ARRANGE
-        when(bookRepository.existsByIsbn10("5454545454")).thenReturn(true);
+        when(bookRepository.findDuplicateKeys(9788535902778L, "As Walkírias", "45454545434"))
+                .thenReturn(List.of(bookKeys(9788535902778L, "Outro livro", null)));
 
         //ACT
         BusinessException ex = assertThrows(BusinessException.class,
@@ -394,7 +670,8 @@ class BookServiceTest {
 
         //ARRANGE
         //   when(bookRepository.existsByIsbn10("8532511147")).thenReturn(false);
-        when(bookRepository.existsByIsbn13("545454524")).thenReturn(true);
+        when(bookRepository.findDuplicateKeys(9788535902778L, "As Walkírias", "45454545434"))
+                .thenReturn(List.of(bookKeys(9788535902778L, "Outro livro", null)));
 
         //ACT
         BusinessException ex = assertThrows(BusinessException.class,
@@ -411,6 +688,48 @@ class BookServiceTest {
 
     }
 
+    @Test
+    @DisplayName("Deve consultar apenas o título quando os filtros descartam ISBN e Google Books ID")
+    void createBook_WhenFiltersRuleOutUniqueKeys_ShouldCheckOnlyTitle() {
+        // ARRANGE
+        when(duplicateFilter.isReady()).thenReturn(true);
+        when(bookMapper.toEntity(bookCreateDTO)).thenReturn(book);
+        when(bookRepository.save(book)).thenReturn(book);
+        when(bookMapper.toDto(book)).thenReturn(bookResponseDTO);
+
+        // ACT
+        bookService.createBook(bookCreateDTO);
+
+        // ASSERT
+        verify(bookRepository, times(1)).findDuplicateKeys(null, bookCreateDTO.title(), null);
+        verify(bookRepository, never()).existsByIsbnKey(any());
+        verify(bookRepository, never()).existsByTitle(any());
+        verify(bookRepository, never()).existsByGoogleBooksId(any());
+        verify(duplicateFilter).index(book);
+
+        System.out.println("✅ Criação consultando só o título executada COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Deve confirmar o título no banco mesmo que o filtro desta instância não o conheça")
+    void createBook_WhenTitleCreatedElsewhere_ShouldStillConfirmTitle() {
+        // ARRANGE
+        when(duplicateFilter.isReady()).thenReturn(true);
+        when(bookRepository.findDuplicateKeys(null, "As Walkírias", null))
+                .thenReturn(List.of(bookKeys(9788516038472L, "AS WALKIRIAS", null)));
+
+        // ACT
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> bookService.createBook(bookCreateDTO));
+
+        // ASSERT
+        assertThat(ex.getMessage()).isEqualTo("Livro com este título já cadastrado!");
+        verify(bookRepository, times(1)).findDuplicateKeys(any(), any(), any());
+        verify(bookRepository, never()).save(any());
+
+        System.out.println("✅ Confirmação única de duplicidade executada COM SUCESSO!");
+    }
+
     @ParameterizedTest
     @NullAndEmptySource
     @ValueSource(strings = {" ", "   ", "\t", "\n"})
@@ -462,4 +781,68 @@ class BookServiceTest {
         System.out.println("✅ Exceção lançada corretamente para título inexistente.");
 
     }
-}
\ No newline at end of file
+
+    @ParameterizedTest
+    @ValueSource(strings = {"não-é-base64!", "dGl0bGU6MTpBYmM"})
+    @DisplayName("Deve rejeitar cursor inválido ou de outra ordenação")
+    void findAll_InvalidCursor_ShouldThrowBusinessException(String cursor) {
+        //ACT
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> bookService.findAll(cursor, 20, "id"));
+
+        //ASSERT
+        assertThat(ex.getMessage()).isEqualTo("Cursor de paginação inválido");
+        verifyNoInteractions(bookRepository);
+        System.out.println("✅ Exceção lançada corretamente para cursor: '" + cursor + "'");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"5454545454", "545454524", "9788535902779", "ABC-DEF"})
+    @DisplayName("Deve rejeitar ISBN com formato ou dígito verificador inválido")
+    void findByIsbn_InvalidIsbn_ShouldThrowBusinessException(String isbn) {
+        //ACT
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> bookService.findByIsbn(isbn));
+
+        //ASSERT
+        assertThat(ex.getCode()).isEqualTo(ErrorCode.INVALID_ISBN);
+        verifyNoInteractions(bookRepository, isbnIndex);
+        System.out.println("✅ Exceção lançada corretamente para ISBN: '" + isbn + "'");
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar ISBN-10 e ISBN-13 de livros diferentes")
+    void createBook_MismatchedIsbns_ShouldThrowBusinessException() {
+        //ARRANGE
+        BookCreateDTO dto = new BookCreateDTO("As Walkírias", "Paulo Coelho", "Casa Publicadora de letras",
+                "10-05-1989", "8535902775", "9788516038472", "Livro falando sobre as Wiccas", 230, null, AVAILABLE);
+
+        //ACT
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> bookService.createBook(dto));
+
+        //ASSERT
+        assertThat(ex.getCode()).isEqualTo(ErrorCode.INVALID_ISBN);
+        verify(bookRepository, never()).save(any());
+        System.out.println("✅ Exceção lançada corretamente para ISBNs divergentes.");
+    }
+
+    private static BookRepository.BookKeys bookKeys(Long isbnKey, String title, String googleBooksId) {
+        return new BookRepository.BookKeys() {
+            @Override
+            public Long getIsbnKey() {
+                return isbnKey;
+            }
+
+            @Override
+            public String getTitle() {
+                return title;
+            }
+
+            @Override
+            public String getGoogleBooksId() {
+                return googleBooksId;
+            }
+        };
+    }
+}
@@ -0,0 +1,188 @@
+package com.project2025.digital_library_platform.services;
+
+import com.project2025.digital_library_platform.DTOs.loanDtos.LoanCreateDTO;
+import com.project2025.digital_library_platform.DTOs.reportDtos.CirculationDayDTO;
+import com.project2025.digital_library_platform.DTOs.reportDtos.CirculationRankingDTO;
+import com.project2025.digital_library_platform.DTOs.reportDtos.CirculationReportDTO;
+import com.project2025.digital_library_platform.cache.UserLoanCounterCache;
+import com.project2025.digital_library_platform.entity.book.Book;
+import com.project2025.digital_library_platform.entity.book.Status;
+import com.project2025.digital_library_platform.entity.report.CirculationDimension;
+import com.project2025.digital_library_platform.entity.user.User;
+import com.project2025.digital_library_platform.exception.BusinessException;
+import com.project2025.digital_library_platform.exception.ErrorCode;
+import com.project2025.digital_library_platform.index.OverdueTracker;
+import com.project2025.digital_library_platform.repositories.BookRepository;
+import com.project2025.digital_library_platform.repositories.CirculationDailyRepository;
+import com.project2025.digital_library_platform.repositories.CirculationRollupRepository;
+import com.project2025.digital_library_platform.repositories.LoanRepository;
+import com.project2025.digital_library_platform.repositories.UserLoanCounterRepository;
+import com.project2025.digital_library_platform.repositories.UserRepository;
+import com.project2025.digital_library_platform.support.DatabaseTest;
+import com.project2025.digital_library_platform.support.TestUsers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Totais diários dos relatórios a partir dos eventos de empréstimo, contra o banco (H2 em modo MySQL).
+ */
+@Import({LoanService.class, LoanCounterService.class, UserLoanCounterCache.class, OverdueTracker.class,
+        CirculationRollupService.class, ReportService.class})
+class CirculationRollupServiceTest extends DatabaseTest {
+
+    private static final String PUBLISHER = "Companhia das Letras";
+
+    @Autowired
+    private LoanService loanService;
+    @Autowired
+    private CirculationRollupService rollupService;
+    @Autowired
+    private ReportService reportService;
+    @Autowired
+    private CirculationDailyRepository dailyRepository;
+    @Autowired
+    private CirculationRollupRepository rollupRepository;
+    @Autowired
+    private UserLoanCounterRepository counterRepository;
+    @Autowired
+    private LoanRepository loanRepository;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long firstUserId;
+    private Long secondUserId;
+    private Long firstBookId;
+    private Long secondBookId;
+    private Long thirdBookId;
+
+    @BeforeEach
+    void setUp() {
+        rollupService.flush();
+        dailyRepository.deleteAllInBatch();
+        rollupRepository.deleteAllInBatch();
+        counterRepository.deleteAllInBatch();
+        loanRepository.deleteAll();
+        bookRepository.deleteAll();
+        userRepository.deleteAll();
+
+        firstUserId = user("primeiro");
+        secondUserId = user("segundo");
+        firstBookId = book("1984", PUBLISHER);
+        secondBookId = book("Dom Casmurro", PUBLISHER);
+        thirdBookId = book("Sem editora", null);
+    }
+
+    private Long user(String login) {
+        return userRepository.save(TestUsers.reader(login)).getId();
+    }
+
+    private Long book(String title, String publisher) {
+        Book book = new Book();
+        book.setTitle(title);
+        book.setPublisher(publisher);
+        book.setStatus(Status.AVAILABLE);
+        book.setCreatedAt(LocalDateTime.now());
+        return bookRepository.save(book).getId();
+    }
+
+    private Long borrow(Long userId, Long bookId) {
+        return loanService.registerLoan(new LoanCreateDTO(userId, bookId)).getId();
+    }
+
+    @Test
+    @DisplayName("Deve somar empréstimos, devoluções atrasadas e cancelamentos nos totais do dia, em várias gravações")
+    void flush_ShouldAccumulateDailyTotalsAndRankings() {
+        // ARRANGE
+        LocalDate today = LocalDate.now();
+        Long late = borrow(firstUserId, firstBookId);
+        Long cancelled = borrow(firstUserId, secondBookId);
+        borrow(secondUserId, thirdBookId);
+        rollupService.flush();
+        jdbcTemplate.update("UPDATE loans SET return_date = ? WHERE id = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusDays(1)), late);
+
+        // ACT
+        loanService.returnLoan(late);
+        loanService.cancelLoan(cancelled);
+        rollupService.flush();
+        CirculationReportDTO report = reportService.findCirculation(today.minusDays(1), today);
+
+        // ASSERT
+        assertThat(report.days()).extracting(CirculationDayDTO::day).containsExactly(today);
+        assertThat(report.loans()).isEqualTo(2);
+        assertThat(report.returnedLoans()).isEqualTo(1);
+        assertThat(report.lateReturns()).isEqualTo(1);
+        assertThat(report.cancelledLoans()).isEqualTo(1);
+        assertThat(report.overdueRate()).isEqualTo(1.0);
+        assertThat(reportService.findRanking(CirculationDimension.BOOK, today, today, 10))
+                .extracting(CirculationRankingDTO::key, CirculationRankingDTO::loans)
+                .containsExactlyInAnyOrder(tuple(firstBookId.toString(), 1L), tuple(thirdBookId.toString(), 1L));
+        assertThat(reportService.findRanking(CirculationDimension.USER, today, today, 10))
+                .extracting(CirculationRankingDTO::key, CirculationRankingDTO::loans)
+                .containsExactlyInAnyOrder(tuple(firstUserId.toString(), 1L), tuple(secondUserId.toString(), 1L));
+        assertThat(reportService.findRanking(CirculationDimension.PUBLISHER, today, today, 10))
+                .extracting(CirculationRankingDTO::key, CirculationRankingDTO::loans)
+                .containsExactlyInAnyOrder(tuple(PUBLISHER, 1L), tuple(CirculationRollupService.NO_PUBLISHER, 1L));
+
+        System.out.println("✅ Totais diários de circulação executados COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Os acréscimos gravados com o empréstimo devem sobreviver a uma queda antes da gravação dos totais")
+    void flush_AfterRestart_ShouldKeepPendingDeltas() {
+        // ARRANGE
+        LocalDate today = LocalDate.now();
+        borrow(firstUserId, firstBookId);
+        borrow(secondUserId, secondBookId);
+        // Uma instância nova, sem nada em memória, como depois de reiniciar a aplicação
+        CirculationRollupService restarted = new CirculationRollupService(rollupRepository, bookRepository, transactionTemplate);
+
+        // ACT
+        restarted.flush();
+        CirculationReportDTO report = reportService.findCirculation(today, today);
+
+        // ASSERT
+        assertThat(report.loans()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM circulation_outbox", Long.class)).isZero();
+
+        System.out.println("✅ Acréscimos preservados após reinício executados COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Deve recusar período invertido ou maior que um ano")
+    void findCirculation_WhenPeriodInvalid_ShouldRefuse() {
+        // ARRANGE
+        LocalDate today = LocalDate.now();
+
+        // ACT
+        BusinessException inverted = assertThrows(BusinessException.class,
+                () -> reportService.findCirculation(today, today.minusDays(1)));
+        BusinessException tooLong = assertThrows(BusinessException.class,
+                () -> reportService.findRanking(CirculationDimension.BOOK, today.minusYears(2), today, 10));
+
+        // ASSERT
+        assertThat(inverted.getCode()).isEqualTo(ErrorCode.INVALID_OPERATION);
+        assertThat(tooLong.getCode()).isEqualTo(ErrorCode.INVALID_OPERATION);
+
+        System.out.println("✅ Validação do período dos relatórios executada COM SUCESSO!");
+    }
+}
@@ -0,0 +1,163 @@
+package com.project2025.digital_library_platform.services;
+
+import com.project2025.digital_library_platform.DTOs.holdDtos.HoldCreateDTO;
+import com.project2025.digital_library_platform.DTOs.holdDtos.HoldResponseDTO;
+import com.project2025.digital_library_platform.DTOs.loanDtos.LoanCreateDTO;
+import com.project2025.digital_library_platform.DTOs.loanDtos.LoanResponseDTO;
+import com.project2025.digital_library_platform.cache.UserLoanCounterCache;
+import com.project2025.digital_library_platform.entity.book.Book;
+import com.project2025.digital_library_platform.entity.book.Status;
+import com.project2025.digital_library_platform.entity.user.User;
+import com.project2025.digital_library_platform.exception.BusinessException;
+import com.project2025.digital_library_platform.exception.ErrorCode;
+import com.project2025.digital_library_platform.index.AvailabilityIndex;
+import com.project2025.digital_library_platform.index.BookIndexer;
+import com.project2025.digital_library_platform.index.HoldQueueIndex;
+import com.project2025.digital_library_platform.index.OverdueTracker;
+import com.project2025.digital_library_platform.repositories.BookHoldRepository;
+import com.project2025.digital_library_platform.repositories.BookRepository;
+import com.project2025.digital_library_platform.repositories.LoanRepository;
+import com.project2025.digital_library_platform.repositories.UserLoanCounterRepository;
+import com.project2025.digital_library_platform.repositories.UserRepository;
+import com.project2025.digital_library_platform.support.DatabaseTest;
+import com.project2025.digital_library_platform.support.TestUsers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Filas de reserva e entrega do livro devolvido ao primeiro da fila contra o banco (H2 em modo MySQL).
+ */
+@Import({LoanService.class, LoanCounterService.class, UserLoanCounterCache.class, OverdueTracker.class,
+        HoldService.class, HoldQueueIndex.class, BookIndexer.class, AvailabilityIndex.class})
+class HoldServiceTest extends DatabaseTest {
+
+    @Autowired
+    private HoldService holdService;
+    @Autowired
+    private LoanService loanService;
+    @Autowired
+    private BookHoldRepository holdRepository;
+    @Autowired
+    private UserLoanCounterRepository counterRepository;
+    @Autowired
+    private LoanRepository loanRepository;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private AvailabilityIndex availabilityIndex;
+
+    private Long bookId;
+    private Long borrowerId;
+    private Long firstId;
+    private Long secondId;
+
+    @BeforeEach
+    void setUp() {
+        holdRepository.deleteAllInBatch();
+        counterRepository.deleteAllInBatch();
+        loanRepository.deleteAll();
+        bookRepository.deleteAll();
+        userRepository.deleteAll();
+
+        borrowerId = user("leitor");
+        firstId = user("primeiro");
+        secondId = user("segundo");
+
+        Book book = new Book();
+        book.setTitle("1984");
+        book.setStatus(Status.AVAILABLE);
+        book.setCreatedAt(LocalDateTime.now());
+        bookId = bookRepository.save(book).getId();
+    }
+
+    private Long user(String login) {
+        return userRepository.save(TestUsers.reader(login)).getId();
+    }
+
+    private Long borrow(Long userId) {
+        return loanService.registerLoan(new LoanCreateDTO(userId, bookId)).getId();
+    }
+
+    private HoldResponseDTO hold(Long userId) {
+        return holdService.placeHold(new HoldCreateDTO(userId, bookId));
+    }
+
+    @Test
+    @DisplayName("Deve emprestar o livro devolvido ao primeiro da fila, sem deixá-lo disponível")
+    void returnLoan_WithQueue_ShouldHandBookToFirstHolder() {
+        // ARRANGE
+        Long loanId = borrow(borrowerId);
+        HoldResponseDTO first = hold(firstId);
+        HoldResponseDTO second = hold(secondId);
+
+        // ACT
+        loanService.returnLoan(loanId);
+
+        // ASSERT
+        assertThat(first.position()).isEqualTo(1);
+        assertThat(second.position()).isEqualTo(2);
+        assertThat(bookRepository.findById(bookId)).get().extracting(Book::getStatus).isEqualTo(Status.LOANED);
+        assertThat(availabilityIndex.isAvailable(bookId)).isFalse();
+        List<LoanResponseDTO> loans = loanService.findLoansByUser(firstId);
+        assertThat(loans).hasSize(1);
+        assertThat(loans.get(0).isReturned()).isFalse();
+        assertThat(holdService.findQueue(bookId))
+                .extracting(HoldResponseDTO::userId, HoldResponseDTO::position)
+                .containsExactly(tuple(secondId, 1));
+
+        System.out.println("✅ Entrega do livro devolvido ao primeiro da fila executada COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Deve recusar reserva de livro disponível e reserva repetida do mesmo usuário")
+    void placeHold_WhenBookAvailableOrAlreadyQueued_ShouldRefuse() {
+        // ACT
+        BusinessException available = assertThrows(BusinessException.class, () -> hold(firstId));
+        borrow(borrowerId);
+        hold(firstId);
+        BusinessException duplicate = assertThrows(BusinessException.class, () -> hold(firstId));
+        BusinessException ownLoan = assertThrows(BusinessException.class, () -> hold(borrowerId));
+
+        // ASSERT
+        assertThat(available.getCode()).isEqualTo(ErrorCode.INVALID_OPERATION);
+        assertThat(duplicate.getCode()).isEqualTo(ErrorCode.HOLD_ALREADY_EXISTS);
+        assertThat(ownLoan.getCode()).isEqualTo(ErrorCode.INVALID_OPERATION);
+        assertThat(holdRepository.count()).isEqualTo(1);
+
+        System.out.println("✅ Validação das reservas executada COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Deve pular o primeiro da fila se estiver inativo, mantendo a reserva dele")
+    void returnLoan_WhenFirstHolderInactive_ShouldSkipToNext() {
+        // ARRANGE
+        Long loanId = borrow(borrowerId);
+        hold(firstId);
+        hold(secondId);
+        User first = userRepository.findById(firstId).orElseThrow();
+        first.setActive(false);
+        userRepository.save(first);
+
+        // ACT
+        loanService.returnLoan(loanId);
+
+        // ASSERT
+        assertThat(loanRepository.existsByBookIdAndUserIdAndReturnedFalse(bookId, secondId)).isTrue();
+        assertThat(loanRepository.existsByBookIdAndUserIdAndReturnedFalse(bookId, firstId)).isFalse();
+        assertThat(holdService.findQueue(bookId)).extracting(HoldResponseDTO::userId).containsExactly(firstId);
+
+        System.out.println("✅ Salto do usuário inativo na fila executado COM SUCESSO!");
+    }
+}
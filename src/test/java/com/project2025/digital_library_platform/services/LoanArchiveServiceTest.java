@@ -0,0 +1,114 @@
+package com.project2025.digital_library_platform.services;
+
+import com.project2025.digital_library_platform.DTOs.loanDtos.LoanResponseDTO;
+import com.project2025.digital_library_platform.cache.UserLoanCounterCache;
+import com.project2025.digital_library_platform.entity.Loan;
+import com.project2025.digital_library_platform.entity.book.Book;
+import com.project2025.digital_library_platform.entity.book.Status;
+import com.project2025.digital_library_platform.entity.user.User;
+import com.project2025.digital_library_platform.index.OverdueTracker;
+import com.project2025.digital_library_platform.repositories.BookRepository;
+import com.project2025.digital_library_platform.repositories.LoanArchiveRepository;
+import com.project2025.digital_library_platform.repositories.LoanRepository;
+import com.project2025.digital_library_platform.repositories.UserRepository;
+import com.project2025.digital_library_platform.support.DatabaseTest;
+import com.project2025.digital_library_platform.support.TestUsers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Arquivamento dos empréstimos devolvidos contra o banco (H2 em modo MySQL, sem partições).
+ */
+@Import({LoanService.class, LoanCounterService.class, UserLoanCounterCache.class, OverdueTracker.class})
+class LoanArchiveServiceTest extends DatabaseTest {
+
+    private static final int ARCHIVE_AFTER_DAYS = 365;
+    private static final int CHUNK_SIZE = 2;
+
+    @Autowired
+    private LoanService loanService;
+    @Autowired
+    private LoanRepository loanRepository;
+    @Autowired
+    private LoanArchiveRepository loanArchiveRepository;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private LoanArchiveService loanArchiveService;
+    private User reader;
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @BeforeEach
+    void setUp() {
+        loanArchiveRepository.deleteAllInBatch();
+        loanRepository.deleteAll();
+        bookRepository.deleteAll();
+        userRepository.deleteAll();
+
+        loanArchiveService = new LoanArchiveService(loanArchiveRepository, new TransactionTemplate(transactionManager),
+                ARCHIVE_AFTER_DAYS, CHUNK_SIZE, 0);
+        reader = userRepository.save(TestUsers.reader("leitor"));
+    }
+
+    private Long loan(int daysAgo, LocalDateTime actualReturnDate) {
+        Book book = new Book();
+        book.setTitle("Livro " + daysAgo);
+        book.setStatus(actualReturnDate == null ? Status.LOANED : Status.AVAILABLE);
+        book.setCreatedAt(now);
+        book = bookRepository.save(book);
+
+        return loanRepository.save(Loan.builder()
+                .user(reader)
+                .book(book)
+                .loanDate(now.minusDays(daysAgo))
+                .returnDate(now.minusDays(daysAgo).plusDays(14))
+                .returned(actualReturnDate != null)
+                .actualReturnDate(actualReturnDate)
+                .build()).getId();
+    }
+
+    @Test
+    @DisplayName("Deve arquivar em blocos só os devolvidos há mais tempo e manter o histórico completo")
+    void archiveReturnedBefore_ShouldMoveOldReturnedLoansAndKeepHistory() {
+        // ARRANGE
+        List<Long> old = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            old.add(loan(500 + i, now.minusDays(480 + i)));
+        }
+        Long recent = loan(20, now.minusDays(1));
+        Long open = loan(3, null);
+
+        // ACT
+        int archived = loanArchiveService.archiveReturnedBefore(now.minusDays(ARCHIVE_AFTER_DAYS));
+
+        // ASSERT
+        assertThat(archived).isEqualTo(3);
+        assertThat(loanRepository.findAll()).extracting(Loan::getId).containsExactlyInAnyOrder(recent, open);
+        assertThat(loanArchiveRepository.count()).isEqualTo(3);
+        assertThat(loanService.findLoansByUser(reader.getId())).extracting(LoanResponseDTO::getId)
+                .containsExactly(old.get(0), old.get(1), old.get(2), recent, open);
+        assertThat(loanService.findLoanById(old.get(0))).satisfies(loan -> {
+            assertThat(loan.isReturned()).isTrue();
+            assertThat(loan.getBookTitle()).isEqualTo("Livro 500");
+            assertThat(loan.getUserName()).isEqualTo("leitor");
+        });
+        assertThat(loanArchiveService.archiveReturnedBefore(now.minusDays(ARCHIVE_AFTER_DAYS))).isZero();
+
+        System.out.println("✅ Arquivamento dos empréstimos devolvidos executado COM SUCESSO!");
+    }
+}
@@ -0,0 +1,291 @@
+package com.project2025.digital_library_platform.services;
+
+import com.project2025.digital_library_platform.DTOs.loanDtos.LoanBatchCreateDTO;
+import com.project2025.digital_library_platform.DTOs.loanDtos.LoanBatchReturnDTO;
+import com.project2025.digital_library_platform.DTOs.loanDtos.LoanCreateDTO;
+import com.project2025.digital_library_platform.DTOs.loanDtos.LoanResponseDTO;
+import com.project2025.digital_library_platform.cache.UserLoanCounterCache;
+import com.project2025.digital_library_platform.entity.Loan;
+import com.project2025.digital_library_platform.entity.book.Book;
+import com.project2025.digital_library_platform.entity.book.Status;
+import com.project2025.digital_library_platform.entity.user.User;
+import com.project2025.digital_library_platform.exception.BusinessException;
+import com.project2025.digital_library_platform.exception.ErrorCode;
+import com.project2025.digital_library_platform.index.OverdueTracker;
+import com.project2025.digital_library_platform.repositories.BookRepository;
+import com.project2025.digital_library_platform.repositories.LoanRepository;
+import com.project2025.digital_library_platform.repositories.UserRepository;
+import com.project2025.digital_library_platform.support.DatabaseTest;
+import com.project2025.digital_library_platform.support.TestUsers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Empréstimos simultâneos e em lote contra o banco (H2 em modo MySQL).
+ * O teste de carga compara o caminho antigo (ler, validar e salvar) com o UPDATE condicional
+ * em poucos títulos disputados; só roda com -Dbenchmark=true.
+ */
+@Import({LoanService.class, LoanCounterService.class, UserLoanCounterCache.class, OverdueTracker.class})
+class LoanCheckoutConcurrencyTest extends DatabaseTest {
+
+    private static final int THREADS = 16;
+    private static final int HOT_BOOKS = 4;
+    private static final int ATTEMPTS_PER_THREAD = 300;
+    // Margem folgada sobre o ganho medido, para o teste não oscilar com a máquina
+    private static final double MIN_SPEEDUP = 3.0;
+
+    @Autowired
+    private LoanService loanService;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private LoanRepository loanRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Long> userIds = new ArrayList<>();
+    private final List<Long> bookIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        loanRepository.deleteAll();
+        bookRepository.deleteAll();
+        userRepository.deleteAll();
+        userIds.clear();
+        bookIds.clear();
+
+        for (int i = 0; i < THREADS; i++) {
+            userIds.add(userRepository.save(TestUsers.reader("leitor" + i)).getId());
+        }
+        for (int i = 0; i < HOT_BOOKS; i++) {
+            Book book = new Book();
+            book.setTitle("Título disputado " + i);
+            book.setStatus(Status.AVAILABLE);
+            book.setCreatedAt(LocalDateTime.now());
+            bookIds.add(bookRepository.save(book).getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Só um de vários empréstimos simultâneos do mesmo livro deve ser gravado")
+    void registerLoan_WhenConcurrentOnSameBook_ShouldLoanOnlyOnce() throws Exception {
+        // ARRANGE
+        Long bookId = bookIds.get(0);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger loaned = new AtomicInteger();
+        AtomicInteger refused = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+
+        // ACT
+        List<Future<?>> attempts = new ArrayList<>();
+        for (Long userId : userIds) {
+            attempts.add(pool.submit(() -> {
+                start.await();
+                try {
+                    loanService.registerLoan(new LoanCreateDTO(userId, bookId));
+                    loaned.incrementAndGet();
+                } catch (BusinessException e) {
+                    assertThat(e.getCode()).isEqualTo(ErrorCode.BOOK_UNAVAILABLE);
+                    refused.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> attempt : attempts) {
+            attempt.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        // ASSERT
+        assertThat(loaned).hasValue(1);
+        assertThat(refused).hasValue(THREADS - 1);
+        assertThat(loanRepository.count()).isEqualTo(1);
+        assertThat(bookRepository.findById(bookId)).get().extracting(Book::getStatus).isEqualTo(Status.LOANED);
+
+        System.out.println("✅ Empréstimo concorrente do mesmo livro executado COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Deve recusar usuário inativo sem deixar o livro reservado")
+    void registerLoan_WhenUserInactive_ShouldRollbackBookClaim() {
+        // ARRANGE
+        Long inactiveUserId = userRepository.save(TestUsers.reader("inativo", false)).getId();
+        Long bookId = bookIds.get(0);
+
+        // ACT
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> loanService.registerLoan(new LoanCreateDTO(inactiveUserId, bookId)));
+        LoanResponseDTO loan = loanService.registerLoan(new LoanCreateDTO(userIds.get(0), bookId));
+
+        // ASSERT
+        assertThat(exception.getCode()).isEqualTo(ErrorCode.USER_UNAVAILABLE);
+        assertThat(loan.getBookTitle()).isEqualTo("Título disputado 0");
+        assertThat(loan.getReturnDate()).isEqualTo(loan.getLoanDate().plusDays(14));
+        assertThat(loanRepository.count()).isEqualTo(1);
+
+        System.out.println("✅ Validação de usuário inativo no empréstimo executada COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Deve emprestar e devolver uma pilha de livros numa única operação")
+    void registerLoans_AndReturnLoans_ShouldHandleWholeStack() {
+        // ACT
+        List<LoanResponseDTO> loans = loanService.registerLoans(new LoanBatchCreateDTO(userIds.get(0), bookIds));
+        List<Status> afterCheckout = bookRepository.findAllById(bookIds).stream().map(Book::getStatus).toList();
+        loanService.returnLoans(new LoanBatchReturnDTO(loans.stream().map(LoanResponseDTO::getId).toList()));
+
+        // ASSERT
+        assertThat(loans).hasSize(HOT_BOOKS).allSatisfy(loan -> assertThat(loan.getUserName()).isEqualTo("leitor0"));
+        assertThat(afterCheckout).containsOnly(Status.LOANED);
+        assertThat(bookRepository.findAllById(bookIds)).extracting(Book::getStatus).containsOnly(Status.AVAILABLE);
+        assertThat(loanRepository.findAll()).hasSize(HOT_BOOKS).allMatch(Loan::isReturned);
+
+        System.out.println("✅ Empréstimo e devolução em lote executados COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Não deve emprestar nenhum livro do lote se um deles estiver indisponível")
+    void registerLoans_WhenOneBookUnavailable_ShouldLoanNothing() {
+        // ARRANGE
+        loanService.registerLoan(new LoanCreateDTO(userIds.get(1), bookIds.get(0)));
+        List<Long> stack = List.of(bookIds.get(1), bookIds.get(0), bookIds.get(2));
+
+        // ACT
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> loanService.registerLoans(new LoanBatchCreateDTO(userIds.get(0), stack)));
+
+        // ASSERT
+        assertThat(exception.getCode()).isEqualTo(ErrorCode.BOOK_UNAVAILABLE);
+        assertThat(bookRepository.findById(bookIds.get(1))).get().extracting(Book::getStatus).isEqualTo(Status.AVAILABLE);
+        assertThat(bookRepository.findById(bookIds.get(2))).get().extracting(Book::getStatus).isEqualTo(Status.AVAILABLE);
+        assertThat(loanRepository.count()).isEqualTo(1);
+
+        System.out.println("✅ Rejeição do lote com livro indisponível executada COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("UPDATE condicional deve emprestar mais por segundo que ler, validar e salvar nos títulos disputados")
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void registerLoan_LoadTest_ShouldOutperformReadValidateSave() throws Exception {
+        // ARRANGE
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Checkout readValidateSave = (userId, bookId) -> transaction.execute(status -> {
+            Book book = bookRepository.findById(bookId).orElseThrow();
+            if (loanRepository.existsByBookAndReturnedFalse(book)) {
+                throw new BusinessException("Livro já emprestado", ErrorCode.BOOK_UNAVAILABLE);
+            }
+            User user = userRepository.findById(userId).orElseThrow();
+            book.borrow();
+            LocalDateTime now = LocalDateTime.now();
+            Loan loan = Loan.builder().book(book).user(user).loanDate(now).returnDate(now.plusDays(14))
+                    .returned(false).build();
+            bookRepository.save(book);
+            return loanRepository.save(loan).getId();
+        });
+        Checkout conditionalUpdate = (userId, bookId) ->
+                loanService.registerLoan(new LoanCreateDTO(userId, bookId)).getId();
+
+        // ACT
+        LoadResult legacy = runLoad(readValidateSave);
+        setUp();
+        LoadResult claimed = runLoad(conditionalUpdate);
+
+        // ASSERT
+        System.out.printf("Ler, validar e salvar: %,.1f empréstimos/s, %d empréstimos sobrepostos%n",
+                legacy.loansPerSecond(), legacy.overlaps());
+        System.out.printf("UPDATE condicional:    %,.1f empréstimos/s, %d empréstimos sobrepostos%n",
+                claimed.loansPerSecond(), claimed.overlaps());
+        assertThat(claimed.overlaps()).isZero();
+        assertThat(claimed.loansPerSecond()).isGreaterThan(MIN_SPEEDUP * legacy.loansPerSecond());
+
+        System.out.println("✅ Teste de carga do empréstimo executado COM SUCESSO!");
+    }
+
+    //MÉTODOS AUXILIARES
+
+    private interface Checkout {
+        Long register(Long userId, Long bookId);
+    }
+
+    private record LoadResult(long loans, long elapsedNanos, int overlaps) {
+
+        double loansPerSecond() {
+            return loans * 1_000_000_000d / Math.max(1, elapsedNanos);
+        }
+    }
+
+    // Cada leitor tenta emprestar os títulos disputados em rodízio e devolve logo o que conseguiu
+    private LoadResult runLoad(Checkout checkout) throws Exception {
+        ConcurrentHashMap<Long, AtomicInteger> holders = new ConcurrentHashMap<>();
+        bookIds.forEach(bookId -> holders.put(bookId, new AtomicInteger()));
+        AtomicInteger overlaps = new AtomicInteger();
+        AtomicLong loans = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Long userId = userIds.get(t);
+            int offset = t;
+            workers.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    Long bookId = bookIds.get((offset + i) % HOT_BOOKS);
+                    Long loanId;
+                    try {
+                        loanId = checkout.register(userId, bookId);
+                    } catch (RuntimeException e) {
+                        // Livro já emprestado ou, no caminho antigo, conflito de bloqueio entre os saves
+                        continue;
+                    }
+                    if (holders.get(bookId).incrementAndGet() > 1) {
+                        overlaps.incrementAndGet();
+                    }
+                    loans.incrementAndGet();
+                    holders.get(bookId).decrementAndGet();
+                    try {
+                        loanService.returnLoan(loanId);
+                    } catch (RuntimeException e) {
+                        // Dois empréstimos abertos do mesmo livro: o segundo não consegue devolver
+                        overlaps.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(5, TimeUnit.MINUTES);
+        }
+        long elapsed = System.nanoTime() - begin;
+        pool.shutdown();
+
+        return new LoadResult(loans.get(), elapsed, overlaps.get());
+    }
+}
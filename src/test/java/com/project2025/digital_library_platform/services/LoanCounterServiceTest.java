@@ -0,0 +1,148 @@
+package com.project2025.digital_library_platform.services;
+
+import com.project2025.digital_library_platform.DTOs.loanDtos.LoanCountersDTO;
+import com.project2025.digital_library_platform.DTOs.loanDtos.LoanCreateDTO;
+import com.project2025.digital_library_platform.cache.UserLoanCounterCache;
+import com.project2025.digital_library_platform.entity.book.Book;
+import com.project2025.digital_library_platform.entity.book.Status;
+import com.project2025.digital_library_platform.entity.user.User;
+import com.project2025.digital_library_platform.exception.BusinessException;
+import com.project2025.digital_library_platform.exception.ErrorCode;
+import com.project2025.digital_library_platform.index.OverdueTracker;
+import com.project2025.digital_library_platform.repositories.BookRepository;
+import com.project2025.digital_library_platform.repositories.LoanRepository;
+import com.project2025.digital_library_platform.repositories.UserLoanCounterRepository;
+import com.project2025.digital_library_platform.repositories.UserRepository;
+import com.project2025.digital_library_platform.support.DatabaseTest;
+import com.project2025.digital_library_platform.support.TestUsers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Limites de empréstimo pelos contadores por usuário contra o banco (H2 em modo MySQL).
+ */
+@TestPropertySource(properties = "library.loans.max-active=2")
+@Import({LoanService.class, LoanCounterService.class, UserLoanCounterCache.class, OverdueTracker.class})
+class LoanCounterServiceTest extends DatabaseTest {
+
+    @Autowired
+    private LoanService loanService;
+    @Autowired
+    private LoanCounterService loanCounterService;
+    @Autowired
+    private UserLoanCounterRepository counterRepository;
+    @Autowired
+    private LoanRepository loanRepository;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+    private final List<Long> bookIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        counterRepository.deleteAllInBatch();
+        loanRepository.deleteAll();
+        bookRepository.deleteAll();
+        userRepository.deleteAll();
+        bookIds.clear();
+
+        userId = userRepository.save(TestUsers.reader("leitor")).getId();
+        for (int i = 0; i < 3; i++) {
+            Book book = new Book();
+            book.setTitle("Livro " + i);
+            book.setStatus(Status.AVAILABLE);
+            book.setCreatedAt(LocalDateTime.now());
+            bookIds.add(bookRepository.save(book).getId());
+        }
+    }
+
+    private Long borrow(int book) {
+        return loanService.registerLoan(new LoanCreateDTO(userId, bookIds.get(book))).getId();
+    }
+
+    private LoanCountersDTO counters() {
+        return counterRepository.findCountersByUserId(userId).orElseThrow();
+    }
+
+    @Test
+    @DisplayName("Deve recusar empréstimo acima do limite e liberar a vaga na devolução")
+    void registerLoan_WhenLimitReached_ShouldRefuseUntilReturn() {
+        // ARRANGE
+        Long first = borrow(0);
+        borrow(1);
+
+        // ACT
+        BusinessException exception = assertThrows(BusinessException.class, () -> borrow(2));
+        LoanCountersDTO atLimit = counters();
+        loanService.returnLoan(first);
+        borrow(2);
+
+        // ASSERT
+        assertThat(exception.getCode()).isEqualTo(ErrorCode.LOAN_LIMIT_REACHED);
+        assertThat(atLimit.activeLoans()).isEqualTo(2);
+        assertThat(bookRepository.findById(bookIds.get(2))).get().extracting(Book::getStatus).isEqualTo(Status.LOANED);
+        assertThat(counters()).isEqualTo(new LoanCountersDTO(userId, 2, 0, 3));
+
+        System.out.println("✅ Limite de empréstimos em aberto executado COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Deve bloquear novos empréstimos enquanto houver vencido e desbloquear na devolução")
+    void registerLoan_WhenUserHasOverdueLoan_ShouldRefuseUntilReturn() {
+        // ARRANGE
+        Long late = borrow(0);
+        jdbcTemplate.update("UPDATE loans SET return_date = ? WHERE id = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusDays(1)), late);
+
+        // ACT
+        int flagged = loanCounterService.flagOverdueLoans();
+        int flaggedAgain = loanCounterService.flagOverdueLoans();
+        BusinessException exception = assertThrows(BusinessException.class, () -> borrow(1));
+        loanService.returnLoan(late);
+        borrow(1);
+
+        // ASSERT
+        assertThat(flagged).isEqualTo(1);
+        assertThat(flaggedAgain).isZero();
+        assertThat(exception.getCode()).isEqualTo(ErrorCode.USER_HAS_OVERDUE_LOANS);
+        assertThat(counters()).isEqualTo(new LoanCountersDTO(userId, 1, 0, 2));
+
+        System.out.println("✅ Bloqueio por empréstimo vencido executado COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Deve criar os contadores a partir dos empréstimos já gravados no primeiro empréstimo")
+    void reserve_WhenCountersMissing_ShouldInitializeFromLoans() {
+        // ARRANGE
+        borrow(0);
+        counterRepository.deleteAllInBatch();
+
+        // ACT
+        borrow(1);
+        BusinessException exception = assertThrows(BusinessException.class, () -> borrow(2));
+
+        // ASSERT
+        assertThat(exception.getCode()).isEqualTo(ErrorCode.LOAN_LIMIT_REACHED);
+        assertThat(counters()).isEqualTo(new LoanCountersDTO(userId, 2, 0, 2));
+
+        System.out.println("✅ Criação dos contadores a partir do histórico executada COM SUCESSO!");
+    }
+}
@@ -0,0 +1,177 @@
+package com.project2025.digital_library_platform.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project2025.digital_library_platform.DTOs.loanDtos.LoanPageDTO;
+import com.project2025.digital_library_platform.DTOs.loanDtos.LoanResponseDTO;
+import com.project2025.digital_library_platform.entity.Loan;
+import com.project2025.digital_library_platform.entity.book.Book;
+import com.project2025.digital_library_platform.entity.book.Status;
+import com.project2025.digital_library_platform.entity.user.User;
+import com.project2025.digital_library_platform.exception.BusinessException;
+import com.project2025.digital_library_platform.exception.ErrorCode;
+import com.project2025.digital_library_platform.repositories.BookRepository;
+import com.project2025.digital_library_platform.repositories.LoanArchiveRepository;
+import com.project2025.digital_library_platform.repositories.LoanRepository;
+import com.project2025.digital_library_platform.repositories.UserRepository;
+import com.project2025.digital_library_platform.support.DatabaseTest;
+import com.project2025.digital_library_platform.support.TestUsers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Histórico por keyset juntando loans e loans_archive, contra o banco (H2 em modo MySQL).
+ */
+class LoanHistoryServiceTest extends DatabaseTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 8, 1, 10, 0);
+
+    @Autowired
+    private LoanRepository loanRepository;
+    @Autowired
+    private LoanArchiveRepository loanArchiveRepository;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private LoanHistoryService loanHistoryService;
+    private User reader;
+    private Book book;
+    // IDs na ordem esperada do histórico: do empréstimo mais recente para o mais antigo
+    private final List<Long> expected = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM loans_archive");
+        loanRepository.deleteAll();
+        bookRepository.deleteAll();
+        userRepository.deleteAll();
+        expected.clear();
+        loanHistoryService = new LoanHistoryService(loanRepository, loanArchiveRepository, userRepository, objectMapper,
+                transactionManager);
+
+        reader = user("leitor");
+        User other = user("outro");
+        book = new Book();
+        book.setTitle("1984");
+        book.setStatus(Status.AVAILABLE);
+        book.setCreatedAt(NOW);
+        book = bookRepository.save(book);
+
+        Long daysAgo1 = loan(reader, NOW.minusDays(1));
+        archived(9002L, NOW.minusDays(2));
+        Long daysAgo3 = loan(reader, NOW.minusDays(3));
+        archived(9004L, NOW.minusDays(4));
+        // Dois empréstimos no mesmo instante: o de maior ID vem primeiro
+        Long tieFirst = loan(reader, NOW.minusDays(5));
+        Long tieSecond = loan(reader, NOW.minusDays(5));
+        Long daysAgo8 = loan(reader, NOW.minusDays(8));
+        archived(9009L, NOW.minusDays(9));
+        loan(other, NOW.minusDays(2));
+
+        expected.addAll(List.of(daysAgo1, 9002L, daysAgo3, 9004L, tieSecond, tieFirst, daysAgo8, 9009L));
+    }
+
+    private User user(String login) {
+        return userRepository.save(TestUsers.reader(login));
+    }
+
+    private Long loan(User user, LocalDateTime loanDate) {
+        return loanRepository.save(Loan.builder()
+                .user(user)
+                .book(book)
+                .loanDate(loanDate)
+                .returnDate(loanDate.plusDays(14))
+                .returned(true)
+                .actualReturnDate(loanDate.plusDays(10))
+                .build()).getId();
+    }
+
+    private void archived(Long id, LocalDateTime loanDate) {
+        jdbcTemplate.update("INSERT INTO loans_archive (id, loan_date, return_date, returned, actual_return_date, " +
+                        "user_id, book_id, created_at, updated_at, archived_at) VALUES (?, ?, ?, TRUE, ?, ?, ?, ?, ?, ?)",
+                id, Timestamp.valueOf(loanDate), Timestamp.valueOf(loanDate.plusDays(14)),
+                Timestamp.valueOf(loanDate.plusDays(10)), reader.getId(), book.getId(),
+                Timestamp.valueOf(loanDate), Timestamp.valueOf(loanDate), Timestamp.valueOf(NOW));
+    }
+
+    @Test
+    @DisplayName("Deve paginar o histórico do mais recente para o mais antigo, intercalando os empréstimos arquivados")
+    void findHistory_ShouldWalkBothTablesByCursor() {
+        // ACT
+        List<Long> ids = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        String cursor = null;
+        do {
+            LoanPageDTO page = loanHistoryService.findHistory(reader.getId(), cursor, 3);
+            page.content().forEach(loan -> ids.add(loan.getId()));
+            pageSizes.add(page.content().size());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        // ASSERT
+        assertThat(ids).containsExactlyElementsOf(expected);
+        assertThat(pageSizes).containsExactly(3, 3, 2);
+
+        System.out.println("✅ Paginação do histórico de empréstimos executada COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Deve exportar o histórico completo em NDJSON, na mesma ordem das páginas")
+    void exportHistory_ShouldWriteOneLoanPerLine() throws Exception {
+        // ARRANGE
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // ACT
+        long exported = loanHistoryService.exportHistory(reader.getId(), out);
+
+        // ASSERT
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(exported).isEqualTo(expected.size());
+        assertThat(lines).hasSize(expected.size());
+        List<Long> ids = new ArrayList<>();
+        for (String line : lines) {
+            LoanResponseDTO loan = objectMapper.readValue(line, LoanResponseDTO.class);
+            assertThat(loan.getBookTitle()).isEqualTo("1984");
+            ids.add(loan.getId());
+        }
+        assertThat(ids).containsExactlyElementsOf(expected);
+
+        System.out.println("✅ Exportação do histórico de empréstimos executada COM SUCESSO!");
+    }
+
+    @Test
+    @DisplayName("Deve recusar cursor inválido e usuário inexistente")
+    void findHistory_WhenCursorOrUserInvalid_ShouldRefuse() {
+        // ACT
+        BusinessException badCursor = assertThrows(BusinessException.class,
+                () -> loanHistoryService.findHistory(reader.getId(), "nao-e-um-cursor", 10));
+        BusinessException missingUser = assertThrows(BusinessException.class,
+                () -> loanHistoryService.findHistory(-1L, null, 10));
+
+        // ASSERT
+        assertThat(badCursor.getCode()).isEqualTo(ErrorCode.INVALID_OPERATION);
+        assertThat(missingUser.getCode()).isEqualTo(ErrorCode.USER_NOT_FOUND);
+
+        System.out.println("✅ Validação do histórico de empréstimos executada COM SUCESSO!");
+    }
+}
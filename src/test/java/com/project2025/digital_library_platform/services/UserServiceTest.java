@@ -197,8 +197,7 @@ class UserServiceTest {
     @DisplayName("Deve buscar um usuário por ID")
     void findById_WhenValidid_ShouldReturnUser() {
         //ARRANGE
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(userConverter.toDto(user)).thenReturn(userResponseDTO);
+        when(userRepository.findResponseById(1L)).thenReturn(Optional.of(userResponseDTO));
 
         //ACT
         UserResponseDTO result = userService.findById(1L);
@@ -212,9 +211,9 @@ class UserServiceTest {
                 });
         //VERIFY
 
-        InOrder inOrder = inOrder(userRepository, userConverter);
-        inOrder.verify(userRepository).findById(1L);
-        inOrder.verify(userConverter).toDto(user);
+        verify(userRepository).findResponseById(1L);
+        verify(userRepository, never()).findById(any());
+        verifyNoInteractions(userConverter);
 
         System.out.println("✅ Busca por ID executada COM SUCESSO!");
 
@@ -225,8 +224,7 @@ class UserServiceTest {
     @DisplayName("Deve buscar por um login")
     void findLogin_WhenValidLogin_ShouldReturnUser(String login) {
         //ARRANGE
-        when(userRepository.findByLogin(login)).thenReturn(Optional.of(user));
-        when(userConverter.toDto(user)).thenReturn(userResponseDTO);
+        when(userRepository.findResponseByLogin(login)).thenReturn(Optional.of(userResponseDTO));
 
         //ACT
         UserResponseDTO result = userService.findByLogin(login);
@@ -247,19 +245,12 @@ class UserServiceTest {
     @DisplayName("Deve listar todos os usuários ")
     void findAll_ShoulderReturnAllUsers() {
 // ARRANGE
-        List<User> users = Arrays.asList(
-                createTestUser(1L, "teste1", "senha1", "Teste Um", "teste1@email.com", "Endereço 1", "111111111", Role.ADMIN, true),
-                createTestUser(2L, "teste2", "senha2", "Teste Dois", "teste2@email.com", "Endereço 2", "222222222", Role.USER, true)
-        );
-
         List<UserResponseDTO> expectedDTOs = Arrays.asList(
                 createTestUserResponseDTO(1L, "teste1", "Teste Um", "teste1@email.com", "Endereço 1", "111111111", Role.ADMIN, true),
                 createTestUserResponseDTO(2L, "teste2", "Teste Dois", "teste2@email.com", "Endereço 2", "222222222", Role.ADMIN, true)
         );
 
-        when(userRepository.findAll()).thenReturn(users);
-        when(userConverter.toDto(users.get(0))).thenReturn(expectedDTOs.get(0));
-        when(userConverter.toDto(users.get(1))).thenReturn(expectedDTOs.get(1));
+        when(userRepository.findAllResponses()).thenReturn(expectedDTOs);
 
         //ACT
         List<UserResponseDTO> result = userService.findAll();
@@ -276,19 +267,12 @@ class UserServiceTest {
     @DisplayName("Deve retornar usuárior por Role")
     void findUsersByRole_ReturnUserByRole() {
         //ARRANGE
-        List<User> adminUsers = Arrays.asList(
-                createTestUser(1L, "teste1", "senha1", "Teste Um", "teste1@email.com", "Endereço 1", "111111111", Role.ADMIN, true),
-                createTestUser(2L, "teste2", "senha2", "Teste Dois", "teste2@email.com", "Endereço 2", "222222222", Role.ADMIN, true)
-        );
-
         List<UserResponseDTO> expectedDTOs = Arrays.asList(
                 createTestUserResponseDTO(1L, "teste1", "Teste Um", "teste1@email.com", "Endereço 1", "111111111", Role.ADMIN, true),
                 createTestUserResponseDTO(2L, "teste2", "Teste Dois", "teste2@email.com", "Endereço 2", "222222222", Role.ADMIN, true)
         );
 
-        when(userRepository.findByRole(Role.ADMIN)).thenReturn(adminUsers);
-        when(userConverter.toDto(adminUsers.get(0))).thenReturn(expectedDTOs.get(0));
-        when(userConverter.toDto(adminUsers.get(1))).thenReturn(expectedDTOs.get(1));
+        when(userRepository.findResponsesByRole(Role.ADMIN)).thenReturn(expectedDTOs);
 
         //ACT
         List<UserResponseDTO> result = userService.findUsersByRole(Role.ADMIN);
@@ -307,19 +291,12 @@ class UserServiceTest {
     @DisplayName("Deve retornar apenas usuários ativos")
     void findActiveUsers_ReturnOnlyActive() {
         //ARRANGE
-        List<User> activeUsers = Arrays.asList(
-                createTestUser(1L, "teste1", "senha1", "Teste Um", "teste1@email.com", "Endereço 1", "111111111", Role.ADMIN, true),
-                createTestUser(2L, "teste2", "senha2", "Teste Dois", "teste2@email.com", "Endereço 2", "222222222", Role.ADMIN, true)
-        );
-
         List<UserResponseDTO> expectedDTOs = Arrays.asList(
                 createTestUserResponseDTO(1L, "teste1", "Teste Um", "teste1@email.com", "Endereço 1", "111111111", Role.ADMIN, true),
                 createTestUserResponseDTO(2L, "teste2", "Teste Dois", "teste2@email.com", "Endereço 2", "222222222", Role.ADMIN, true)
         );
 
-        when(userRepository.findByActiveTrue()).thenReturn(activeUsers);
-        when(userConverter.toDto(activeUsers.get(0))).thenReturn(expectedDTOs.get(0));
-        when(userConverter.toDto(activeUsers.get(1))).thenReturn(expectedDTOs.get(1));
+        when(userRepository.findActiveResponses()).thenReturn(expectedDTOs);
 
         //ACT
         List<UserResponseDTO> result = userService.findActiveUsers();
@@ -448,7 +425,7 @@ class UserServiceTest {
     @DisplayName("Deve lançar exceção ao buscar usuário inexistente por ID")
     void findById_NotFound_ShouldThrowBusinessException() {
         // ARRANGE
-        when(userRepository.findById(999L)).thenReturn(Optional.empty());
+        when(userRepository.findResponseById(999L)).thenReturn(Optional.empty());
 
         // ACT
         BusinessException ex = assertThrows(BusinessException.class,
@@ -468,7 +445,7 @@ class UserServiceTest {
     @DisplayName("Deve lançar exceção ao buscar usuário inexistente por login")
     void findByLogin_NotFound_ShouldThrowBusinessException() {
         // ARRANGE
-        when(userRepository.findByLogin("nonexistent")).thenReturn(Optional.empty());
+        when(userRepository.findResponseByLogin("nonexistent")).thenReturn(Optional.empty());
 
         // ACT
         BusinessException ex = assertThrows(BusinessException.class,
@@ -0,0 +1,23 @@
+package com.project2025.digital_library_platform.support;
+
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Base dos testes contra o banco (H2 em modo MySQL). As tabelas saem do schema.sql da aplicação, com os
+ * mesmos índices, restrições e defaults do MySQL, e não do DDL gerado pelo Hibernate.
+ * Cada contexto do Spring ganha um banco próprio. Os testes não rodam numa transação: as consultas e
+ * os eventos após o commit se comportam como em produção, e cada classe limpa as tabelas que usa.
+ * Propriedades específicas de uma classe vão em {@code @TestPropertySource}.
+ */
+@DataJpaTest(properties = {
+        "spring.sql.init.mode=always",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.datasource.url=jdbc:h2:mem:${random.uuid};MODE=MySQL;DATABASE_TO_LOWER=TRUE"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public abstract class DatabaseTest {
+}
@@ -0,0 +1,28 @@
+package com.project2025.digital_library_platform.support;
+
+import com.project2025.digital_library_platform.entity.user.Role;
+import com.project2025.digital_library_platform.entity.user.User;
+
+// Leitores dos testes contra o banco; o login define nome e e-mail, que são únicos na tabela users
+public final class TestUsers {
+
+    private TestUsers() {
+    }
+
+    public static User reader(String login) {
+        return reader(login, true);
+    }
+
+    public static User reader(String login, boolean active) {
+        return User.builder()
+                .login(login)
+                .password("senha")
+                .nome("Leitor " + login)
+                .email(login + "@biblioteca.com")
+                .telefone("21999999999")
+                .endereco("Rua A, 1")
+                .role(Role.USER)
+                .active(active)
+                .build();
+    }
+}